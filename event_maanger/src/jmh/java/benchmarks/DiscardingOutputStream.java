@@ -0,0 +1,28 @@
+package benchmarks;
+
+import java.io.OutputStream;
+
+/**
+ * Response body stand-in: counts the bytes written and drops them, so serialization benchmarks
+ * measure Jackson and not buffer growth
+ */
+final class DiscardingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        count += len;
+    }
+
+    long reset() {
+        long written = count;
+        count = 0;
+        return written;
+    }
+}
@@ -0,0 +1,132 @@
+package benchmarks;
+
+import dto.EventAdminDTO;
+import dto.EventPublicDTO;
+import dto.LocationAdminDTO;
+import dto.LocationPrivateDTO;
+import dto.PrivateDTOMapper;
+import dto.RoomAdminDTO;
+import dto.SuggestionDTO;
+import dto.TicketAdminDTO;
+import dto.TicketPrivateDTO;
+import dto.UserAdminDTO;
+import model.Event;
+import model.Location;
+import model.Room;
+import model.Ticket;
+import model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.AdminDTOMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of one list response, for every DTO built from entities:
+ * the admin lists (AdminDTOMapper), the user's tickets and locations (PrivateDTOMapper),
+ * the public catalog (EventPublicDTO) and autocomplete suggestions
+ * Read gc.alloc.rate.norm as bytes allocated per list
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    /** Tickets a user owns when their locations are listed - PrivateDTOMapper scans them per location */
+    private static final int USER_TICKETS = 20;
+
+    @Param({"1", "100", "10000"})
+    public int size;
+
+    private List<Event> events;
+    private List<Location> locations;
+    private List<Room> rooms;
+    private List<User> users;
+    private List<Ticket> tickets;
+    private List<Ticket> userTickets;
+    private Map<Integer, Map<String, Integer>> remaining;
+
+    @Setup
+    public void setUp() {
+        locations = Fixtures.locations(size);
+        rooms = Fixtures.rooms(size, locations);
+        users = Fixtures.users(size);
+        events = Fixtures.events(size, locations);
+        tickets = Fixtures.tickets(size, events, users);
+        userTickets = Fixtures.tickets(USER_TICKETS, events, users);
+        remaining = Fixtures.remaining(events);
+    }
+
+    @Benchmark
+    public List<EventAdminDTO> adminEvents() {
+        return AdminDTOMapper.toEventDTOList(events);
+    }
+
+    @Benchmark
+    public List<LocationAdminDTO> adminLocations() {
+        return AdminDTOMapper.toLocationDTOList(locations);
+    }
+
+    @Benchmark
+    public List<RoomAdminDTO> adminRooms() {
+        return AdminDTOMapper.toRoomDTOList(rooms);
+    }
+
+    @Benchmark
+    public List<UserAdminDTO> adminUsers() {
+        return AdminDTOMapper.toUserDTOList(users);
+    }
+
+    @Benchmark
+    public List<TicketAdminDTO> adminTickets() {
+        // The ticket export maps tickets one by one as it streams them
+        List<TicketAdminDTO> dtos = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            dtos.add(AdminDTOMapper.toTicketDTO(ticket));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<TicketPrivateDTO> privateTickets() {
+        return PrivateDTOMapper.toTicketDTOList(tickets);
+    }
+
+    @Benchmark
+    public List<LocationPrivateDTO> privateLocations() {
+        return PrivateDTOMapper.toLocationDTOList(locations, userTickets);
+    }
+
+    @Benchmark
+    public List<EventPublicDTO> publicEvents() {
+        List<EventPublicDTO> dtos = new ArrayList<>(events.size());
+        for (Event event : events) {
+            dtos.add(new EventPublicDTO(event, remaining.get(event.getId()), 4.5));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<SuggestionDTO> suggestions() {
+        List<SuggestionDTO> dtos = new ArrayList<>(events.size());
+        for (Event event : events) {
+            dtos.add(new SuggestionDTO("event", event.getId(), event.getName(), event.getEventStartDate()));
+        }
+        return dtos;
+    }
+}
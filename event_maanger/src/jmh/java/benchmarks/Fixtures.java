@@ -0,0 +1,116 @@
+package benchmarks;
+
+import model.Event;
+import model.Location;
+import model.Room;
+import model.Ticket;
+import model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Entity graphs shaped like the catalog: events with three ticket tiers at one or two locations,
+ * tickets pointing at their event and buyer
+ * Seeded, so every fork of a benchmark maps the same data
+ */
+final class Fixtures {
+
+    static final String[] TIERS = {"Standard", "VIP", "Student"};
+
+    private Fixtures() {
+    }
+
+    static List<Location> locations(int count) {
+        List<Location> locations = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Location location = new Location(i, "Hala Widowiskowa " + i, "ul. Piotrkowska " + i + ", 90-001 Lodz");
+            location.setDescription("Concert and conference venue number " + i);
+            location.setMaxAvailableSeats(500 + i % 5000);
+            locations.add(location);
+        }
+        return locations;
+    }
+
+    static List<Room> rooms(int count, List<Location> locations) {
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Room room = new Room(i, "Sala " + i, "Room on floor " + (i % 4));
+            room.setSeatCapacity(50 + i % 300);
+            room.setLocation(locations.get(i % locations.size()));
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User("user" + i, "Jan" + i, "Kowalski" + i, "user" + i + "@example.com",
+                    "+48 600 000 " + String.format("%03d", i % 1000), "ul. Zielona " + i + ", Lodz");
+            user.setId(i);
+            user.setPasswordHash("0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Event> events(int count, List<Location> locations) {
+        Random random = new Random(42);
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int month = 1 + i % 12;
+            String start = String.format("2026-%02d-%02d", month, 1 + i % 28);
+            Event event = new Event("Event " + i, "An evening of music and talks, edition " + i
+                    + ". Doors open an hour before the start.", start, "19:00", start, start, i % 3 == 0);
+            event.setId(i);
+            Map<String, Double> prices = new LinkedHashMap<>();
+            Map<String, Integer> quantities = new LinkedHashMap<>();
+            for (String tier : TIERS) {
+                prices.put(tier, 50.0 + random.nextInt(200));
+                quantities.put(tier, 100 + random.nextInt(400));
+            }
+            event.setTicketPrices(prices);
+            event.setTicketQuantities(quantities);
+            Location first = locations.get(i % locations.size());
+            event.setLocations(i % 4 == 0
+                    ? Arrays.asList(first, locations.get((i + 1) % locations.size()))
+                    : new ArrayList<>(Arrays.asList(first)));
+            events.add(event);
+        }
+        return events;
+    }
+
+    static List<Ticket> tickets(int count, List<Event> events, List<User> users) {
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Event event = events.get(i % events.size());
+            String tier = TIERS[i % TIERS.length];
+            Ticket ticket = new Ticket(event, users.get(i % users.size()), tier, event.getTicketPrices().get(tier),
+                    event.isNumberedSeats() ? "R" + (i % 30) + "S" + (i % 25) : null,
+                    event.getEventStartDate(), event.getEventEndDate());
+            ticket.setId(i);
+            ticket.setPurchaseDate("2026-01-15");
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+
+    /**
+     * Remaining tickets per tier, as EventService hands them to EventPublicDTO
+     */
+    static Map<Integer, Map<String, Integer>> remaining(List<Event> events) {
+        Map<Integer, Map<String, Integer>> remaining = new HashMap<>();
+        for (Event event : events) {
+            Map<String, Integer> byTier = new HashMap<>();
+            event.getTicketQuantities().forEach((tier, quantity) -> byTier.put(tier, quantity / 2));
+            remaining.put(event.getId(), byTier);
+        }
+        return remaining;
+    }
+}
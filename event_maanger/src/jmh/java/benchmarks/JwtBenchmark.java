@@ -0,0 +1,93 @@
+package benchmarks;
+
+import JWT.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil on the login path (generateToken) and on every authenticated request (validateToken, via JwtFilter)
+ * - validateToken builds a new parser per call, as JwtUtil does today ("cold")
+ * - validateWithCachedParser parses the same token with one parser built up front - the number a cached
+ *   parser in JwtUtil would reach
+ * - the get*FromToken helpers each validate the token again
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private String token;
+    private String tamperedToken;
+    private JwtParser cachedParser;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        token = JwtUtil.generateToken(42, "user42", false);
+        // Same header and claims, signature of another key
+        tamperedToken = token.substring(0, token.lastIndexOf('.') + 1)
+                + "c2lnbmF0dXJlLW9mLWFub3RoZXIta2V5LXNpZ25hdHVyZS1vZi1hbm90aGVyLWtleQ";
+        Field key = JwtUtil.class.getDeclaredField("KEY");
+        key.setAccessible(true);
+        cachedParser = Jwts.parserBuilder().setSigningKey((SecretKey) key.get(null)).build();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return JwtUtil.generateToken(42, "user42", false);
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return JwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims validateWithCachedParser() {
+        return cachedParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Rejected tokens go through an exception and a message string
+     */
+    @Benchmark
+    public Object validateTamperedToken() {
+        try {
+            return JwtUtil.validateToken(tamperedToken);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return JwtUtil.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public int getUserIdFromToken() {
+        return JwtUtil.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public boolean isAdminFromToken() {
+        return JwtUtil.isAdminFromToken(token);
+    }
+}
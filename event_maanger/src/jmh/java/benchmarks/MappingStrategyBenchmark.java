@@ -0,0 +1,90 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dto.EventAdminDTO;
+import model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.AdminDTOMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ways of turning the admin event list into a response body, mapping and serialization together:
+ * - streamCollect: AdminDTOMapper.toEventDTOList, then the whole list (what AdminResource does today)
+ * - presizedLoop: the same with a plain loop into a presized ArrayList
+ * - typedWriter: streamCollect through an ObjectWriter bound to List of EventAdminDTO once
+ * - perElement: no DTO list at all, each DTO written as soon as it is mapped (JsonArrayStream, the exports)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingStrategyBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter LIST_WRITER = MAPPER.writerFor(new TypeReference<List<EventAdminDTO>>() {
+    });
+
+    @Param({"1", "100", "10000"})
+    public int size;
+
+    private final DiscardingOutputStream out = new DiscardingOutputStream();
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+        events = Fixtures.events(size, Fixtures.locations(Math.max(1, size / 10)));
+    }
+
+    @Benchmark
+    public long streamCollect() throws IOException {
+        MAPPER.writeValue(out, AdminDTOMapper.toEventDTOList(events));
+        return out.reset();
+    }
+
+    @Benchmark
+    public long presizedLoop() throws IOException {
+        List<EventAdminDTO> dtos = new ArrayList<>(events.size());
+        for (Event event : events) {
+            dtos.add(AdminDTOMapper.toEventDTO(event));
+        }
+        MAPPER.writeValue(out, dtos);
+        return out.reset();
+    }
+
+    @Benchmark
+    public long typedWriter() throws IOException {
+        LIST_WRITER.writeValue(out, AdminDTOMapper.toEventDTOList(events));
+        return out.reset();
+    }
+
+    @Benchmark
+    public long perElement() throws IOException {
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (Event event : events) {
+                generator.writeObject(AdminDTOMapper.toEventDTO(event));
+            }
+            generator.writeEndArray();
+        }
+        return out.reset();
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import JWT.PasswordUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PasswordUtil on the login and register paths
+ * digestOnly and hashWithHexTable split hashPassword into the SHA-256 itself and the hex encoding,
+ * which PasswordUtil does with String.format per byte
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String password = "Correct-Horse-Battery-Staple-2026";
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        storedHash = PasswordUtil.hashPassword(password);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return PasswordUtil.hashPassword(password);
+    }
+
+    @Benchmark
+    public boolean validatePassword() {
+        return PasswordUtil.validatePassword(password, storedHash);
+    }
+
+    @Benchmark
+    public boolean validateWrongPassword() {
+        return PasswordUtil.validatePassword("Correct-Horse-Battery-Staple-2025", storedHash);
+    }
+
+    @Benchmark
+    public byte[] digestOnly() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String hashWithHexTable() throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[2 * i] = HEX[(digest[i] >> 4) & 0xf];
+            hex[2 * i + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,142 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.EventAdminDTO;
+import dto.EventPublicDTO;
+import dto.LocationAdminDTO;
+import dto.LocationPrivateDTO;
+import dto.PrivateDTOMapper;
+import dto.RoomAdminDTO;
+import dto.SuggestionDTO;
+import dto.TicketAdminDTO;
+import dto.TicketPrivateDTO;
+import dto.UserAdminDTO;
+import model.Event;
+import model.Location;
+import model.Ticket;
+import model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.AdminDTOMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of already mapped DTO lists, as Jersey writes them to the response
+ * Returns the body size, so the score can be read together with bytes per response
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"1", "100", "10000"})
+    public int size;
+
+    private final DiscardingOutputStream out = new DiscardingOutputStream();
+
+    private List<EventAdminDTO> adminEvents;
+    private List<LocationAdminDTO> adminLocations;
+    private List<RoomAdminDTO> adminRooms;
+    private List<UserAdminDTO> adminUsers;
+    private List<TicketAdminDTO> adminTickets;
+    private List<TicketPrivateDTO> privateTickets;
+    private List<LocationPrivateDTO> privateLocations;
+    private List<EventPublicDTO> publicEvents;
+    private List<SuggestionDTO> suggestions;
+
+    @Setup
+    public void setUp() {
+        List<Location> locations = Fixtures.locations(size);
+        List<User> users = Fixtures.users(size);
+        List<Event> events = Fixtures.events(size, locations);
+        List<Ticket> tickets = Fixtures.tickets(size, events, users);
+        Map<Integer, Map<String, Integer>> remaining = Fixtures.remaining(events);
+
+        adminEvents = AdminDTOMapper.toEventDTOList(events);
+        adminLocations = AdminDTOMapper.toLocationDTOList(locations);
+        adminRooms = AdminDTOMapper.toRoomDTOList(Fixtures.rooms(size, locations));
+        adminUsers = AdminDTOMapper.toUserDTOList(users);
+        adminTickets = new ArrayList<>();
+        privateTickets = PrivateDTOMapper.toTicketDTOList(tickets);
+        // Every location lists the tickets held there, like a user with one ticket per event
+        privateLocations = PrivateDTOMapper.toLocationDTOList(locations.subList(0, Math.min(size, 100)), tickets);
+        publicEvents = new ArrayList<>();
+        suggestions = new ArrayList<>();
+        for (Ticket ticket : tickets) {
+            adminTickets.add(AdminDTOMapper.toTicketDTO(ticket));
+        }
+        for (Event event : events) {
+            publicEvents.add(new EventPublicDTO(event, remaining.get(event.getId()), 4.5));
+            suggestions.add(new SuggestionDTO("event", event.getId(), event.getName(), event.getEventStartDate()));
+        }
+    }
+
+    private long write(Object value) throws IOException {
+        MAPPER.writeValue(out, value);
+        return out.reset();
+    }
+
+    @Benchmark
+    public long adminEvents() throws IOException {
+        return write(adminEvents);
+    }
+
+    @Benchmark
+    public long adminLocations() throws IOException {
+        return write(adminLocations);
+    }
+
+    @Benchmark
+    public long adminRooms() throws IOException {
+        return write(adminRooms);
+    }
+
+    @Benchmark
+    public long adminUsers() throws IOException {
+        return write(adminUsers);
+    }
+
+    @Benchmark
+    public long adminTickets() throws IOException {
+        return write(adminTickets);
+    }
+
+    @Benchmark
+    public long privateTickets() throws IOException {
+        return write(privateTickets);
+    }
+
+    @Benchmark
+    public long privateLocations() throws IOException {
+        return write(privateLocations);
+    }
+
+    @Benchmark
+    public long publicEvents() throws IOException {
+        return write(publicEvents);
+    }
+
+    @Benchmark
+    public long suggestions() throws IOException {
+        return write(suggestions);
+    }
+}
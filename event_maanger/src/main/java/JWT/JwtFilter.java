@@ -7,6 +7,7 @@ import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.Provider;
+import profiling.JwtValidationEvent;
 
 import java.io.IOException;
 
@@ -34,6 +35,11 @@ public class JwtFilter implements ContainerRequestFilter {
             return;
         }
 
+        // /health/* - liveness and readiness probes of the load balancer
+        if (path.startsWith("health/")) {
+            return;
+        }
+
         // Allow only auth/login and auth/register without token
         // Other auth/* endpoints require JWT
         // /private/* endpoints also require JWT (for authenticated users)
@@ -44,12 +50,18 @@ public class JwtFilter implements ContainerRequestFilter {
         }
 
         // All other endpoints require JWT authentication
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+        event.path = path;
+        event.userId = -1;
         String authHeader = requestContext.getHeaderString("Authorization");
         
         System.out.println("[JWT Filter] Authorization header: " + (authHeader != null ? "Present" : "Missing"));
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             System.out.println("[JWT Filter] Missing or invalid Authorization header - blocking request");
+            event.result = JwtValidationEvent.MISSING;
+            event.commit();
             requestContext.abortWith(
                 Response.status(Response.Status.UNAUTHORIZED)
                     .entity("{\"error\": \"Missing or invalid Authorization header\"}")
@@ -69,9 +81,15 @@ public class JwtFilter implements ContainerRequestFilter {
             requestContext.setProperty("isAdmin", claims.get("isAdmin", Boolean.class));
             
             System.out.println("[JWT Filter] Token validated successfully for user: " + claims.getSubject());
+            event.result = JwtValidationEvent.VALID;
+            Integer userId = claims.get("userId", Integer.class);
+            event.userId = userId != null ? userId : -1;
+            event.commit();
 
         } catch (RuntimeException e) {
             System.out.println("[JWT Filter] Token validation failed: " + e.getMessage());
+            event.result = JwtValidationEvent.INVALID;
+            event.commit();
             requestContext.abortWith(
                 Response.status(Response.Status.UNAUTHORIZED)
                     .entity("{\"error\": \"" + e.getMessage() + "\"}")
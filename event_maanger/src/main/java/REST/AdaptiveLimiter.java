@@ -0,0 +1,76 @@
+package REST;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit for requests that reach the database
+ * Every completion below the latency target while the limit is in use adds 1/limit (about +1 per
+ * limit's worth of requests); a completion above the target or an overload response cuts the limit
+ * by BACKOFF, at most once per target interval so one slow burst is not punished many times over
+ * Callers take a share of the limit, so lower traffic classes are turned away first as it shrinks
+ */
+final class AdaptiveLimiter {
+
+    static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecrease;
+
+    AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, long targetNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetNanos;
+        this.limit = initialLimit;
+        this.lastDecrease = System.nanoTime() - targetNanos;
+    }
+
+    /**
+     * Take a slot if fewer than share * limit requests are in flight
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give the slot back and adjust the limit from how the request went
+     *
+     * @param latencyNanos time the request held the slot
+     * @param overloaded   the request failed because the server was saturated (503, timeout)
+     */
+    void release(long latencyNanos, boolean overloaded) {
+        int before = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (overloaded || latencyNanos > targetNanos) {
+                long now = System.nanoTime();
+                if (now - lastDecrease >= targetNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF);
+                    lastDecrease = now;
+                }
+            } else if (before >= limit / 2) {
+                // Only grow while the limit is actually being used
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
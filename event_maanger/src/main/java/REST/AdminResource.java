@@ -1,37 +1,90 @@
 package REST;
 
-import dao.hibernate.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dao.hibernate.SqliteProfile;
 import dto.*;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
+import metrics.MetricsRegistry;
+import metrics.SlowQueryLog;
 import model.*;
+import profiling.RecordingManager;
 import service.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Admin API - Full access to all resources
  * Requires authentication and admin role
  * Returns DTO objects to avoid nested collection issues
+ * Lists, exports and bulk operations run on the ADMIN workload executor, so reports cannot starve other traffic
+ * Also serves the metrics endpoint (JSON and Prometheus text)
  */
+@Singleton
 @Path("/admin")
 @Produces("application/json")
 @Consumes("application/json")
 public class AdminResource {
 
+    private static final ObjectMapper NDJSON_MAPPER = new ObjectMapper();
+
+    // Fields accepted by the PATCH endpoints
+    private static final Set<String> EVENT_PATCH_FIELDS = new LinkedHashSet<>(Arrays.asList(
+            "name", "description", "eventDate", "eventTime", "eventStartDate", "eventEndDate", "numberedSeats"));
+    private static final Set<String> LOCATION_PATCH_FIELDS = new LinkedHashSet<>(Arrays.asList(
+            "name", "description", "address", "maxAvailableSeats"));
+    private static final Set<String> ROOM_PATCH_FIELDS = new LinkedHashSet<>(Arrays.asList(
+            "name", "description", "seatCapacity"));
+    private static final Set<String> USER_PATCH_FIELDS = new LinkedHashSet<>(Arrays.asList(
+            "firstName", "lastName", "email", "phoneNumber", "address", "admin"));
+
     private final EventService eventService;
     private final LocationService locationService;
     private final RoomService roomService;
     private final TicketService ticketService;
     private final UserService userService;
-
-    public AdminResource() {
-        this.eventService = new EventService(new EventHibernate());
-        this.locationService = new LocationService(new LocationHibernate());
-        this.roomService = new RoomService(new RoomHibernate());
-        this.ticketService = new TicketService(new TicketHibernate());
-        this.userService = new UserService(new UserHibernate());
+    private final AutocompleteService autocompleteService;
+    private final BulkImportService bulkImportService;
+
+    @Inject
+    public AdminResource(EventService eventService, LocationService locationService, RoomService roomService,
+                         TicketService ticketService, UserService userService,
+                         AutocompleteService autocompleteService, BulkImportService bulkImportService) {
+        this.eventService = eventService;
+        this.locationService = locationService;
+        this.roomService = roomService;
+        this.ticketService = ticketService;
+        this.userService = userService;
+        this.autocompleteService = autocompleteService;
+        this.bulkImportService = bulkImportService;
     }
 
 
@@ -47,21 +100,59 @@ public class AdminResource {
 
     @GET
     @Path("/events")
-    public List<EventAdminDTO> getAllEvents(@Context ContainerRequestContext requestContext) {
+    public void getAllEvents(
+            @QueryParam("sort") String sort,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit,
+            @Context UriInfo uriInfo,
+            @Context ContainerRequestContext requestContext,
+            @Suspended AsyncResponse response) {
+        verifyAdminAccess(requestContext);
+        Workload.ADMIN.dispatch(response, () ->
+                PagedResponse.of(() -> eventService.getEventsPage(sort, cursor, limit),
+                        AdminDTOMapper::toEventDTO, uriInfo));
+    }
+
+    /**
+     * All events as one JSON array, streamed row by row in constant memory
+     */
+    @GET
+    @Path("/events/export")
+    public void exportEvents(@Context ContainerRequestContext requestContext, @Suspended AsyncResponse response) {
+        verifyAdminAccess(requestContext);
+        StreamingOutput stream = JsonArrayStream.of(sink ->
+                eventService.forEachEvent(event -> sink.accept(AdminDTOMapper.toEventDTO(event))));
+        // Resumed on the admin executor, so the export is also written from there
+        Workload.ADMIN.dispatch(response, () -> Response.ok(stream).build());
+    }
+
+    /**
+     * All tickets of an event as one JSON array, streamed row by row
+     */
+    @GET
+    @Path("/events/{id}/tickets/export")
+    public void exportEventTickets(@PathParam("id") int id, @Context ContainerRequestContext requestContext,
+                                   @Suspended AsyncResponse response) {
         verifyAdminAccess(requestContext);
-        List<Event> events = eventService.getAllEvents();
-        return AdminDTOMapper.toEventDTOList(events);
+        Workload.ADMIN.dispatch(response, () -> {
+            if (eventService.getEvent(id) == null) {
+                throw new NotFoundException("Event not found with id: " + id);
+            }
+            StreamingOutput stream = JsonArrayStream.of(sink ->
+                    ticketService.forEachTicketByEvent(id, ticket -> sink.accept(AdminDTOMapper.toTicketDTO(ticket))));
+            return Response.ok(stream).build();
+        });
     }
 
     @GET
     @Path("/events/{id}")
-    public EventAdminDTO getEvent(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
+    public Response getEvent(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
         verifyAdminAccess(requestContext);
         Event event = eventService.getEvent(id);
         if (event == null) {
             throw new NotFoundException("Event not found with id: " + id);
         }
-        return AdminDTOMapper.toEventDTO(event);
+        return Response.ok(AdminDTOMapper.toEventDTO(event)).tag(ConditionalUpdate.tag(event.getVersion())).build();
     }
 
     @POST
@@ -72,25 +163,8 @@ public class AdminResource {
             throw new BadRequestException("Event name is required");
         }
         try {
-            Event newEvent = eventService.addEvent(
-                    event.getName(),
-                    event.getDescription(),
-                    event.getEventDate(),
-                    event.getEventTime(),
-                    event.getEventStartDate(),
-                    event.getEventEndDate(),
-                    event.isNumberedSeats()
-            );
-            if (event.getTicketPrices() != null) {
-                for (java.util.Map.Entry<String, Double> entry : event.getTicketPrices().entrySet()) {
-                    eventService.setTicketPrice(newEvent.getId(), entry.getKey(), entry.getValue());
-                }
-            }
-            if (event.getTicketQuantities() != null) {
-                for (java.util.Map.Entry<String, Integer> entry : event.getTicketQuantities().entrySet()) {
-                    eventService.setTicketQuantity(newEvent.getId(), entry.getKey(), entry.getValue());
-                }
-            }
+            Event newEvent = eventService.addEvent(event);
+            autocompleteService.eventSaved(newEvent);
             return AdminDTOMapper.toEventDTO(newEvent);
         } catch (Exception e) {
             SQLErrorHandler.handleSQLException(e, "create event");
@@ -98,27 +172,201 @@ public class AdminResource {
         }
     }
 
+    /**
+     * Replace the whole event; with If-Match the write fails with 412 if the event has changed since that version
+     * Prefer PATCH, which writes only the fields sent
+     */
     @PUT
     @Path("/events/{id}")
-    public EventAdminDTO updateEvent(@PathParam("id") int id, Event event,
+    public EventAdminDTO updateEvent(@PathParam("id") int id, Event event, @Context HttpHeaders headers,
                             @Context ContainerRequestContext requestContext) {
         verifyAdminAccess(requestContext);
         Event existingEvent = eventService.getEvent(id);
         if (existingEvent == null) {
             throw new NotFoundException("Event not found with id: " + id);
         }
+        Integer expectedVersion = ConditionalUpdate.expectedVersion(headers);
+        event.setVersion(expectedVersion != null ? expectedVersion : existingEvent.getVersion());
         event.setId(id);
-        eventService.updateEvent(event);
+        try {
+            eventService.updateEvent(event);
+        } catch (RuntimeException e) {
+            throw ConditionalUpdate.isVersionConflict(e)
+                    ? ConditionalUpdate.preconditionFailed("Event " + id + " was changed by another request")
+                    : e;
+        }
+        autocompleteService.eventSaved(event);
         return AdminDTOMapper.toEventDTO(event);
     }
 
+    /**
+     * Partial update: a JSON merge patch of EVENT_PATCH_FIELDS, written as an UPDATE of the changed columns only
+     * Send the ETag from GET as If-Match to get 412 instead of overwriting a concurrent change
+     */
+    @PATCH
+    @Path("/events/{id}")
+    @Consumes({"application/merge-patch+json", "application/json"})
+    public Response patchEvent(@PathParam("id") int id, Map<String, Object> patch, @Context HttpHeaders headers,
+                          @Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        Integer expectedVersion = ConditionalUpdate.expectedVersion(headers);
+        Consumer<Event> changes = ConditionalUpdate.changes(patch, EVENT_PATCH_FIELDS, event -> {
+            if (event.getName() == null || event.getName().trim().isEmpty()) {
+                throw new IllegalArgumentException("Event name is required");
+            }
+        });
+        return ConditionalUpdate.respond(() -> {
+                    Event updated = eventService.patchEvent(id, expectedVersion, changes);
+                    if (updated != null) {
+                        autocompleteService.eventSaved(updated);
+                    }
+                    return updated;
+                },
+                Event::getVersion, AdminDTOMapper::toEventDTO, "Event not found with id: " + id);
+    }
+
     @DELETE
     @Path("/events/{id}")
     public void deleteEvent(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
         verifyAdminAccess(requestContext);
-        Event event = eventService.getEvent(id);
-        if (event != null) {
-            eventService.deleteEvent(event);
+        EventBulkOperationDTO filter = new EventBulkOperationDTO();
+        filter.setEventIds(Collections.singletonList(id));
+        if (eventService.deleteEvents(filter).getEvents() > 0) {
+            autocompleteService.eventDeleted(id);
+        }
+    }
+
+    // ===== BULK EVENT OPERATIONS =====
+    // Set-based updates over events selected by eventIds and/or an eventStartDate range
+
+    @POST
+    @Path("/events/bulk-delete")
+    public void deleteEvents(EventBulkOperationDTO filter, @Context ContainerRequestContext requestContext,
+                             @Suspended AsyncResponse response) {
+        verifyAdminAccess(requestContext);
+        Workload.ADMIN.dispatch(response, () -> {
+            BulkResultDTO result;
+            try {
+                result = eventService.deleteEvents(filter);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(e.getMessage());
+            }
+            autocompleteService.invalidate();
+            return result;
+        });
+    }
+
+    @POST
+    @Path("/events/bulk-reprice")
+    public void repriceTicketType(EventBulkOperationDTO operation, @Context ContainerRequestContext requestContext,
+                                  @Suspended AsyncResponse response) {
+        verifyAdminAccess(requestContext);
+        Workload.ADMIN.dispatch(response, () -> {
+            try {
+                return eventService.repriceTicketType(operation);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(e.getMessage());
+            }
+        });
+    }
+
+    @POST
+    @Path("/events/bulk-shift-dates")
+    public void shiftEventDates(EventBulkOperationDTO operation, @Context ContainerRequestContext requestContext,
+                                @Suspended AsyncResponse response) {
+        verifyAdminAccess(requestContext);
+        Workload.ADMIN.dispatch(response, () -> {
+            try {
+                return eventService.shiftEventDates(operation);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(e.getMessage());
+            }
+        });
+    }
+
+    // ===== BULK IMPORT =====
+
+    /**
+     * Import events, price tiers and tickets from NDJSON (application/x-ndjson) or CSV (text/csv)
+     * The body is read row by row and the response streams NDJSON progress:
+     * {"type":"error","line":..,"message":..} for every rejected row,
+     * {"type":"progress",..totals} after every chunk and {"type":"summary",..totals} at the end
+     * If the import stops early (unreadable input such as an unterminated CSV quote, a database failure)
+     * an {"type":"error","message":..} line without a line number is written, and the summary holds
+     * the totals of the chunks committed until then
+     */
+    @POST
+    @Path("/import")
+    @Consumes({"application/x-ndjson", "text/csv"})
+    @Produces("application/x-ndjson")
+    public Response importData(InputStream body, @Context HttpHeaders headers,
+                               @Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        MediaType contentType = headers.getMediaType();
+        String format = contentType != null && "csv".equalsIgnoreCase(contentType.getSubtype())
+                ? BulkImportService.FORMAT_CSV
+                : BulkImportService.FORMAT_NDJSON;
+
+        StreamingOutput stream = output -> {
+            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            ImportSummaryDTO[] committed = {new ImportSummaryDTO(0, 0, 0, 0)};
+            try {
+                ImportSummaryDTO summary = bulkImportService.importData(
+                        new InputStreamReader(body, StandardCharsets.UTF_8), format,
+                        new BulkImportService.ProgressListener() {
+                            @Override
+                            public void rowFailed(long line, String message) {
+                                Map<String, Object> error = new LinkedHashMap<>();
+                                error.put("type", "error");
+                                error.put("line", line);
+                                error.put("message", message);
+                                writeLine(writer, error);
+                            }
+
+                            @Override
+                            public void chunkImported(ImportSummaryDTO progress) {
+                                committed[0] = progress;
+                                writeLine(writer, progressLine("progress", progress));
+                            }
+                        });
+                writeLine(writer, progressLine("summary", summary));
+            } catch (UncheckedIOException e) {
+                // writeLine failed - the client is gone, nothing more can be reported
+                throw e.getCause();
+            } catch (IOException | RuntimeException e) {
+                if (!(e instanceof IllegalArgumentException)) {
+                    System.err.println("Import aborted: " + e);
+                }
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("type", "error");
+                error.put("message", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                writeLine(writer, error);
+                writeLine(writer, progressLine("summary", committed[0]));
+            } finally {
+                autocompleteService.invalidate();
+            }
+        };
+        return Response.ok(stream).build();
+    }
+
+    private static Map<String, Object> progressLine(String type, ImportSummaryDTO totals) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", type);
+        line.put("processed", totals.getProcessed());
+        line.put("imported", totals.getImported());
+        line.put("failed", totals.getFailed());
+        line.put("elapsedMillis", totals.getElapsedMillis());
+        line.put("rowsPerSecond", totals.getRowsPerSecond());
+        return line;
+    }
+
+    private static void writeLine(Writer writer, Map<String, Object> line) {
+        try {
+            writer.write(NDJSON_MAPPER.writeValueAsString(line));
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -126,21 +374,28 @@ public class AdminResource {
 
     @GET
     @Path("/locations")
-    public List<LocationAdminDTO> getAllLocations(@Context ContainerRequestContext requestContext) {
+    public void getAllLocations(
+            @QueryParam("sort") String sort,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit,
+            @Context UriInfo uriInfo,
+            @Context ContainerRequestContext requestContext,
+            @Suspended AsyncResponse response) {
         verifyAdminAccess(requestContext);
-        List<Location> locations = locationService.getAllLocations();
-        return AdminDTOMapper.toLocationDTOList(locations);
+        Workload.ADMIN.dispatch(response, () ->
+                PagedResponse.of(() -> locationService.getLocationsPage(sort, cursor, limit),
+                        AdminDTOMapper::toLocationDTO, uriInfo));
     }
 
     @GET
     @Path("/locations/{id}")
-    public LocationAdminDTO getLocation(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
+    public Response getLocation(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
         verifyAdminAccess(requestContext);
         Location location = locationService.getLocation(id);
         if (location == null) {
             throw new NotFoundException("Location not found with id: " + id);
         }
-        return AdminDTOMapper.toLocationDTO(location);
+        return Response.ok(AdminDTOMapper.toLocationDTO(location)).tag(ConditionalUpdate.tag(location.getVersion())).build();
     }
 
     @POST
@@ -160,6 +415,7 @@ public class AdminResource {
             Location newLocation = locationService.addLocation(location.getName(), location.getAddress());
             newLocation.setMaxAvailableSeats(location.getMaxAvailableSeats());
             locationService.updateLocation(newLocation);
+            autocompleteService.locationSaved(newLocation);
             return AdminDTOMapper.toLocationDTO(newLocation);
         } catch (Exception e) {
             SQLErrorHandler.handleSQLException(e, "create location");
@@ -169,7 +425,7 @@ public class AdminResource {
 
     @PUT
     @Path("/locations/{id}")
-    public LocationAdminDTO updateLocation(@PathParam("id") int id, Location location,
+    public LocationAdminDTO updateLocation(@PathParam("id") int id, Location location, @Context HttpHeaders headers,
                                   @Context ContainerRequestContext requestContext) {
         verifyAdminAccess(requestContext);
         Location existingLocation = locationService.getLocation(id);
@@ -182,11 +438,51 @@ public class AdminResource {
         if (location.getAddress() == null || location.getAddress().trim().isEmpty()) {
             throw new BadRequestException("Location address is required");
         }
+        Integer expectedVersion = ConditionalUpdate.expectedVersion(headers);
+        location.setVersion(expectedVersion != null ? expectedVersion : existingLocation.getVersion());
         location.setId(id);
-        locationService.updateLocation(location);
+        try {
+            locationService.updateLocation(location);
+        } catch (RuntimeException e) {
+            throw ConditionalUpdate.isVersionConflict(e)
+                    ? ConditionalUpdate.preconditionFailed("Location " + id + " was changed by another request")
+                    : e;
+        }
+        autocompleteService.locationSaved(location);
         return AdminDTOMapper.toLocationDTO(location);
     }
 
+    /**
+     * Partial update of LOCATION_PATCH_FIELDS, see patchEvent
+     */
+    @PATCH
+    @Path("/locations/{id}")
+    @Consumes({"application/merge-patch+json", "application/json"})
+    public Response patchLocation(@PathParam("id") int id, Map<String, Object> patch, @Context HttpHeaders headers,
+                          @Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        Integer expectedVersion = ConditionalUpdate.expectedVersion(headers);
+        Consumer<Location> changes = ConditionalUpdate.changes(patch, LOCATION_PATCH_FIELDS, location -> {
+            if (location.getName() == null || location.getName().trim().isEmpty()) {
+                throw new IllegalArgumentException("Location name is required");
+            }
+            if (location.getAddress() == null || location.getAddress().trim().isEmpty()) {
+                throw new IllegalArgumentException("Location address is required");
+            }
+            if (location.getMaxAvailableSeats() <= 0) {
+                throw new IllegalArgumentException("Location max available seats must be greater than 0");
+            }
+        });
+        return ConditionalUpdate.respond(() -> {
+                    Location updated = locationService.patchLocation(id, expectedVersion, changes);
+                    if (updated != null) {
+                        autocompleteService.locationSaved(updated);
+                    }
+                    return updated;
+                },
+                Location::getVersion, AdminDTOMapper::toLocationDTO, "Location not found with id: " + id);
+    }
+
     @DELETE
     @Path("/locations/{id}")
     public void deleteLocation(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
@@ -194,6 +490,7 @@ public class AdminResource {
         Location location = locationService.getLocation(id);
         if (location != null) {
             locationService.deleteLocation(location);
+            autocompleteService.locationDeleted(id);
         }
     }
 
@@ -201,21 +498,28 @@ public class AdminResource {
 
     @GET
     @Path("/rooms")
-    public List<RoomAdminDTO> getAllRooms(@Context ContainerRequestContext requestContext) {
+    public void getAllRooms(
+            @QueryParam("sort") String sort,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit,
+            @Context UriInfo uriInfo,
+            @Context ContainerRequestContext requestContext,
+            @Suspended AsyncResponse response) {
         verifyAdminAccess(requestContext);
-        List<Room> rooms = roomService.getAllRooms();
-        return AdminDTOMapper.toRoomDTOList(rooms);
+        Workload.ADMIN.dispatch(response, () ->
+                PagedResponse.of(() -> roomService.getRoomsPage(sort, cursor, limit),
+                        AdminDTOMapper::toRoomDTO, uriInfo));
     }
 
     @GET
     @Path("/rooms/{id}")
-    public RoomAdminDTO getRoom(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
+    public Response getRoom(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
         verifyAdminAccess(requestContext);
         Room room = roomService.getRoom(id);
         if (room == null) {
             throw new NotFoundException("Room not found with id: " + id);
         }
-        return AdminDTOMapper.toRoomDTO(room);
+        return Response.ok(AdminDTOMapper.toRoomDTO(room)).tag(ConditionalUpdate.tag(room.getVersion())).build();
     }
 
     @POST
@@ -256,7 +560,7 @@ public class AdminResource {
 
     @PUT
     @Path("/rooms/{id}")
-    public RoomAdminDTO updateRoom(@PathParam("id") int id, Room room,
+    public RoomAdminDTO updateRoom(@PathParam("id") int id, Room room, @Context HttpHeaders headers,
                           @Context ContainerRequestContext requestContext) {
         verifyAdminAccess(requestContext);
         Room existingRoom = roomService.getRoom(id);
@@ -272,11 +576,41 @@ public class AdminResource {
             throw new BadRequestException("Room seat capacity must be greater than 0");
         }
 
+        Integer expectedVersion = ConditionalUpdate.expectedVersion(headers);
+        room.setVersion(expectedVersion != null ? expectedVersion : existingRoom.getVersion());
         room.setId(id);
-        roomService.updateRoom(room);
+        try {
+            roomService.updateRoom(room);
+        } catch (RuntimeException e) {
+            throw ConditionalUpdate.isVersionConflict(e)
+                    ? ConditionalUpdate.preconditionFailed("Room " + id + " was changed by another request")
+                    : e;
+        }
         return AdminDTOMapper.toRoomDTO(room);
     }
 
+    /**
+     * Partial update of ROOM_PATCH_FIELDS, see patchEvent
+     */
+    @PATCH
+    @Path("/rooms/{id}")
+    @Consumes({"application/merge-patch+json", "application/json"})
+    public Response patchRoom(@PathParam("id") int id, Map<String, Object> patch, @Context HttpHeaders headers,
+                          @Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        Integer expectedVersion = ConditionalUpdate.expectedVersion(headers);
+        Consumer<Room> changes = ConditionalUpdate.changes(patch, ROOM_PATCH_FIELDS, room -> {
+            if (room.getName() == null || room.getName().trim().isEmpty()) {
+                throw new IllegalArgumentException("Room name is required");
+            }
+            if (room.getSeatCapacity() <= 0) {
+                throw new IllegalArgumentException("Room seat capacity must be greater than 0");
+            }
+        });
+        return ConditionalUpdate.respond(() -> roomService.patchRoom(id, expectedVersion, changes),
+                Room::getVersion, AdminDTOMapper::toRoomDTO, "Room not found with id: " + id);
+    }
+
     @DELETE
     @Path("/rooms/{id}")
     public void deleteRoom(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
@@ -291,21 +625,40 @@ public class AdminResource {
 
     @GET
     @Path("/users")
-    public List<UserAdminDTO> getAllUsers(@Context ContainerRequestContext requestContext) {
+    public void getAllUsers(
+            @QueryParam("sort") String sort,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit,
+            @Context UriInfo uriInfo,
+            @Context ContainerRequestContext requestContext,
+            @Suspended AsyncResponse response) {
+        verifyAdminAccess(requestContext);
+        Workload.ADMIN.dispatch(response, () ->
+                PagedResponse.of(() -> userService.getUsersPage(sort, cursor, limit),
+                        AdminDTOMapper::toUserDTO, uriInfo));
+    }
+
+    /**
+     * All users as one JSON array, streamed row by row in constant memory
+     */
+    @GET
+    @Path("/users/export")
+    public void exportUsers(@Context ContainerRequestContext requestContext, @Suspended AsyncResponse response) {
         verifyAdminAccess(requestContext);
-        List<User> users = userService.getAllUsers();
-        return AdminDTOMapper.toUserDTOList(users);
+        StreamingOutput stream = JsonArrayStream.of(sink ->
+                userService.forEachUser(user -> sink.accept(AdminDTOMapper.toUserDTO(user))));
+        Workload.ADMIN.dispatch(response, () -> Response.ok(stream).build());
     }
 
     @GET
     @Path("/users/{id}")
-    public UserAdminDTO getUser(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
+    public Response getUser(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
         verifyAdminAccess(requestContext);
         User user = userService.getUserById(id);
         if (user == null) {
             throw new NotFoundException("User not found with id: " + id);
         }
-        return AdminDTOMapper.toUserDTO(user);
+        return Response.ok(AdminDTOMapper.toUserDTO(user)).tag(ConditionalUpdate.tag(user.getVersion())).build();
     }
 
     @POST
@@ -371,7 +724,7 @@ public class AdminResource {
 
     @PUT
     @Path("/users/{id}")
-    public UserAdminDTO updateUser(@PathParam("id") int id, User user,
+    public UserAdminDTO updateUser(@PathParam("id") int id, User user, @Context HttpHeaders headers,
                           @Context ContainerRequestContext requestContext) {
         verifyAdminAccess(requestContext);
         User existingUser = userService.getUserById(id);
@@ -379,11 +732,38 @@ public class AdminResource {
             throw new NotFoundException("User not found with id: " + id);
         }
 
+        Integer expectedVersion = ConditionalUpdate.expectedVersion(headers);
+        user.setVersion(expectedVersion != null ? expectedVersion : existingUser.getVersion());
         user.setId(id);
-        userService.updateUser(user);
+        try {
+            userService.updateUser(user);
+        } catch (RuntimeException e) {
+            throw ConditionalUpdate.isVersionConflict(e)
+                    ? ConditionalUpdate.preconditionFailed("User " + id + " was changed by another request")
+                    : e;
+        }
         return AdminDTOMapper.toUserDTO(user);
     }
 
+    /**
+     * Partial update of USER_PATCH_FIELDS, see patchEvent
+     */
+    @PATCH
+    @Path("/users/{id}")
+    @Consumes({"application/merge-patch+json", "application/json"})
+    public Response patchUser(@PathParam("id") int id, Map<String, Object> patch, @Context HttpHeaders headers,
+                          @Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        Integer expectedVersion = ConditionalUpdate.expectedVersion(headers);
+        Consumer<User> changes = ConditionalUpdate.changes(patch, USER_PATCH_FIELDS, user -> {
+            if (user.getEmail() == null || user.getEmail().trim().isEmpty()) {
+                throw new IllegalArgumentException("User email is required");
+            }
+        });
+        return ConditionalUpdate.respond(() -> userService.patchUser(id, expectedVersion, changes),
+                User::getVersion, AdminDTOMapper::toUserDTO, "User not found with id: " + id);
+    }
+
     @DELETE
     @Path("/users/{id}")
     public void deleteUser(@PathParam("id") int id, @Context ContainerRequestContext requestContext) {
@@ -393,6 +773,121 @@ public class AdminResource {
             userService.deleteUser(user);
         }
     }
-}
 
+    // ===== METRICS =====
+
+    /**
+     * Endpoint and DAO latency percentiles, error counts, pool and cache gauges,
+     * and the SQLite PRAGMA profile with the values the connections actually run with
+     */
+    @GET
+    @Path("/metrics")
+    public Map<String, Object> getMetrics(@Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        Map<String, Object> metrics = MetricsRegistry.shared().toMap();
+        metrics.put("sqlite", SqliteProfile.status());
+        return metrics;
+    }
 
+    /**
+     * The same metrics in Prometheus text format, for scraping
+     */
+    @GET
+    @Path("/metrics/prometheus")
+    @Produces("text/plain; version=0.0.4; charset=utf-8")
+    public String getPrometheusMetrics(@Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        return MetricsRegistry.shared().toPrometheus();
+    }
+
+    /**
+     * Recent statements slower than -Dsql.slowQueryMillis, newest first, with parameters and bind/execute times
+     * Always empty unless the server was started with that property
+     */
+    @GET
+    @Path("/metrics/slow-queries")
+    public List<Map<String, Object>> getSlowQueries(@Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        return SlowQueryLog.shared().recent();
+    }
+
+    // ===== PROFILING =====
+
+    /**
+     * Start a bounded Flight Recorder recording (JDK settings "default" or "profile") with the application's
+     * DAO, JWT and purchase events; only one runs at a time
+     */
+    @POST
+    @Path("/profiling/recording")
+    public Response startRecording(@QueryParam("settings") String settings,
+                                   @QueryParam("maxAgeSeconds") Long maxAgeSeconds,
+                                   @QueryParam("maxSizeMb") Long maxSizeMb,
+                                   @QueryParam("durationSeconds") Long durationSeconds,
+                                   @Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        long maxSizeCapMb = RecordingManager.MAX_SIZE_BYTES / (1024 * 1024);
+        if (maxSizeMb != null && (maxSizeMb < 1 || maxSizeMb > maxSizeCapMb)) {
+            throw new BadRequestException("maxSizeMb must be between 1 and " + maxSizeCapMb);
+        }
+        try {
+            Map<String, Object> status = RecordingManager.shared().start(settings,
+                    maxAgeSeconds != null ? Duration.ofSeconds(maxAgeSeconds) : null,
+                    maxSizeMb != null ? maxSizeMb * 1024 * 1024 : 0,
+                    durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null);
+            return Response.status(Response.Status.CREATED).entity(status).build();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(Collections.singletonMap("error", e.getMessage()))
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/profiling/recording")
+    public Map<String, Object> getRecording(@Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        return RecordingManager.shared().status();
+    }
+
+    /**
+     * Stop the running recording; it can still be downloaded afterwards
+     */
+    @DELETE
+    @Path("/profiling/recording")
+    public Map<String, Object> stopRecording(@Context ContainerRequestContext requestContext) {
+        verifyAdminAccess(requestContext);
+        try {
+            return RecordingManager.shared().stop();
+        } catch (IllegalStateException e) {
+            throw new NotFoundException(e.getMessage());
+        }
+    }
+
+    /**
+     * The recording as a .jfr file - data so far while it runs, everything it kept once stopped
+     */
+    @GET
+    @Path("/profiling/recording/download")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public Response downloadRecording(@Context ContainerRequestContext requestContext) throws IOException {
+        verifyAdminAccess(requestContext);
+        java.nio.file.Path file = RecordingManager.shared().dump();
+        if (file == null) {
+            throw new NotFoundException("No recording has been started");
+        }
+        StreamingOutput stream = output -> {
+            try {
+                Files.copy(file, output);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        String name = RecordingManager.NAME + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr";
+        return Response.ok(stream)
+                .header("Content-Disposition", "attachment; filename=\"" + name + "\"")
+                .build();
+    }
+}
@@ -0,0 +1,201 @@
+package REST;
+
+import JWT.JwtUtil;
+import dao.hibernate.CatalogHibernate;
+import dao.hibernate.EventHibernate;
+import dao.hibernate.HibernateSessionFactory;
+import dao.hibernate.LocationHibernate;
+import dao.hibernate.UserHibernate;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import profiling.RecordingManager;
+import service.AutocompleteService;
+import service.CatalogSearchService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the application at deploy time instead of on the first requests
+ * Phase one builds the SessionFactory (including the hbm2ddl schema update) while JWT signing is
+ * exercised on another thread; once the database is up, the default admin check and the autocomplete
+ * and catalog search indexes run in parallel
+ * Readiness is exposed by HealthResource - the load balancer should only route traffic once it is READY
+ */
+@WebListener
+public class ApplicationBootstrap implements ServletContextListener {
+
+    static final String PENDING = "PENDING";
+    static final String RUNNING = "RUNNING";
+    static final String DONE = "DONE";
+    static final String FAILED = "FAILED";
+
+    private static volatile ApplicationBootstrap current;
+
+    private final Map<String, Runnable> foundation;
+    private final Map<String, Runnable> warmups;
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+    private volatile ExecutorService executor;
+    private volatile boolean ready;
+
+    public ApplicationBootstrap() {
+        this(defaultFoundation(), defaultWarmups());
+    }
+
+    /**
+     * @param foundation steps run in parallel first; "hibernate" must be among them for the real application
+     * @param warmups    steps run in parallel once every foundation step has succeeded
+     */
+    ApplicationBootstrap(Map<String, Runnable> foundation, Map<String, Runnable> warmups) {
+        this.foundation = foundation;
+        this.warmups = warmups;
+        for (String name : foundation.keySet()) {
+            steps.put(name, new Step());
+        }
+        for (String name : warmups.keySet()) {
+            steps.put(name, new Step());
+        }
+    }
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        stop();
+        RecordingManager.shared().close();
+        HibernateSessionFactory.closeSessionFactory();
+    }
+
+    /**
+     * Start both phases in the background and return at once; the container finishes deploying meanwhile
+     */
+    CompletableFuture<Void> start() {
+        current = this;
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(2, Math.max(foundation.size(), warmups.size())), task -> {
+            Thread thread = new Thread(task, "bootstrap-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        System.out.println("Application bootstrap started: " + steps.keySet());
+        long startedAt = System.nanoTime();
+        return runAll(foundation)
+                .thenCompose(ignored -> runAll(warmups))
+                .whenComplete((ignored, error) -> {
+                    long millis = (System.nanoTime() - startedAt) / 1_000_000;
+                    if (error == null) {
+                        ready = true;
+                        System.out.println("Application bootstrap finished in " + millis + " ms - ready");
+                    } else {
+                        System.err.println("Application bootstrap failed after " + millis + " ms: " + describe(error));
+                    }
+                    executor.shutdown();
+                });
+    }
+
+    void stop() {
+        ready = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (current == this) {
+            current = null;
+        }
+    }
+
+    /**
+     * The running bootstrap, or null when the application was not started by a servlet container
+     */
+    static ApplicationBootstrap current() {
+        return current;
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Step name -> {status, millis, error}, in start order
+     */
+    Map<String, Map<String, Object>> status() {
+        Map<String, Map<String, Object>> status = new LinkedHashMap<>();
+        for (Map.Entry<String, Step> entry : steps.entrySet()) {
+            status.put(entry.getKey(), entry.getValue().toMap());
+        }
+        return status;
+    }
+
+    private CompletableFuture<Void> runAll(Map<String, Runnable> phase) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Map.Entry<String, Runnable> entry : phase.entrySet()) {
+            Step step = steps.get(entry.getKey());
+            futures.add(CompletableFuture.runAsync(() -> step.run(entry.getValue()), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    private static Map<String, Runnable> defaultFoundation() {
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        steps.put("hibernate", HibernateSessionFactory::getSessionFactory);
+        steps.put("jwt", () -> JwtUtil.validateToken(JwtUtil.generateToken(0, "bootstrap", false)));
+        return steps;
+    }
+
+    private static Map<String, Runnable> defaultWarmups() {
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        steps.put("defaultAdmin", UserHibernate::initializeDefaultAdmin);
+        steps.put("autocompleteIndex", () -> new AutocompleteService(new EventHibernate(), new LocationHibernate()).warmUp());
+        steps.put("catalogIndex", () -> new CatalogSearchService(new CatalogHibernate()).getIndex());
+        return steps;
+    }
+
+    private static final class Step {
+        private volatile String status = PENDING;
+        private volatile long millis;
+        private volatile String error;
+
+        void run(Runnable work) {
+            status = RUNNING;
+            long start = System.nanoTime();
+            try {
+                work.run();
+                status = DONE;
+            } catch (RuntimeException | Error e) {
+                error = describe(e);
+                status = FAILED;
+                throw e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+            } finally {
+                millis = (System.nanoTime() - start) / 1_000_000;
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("status", status);
+            map.put("millis", millis);
+            if (error != null) {
+                map.put("error", error);
+            }
+            return Collections.unmodifiableMap(map);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package REST;
 
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -8,6 +10,7 @@ import service.AuthService;
 import java.util.HashMap;
 import java.util.Map;
 
+@Singleton
 @Path("/auth")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -15,11 +18,7 @@ public class AuthResource {
 
     private final AuthService authService;
 
-    public AuthResource() {
-        // Create single instance per request
-        this.authService = new AuthService(new dao.hibernate.UserHibernate());
-    }
-
+    @Inject
     public AuthResource(AuthService authService) {
         this.authService = authService;
     }
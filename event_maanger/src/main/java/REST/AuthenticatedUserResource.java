@@ -1,13 +1,18 @@
 package REST;
 
-import dao.hibernate.TicketHibernate;
-import dao.hibernate.LocationHibernate;
 import dto.LocationPrivateDTO;
 import dto.PrivateDTOMapper;
 import dto.TicketPrivateDTO;
+import dto.TicketPurchaseDTO;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 import model.Location;
 import model.Ticket;
 import service.LocationService;
@@ -16,7 +21,11 @@ import service.TicketService;
 import java.util.List;
 import java.util.stream.Collectors;
 
-
+/**
+ * API for logged-in users - their tickets and the locations of their events
+ * Database work runs on the USER_READS and PURCHASES workload executors, not on the container thread
+ */
+@Singleton
 @Path("/private")
 @Produces("application/json")
 @Consumes("application/json")
@@ -25,39 +34,89 @@ public class AuthenticatedUserResource {
     private final TicketService ticketService;
     private final LocationService locationService;
 
-    public AuthenticatedUserResource() {
-        this.ticketService = new TicketService(new TicketHibernate());
-        this.locationService = new LocationService(new LocationHibernate());
+    @Inject
+    public AuthenticatedUserResource(TicketService ticketService, LocationService locationService) {
+        this.ticketService = ticketService;
+        this.locationService = locationService;
     }
 
     // ===== TICKETS =====
 
     @GET
     @Path("/tickets")
-    public List<TicketPrivateDTO> getUserTickets(@Context ContainerRequestContext requestContext) {
+    public void getUserTickets(
+            @QueryParam("sort") String sort,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit,
+            @Context UriInfo uriInfo,
+            @Context ContainerRequestContext requestContext,
+            @Suspended AsyncResponse response) {
+        Integer userId = (Integer) requestContext.getProperty("userId");
+
+        if (userId == null) {
+            throw new ForbiddenException("User ID not found in token");
+        }
+
+        Workload.USER_READS.dispatch(response, () ->
+                PagedResponse.of(() -> ticketService.getTicketsByUserPage(userId, sort, cursor, limit),
+                        PrivateDTOMapper::toTicketDTO, uriInfo));
+    }
+
+    /**
+     * Buy one ticket for the logged-in user - 201 with the ticket, 404 for an unknown event,
+     * 400 for an unknown ticket type or missing seat, 409 when the seat is taken or the type is sold out
+     */
+    @POST
+    @Path("/tickets/purchase")
+    public void purchaseTicket(TicketPurchaseDTO purchase,
+                               @Context ContainerRequestContext requestContext,
+                               @Suspended AsyncResponse response) {
         Integer userId = (Integer) requestContext.getProperty("userId");
 
         if (userId == null) {
             throw new ForbiddenException("User ID not found in token");
         }
+        if (purchase == null) {
+            throw new BadRequestException("Purchase details are required");
+        }
 
-        List<Ticket> tickets = ticketService.getTicketsByUser(userId);
-        return PrivateDTOMapper.toTicketDTOList(tickets);
+        Workload.PURCHASES.dispatch(response, () -> {
+            Ticket ticket;
+            try {
+                ticket = ticketService.purchaseTicket(purchase.getEventId(), userId,
+                        purchase.getTicketType(), purchase.getSeatNumber());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(e.getMessage());
+            } catch (IllegalStateException e) {
+                return Response.status(Response.Status.CONFLICT)
+                        .entity(SQLErrorHandler.buildErrorResponse(e.getMessage()))
+                        .build();
+            }
+            if (ticket == null) {
+                throw new NotFoundException("Event not found with ID: " + purchase.getEventId());
+            }
+            return Response.status(Response.Status.CREATED).entity(PrivateDTOMapper.toTicketDTO(ticket)).build();
+        });
     }
 
     @GET
     @Path("/tickets/search")
-    public List<TicketPrivateDTO> searchUserTickets(
+    public void searchUserTickets(
             @QueryParam("validOnly") Boolean validOnly,
             @QueryParam("startDate") String startDate,
             @QueryParam("endDate") String endDate,
-            @Context ContainerRequestContext requestContext) {
+            @Context ContainerRequestContext requestContext,
+            @Suspended AsyncResponse response) {
         Integer userId = (Integer) requestContext.getProperty("userId");
 
         if (userId == null) {
             throw new ForbiddenException("User ID not found in token");
         }
 
+        Workload.USER_READS.dispatch(response, () -> searchUserTickets(userId, validOnly, startDate, endDate));
+    }
+
+    private List<TicketPrivateDTO> searchUserTickets(int userId, Boolean validOnly, String startDate, String endDate) {
         List<Ticket> userTickets = ticketService.getTicketsByUser(userId);
         String today = java.time.LocalDate.now().toString();
 
@@ -92,38 +151,46 @@ public class AuthenticatedUserResource {
 
     @GET
     @Path("/tickets/{ticketId}")
-    public TicketPrivateDTO getUserTicket(@PathParam("ticketId") int ticketId,
-                                @Context ContainerRequestContext requestContext) {
+    public void getUserTicket(@PathParam("ticketId") int ticketId,
+                              @Context ContainerRequestContext requestContext,
+                              @Suspended AsyncResponse response) {
         Integer userId = (Integer) requestContext.getProperty("userId");
 
         if (userId == null) {
             throw new ForbiddenException("User ID not found in token");
         }
 
-        Ticket ticket = ticketService.getTicket(ticketId);
-        if (ticket == null) {
-            throw new NotFoundException("Ticket not found");
-        }
+        Workload.USER_READS.dispatch(response, () -> {
+            Ticket ticket = ticketService.getTicket(ticketId);
+            if (ticket == null) {
+                throw new NotFoundException("Ticket not found");
+            }
 
-        // Verify ownership
-        if (ticket.getUser().getId() != userId) {
-            throw new ForbiddenException("You don't have access to this ticket");
-        }
+            // Verify ownership
+            if (ticket.getUser().getId() != userId) {
+                throw new ForbiddenException("You don't have access to this ticket");
+            }
 
-        return PrivateDTOMapper.toTicketDTO(ticket);
+            return PrivateDTOMapper.toTicketDTO(ticket);
+        });
     }
 
     // ===== LOCATIONS =====
 
     @GET
     @Path("/locations")
-    public List<LocationPrivateDTO> getUserLocations(@Context ContainerRequestContext requestContext) {
+    public void getUserLocations(@Context ContainerRequestContext requestContext,
+                                 @Suspended AsyncResponse response) {
         Integer userId = (Integer) requestContext.getProperty("userId");
 
         if (userId == null) {
             throw new ForbiddenException("User ID not found in token");
         }
 
+        Workload.USER_READS.dispatch(response, () -> getUserLocations(userId));
+    }
+
+    private List<LocationPrivateDTO> getUserLocations(int userId) {
         // Get user's tickets
         List<Ticket> userTickets = ticketService.getTicketsByUser(userId);
 
@@ -140,21 +207,24 @@ public class AuthenticatedUserResource {
 
     @GET
     @Path("/locations/{locationId}")
-    public LocationPrivateDTO getUserLocation(@PathParam("locationId") int locationId,
-                                             @Context ContainerRequestContext requestContext) {
+    public void getUserLocation(@PathParam("locationId") int locationId,
+                                @Context ContainerRequestContext requestContext,
+                                @Suspended AsyncResponse response) {
         Integer userId = (Integer) requestContext.getProperty("userId");
 
         if (userId == null) {
             throw new ForbiddenException("User ID not found in token");
         }
 
-        Location location = locationService.getLocation(locationId);
-        if (location == null) {
-            throw new NotFoundException("Location not found with id: " + locationId);
-        }
+        Workload.USER_READS.dispatch(response, () -> {
+            Location location = locationService.getLocation(locationId);
+            if (location == null) {
+                throw new NotFoundException("Location not found with id: " + locationId);
+            }
 
-        List<Ticket> userTickets = ticketService.getTicketsByUser(userId);
-        return PrivateDTOMapper.toLocationDTO(location, userTickets);
+            List<Ticket> userTickets = ticketService.getTicketsByUser(userId);
+            return PrivateDTOMapper.toLocationDTO(location, userTickets);
+        });
     }
 }
 
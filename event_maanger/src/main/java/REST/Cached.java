@@ -0,0 +1,23 @@
+package REST;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks public GET methods whose responses are served from the shared ResponseCache
+ * Only for responses that depend on nothing but path, query and the catalog/inventory data
+ * Responses about a single event name the path parameter holding its id in eventParam, so they stay cached
+ * while tickets of other events are sold
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Cached {
+
+    /** Path parameter with the event id the response depends on, empty when it depends on all events */
+    String eventParam() default "";
+}
@@ -0,0 +1,142 @@
+package REST;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * gzip / deflate compression of text-like responses, negotiated from Accept-Encoding
+ * The body is compressed while it is written, so streamed responses stay streamed; the first
+ * ContentEncoding.MIN_SIZE bytes are held back to decide whether compressing is worth it at all
+ * Responses that already carry Content-Encoding (pre-compressed cache hits) are left alone
+ * A strong ETag set before compressing gets the coding appended (ContentEncoding.encodedTag)
+ * Runs outside ResponseCacheFilter (ENTITY_CODER before USER), so the cache always stores identity bodies
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+public class CompressionFilter implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String ENCODING_PROPERTY = CompressionFilter.class.getName() + ".encoding";
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!response.hasEntity() || !ContentEncoding.isCompressible(response.getMediaType())) {
+            return;
+        }
+        addVary(response.getHeaders());
+        if (response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+        String encoding = ContentEncoding.negotiate(request.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding != null) {
+            request.setProperty(ENCODING_PROPERTY, encoding);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        String encoding = (String) context.getProperty(ENCODING_PROPERTY);
+        if (encoding == null) {
+            context.proceed();
+            return;
+        }
+        OutputStream original = context.getOutputStream();
+        ThresholdOutputStream out = new ThresholdOutputStream(original, encoding, context.getHeaders());
+        context.setOutputStream(out);
+        try {
+            context.proceed();
+        } finally {
+            out.finish();
+            context.setOutputStream(original);
+        }
+    }
+
+    private static void addVary(MultivaluedMap<String, Object> headers) {
+        List<Object> vary = headers.get(HttpHeaders.VARY);
+        if (vary == null || !String.valueOf(vary).toLowerCase().contains("accept-encoding")) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    /**
+     * Buffers up to MIN_SIZE bytes; past that, sets Content-Encoding and switches to the compressor
+     * Headers are still mutable here because nothing has reached the container's stream yet
+     * A flush() while buffering is held back - otherwise every small response would be committed uncompressed
+     */
+    private static final class ThresholdOutputStream extends OutputStream {
+        private final OutputStream raw;
+        private final String encoding;
+        private final MultivaluedMap<String, Object> headers;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(ContentEncoding.MIN_SIZE);
+        private OutputStream compressor;
+
+        ThresholdOutputStream(OutputStream raw, String encoding, MultivaluedMap<String, Object> headers) {
+            this.raw = raw;
+            this.encoding = encoding;
+            this.headers = headers;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (compressor != null) {
+                compressor.write(b, off, len);
+                return;
+            }
+            buffer.write(b, off, len);
+            if (buffer.size() >= ContentEncoding.MIN_SIZE) {
+                headers.putSingle(HttpHeaders.CONTENT_ENCODING, encoding);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                Object etag = headers.getFirst(HttpHeaders.ETAG);
+                if (etag != null) {
+                    EntityTag tag = etag instanceof EntityTag ? (EntityTag) etag : EntityTag.valueOf(etag.toString());
+                    headers.putSingle(HttpHeaders.ETAG, ContentEncoding.encodedTag(tag, encoding));
+                }
+                compressor = ContentEncoding.encoder(raw, encoding);
+                buffer.writeTo(compressor);
+                buffer = null;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (compressor != null) {
+                compressor.flush();
+            }
+        }
+
+        /**
+         * End of entity: finish the compressed stream, or write a small body as it is
+         */
+        void finish() throws IOException {
+            if (compressor != null) {
+                compressor.close();
+            } else if (buffer != null) {
+                buffer.writeTo(raw);
+                buffer = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package REST;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.hibernate.StaleStateException;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * ETag / If-Match support for admin updates
+ * The ETag of an entity is its @Version; a PATCH or PUT sent with If-Match fails with
+ * 412 Precondition Failed once someone else has changed the entity, instead of overwriting that change
+ */
+class ConditionalUpdate {
+
+    private static final ObjectMapper PATCH_MAPPER = new ObjectMapper();
+
+    private ConditionalUpdate() {
+    }
+
+    static EntityTag tag(int version) {
+        return new EntityTag(String.valueOf(version));
+    }
+
+    /**
+     * Version named by If-Match, or null when the header is absent or "*"
+     * Weak or malformed tags can never match a version, so they fail with 412
+     */
+    static Integer expectedVersion(HttpHeaders headers) {
+        return parseIfMatch(headers.getHeaderString(HttpHeaders.IF_MATCH));
+    }
+
+    static Integer parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().isEmpty() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            try {
+                return Integer.valueOf(value.substring(1, value.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        throw preconditionFailed("If-Match " + ifMatch + " does not match the current version");
+    }
+
+    /**
+     * Changes that copy the fields of a JSON merge-patch body onto the entity, then validate it
+     * Fields outside allowed are rejected with 400 before anything is loaded
+     */
+    static <T> Consumer<T> changes(Map<String, Object> patch, Set<String> allowed, Consumer<T> validate) {
+        if (patch == null || patch.isEmpty()) {
+            throw new BadRequestException("Patch must contain at least one field");
+        }
+        for (String field : patch.keySet()) {
+            if (!allowed.contains(field)) {
+                throw new BadRequestException("Field cannot be patched: " + field + " (allowed: " + allowed + ")");
+            }
+        }
+        return entity -> {
+            try {
+                PATCH_MAPPER.updateValue(entity, patch);
+            } catch (JsonMappingException e) {
+                throw new IllegalArgumentException("Invalid value: " + e.getOriginalMessage());
+            }
+            validate.accept(entity);
+        };
+    }
+
+    /**
+     * Run a versioned update: 200 with the DTO and the new ETag, 404 if the entity is gone,
+     * 400 when validation fails, 412 on a version mismatch
+     */
+    static <T> Response respond(Supplier<T> update, ToIntFunction<T> versionOf, Function<T, ?> toDTO, String notFound) {
+        T entity;
+        try {
+            entity = update.get();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        } catch (RuntimeException e) {
+            throw isVersionConflict(e) ? preconditionFailed(e.getMessage()) : e;
+        }
+        if (entity == null) {
+            throw new NotFoundException(notFound);
+        }
+        return Response.ok(toDTO.apply(entity)).tag(tag(versionOf.applyAsInt(entity))).build();
+    }
+
+    static boolean isVersionConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static WebApplicationException preconditionFailed(String message) {
+        return new WebApplicationException(Response.status(Response.Status.PRECONDITION_FAILED)
+                .entity(SQLErrorHandler.buildErrorResponse(message))
+                .build());
+    }
+}
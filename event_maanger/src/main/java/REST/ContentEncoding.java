@@ -0,0 +1,123 @@
+package REST;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip / deflate negotiation and encoders shared by CompressionFilter and the response cache
+ */
+final class ContentEncoding {
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    /** Bodies smaller than this go out as they are - the headers would eat most of the saving */
+    static final int MIN_SIZE = 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ContentEncoding() {
+    }
+
+    /**
+     * Best supported coding in an Accept-Encoding header (gzip wins ties), or null for identity
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        Double gzipQ = null;
+        Double deflateQ = null;
+        Double anyQ = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            String coding = params[0].trim().toLowerCase();
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals(GZIP) || coding.equals("x-gzip")) {
+                gzipQ = q;
+            } else if (coding.equals(DEFLATE)) {
+                deflateQ = q;
+            } else if (coding.equals("*")) {
+                anyQ = q;
+            }
+        }
+        // Codings not named explicitly get the weight of "*", if present
+        double gzip = gzipQ != null ? gzipQ : anyQ != null ? anyQ : 0;
+        double deflate = deflateQ != null ? deflateQ : anyQ != null ? anyQ : 0;
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : null;
+    }
+
+    /**
+     * Text-like types worth compressing: JSON (incl. +json and NDJSON), XML and text/*
+     * Server-sent events are excluded - holding back their first bytes would delay the stream
+     */
+    static boolean isCompressible(MediaType type) {
+        if (type == null || MediaType.SERVER_SENT_EVENTS_TYPE.isCompatible(type)) {
+            return false;
+        }
+        String subtype = type.getSubtype().toLowerCase();
+        return "text".equalsIgnoreCase(type.getType())
+                || subtype.equals("json") || subtype.endsWith("+json") || subtype.equals("x-ndjson")
+                || subtype.equals("xml") || subtype.endsWith("+xml");
+    }
+
+    /**
+     * Compressing stream over out; flush() emits everything written so far (sync flush),
+     * close() finishes the stream and releases the native deflater but leaves out open
+     */
+    static OutputStream encoder(OutputStream out, String encoding) throws IOException {
+        OutputStream target = new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.flush();
+            }
+        };
+        return GZIP.equals(encoding)
+                ? new GZIPOutputStream(target, BUFFER_SIZE, true)
+                : new DeflaterOutputStream(target, true);
+    }
+
+    /**
+     * Strong ETag of a body in a content coding: RFC 9110 wants a different strong validator per coding,
+     * so the coding is appended to the identity tag, e.g. "3f2a..." becomes "3f2a...-gzip"
+     */
+    static EntityTag encodedTag(EntityTag tag, String encoding) {
+        return tag.isWeak() ? tag : new EntityTag(tag.getValue() + "-" + encoding);
+    }
+
+    static byte[] encode(byte[] body, String encoding) {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (OutputStream out = encoder(encoded, encoding)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return encoded.toByteArray();
+    }
+}
@@ -14,9 +14,27 @@ public class EventMangerApplication extends Application {
     public Set<Class<?>> getClasses() {
         Set<Class<?>> classes = new HashSet<>();
 
+        // Register singleton services/DAOs and metrics gauges
+        classes.add(ServiceFeature.class);
+
+        // Register per-endpoint latency metrics
+        classes.add(MetricsListener.class);
+
         // Register JWT Filter
         classes.add(JwtFilter.class);
 
+        // Register adaptive concurrency limit / load shedding
+        classes.add(LoadSheddingFilter.class);
+
+        // Register gzip/deflate response compression
+        classes.add(CompressionFilter.class);
+
+        // Register response cache for @Cached public endpoints
+        classes.add(ResponseCacheFilter.class);
+
+        // Register liveness/readiness probes
+        classes.add(HealthResource.class);
+
         // Register Auth Resources
         classes.add(AuthResource.class);
 
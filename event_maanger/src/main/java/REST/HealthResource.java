@@ -0,0 +1,52 @@
+package REST;
+
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Probes for the load balancer - no authentication, never shed, never touch the database
+ * live: the application is deployed and answering
+ * ready: ApplicationBootstrap has finished warming up; 503 with per-step status until then
+ */
+@Singleton
+@Path("/health")
+@Produces("application/json")
+public class HealthResource {
+
+    @GET
+    @Path("/live")
+    public Map<String, Object> live() {
+        return Collections.singletonMap("status", "UP");
+    }
+
+    @GET
+    @Path("/ready")
+    public Response ready() {
+        ApplicationBootstrap bootstrap = ApplicationBootstrap.current();
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (bootstrap == null) {
+            body.put("status", "NOT_STARTED");
+            return notReady(body);
+        }
+        body.put("status", bootstrap.isReady() ? "READY" : "STARTING");
+        body.put("steps", bootstrap.status());
+        if (!bootstrap.isReady()) {
+            return notReady(body);
+        }
+        return Response.ok(body).build();
+    }
+
+    private static Response notReady(Map<String, Object> body) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", Workload.RETRY_AFTER_SECONDS)
+                .entity(body)
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package REST;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Streams a JSON array to the response one element at a time
+ * The source pushes DTOs into the sink while it iterates the database, and each one is written
+ * by a JsonGenerator straight away, so neither the entity list nor the DTO list is ever materialised
+ * Errors after the first byte cannot change the status code any more - the response is cut short instead
+ */
+final class JsonArrayStream {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JsonArrayStream() {
+    }
+
+    /**
+     * Source of array elements: calls the given sink once per element
+     */
+    interface Source<T> {
+        void forEach(Consumer<T> sink);
+    }
+
+    static <T> StreamingOutput of(Source<T> source) {
+        return output -> {
+            try (JsonGenerator generator = MAPPER.getFactory().createGenerator(output)) {
+                generator.writeStartArray();
+                try {
+                    source.forEach(element -> {
+                        try {
+                            generator.writeObject(element);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package REST;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load shedding in front of the resources: requests beyond the adaptive concurrency limit are turned away
+ * at once with 503 and Retry-After instead of queueing behind a slow database
+ * Purchases and logins may use the whole limit, other user calls 90%, anonymous browsing 75% and
+ * admin reports 50%, so as the limit shrinks the cheapest-to-refuse traffic goes first
+ * Runs after JwtFilter and ResponseCacheFilter, so cache hits are never shed; SSE streams, health probes
+ * and metrics scrapes are exempt
+ * Tuning: -Dlimiter.initialLimit, -Dlimiter.minLimit, -Dlimiter.maxLimit, -Dlimiter.targetMillis
+ */
+@Provider
+@Priority(Priorities.USER + 100)
+public class LoadSheddingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String START_PROPERTY = LoadSheddingFilter.class.getName() + ".start";
+
+    private static final AdaptiveLimiter SHARED = new AdaptiveLimiter(
+            Integer.getInteger("limiter.initialLimit", 20),
+            Integer.getInteger("limiter.minLimit", 2),
+            Integer.getInteger("limiter.maxLimit", 200),
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("limiter.targetMillis", 250)));
+
+    enum TrafficClass {
+        CRITICAL(1.0),
+        USER(0.9),
+        BROWSING(0.75),
+        ADMIN(0.5);
+
+        private final double share;
+
+        TrafficClass(double share) {
+            this.share = share;
+        }
+    }
+
+    private final AdaptiveLimiter limiter;
+
+    public LoadSheddingFilter() {
+        this(SHARED);
+    }
+
+    LoadSheddingFilter(AdaptiveLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    static AdaptiveLimiter limiter() {
+        return SHARED;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        String path = request.getUriInfo().getPath();
+        if ("OPTIONS".equals(request.getMethod()) || path.endsWith("/stream") || path.startsWith("health/")
+                || path.startsWith("admin/metrics")) {
+            return;
+        }
+        if (!limiter.tryAcquire(classify(request.getMethod(), path).share)) {
+            request.abortWith(Workload.unavailable("Server is busy, try again later"));
+            return;
+        }
+        request.setProperty(START_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Long start = (Long) request.getProperty(START_PROPERTY);
+        if (start == null) {
+            return;
+        }
+        request.removeProperty(START_PROPERTY);
+        limiter.release(System.nanoTime() - start,
+                response.getStatus() == Response.Status.SERVICE_UNAVAILABLE.getStatusCode());
+    }
+
+    static TrafficClass classify(String method, String path) {
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        if (path.equals("auth/login") || ("POST".equals(method) && path.equals("private/tickets/purchase"))) {
+            return TrafficClass.CRITICAL;
+        }
+        if (path.startsWith("private/") || path.startsWith("auth/")) {
+            return TrafficClass.USER;
+        }
+        if (path.startsWith("admin/")) {
+            return TrafficClass.ADMIN;
+        }
+        return TrafficClass.BROWSING;
+    }
+}
@@ -0,0 +1,71 @@
+package REST;
+
+import jakarta.ws.rs.ext.Provider;
+import metrics.MetricsRegistry;
+import metrics.RequestSqlTracker;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * Records the latency of every request against its resource method (e.g. PublicResource.getAllEvents),
+ * from the moment Jersey receives it until the response is written - including time queued on a Workload
+ * Uses Jersey's request events rather than response filters, so requests that end in an unmapped exception
+ * are counted too; 5xx responses and such failures count as errors, requests that matched no method as "unmatched"
+ * Also opens the request's RequestSqlTracker and prints its report when the request went over the SQL budget
+ */
+@Provider
+public class MetricsListener implements ApplicationEventListener {
+
+    private final MetricsRegistry registry;
+
+    public MetricsListener() {
+        this(MetricsRegistry.shared());
+    }
+
+    MetricsListener(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        long start = System.nanoTime();
+        ContainerRequest request = requestEvent.getContainerRequest();
+        RequestSqlTracker sql = RequestSqlTracker.begin(request.getMethod() + " /" + request.getPath(true));
+        return event -> {
+            if (event.getType() == RequestEvent.Type.REQUEST_MATCHED) {
+                sql.setEndpoint(endpoint(event.getUriInfo().getMatchedResourceMethod()));
+                return;
+            }
+            if (event.getType() != RequestEvent.Type.FINISHED) {
+                return;
+            }
+            long nanos = System.nanoTime() - start;
+            boolean error = !event.isSuccess()
+                    || event.getContainerResponse() == null
+                    || event.getContainerResponse().getStatus() >= 500;
+            registry.timer(MetricsRegistry.HTTP, endpoint(event.getUriInfo().getMatchedResourceMethod()))
+                    .record(nanos, error);
+            String overBudget = sql.finish(nanos);
+            if (overBudget != null) {
+                System.out.println(overBudget);
+            }
+        };
+    }
+
+    private static String endpoint(ResourceMethod method) {
+        if (method == null) {
+            return "unmatched";
+        }
+        Invocable invocable = method.getInvocable();
+        return invocable.getHandler().getHandlerClass().getSimpleName() + "." + invocable.getHandlingMethod().getName();
+    }
+}
@@ -0,0 +1,48 @@
+package REST;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import service.InvalidCursorException;
+import service.Page;
+
+import java.net.URI;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Response for keyset-paginated list endpoints
+ * The body stays a plain JSON array; the next page is announced with a Link: rel="next" header
+ * and the raw cursor in X-Next-Cursor. Both are absent on the last page
+ */
+final class PagedResponse {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PagedResponse() {
+    }
+
+    /**
+     * Fetch a page, map it to DTOs and build the response
+     * Invalid cursor or sort parameters become 400 Bad Request; other exceptions from the query are server errors
+     */
+    static <T, D> Response of(Supplier<Page<T>> fetch, Function<T, D> mapper, UriInfo uriInfo) {
+        Page<T> page;
+        try {
+            page = fetch.get();
+        } catch (InvalidCursorException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        Page<D> dtoPage = page.map(mapper);
+
+        Response.ResponseBuilder response = Response.ok(dtoPage.getItems());
+        if (dtoPage.getNextCursor() != null) {
+            URI next = uriInfo.getRequestUriBuilder()
+                    .replaceQueryParam("cursor", dtoPage.getNextCursor())
+                    .build();
+            response.header(NEXT_CURSOR_HEADER, dtoPage.getNextCursor())
+                    .link(next, "next");
+        }
+        return response.build();
+    }
+}
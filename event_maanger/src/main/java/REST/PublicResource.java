@@ -1,165 +1,206 @@
 package REST;
 
-import dao.hibernate.EventHibernate;
-import dao.hibernate.UserHibernate;
 import dto.EventPublicDTO;
+import dto.EventSearchResultDTO;
+import dto.SuggestionDTO;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 import model.Event;
 import model.User;
+import search.EventSearchCriteria;
 import service.AuthService;
+import service.AutocompleteService;
+import service.CatalogSearchService;
 import service.EventService;
 import service.TicketService;
 
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Public API for unauthenticated users
  * Allows viewing events and user registration only
  * No authentication required
+ * The hottest reads are @Cached - served from ResponseCache until the catalog or inventory changes
+ * Database reads run on the PUBLIC_READS workload executor; cache hits never leave the container thread
  */
+@Singleton
 @Path("/public")
 @Produces("application/json")
 @Consumes("application/json")
 public class PublicResource {
 
+    private static final int FUZZY_RESULT_LIMIT = 100;
+
     private final EventService eventService;
     private final TicketService ticketService;
     private final AuthService authService;
+    private final AutocompleteService autocompleteService;
+    private final CatalogSearchService catalogSearchService;
+    private final RemainingTicketsBroadcaster remainingTickets;
 
-    public PublicResource() {
-        this.eventService = new EventService(new EventHibernate());
-        this.ticketService = new TicketService(new dao.hibernate.TicketHibernate());
-        this.authService = new AuthService(new UserHibernate());
+    @Inject
+    public PublicResource(EventService eventService, TicketService ticketService, AuthService authService,
+                          AutocompleteService autocompleteService, CatalogSearchService catalogSearchService,
+                          RemainingTicketsBroadcaster remainingTickets) {
+        this.eventService = eventService;
+        this.ticketService = ticketService;
+        this.authService = authService;
+        this.autocompleteService = autocompleteService;
+        this.catalogSearchService = catalogSearchService;
+        this.remainingTickets = remainingTickets;
     }
 
     // ===== EVENTS ENDPOINTS =====
 
     @GET
+    @Cached
     @Path("/events")
-    public List<EventPublicDTO> getAllEvents() {
-        return eventService.getAllEvents().stream()
-                .map(event -> {
-                    Map<String, Integer> remaining = ticketService.getRemainingTicketsByEvent(event.getId());
-                    double avgRating = 0.0; // Average rating calculation removed with EventReview
-                    return new EventPublicDTO(event, remaining, avgRating);
-                })
-                .collect(Collectors.toList());
+    public void getAllEvents(
+            @QueryParam("sort") String sort,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit,
+            @Context UriInfo uriInfo,
+            @Suspended AsyncResponse response) {
+        Workload.PUBLIC_READS.dispatch(response, () ->
+                PagedResponse.of(() -> eventService.getEventsPage(sort, cursor, limit),
+                        event -> {
+                            Map<String, Integer> remaining = ticketService.getRemainingTicketsByEvent(event.getId());
+                            double avgRating = 0.0; // Average rating calculation removed with EventReview
+                            return new EventPublicDTO(event, remaining, avgRating);
+                        }, uriInfo));
     }
 
     @GET
     @Path("/events/search")
-    public List<EventPublicDTO> searchEvents(
+    public void searchEvents(
             @QueryParam("eventName") String eventName,
             @QueryParam("locationName") String locationName,
             @QueryParam("startDate") String startDate,
             @QueryParam("endDate") String endDate,
             @QueryParam("minPrice") Double minPrice,
             @QueryParam("maxPrice") Double maxPrice,
-            @QueryParam("onlyAvailable") Boolean onlyAvailable) {
-
-        List<Event> events = eventService.getAllEvents();
-
-        // Filter by event name (fragment match)
-        if (eventName != null && !eventName.trim().isEmpty()) {
-            events = events.stream()
-                    .filter(e -> e.getName().toLowerCase().contains(eventName.toLowerCase()))
-                    .collect(Collectors.toList());
-        }
+            @QueryParam("onlyAvailable") Boolean onlyAvailable,
+            @QueryParam("fuzzy") Boolean fuzzy,
+            @QueryParam("maxEdits") Integer maxEdits,
+            @QueryParam("facets") Boolean facets,
+            @Suspended AsyncResponse response) {
+        Workload.PUBLIC_READS.dispatch(response, () -> searchEvents(eventName, locationName, startDate, endDate,
+                minPrice, maxPrice, onlyAvailable, fuzzy, maxEdits, facets));
+    }
 
-        // Filter by location name (fragment match)
-        if (locationName != null && !locationName.trim().isEmpty()) {
-            events = events.stream()
-                    .filter(e -> e.getLocations() != null && e.getLocations().stream()
-                            .anyMatch(loc -> loc.getName().toLowerCase().contains(locationName.toLowerCase())))
-                    .collect(Collectors.toList());
-        }
+    private Response searchEvents(String eventName, String locationName, String startDate, String endDate,
+                                  Double minPrice, Double maxPrice, Boolean onlyAvailable,
+                                  Boolean fuzzy, Integer maxEdits, Boolean facets) {
 
-        // Filter by event start date (on or after)
-        if (startDate != null && !startDate.trim().isEmpty()) {
-            events = events.stream()
-                    .filter(e -> e.getEventStartDate() != null && e.getEventStartDate().compareTo(startDate) >= 0)
-                    .collect(Collectors.toList());
-        }
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setLocationName(locationName);
+        criteria.setStartDate(startDate);
+        criteria.setEndDate(endDate);
+        criteria.setMinPrice(minPrice);
+        criteria.setMaxPrice(maxPrice);
+        criteria.setOnlyAvailable(onlyAvailable != null && onlyAvailable);
 
-        // Filter by event end date (on or before)
-        if (endDate != null && !endDate.trim().isEmpty()) {
-            events = events.stream()
-                    .filter(e -> e.getEventEndDate() != null && e.getEventEndDate().compareTo(endDate) <= 0)
-                    .collect(Collectors.toList());
+        boolean fuzzyName = fuzzy != null && fuzzy && eventName != null && !eventName.trim().isEmpty();
+        Map<Integer, Integer> rank = new HashMap<>();
+        if (fuzzyName) {
+            // Typo-tolerant name match from the in-memory index, best matches first
+            List<Integer> rankedIds = autocompleteService.fuzzySearchEventIds(eventName, maxEdits, FUZZY_RESULT_LIMIT);
+            for (int i = 0; i < rankedIds.size(); i++) {
+                rank.put(rankedIds.get(i), i);
+            }
+            criteria.setEventIds(rankedIds);
+        } else {
+            // Filter by event name (fragment match)
+            criteria.setEventName(eventName);
         }
 
-        // Filter by price range
-        if (minPrice != null || maxPrice != null) {
-            events = events.stream()
-                    .filter(e -> {
-                        if (e.getTicketPrices() == null || e.getTicketPrices().isEmpty()) {
-                            return true;
-                        }
-                        double minEventPrice = e.getTicketPrices().values().stream()
-                                .mapToDouble(Double::doubleValue).min().orElse(0);
-                        double maxEventPrice = e.getTicketPrices().values().stream()
-                                .mapToDouble(Double::doubleValue).max().orElse(Double.MAX_VALUE);
-
-                        boolean minCheck = minPrice == null || minEventPrice >= minPrice;
-                        boolean maxCheck = maxPrice == null || maxEventPrice <= maxPrice;
-                        return minCheck && maxCheck;
-                    })
-                    .collect(Collectors.toList());
+        if (facets != null && facets) {
+            EventSearchResultDTO result = catalogSearchService.searchWithFacets(criteria);
+            if (fuzzyName) {
+                result.getEvents().sort(Comparator.comparingInt(e -> rank.get(e.getId())));
+            }
+            return Response.ok(result).build();
         }
 
-        // Filter by ticket availability
-        if (onlyAvailable != null && onlyAvailable) {
-            events = events.stream()
-                    .filter(e -> {
-                        Map<String, Integer> remaining = ticketService.getRemainingTicketsByEvent(e.getId());
-                        return !remaining.isEmpty() && remaining.values().stream().anyMatch(count -> count > 0);
-                    })
-                    .collect(Collectors.toList());
+        List<EventPublicDTO> events = catalogSearchService.search(criteria);
+        if (fuzzyName) {
+            events.sort(Comparator.comparingInt(e -> rank.get(e.getId())));
         }
-
-        // Convert to EventPublicDTO
-        return events.stream()
-                .map(event -> {
-                    Map<String, Integer> remaining = ticketService.getRemainingTicketsByEvent(event.getId());
-                    double avgRating = 0.0; // Average rating calculation removed with EventReview
-                    return new EventPublicDTO(event, remaining, avgRating);
-                })
-                .collect(Collectors.toList());
+        return Response.ok(events).build();
     }
 
     @GET
+    @Cached(eventParam = "id")
     @Path("/events/{id}")
-    public EventPublicDTO getEvent(@PathParam("id") int id) {
-        Event event = eventService.getEvent(id);
-        if (event == null) {
-            throw new NotFoundException("Event not found");
-        }
-        Map<String, Integer> remaining = ticketService.getRemainingTicketsByEvent(id);
-        double avgRating = 0.0; // Average rating calculation removed with EventReview
-        return new EventPublicDTO(event, remaining, avgRating);
+    public void getEvent(@PathParam("id") int id, @Suspended AsyncResponse response) {
+        Workload.PUBLIC_READS.dispatch(response, () -> {
+            Event event = eventService.getEvent(id);
+            if (event == null) {
+                throw new NotFoundException("Event not found");
+            }
+            Map<String, Integer> remaining = ticketService.getRemainingTicketsByEvent(id);
+            double avgRating = 0.0; // Average rating calculation removed with EventReview
+            return new EventPublicDTO(event, remaining, avgRating);
+        });
     }
 
     @GET
+    @Cached
     @Path("/events/name/{name}")
-    public EventPublicDTO getEventByName(@PathParam("name") String name) {
-        Event event = eventService.getEventByName(name);
-        if (event == null) {
-            throw new NotFoundException("Event not found");
+    public void getEventByName(@PathParam("name") String name, @Suspended AsyncResponse response) {
+        Workload.PUBLIC_READS.dispatch(response, () -> {
+            Event event = eventService.getEventByName(name);
+            if (event == null) {
+                throw new NotFoundException("Event not found");
+            }
+            Map<String, Integer> remaining = ticketService.getRemainingTicketsByEvent(event.getId());
+            double avgRating = 0.0; // Average rating calculation removed with EventReview
+            return new EventPublicDTO(event, remaining, avgRating);
+        });
+    }
+
+    @GET
+    @Path("/autocomplete")
+    public List<SuggestionDTO> autocomplete(@QueryParam("q") String query,
+                                            @QueryParam("limit") Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new BadRequestException("Query parameter 'q' is required");
         }
-        Map<String, Integer> remaining = ticketService.getRemainingTicketsByEvent(event.getId());
-        double avgRating = 0.0; // Average rating calculation removed with EventReview
-        return new EventPublicDTO(event, remaining, avgRating);
+        return autocompleteService.suggest(query, limit);
     }
 
     @GET
+    @Cached(eventParam = "eventId")
     @Path("/events/{eventId}/tickets/remaining")
-    public Map<String, Integer> getRemainingTickets(@PathParam("eventId") int eventId) {
-        return ticketService.getRemainingTicketsByEvent(eventId);
+    public void getRemainingTickets(@PathParam("eventId") int eventId, @Suspended AsyncResponse response) {
+        Workload.PUBLIC_READS.dispatch(response, () -> ticketService.getRemainingTicketsByEvent(eventId));
+    }
+
+    /**
+     * Live remaining-ticket counts as server-sent events: the full counts first, then the changed
+     * ticket types whenever tickets are sold or released (coalesced per event, see RemainingTicketsBroadcaster)
+     */
+    @GET
+    @Path("/events/{eventId}/tickets/remaining/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void streamRemainingTickets(@PathParam("eventId") int eventId,
+                                       @Context SseEventSink sink, @Context Sse sse) {
+        if (eventService.getEvent(eventId) == null) {
+            throw new NotFoundException("Event not found with ID: " + eventId);
+        }
+        remainingTickets.subscribe(eventId, sink, sse);
     }
 
 
@@ -0,0 +1,334 @@
+package REST;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import service.CatalogVersion;
+import service.TicketService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Server-sent "remaining" events for watchers of an event's ticket counts
+ * Inventory changes are coalesced per event over WINDOW_MILLIS; one flush computes the remaining counts
+ * once and sends the changed ticket types to every watcher, so the cost of a sale does not grow with the
+ * number of watchers, and events nobody watches cost nothing
+ * A new watcher first gets the full counts, then only deltas ({"VIP": 3})
+ * All channel state is touched on the single broadcaster thread; writers only flag a channel as dirty
+ * The counts are queried and the events written on worker threads: the writes of one channel are chained
+ * so its watchers see them in order, and a slow client holds up only its own channel
+ * One instance per application, bound by ServiceBinder
+ */
+final class RemainingTicketsBroadcaster {
+
+    static final String EVENT_NAME = "remaining";
+    static final long WINDOW_MILLIS = 250;
+    static final long HEARTBEAT_SECONDS = 30;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final IntFunction<Map<String, Integer>> remaining;
+    private final long windowMillis;
+    private final ScheduledExecutorService executor;
+    /** Count queries and sends; grows only while channels are blocked on slow clients */
+    private final ExecutorService workers;
+    private final Map<Integer, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final IntConsumer listener = this::inventoryChanged;
+
+    /**
+     * Counts come from the application's TicketService, so they are timed with the other DAO calls
+     */
+    @Inject
+    RemainingTicketsBroadcaster(TicketService ticketService) {
+        this(ticketService::getRemainingTicketsByEvent, WINDOW_MILLIS);
+    }
+
+    RemainingTicketsBroadcaster(IntFunction<Map<String, Integer>> remaining, long windowMillis) {
+        this.remaining = remaining;
+        this.windowMillis = windowMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "remaining-tickets-sse");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workers = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "remaining-tickets-sse-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        CatalogVersion.addInventoryListener(listener);
+    }
+
+    /**
+     * Send the current counts to sink, then keep it updated until the client goes away
+     */
+    void subscribe(int eventId, SseEventSink sink, Sse sse) {
+        executor.execute(() -> {
+            Channel channel = channels.computeIfAbsent(eventId, Channel::new);
+            channel.sse = sse;
+            if (channel.last != null) {
+                channel.sinks.add(sink);
+                deliver(channel, Collections.singletonList(sink), event(sse, channel.last));
+                return;
+            }
+            // First counts of the channel still being computed - the sink gets them when they arrive
+            channel.waiting.add(sink);
+            if (channel.waiting.size() == 1) {
+                compute(channel);
+            }
+        });
+    }
+
+    /**
+     * Inventory listener - runs on the writing thread, so it only schedules a flush
+     */
+    void inventoryChanged(int eventId) {
+        if (eventId == CatalogVersion.ALL_EVENTS) {
+            for (Channel channel : channels.values()) {
+                schedule(channel);
+            }
+            return;
+        }
+        Channel channel = channels.get(eventId);
+        if (channel != null) {
+            schedule(channel);
+        }
+    }
+
+    /**
+     * Stop listening and close all streams - called when the application shuts down
+     */
+    @PreDestroy
+    void close() {
+        CatalogVersion.removeInventoryListener(listener);
+        executor.execute(() -> {
+            for (Channel channel : channels.values()) {
+                for (SseEventSink sink : new ArrayList<>(channel.sinks)) {
+                    closeQuietly(sink);
+                }
+                for (SseEventSink sink : channel.waiting) {
+                    closeQuietly(sink);
+                }
+            }
+            channels.clear();
+        });
+        executor.shutdown();
+        workers.shutdown();
+    }
+
+    int watchers(int eventId) {
+        Channel channel = channels.get(eventId);
+        return channel == null ? 0 : channel.sinks.size();
+    }
+
+    private void schedule(Channel channel) {
+        if (channel.dirty.compareAndSet(false, true)) {
+            executor.schedule(() -> flush(channel), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(Channel channel) {
+        // Clear first: a change during the computation schedules another flush
+        channel.dirty.set(false);
+        if (channels.get(channel.eventId) != channel || (channel.sinks.isEmpty() && channel.waiting.isEmpty())) {
+            return;
+        }
+        compute(channel);
+    }
+
+    /**
+     * Query the counts on a worker and hand them back to the broadcaster thread
+     */
+    private void compute(Channel channel) {
+        long generation = ++channel.generation;
+        CompletableFuture.supplyAsync(() -> remaining.apply(channel.eventId), workers)
+                .whenComplete((current, error) -> onBroadcasterThread(() -> publish(channel, generation, current, error)));
+    }
+
+    private void publish(Channel channel, long generation, Map<String, Integer> current, Throwable error) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            System.err.println("[SSE] Error computing remaining tickets for event " + channel.eventId + ": " + cause.getMessage());
+            if (channel.last == null) {
+                for (SseEventSink sink : channel.waiting) {
+                    closeQuietly(sink);
+                }
+                channel.waiting.clear();
+                dropIfUnwatched(channel);
+            }
+            return;
+        }
+        // Computations can finish out of order - never go back to older counts
+        if (generation < channel.published || channels.get(channel.eventId) != channel) {
+            return;
+        }
+        channel.published = generation;
+        try {
+            if (channel.last != null) {
+                Map<String, Integer> delta = new HashMap<>();
+                for (Map.Entry<String, Integer> entry : current.entrySet()) {
+                    if (!entry.getValue().equals(channel.last.get(entry.getKey()))) {
+                        delta.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                for (String ticketType : channel.last.keySet()) {
+                    if (!current.containsKey(ticketType)) {
+                        delta.put(ticketType, 0);
+                    }
+                }
+                if (!delta.isEmpty()) {
+                    deliver(channel, new ArrayList<>(channel.sinks), event(channel.sse, delta));
+                }
+            }
+            channel.last = current;
+            if (!channel.waiting.isEmpty()) {
+                List<SseEventSink> joined = new ArrayList<>(channel.waiting);
+                channel.waiting.clear();
+                channel.sinks.addAll(joined);
+                deliver(channel, joined, event(channel.sse, current));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("[SSE] Error publishing remaining tickets for event " + channel.eventId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Comment line to every watcher - keeps proxies from timing the stream out and finds closed clients
+     */
+    private void heartbeat() {
+        for (Channel channel : channels.values()) {
+            if (channel.sse == null || channel.sinks.isEmpty()) {
+                continue;
+            }
+            OutboundSseEvent ping = channel.sse.newEventBuilder().comment("ping").build();
+            deliver(channel, new ArrayList<>(channel.sinks), ping);
+        }
+    }
+
+    /**
+     * Queue event for sinks behind the channel's earlier sends, on a worker thread
+     */
+    private void deliver(Channel channel, List<SseEventSink> sinks, OutboundSseEvent event) {
+        try {
+            channel.delivery = channel.delivery.thenRunAsync(() -> {
+                for (SseEventSink sink : sinks) {
+                    send(channel, sink, event);
+                }
+            }, workers);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    /**
+     * Runs on a worker; a failed or closed sink is closed and removed on the broadcaster thread
+     */
+    private void send(Channel channel, SseEventSink sink, OutboundSseEvent event) {
+        try {
+            if (sink.isClosed()) {
+                onBroadcasterThread(() -> remove(channel, sink));
+                return;
+            }
+            sink.send(event).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    drop(channel, sink);
+                }
+            });
+        } catch (RuntimeException e) {
+            drop(channel, sink);
+        }
+    }
+
+    private void drop(Channel channel, SseEventSink sink) {
+        onBroadcasterThread(() -> {
+            closeQuietly(sink);
+            remove(channel, sink);
+        });
+    }
+
+    private void onBroadcasterThread(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // shutting down - close() takes care of the sinks
+        }
+    }
+
+    private static void closeQuietly(SseEventSink sink) {
+        try {
+            sink.close();
+        } catch (IOException | RuntimeException e) {
+            // client already gone
+        }
+    }
+
+    private void remove(Channel channel, SseEventSink sink) {
+        channel.sinks.remove(sink);
+        dropIfUnwatched(channel);
+    }
+
+    private void dropIfUnwatched(Channel channel) {
+        if (channel.sinks.isEmpty() && channel.waiting.isEmpty()) {
+            channels.remove(channel.eventId, channel);
+        }
+    }
+
+    /**
+     * Data is serialized once per flush (ticket types in name order) and shared by all sinks
+     */
+    private OutboundSseEvent event(Sse sse, Map<String, Integer> counts) {
+        try {
+            return sse.newEventBuilder()
+                    .name(EVENT_NAME)
+                    .id(String.valueOf(sequence.incrementAndGet()))
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .data(String.class, MAPPER.writeValueAsString(new TreeMap<>(counts)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing remaining tickets: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class Channel {
+        private final int eventId;
+        private final List<SseEventSink> sinks = Collections.synchronizedList(new ArrayList<>());
+        /** Subscribed before the channel's first counts were known */
+        private final List<SseEventSink> waiting = new ArrayList<>();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private Map<String, Integer> last;
+        private Sse sse;
+        /** Computations started and the newest one whose counts were published */
+        private long generation;
+        private long published;
+        /** Tail of the channel's sends */
+        private CompletableFuture<Void> delivery = CompletableFuture.completedFuture(null);
+
+        Channel(int eventId) {
+            this.eventId = eventId;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package REST;
+
+import cache.ResponseCache;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import service.CatalogVersion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Response cache for @Cached GET methods
+ * A hit is answered from the request filter with the stored bytes (or 304 when If-None-Match matches),
+ * so the resource method, the DAOs and JSON serialization are skipped entirely; clients accepting gzip or
+ * deflate get a compressed copy that is made once per entry
+ * A miss runs normally; the writer interceptor captures the serialized body of a 200 response and stores it
+ * under the catalog/inventory versions read before the resource ran, so a write during rendering only makes
+ * the new entry stale, never the other way round
+ * Methods with Cached.eventParam are versioned by their event's inventory alone, so an on-sale of one event
+ * does not empty the cache for all the others
+ */
+@Provider
+@Cached
+@Priority(Priorities.USER)
+public class ResponseCacheFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+    /** Stored responses may be kept by clients, but must be revalidated with If-None-Match */
+    static final String CACHE_CONTROL = "no-cache";
+
+    private static final String PENDING_PROPERTY = ResponseCacheFilter.class.getName() + ".pending";
+    /** Headers that are per-response or set again on every hit */
+    private static final Set<String> UNCACHED_HEADERS = new HashSet<>(Arrays.asList(
+            "content-length", "content-type", "content-encoding", "date", "etag", "cache-control",
+            CACHE_STATUS_HEADER.toLowerCase()));
+
+    private final ResponseCache cache;
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    public ResponseCacheFilter() {
+        this(ResponseCache.shared());
+    }
+
+    ResponseCacheFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!"GET".equals(request.getMethod())) {
+            return;
+        }
+        String key = cacheKey(request.getUriInfo());
+        ResponseCache.VersionSource versions = versionSource(request.getUriInfo());
+        long catalog = versions.catalog();
+        long inventory = versions.inventory();
+        ResponseCache.Entry entry = cache.get(key, catalog, inventory);
+        if (entry == null) {
+            request.setProperty(PENDING_PROPERTY, new Pending(key, catalog, inventory, versions));
+            return;
+        }
+
+        // Each coding is its own representation with its own strong ETag, so the variant is chosen first
+        String encoding = ContentEncoding.negotiate(request.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding != null && (entry.getBody().length < ContentEncoding.MIN_SIZE
+                || !ContentEncoding.isCompressible(MediaType.valueOf(entry.getContentType())))) {
+            encoding = null;
+        }
+        EntityTag identityTag = new EntityTag(entry.getEtag());
+        EntityTag tag = encoding != null ? ContentEncoding.encodedTag(identityTag, encoding) : identityTag;
+        Response.ResponseBuilder response;
+        if (matches(request.getHeaderString(HttpHeaders.IF_NONE_MATCH), tag)) {
+            response = Response.notModified(tag);
+        } else if (encoding != null) {
+            // Stored compressed variant - CompressionFilter leaves responses with Content-Encoding alone
+            String coding = encoding;
+            response = Response.ok().type(entry.getContentType()).tag(tag)
+                    .entity(cache.encodedBody(entry, coding, body -> ContentEncoding.encode(body, coding)))
+                    .header(HttpHeaders.CONTENT_ENCODING, encoding);
+        } else {
+            response = Response.ok().type(entry.getContentType()).tag(tag).entity(entry.getBody());
+        }
+        for (Map.Entry<String, List<String>> header : entry.getHeaders().entrySet()) {
+            for (String value : header.getValue()) {
+                response.header(header.getKey(), value);
+            }
+        }
+        request.abortWith(response
+                .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL)
+                .header(CACHE_STATUS_HEADER, "HIT")
+                .build());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Pending pending = (Pending) request.getProperty(PENDING_PROPERTY);
+        if (pending == null) {
+            return;
+        }
+        if (response.getStatus() != Response.Status.OK.getStatusCode() || !response.hasEntity()) {
+            request.removeProperty(PENDING_PROPERTY);
+            return;
+        }
+        response.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.getHeaders().putSingle(CACHE_STATUS_HEADER, "MISS");
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Pending pending = (Pending) context.getProperty(PENDING_PROPERTY);
+        if (pending == null) {
+            context.proceed();
+            return;
+        }
+        // Buffer the body so the ETag header can still be set, then pass it on
+        OutputStream out = context.getOutputStream();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        context.setOutputStream(buffer);
+        context.proceed();
+        byte[] body = buffer.toByteArray();
+
+        ResponseCache.Entry entry = cache.put(pending.key, String.valueOf(context.getMediaType()),
+                cacheableHeaders(context.getHeaders()), body, pending.catalogVersion, pending.inventoryVersion,
+                pending.versions);
+        context.getHeaders().putSingle(HttpHeaders.ETAG, new EntityTag(entry.getEtag()));
+        context.setOutputStream(out);
+        out.write(body);
+    }
+
+    /**
+     * The matched method's event's inventory version when @Cached names an event parameter, otherwise the global one
+     */
+    private ResponseCache.VersionSource versionSource(UriInfo uriInfo) {
+        Method method = resourceInfo != null ? resourceInfo.getResourceMethod() : null;
+        Cached cached = method != null ? method.getAnnotation(Cached.class) : null;
+        if (cached == null || cached.eventParam().isEmpty()) {
+            return CatalogVersions.ALL;
+        }
+        String eventId = uriInfo.getPathParameters().getFirst(cached.eventParam());
+        try {
+            return new CatalogVersions(Integer.parseInt(eventId));
+        } catch (NumberFormatException e) {
+            return CatalogVersions.ALL;
+        }
+    }
+
+    /**
+     * Path plus query parameters in sorted order, so ?a=1&b=2 and ?b=2&a=1 share an entry
+     * Both stay percent-encoded: decoded, ?a=1%26b%3D2 would get the same key as ?a=1&b=2
+     */
+    static String cacheKey(UriInfo uriInfo) {
+        StringBuilder key = new StringBuilder(uriInfo.getPath(false));
+        Map<String, List<String>> query = new TreeMap<>(uriInfo.getQueryParameters(false));
+        char separator = '?';
+        for (Map.Entry<String, List<String>> param : query.entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator).append(param.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * If-None-Match uses weak comparison: W/ prefixes are ignored, "*" matches anything
+     */
+    static boolean matches(String ifNoneMatch, EntityTag tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals("\"" + tag.getValue() + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, List<String>> cacheableHeaders(MultivaluedMap<String, Object> headers) {
+        Map<String, List<String>> kept = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+            if (!UNCACHED_HEADERS.contains(header.getKey().toLowerCase())) {
+                List<String> values = new ArrayList<>();
+                for (Object value : header.getValue()) {
+                    values.add(String.valueOf(value));
+                }
+                kept.put(header.getKey(), values);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * CatalogVersion counters an entry depends on - the global inventory, or one event's
+     */
+    private static final class CatalogVersions implements ResponseCache.VersionSource {
+        static final CatalogVersions ALL = new CatalogVersions(CatalogVersion.ALL_EVENTS);
+
+        private final int eventId;
+
+        CatalogVersions(int eventId) {
+            this.eventId = eventId;
+        }
+
+        @Override
+        public long catalog() {
+            return CatalogVersion.catalog();
+        }
+
+        @Override
+        public long inventory() {
+            return eventId == CatalogVersion.ALL_EVENTS ? CatalogVersion.inventory() : CatalogVersion.inventory(eventId);
+        }
+    }
+
+    /**
+     * Cache key and the versions read before the resource method ran
+     */
+    private static final class Pending {
+        private final String key;
+        private final long catalogVersion;
+        private final long inventoryVersion;
+        private final ResponseCache.VersionSource versions;
+
+        Pending(String key, long catalogVersion, long inventoryVersion, ResponseCache.VersionSource versions) {
+            this.key = key;
+            this.catalogVersion = catalogVersion;
+            this.inventoryVersion = inventoryVersion;
+            this.versions = versions;
+        }
+    }
+}
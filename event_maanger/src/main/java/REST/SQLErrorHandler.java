@@ -152,7 +152,7 @@ public class SQLErrorHandler {
     /**
      * Build error response map for JAX-RS
      */
-    private static Object buildErrorResponse(String message) {
+    static Object buildErrorResponse(String message) {
         Map<String, String> error = new HashMap<>();
         error.put("error", message);
         error.put("timestamp", String.valueOf(System.currentTimeMillis()));
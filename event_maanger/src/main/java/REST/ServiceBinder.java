@@ -0,0 +1,64 @@
+package REST;
+
+import dao.BulkImportDAO;
+import dao.CatalogDAO;
+import dao.EventDAO;
+import dao.LocationDAO;
+import dao.RoomDAO;
+import dao.TicketDAO;
+import dao.UserDAO;
+import dao.hibernate.BulkImportHibernate;
+import dao.hibernate.CatalogHibernate;
+import dao.hibernate.EventHibernate;
+import dao.hibernate.LocationHibernate;
+import dao.hibernate.RoomHibernate;
+import dao.hibernate.TicketHibernate;
+import dao.hibernate.UserHibernate;
+import jakarta.inject.Singleton;
+import metrics.TimingProxy;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import service.AuthService;
+import service.AutocompleteService;
+import service.BulkImportService;
+import service.CatalogSearchService;
+import service.EventService;
+import service.LocationService;
+import service.RoomService;
+import service.TicketService;
+import service.UserService;
+
+/**
+ * Binds one instance of every DAO and service for the whole application
+ * DAOs and services keep no per-request state (sessions are opened per operation), so sharing them
+ * is safe; resources get them through @Inject constructors instead of allocating their own per request
+ * Every DAO is wrapped in a TimingProxy, so each DAO method has a latency timer on the metrics endpoint
+ */
+public class ServiceBinder extends AbstractBinder {
+
+    @Override
+    protected void configure() {
+        EventDAO eventDAO = TimingProxy.wrap(EventDAO.class, new EventHibernate());
+        LocationDAO locationDAO = TimingProxy.wrap(LocationDAO.class, new LocationHibernate());
+        RoomDAO roomDAO = TimingProxy.wrap(RoomDAO.class, new RoomHibernate());
+        TicketDAO ticketDAO = TimingProxy.wrap(TicketDAO.class, new TicketHibernate());
+        UserDAO userDAO = TimingProxy.wrap(UserDAO.class, new UserHibernate());
+
+        bind(eventDAO).to(EventDAO.class);
+        bind(locationDAO).to(LocationDAO.class);
+        bind(roomDAO).to(RoomDAO.class);
+        bind(ticketDAO).to(TicketDAO.class);
+        bind(userDAO).to(UserDAO.class);
+
+        bind(new EventService(eventDAO)).to(EventService.class);
+        bind(new LocationService(locationDAO)).to(LocationService.class);
+        bind(new RoomService(roomDAO)).to(RoomService.class);
+        bind(new TicketService(ticketDAO)).to(TicketService.class);
+        bind(new UserService(userDAO)).to(UserService.class);
+        bind(new AuthService(userDAO)).to(AuthService.class);
+        bind(new AutocompleteService(eventDAO, locationDAO)).to(AutocompleteService.class);
+        bind(new CatalogSearchService(TimingProxy.wrap(CatalogDAO.class, new CatalogHibernate()))).to(CatalogSearchService.class);
+        bind(new BulkImportService(TimingProxy.wrap(BulkImportDAO.class, new BulkImportHibernate()))).to(BulkImportService.class);
+        // created on first use, with the TicketService bound above
+        bindAsContract(RemainingTicketsBroadcaster.class).in(Singleton.class);
+    }
+}
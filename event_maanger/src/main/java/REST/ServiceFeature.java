@@ -0,0 +1,89 @@
+package REST;
+
+import cache.ResponseCache;
+import dao.hibernate.HibernateSessionFactory;
+import dao.hibernate.MeteredConnectionProvider;
+import jakarta.ws.rs.core.Feature;
+import jakarta.ws.rs.core.FeatureContext;
+import metrics.MetricsRegistry;
+import org.hibernate.stat.Statistics;
+import search.AutocompleteIndex;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Application wiring: registers the singleton services of ServiceBinder and the gauges of the metrics endpoint
+ * One-time initialization (SessionFactory, default admin, indexes) is done by ApplicationBootstrap at deploy time
+ */
+public class ServiceFeature implements Feature {
+
+    @Override
+    public boolean configure(FeatureContext context) {
+        context.register(new ServiceBinder());
+        registerGauges(MetricsRegistry.shared());
+        return true;
+    }
+
+    /**
+     * Thread pools, connection pool, adaptive limit and caches; values are read only when metrics are requested
+     */
+    static void registerGauges(MetricsRegistry registry) {
+        for (Workload workload : Workload.values()) {
+            registry.gauge("workload_active_threads", "workload", workload.key(),
+                    "Threads running database work, by workload", workload::active);
+            registry.gauge("workload_queued_tasks", "workload", workload.key(),
+                    "Requests waiting for a workload thread, by workload", workload::queued);
+        }
+
+        AdaptiveLimiter limiter = LoadSheddingFilter.limiter();
+        registry.gauge("limiter_limit", "Current adaptive concurrency limit", limiter::getLimit);
+        registry.gauge("limiter_in_flight", "Requests holding a concurrency limit slot", limiter::getInFlight);
+
+        registry.gauge("db_pool_connections_in_use", "JDBC connections checked out of the pool", () -> {
+            MeteredConnectionProvider pool = MeteredConnectionProvider.current();
+            return pool == null ? 0 : pool.getInUse();
+        });
+        registry.gauge("db_pool_connections_max", "Size of the JDBC connection pool", () -> {
+            MeteredConnectionProvider pool = MeteredConnectionProvider.current();
+            return pool == null ? 0 : pool.getMaxSize();
+        });
+        registry.gauge("db_pool_acquire_p99_seconds", "99th percentile wait for a JDBC connection", () -> {
+            MeteredConnectionProvider pool = MeteredConnectionProvider.current();
+            return pool == null ? 0 : pool.getAcquireTime().percentile(99) / 1e6;
+        });
+
+        ResponseCache cache = ResponseCache.shared();
+        registry.gauge("response_cache_entries", "Cached public GET responses", cache::size);
+        registry.gauge("response_cache_bytes", "Bytes held by the response cache, compressed variants included", cache::bytes);
+        registry.gauge("response_cache_hits", "Response cache hits since start", cache::hits);
+        registry.gauge("response_cache_misses", "Response cache misses since start", cache::misses);
+
+        registerHibernateGauges(registry);
+
+        registry.gauge("autocomplete_index_loaded", "1 when the autocomplete index is built",
+                () -> AutocompleteIndex.getInstance().isLoaded() ? 1 : 0);
+    }
+
+    /**
+     * Hibernate statistics, 0 unless -Dsql.statistics=true; open sessions growing without bound means a leak
+     */
+    private static void registerHibernateGauges(MetricsRegistry registry) {
+        registry.gauge("hibernate_statements_prepared", "JDBC statements prepared since start",
+                () -> statistic(Statistics::getPrepareStatementCount));
+        registry.gauge("hibernate_queries_executed", "HQL/SQL queries executed since start",
+                () -> statistic(Statistics::getQueryExecutionCount));
+        registry.gauge("hibernate_query_max_seconds", "Slowest query execution since start",
+                () -> statistic(Statistics::getQueryExecutionMaxTime) / 1000.0);
+        registry.gauge("hibernate_entities_loaded", "Entities loaded since start",
+                () -> statistic(Statistics::getEntityLoadCount));
+        registry.gauge("hibernate_collections_fetched", "Lazy collections fetched since start",
+                () -> statistic(Statistics::getCollectionFetchCount));
+        registry.gauge("hibernate_sessions_open", "Sessions opened and not yet closed",
+                () -> statistic(Statistics::getSessionOpenCount) - statistic(Statistics::getSessionCloseCount));
+    }
+
+    private static long statistic(ToLongFunction<Statistics> value) {
+        Statistics statistics = HibernateSessionFactory.getStatistics();
+        return statistics == null ? 0 : value.applyAsLong(statistics);
+    }
+}
@@ -0,0 +1,127 @@
+package REST;
+
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.Response;
+import metrics.RequestSqlTracker;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executors for database work of @Suspended resource methods, one per class of traffic,
+ * so slow admin reports cannot take the threads that quick lookups and purchases need
+ * Each class has its own threads, queue limit and timeout; a full queue or a timeout expiring before the work
+ * started is answered with 503 and Retry-After instead of holding a container thread
+ * Limits can be overridden with system properties, e.g. -Dworkload.admin.threads=4
+ */
+enum Workload {
+    PUBLIC_READS("public", 8, 200, 5),
+    USER_READS("user", 4, 100, 5),
+    ADMIN("admin", 2, 20, 60),
+    /** One thread: SQLite has a single writer, so concurrent purchases would only abort each other on lock upgrades */
+    PURCHASES("purchases", 1, 200, 10);
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    private final String key;
+    private final int threads;
+    private final int queueCapacity;
+    private final long timeoutSeconds;
+    private volatile ThreadPoolExecutor executor;
+
+    Workload(String key, int threads, int queueCapacity, long timeoutSeconds) {
+        this.key = key;
+        this.threads = Integer.getInteger("workload." + key + ".threads", threads);
+        this.queueCapacity = Integer.getInteger("workload." + key + ".queue", queueCapacity);
+        this.timeoutSeconds = Long.getLong("workload." + key + ".timeoutSeconds", timeoutSeconds);
+    }
+
+    /**
+     * Run work on this workload's executor and resume response with its result - an entity, a Response,
+     * or the exception it threw (mapped by Jersey as if the resource method had thrown it)
+     * The timeout only applies while the work is queued: work that has started (a purchase, a bulk delete)
+     * may commit, so answering 503 then would invite a retry that does it twice - the client waits for it instead
+     */
+    void dispatch(AsyncResponse response, Callable<?> work) {
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        RequestSqlTracker sql = RequestSqlTracker.current();
+        Runnable task = () -> {
+            // Timed out while queued - nobody is waiting for the result any more
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                return;
+            }
+            // Statements run here (and while writing the response) belong to the dispatching request
+            RequestSqlTracker previous = RequestSqlTracker.attach(sql);
+            try {
+                response.resume(work.call());
+            } catch (Throwable e) {
+                response.resume(e);
+            } finally {
+                RequestSqlTracker.restore(previous);
+            }
+        };
+        response.setTimeout(timeoutSeconds, TimeUnit.SECONDS);
+        response.setTimeoutHandler(timedOut -> {
+            if (state.compareAndSet(QUEUED, ABANDONED)) {
+                executor().remove(task);
+                timedOut.resume(unavailable("Request timed out waiting for the " + key + " workload"));
+            } else {
+                timedOut.setTimeout(timeoutSeconds, TimeUnit.SECONDS);
+            }
+        });
+        try {
+            executor().execute(task);
+        } catch (RejectedExecutionException e) {
+            response.resume(unavailable("Too many " + key + " requests, try again later"));
+        }
+    }
+
+    String key() {
+        return key;
+    }
+
+    int queued() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    int active() {
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    private ThreadPoolExecutor executor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(queueCapacity), task -> {
+                                Thread thread = new Thread(task, "workload-" + key + "-" + count.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    executor.allowCoreThreadTimeOut(true);
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 503 with Retry-After and the usual {"error": ...} body - also used by LoadSheddingFilter
+     */
+    static Response unavailable(String message) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", RETRY_AFTER_SECONDS)
+                .entity(SQLErrorHandler.buildErrorResponse(message))
+                .type("application/json")
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package cache;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory store of serialized GET responses, keyed by path and query
+ * Every entry records the catalog and inventory versions it was rendered at and is treated as a miss
+ * once either counter has moved on, so writes never have to find the entries they invalidate
+ * Size is bounded by a byte budget (including compressed variants); stale entries go first when it is exceeded,
+ * each judged against the current versions of its own VersionSource (global, or one event's inventory)
+ */
+public class ResponseCache {
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final ResponseCache SHARED = new ResponseCache(DEFAULT_MAX_BYTES);
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final long maxBytes;
+
+    public ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Cache shared by all public resources
+     */
+    public static ResponseCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Entry for key if it was rendered at exactly these versions, otherwise null
+     */
+    public Entry get(String key, long catalogVersion, long inventoryVersion) {
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.isCurrent(catalogVersion, inventoryVersion)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * Store a rendered body; its ETag is derived from the content
+     *
+     * @param versions where catalogVersion and inventoryVersion were read, to tell later whether the entry is stale
+     */
+    public Entry put(String key, String contentType, Map<String, List<String>> headers, byte[] body,
+                     long catalogVersion, long inventoryVersion, VersionSource versions) {
+        Entry entry = new Entry(contentType, headers, body, catalogVersion, inventoryVersion, versions);
+        Entry previous = entries.put(key, entry);
+        bytes.addAndGet(entry.size() - (previous != null ? previous.size() : 0));
+        if (bytes.get() > maxBytes) {
+            evict();
+        }
+        return entry;
+    }
+
+    /**
+     * entry's body in a content coding (gzip, deflate), encoded on first use and kept with the entry
+     * so a hot URL is compressed once, not on every hit
+     */
+    public byte[] encodedBody(Entry entry, String encoding, UnaryOperator<byte[]> encoder) {
+        byte[] encoded = entry.encodedBodies.get(encoding);
+        if (encoded == null) {
+            encoded = encoder.apply(entry.body);
+            if (entry.encodedBodies.putIfAbsent(encoding, encoded) == null
+                    && bytes.addAndGet(encoded.length) > maxBytes) {
+                evict();
+            }
+        }
+        return encoded;
+    }
+
+    public void clear() {
+        entries.clear();
+        bytes.set(0);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long bytes() {
+        return bytes.get();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Drop stale entries; if that is not enough, drop arbitrary ones until the cache is at three quarters of the budget
+     */
+    private void evict() {
+        entries.entrySet().removeIf(e -> {
+            boolean stale = e.getValue().isStale();
+            if (stale) {
+                bytes.addAndGet(-e.getValue().size());
+            }
+            return stale;
+        });
+        if (bytes.get() <= maxBytes) {
+            return;
+        }
+        Iterator<Entry> it = entries.values().iterator();
+        while (bytes.get() > maxBytes * 3 / 4 && it.hasNext()) {
+            Entry entry = it.next();
+            it.remove();
+            bytes.addAndGet(-entry.size());
+        }
+    }
+
+    /**
+     * One cached representation; immutable
+     */
+    public static final class Entry {
+        private final String contentType;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+        private final String etag;
+        private final long catalogVersion;
+        private final long inventoryVersion;
+        private final VersionSource versions;
+        private final Map<String, byte[]> encodedBodies = new ConcurrentHashMap<>(2);
+
+        Entry(String contentType, Map<String, List<String>> headers, byte[] body, long catalogVersion, long inventoryVersion,
+              VersionSource versions) {
+            this.contentType = contentType;
+            this.headers = Collections.unmodifiableMap(headers);
+            this.body = body;
+            this.etag = contentHash(body);
+            this.catalogVersion = catalogVersion;
+            this.inventoryVersion = inventoryVersion;
+            this.versions = versions;
+        }
+
+        public String getContentType() { return contentType; }
+        public Map<String, List<String>> getHeaders() { return headers; }
+        public byte[] getBody() { return body; }
+        public String getEtag() { return etag; }
+
+        boolean isCurrent(long catalog, long inventory) {
+            return catalogVersion == catalog && inventoryVersion == inventory;
+        }
+
+        boolean isStale() {
+            return !isCurrent(versions.catalog(), versions.inventory());
+        }
+
+        long size() {
+            long size = body.length + 256;
+            for (byte[] encoded : encodedBodies.values()) {
+                size += encoded.length;
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Current catalog and inventory versions for one kind of entry
+     */
+    public interface VersionSource {
+        long catalog();
+
+        long inventory();
+    }
+
+    /**
+     * First 64 bits of the SHA-1 of the body, hex - the same content always gets the same ETag,
+     * also across restarts
+     */
+    static String contentHash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(body);
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package dao;
+
+import dto.ImportRecord;
+
+import java.util.List;
+
+public interface BulkImportDAO {
+    /**
+     * Persist a chunk of import records in one transaction
+     * Returns one entry per record: null when it was imported, otherwise the error message
+     */
+    List<String> importChunk(List<ImportRecord> records);
+}
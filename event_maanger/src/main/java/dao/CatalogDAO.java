@@ -0,0 +1,23 @@
+package dao;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based reads used to build the in-memory event catalog index
+ * Each method is a single query over the whole table (or the given events), returning projection rows
+ */
+public interface CatalogDAO {
+    /** id, name, description, eventStartDate, eventEndDate */
+    List<Object[]> getEventRows();
+    /** eventId, locationId, locationName */
+    List<Object[]> getEventLocationRows();
+    /** eventId, ticketType, price */
+    List<Object[]> getTicketPriceRows();
+    /** eventId, ticketType, quantity */
+    List<Object[]> getTicketQuantityRows();
+    /** eventId, ticketType, number of tickets sold */
+    List<Object[]> getSoldTicketRows();
+    /** Same as getSoldTicketRows() for the given events only */
+    List<Object[]> getSoldTicketRows(Collection<Integer> eventIds);
+}
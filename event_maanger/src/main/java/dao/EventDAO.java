@@ -1,19 +1,29 @@
 package dao;
 
+import dto.BulkResultDTO;
+import dto.EventBulkOperationDTO;
 import model.Event;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface EventDAO {
     void rollback();
     void commit();
 
     Event addEvent(String name, String description, String eventDate, String eventTime, String eventStartDate, String eventEndDate, boolean numberedSeats);
+    Event addEvent(Event event, List<Integer> locationIds, List<Integer> roomIds);
     Event getEventById(int id);
     Event getEventByName(String name);
     void updateEvent(Event event);
+    Event patchEvent(int id, Integer expectedVersion, Consumer<Event> changes);
     void deleteEvent(Event event);
+    BulkResultDTO deleteEvents(EventBulkOperationDTO filter);
+    BulkResultDTO repriceTicketType(EventBulkOperationDTO operation);
+    BulkResultDTO shiftEventDates(EventBulkOperationDTO operation);
     List<Event> getAllEvents();
+    void forEachEvent(Consumer<Event> action);
+    List<Event> getEventsPage(String sortField, String afterKey, Integer afterId, int limit);
     void setTicketPrice(int eventId, String ticketType, double price);
     void setTicketQuantity(int eventId, String ticketType, int quantity);
     double getTicketPrice(int eventId, String ticketType);
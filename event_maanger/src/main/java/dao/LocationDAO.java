@@ -4,6 +4,7 @@ import model.Location;
 import model.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface LocationDAO {
     void rollback();
@@ -13,7 +14,9 @@ public interface LocationDAO {
     Location getLocationById(int id);
     Location getLocationByName(String name);
     void updateLocation(Location location);
+    Location patchLocation(int id, Integer expectedVersion, Consumer<Location> changes);
     void deleteLocation(Location location);
     List<Location> getAllLocations();
+    List<Location> getLocationsPage(String sortField, String afterKey, Integer afterId, int limit);
     List<User> getContactsByLocationId(int locationId);
 }
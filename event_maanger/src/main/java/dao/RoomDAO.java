@@ -3,6 +3,7 @@ package dao;
 import model.Room;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RoomDAO {
     void rollback();
@@ -11,8 +12,10 @@ public interface RoomDAO {
     Room addRoom(String name, String description);
     Room getRoomById(int id);
     void updateRoom(Room room);
+    Room patchRoom(int id, Integer expectedVersion, Consumer<Room> changes);
     void deleteRoom(Room room);
     List<Room> getAllRooms();
+    List<Room> getRoomsPage(String sortField, String afterKey, Integer afterId, int limit);
     List<Room> getRoomsByLocationId(int locationId);
     int getTotalCapacityByLocation(int locationId);
     List<Room> getRoomsByEventId(int eventId);
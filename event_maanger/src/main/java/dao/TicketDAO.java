@@ -4,18 +4,22 @@ import model.Ticket;
 import model.User;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface TicketDAO {
     void rollback();
     void commit();
 
     Ticket addTicket(int eventId, int userId, String ticketType, double price, String purchaseDate, String validFromDate, String validToDate);
+    Ticket purchaseTicket(int eventId, int userId, String ticketType, String seatNumber, String purchaseDate);
     Ticket getTicketById(int id);
     void updateTicket(Ticket ticket);
     void deleteTicket(Ticket ticket);
     List<Ticket> getAllTickets();
     List<Ticket> getTicketsByEventId(int eventId);
     List<Ticket> getTicketsByUserId(int userId);
+    void forEachTicketByEventId(int eventId, Consumer<Ticket> action);
+    List<Ticket> getTicketsByUserIdPage(int userId, String sortField, String afterKey, Integer afterId, int limit);
     int countTicketsByEventAndType(int eventId, String ticketType);
     Ticket getTicketByEventAndSeat(int eventId, String seatNumber);
     boolean isTicketForSeatExists(int eventId, String seatNumber);
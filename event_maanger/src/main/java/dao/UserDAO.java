@@ -3,6 +3,7 @@ package dao;
 import model.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserDAO {
     void rollback();
@@ -12,6 +13,9 @@ public interface UserDAO {
     User getUserByLogin(String login);
     User getUserById(int id);
     void updateUser(User user);
+    User patchUser(int id, Integer expectedVersion, Consumer<User> changes);
     void deleteUser(User user);
     List<User> getAllUsers();
+    void forEachUser(Consumer<User> action);
+    List<User> getUsersPage(String sortField, String afterKey, Integer afterId, int limit);
 }
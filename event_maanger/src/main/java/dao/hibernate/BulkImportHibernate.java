@@ -0,0 +1,332 @@
+package dao.hibernate;
+
+import dao.BulkImportDAO;
+import dto.ImportRecord;
+import model.Event;
+import model.Location;
+import model.Ticket;
+import model.User;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import writer
+ * Each chunk runs in its own session and transaction (not the request's), so a long import commits as it goes
+ * Names are resolved with one IN query per chunk, and the session is flushed and cleared every BATCH_SIZE rows
+ * so Hibernate's JDBC batching (hibernate.jdbc.batch_size, order_inserts) groups the price, quantity and
+ * location rows; events and tickets use IDENTITY keys, which Hibernate always inserts one by one
+ * Ticket rows follow the rules of TicketHibernate.purchaseTicket (known tier, seat only for numbered events,
+ * no more than the tier's quantity); the tiers and sold counts are read once per chunk
+ * If the chunk fails in the database, it is replayed row by row to report exactly which rows are bad
+ */
+public class BulkImportHibernate implements BulkImportDAO {
+
+    /** Keep in sync with hibernate.jdbc.batch_size */
+    static final int BATCH_SIZE = 50;
+
+    public BulkImportHibernate() {
+        // No-arg constructor - SessionFactory is shared via singleton
+    }
+
+    @Override
+    public List<String> importChunk(List<ImportRecord> records) {
+        List<String> errors = new ArrayList<>(records.size());
+        Session session = HibernateSessionFactory.getSessionFactory().openSession();
+        Transaction transaction = session.beginTransaction();
+        try {
+            persistAll(session, records, errors);
+            transaction.commit();
+            return errors;
+        } catch (Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            System.err.println("Import chunk of " + records.size() + " rows failed, replaying row by row: "
+                    + rootMessage(e));
+        } finally {
+            session.close();
+        }
+
+        // Chunk rejected by the database - replay each row in its own transaction
+        List<String> rowErrors = new ArrayList<>(records.size());
+        for (ImportRecord record : records) {
+            rowErrors.add(importSingle(record));
+        }
+        return rowErrors;
+    }
+
+    private String importSingle(ImportRecord record) {
+        List<String> errors = new ArrayList<>(1);
+        Session session = HibernateSessionFactory.getSessionFactory().openSession();
+        Transaction transaction = session.beginTransaction();
+        try {
+            List<ImportRecord> single = new ArrayList<>(1);
+            single.add(record);
+            persistAll(session, single, errors);
+            transaction.commit();
+            return errors.get(0);
+        } catch (Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            return "Database error: " + rootMessage(e);
+        } finally {
+            session.close();
+        }
+    }
+
+    private void persistAll(Session session, List<ImportRecord> records, List<String> errors) {
+        Set<String> eventNames = new HashSet<>();
+        Set<String> logins = new HashSet<>();
+        Set<String> locationNames = new HashSet<>();
+        for (ImportRecord record : records) {
+            if (ImportRecord.TYPE_EVENT.equals(record.getType())) {
+                eventNames.add(record.getName());
+                locationNames.addAll(record.getLocationNames());
+            } else {
+                eventNames.add(record.getEventName());
+            }
+            if (record.getUserLogin() != null) {
+                logins.add(record.getUserLogin());
+            }
+        }
+        Map<String, Integer> eventIds = idsByKey(session, "SELECT e.name, e.id FROM Event e WHERE e.name IN (:keys)", eventNames);
+        Map<String, Integer> userIds = idsByKey(session, "SELECT u.login, u.id FROM User u WHERE u.login IN (:keys)", logins);
+        Map<String, Integer> locationIds = idsByKey(session, "SELECT l.name, l.id FROM Location l WHERE l.name IN (:keys)", locationNames);
+        Set<String> takenSeats = takenSeats(session, records, eventIds);
+        Map<Integer, TicketTiers> ticketTiers = ticketTiers(session, records, eventIds);
+
+        int pending = 0;
+        for (ImportRecord record : records) {
+            String error;
+            switch (record.getType()) {
+                case ImportRecord.TYPE_EVENT:
+                    error = persistEvent(session, record, eventIds, locationIds, ticketTiers);
+                    break;
+                case ImportRecord.TYPE_PRICE:
+                    error = persistTier(session, record, eventIds, ticketTiers);
+                    break;
+                case ImportRecord.TYPE_TICKET:
+                    error = persistTicket(session, record, eventIds, userIds, takenSeats, ticketTiers);
+                    break;
+                default:
+                    error = "Unknown row type: " + record.getType();
+            }
+            errors.add(error);
+            if (error == null && ++pending == BATCH_SIZE) {
+                session.flush();
+                session.clear();
+                pending = 0;
+            }
+        }
+        session.flush();
+        session.clear();
+    }
+
+    private String persistEvent(Session session, ImportRecord record, Map<String, Integer> eventIds,
+                                Map<String, Integer> locationIds, Map<Integer, TicketTiers> ticketTiers) {
+        if (eventIds.containsKey(record.getName())) {
+            return "Event already exists: " + record.getName();
+        }
+        List<Location> locations = new ArrayList<>();
+        for (String locationName : record.getLocationNames()) {
+            Integer locationId = locationIds.get(locationName);
+            if (locationId == null) {
+                return "Unknown location: " + locationName;
+            }
+            locations.add(session.getReference(Location.class, locationId));
+        }
+
+        Event event = new Event(record.getName(), record.getDescription(), record.getEventDate(), record.getEventTime(),
+                record.getEventStartDate(), record.getEventEndDate(), record.isNumberedSeats());
+        event.setTicketPrices(new HashMap<>(record.getTicketPrices()));
+        event.setTicketQuantities(new HashMap<>(record.getTicketQuantities()));
+        event.setLocations(locations);
+        session.persist(event);
+        eventIds.put(record.getName(), event.getId());
+        TicketTiers tiers = new TicketTiers(record.isNumberedSeats());
+        tiers.prices.addAll(record.getTicketPrices().keySet());
+        tiers.quantities.putAll(record.getTicketQuantities());
+        ticketTiers.put(event.getId(), tiers);
+        return null;
+    }
+
+    private String persistTier(Session session, ImportRecord record, Map<String, Integer> eventIds,
+                               Map<Integer, TicketTiers> ticketTiers) {
+        Integer eventId = eventIds.get(record.getEventName());
+        if (eventId == null) {
+            return "Unknown event: " + record.getEventName();
+        }
+        Event event = session.get(Event.class, eventId);
+        TicketTiers tiers = ticketTiers.get(eventId);
+        if (record.getPrice() != null) {
+            event.getTicketPrices().put(record.getTicketType(), record.getPrice());
+            if (tiers != null) {
+                tiers.prices.add(record.getTicketType());
+            }
+        }
+        if (record.getQuantity() != null) {
+            event.getTicketQuantities().put(record.getTicketType(), record.getQuantity());
+            if (tiers != null) {
+                tiers.quantities.put(record.getTicketType(), record.getQuantity());
+            }
+        }
+        return null;
+    }
+
+    private String persistTicket(Session session, ImportRecord record, Map<String, Integer> eventIds,
+                                 Map<String, Integer> userIds, Set<String> takenSeats,
+                                 Map<Integer, TicketTiers> ticketTiers) {
+        Integer eventId = eventIds.get(record.getEventName());
+        if (eventId == null) {
+            return "Unknown event: " + record.getEventName();
+        }
+        Integer userId = userIds.get(record.getUserLogin());
+        if (userId == null) {
+            return "Unknown user: " + record.getUserLogin();
+        }
+        TicketTiers tiers = ticketTiers.get(eventId);
+        String ticketType = record.getTicketType();
+        Integer quantity = tiers.quantities.get(ticketType);
+        if (quantity == null || !tiers.prices.contains(ticketType)) {
+            return "Ticket type " + ticketType + " is not sold for event: " + record.getEventName();
+        }
+        if (tiers.numberedSeats && record.getSeatNumber() == null) {
+            return "Seat number is required for event: " + record.getEventName();
+        }
+        if (!tiers.numberedSeats && record.getSeatNumber() != null) {
+            return "Event has no numbered seats: " + record.getEventName();
+        }
+        int sold = tiers.sold.getOrDefault(ticketType, 0);
+        if (sold >= quantity) {
+            return "Tickets of type " + ticketType + " are sold out for event: " + record.getEventName();
+        }
+        if (record.getSeatNumber() != null && !takenSeats.add(eventId + "/" + record.getSeatNumber())) {
+            return "Seat " + record.getSeatNumber() + " is already taken for event: " + record.getEventName();
+        }
+        tiers.sold.put(ticketType, sold + 1);
+        Ticket ticket = new Ticket(session.getReference(Event.class, eventId), session.getReference(User.class, userId),
+                record.getTicketType(), record.getPrice(), record.getSeatNumber(),
+                record.getValidFromDate(), record.getValidToDate());
+        ticket.setPurchaseDate(record.getPurchaseDate());
+        session.persist(ticket);
+        return null;
+    }
+
+    /**
+     * Seats already sold for the events the chunk's ticket rows refer to, as "eventId/seatNumber"
+     */
+    private static Set<String> takenSeats(Session session, List<ImportRecord> records, Map<String, Integer> eventIds) {
+        Set<Integer> ticketEventIds = new HashSet<>();
+        Set<String> seatNumbers = new HashSet<>();
+        for (ImportRecord record : records) {
+            Integer eventId = eventIds.get(record.getEventName());
+            if (ImportRecord.TYPE_TICKET.equals(record.getType()) && record.getSeatNumber() != null && eventId != null) {
+                ticketEventIds.add(eventId);
+                seatNumbers.add(record.getSeatNumber());
+            }
+        }
+        Set<String> taken = new HashSet<>();
+        if (ticketEventIds.isEmpty()) {
+            return taken;
+        }
+        List<Object[]> rows = session.createQuery(
+                        "SELECT t.event.id, t.seatNumber FROM Ticket t WHERE t.event.id IN (:events) AND t.seatNumber IN (:seats)",
+                        Object[].class)
+                .setParameterList("events", ticketEventIds)
+                .setParameterList("seats", seatNumbers)
+                .list();
+        for (Object[] row : rows) {
+            taken.add(row[0] + "/" + row[1]);
+        }
+        return taken;
+    }
+
+    /**
+     * Numbered-seats flag, priced types, quantities and sold counts of the existing events the chunk's ticket
+     * rows refer to - one query for the tiers and one grouped count of the tickets
+     */
+    private static Map<Integer, TicketTiers> ticketTiers(Session session, List<ImportRecord> records,
+                                                         Map<String, Integer> eventIds) {
+        Set<Integer> ticketEventIds = new HashSet<>();
+        for (ImportRecord record : records) {
+            Integer eventId = eventIds.get(record.getEventName());
+            if (ImportRecord.TYPE_TICKET.equals(record.getType()) && eventId != null) {
+                ticketEventIds.add(eventId);
+            }
+        }
+        Map<Integer, TicketTiers> tiers = new HashMap<>();
+        if (ticketEventIds.isEmpty()) {
+            return tiers;
+        }
+        List<Object[]> tierRows = session.createQuery(
+                        "SELECT e.id, e.numberedSeats, KEY(q), VALUE(q), KEY(p) FROM Event e "
+                                + "LEFT JOIN e.ticketQuantities q LEFT JOIN e.ticketPrices p ON KEY(p) = KEY(q) "
+                                + "WHERE e.id IN (:events)",
+                        Object[].class)
+                .setParameterList("events", ticketEventIds)
+                .list();
+        for (Object[] row : tierRows) {
+            TicketTiers eventTiers = tiers.computeIfAbsent((Integer) row[0], id -> new TicketTiers((Boolean) row[1]));
+            if (row[2] != null) {
+                eventTiers.quantities.put((String) row[2], row[3] != null ? (Integer) row[3] : 0);
+            }
+            if (row[4] != null) {
+                eventTiers.prices.add((String) row[4]);
+            }
+        }
+        List<Object[]> soldRows = session.createQuery(
+                        "SELECT t.event.id, t.ticketType, COUNT(t) FROM Ticket t WHERE t.event.id IN (:events) "
+                                + "GROUP BY t.event.id, t.ticketType",
+                        Object[].class)
+                .setParameterList("events", ticketEventIds)
+                .list();
+        for (Object[] row : soldRows) {
+            tiers.get((Integer) row[0]).sold.put((String) row[1], ((Long) row[2]).intValue());
+        }
+        return tiers;
+    }
+
+    private static Map<String, Integer> idsByKey(Session session, String query, Collection<String> keys) {
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        keys.remove(null);
+        if (keys.isEmpty()) {
+            return ids;
+        }
+        for (Object[] row : session.createQuery(query, Object[].class).setParameterList("keys", keys).list()) {
+            ids.put((String) row[0], (Integer) row[1]);
+        }
+        return ids;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    /**
+     * What ticket rows may sell for one event; sold also counts the rows accepted earlier in the chunk
+     */
+    private static final class TicketTiers {
+        final boolean numberedSeats;
+        final Set<String> prices = new HashSet<>();
+        final Map<String, Integer> quantities = new HashMap<>();
+        final Map<String, Integer> sold = new HashMap<>();
+
+        TicketTiers(boolean numberedSeats) {
+            this.numberedSeats = numberedSeats;
+        }
+    }
+}
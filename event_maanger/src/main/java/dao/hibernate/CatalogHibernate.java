@@ -0,0 +1,57 @@
+package dao.hibernate;
+
+import dao.CatalogDAO;
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.List;
+
+public class CatalogHibernate implements CatalogDAO {
+
+    public CatalogHibernate() {
+        // No-arg constructor - SessionFactory is shared via singleton
+    }
+
+    @Override
+    public List<Object[]> getEventRows() {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        String query = "SELECT e.id, e.name, e.description, e.eventStartDate, e.eventEndDate FROM Event e";
+        return session.createQuery(query, Object[].class).list();
+    }
+
+    @Override
+    public List<Object[]> getEventLocationRows() {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        String query = "SELECT e.id, l.id, l.name FROM Event e JOIN e.locations l";
+        return session.createQuery(query, Object[].class).list();
+    }
+
+    @Override
+    public List<Object[]> getTicketPriceRows() {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        String query = "SELECT e.id, KEY(p), VALUE(p) FROM Event e JOIN e.ticketPrices p";
+        return session.createQuery(query, Object[].class).list();
+    }
+
+    @Override
+    public List<Object[]> getTicketQuantityRows() {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        String query = "SELECT e.id, KEY(q), VALUE(q) FROM Event e JOIN e.ticketQuantities q";
+        return session.createQuery(query, Object[].class).list();
+    }
+
+    @Override
+    public List<Object[]> getSoldTicketRows() {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        String query = "SELECT t.event.id, t.ticketType, COUNT(t) FROM Ticket t GROUP BY t.event.id, t.ticketType";
+        return session.createQuery(query, Object[].class).list();
+    }
+
+    @Override
+    public List<Object[]> getSoldTicketRows(Collection<Integer> eventIds) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        String query = "SELECT t.event.id, t.ticketType, COUNT(t) FROM Ticket t WHERE t.event.id IN (:eventIds) "
+                + "GROUP BY t.event.id, t.ticketType";
+        return session.createQuery(query, Object[].class).setParameterList("eventIds", eventIds).list();
+    }
+}
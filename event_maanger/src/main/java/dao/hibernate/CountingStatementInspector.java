@@ -0,0 +1,17 @@
+package dao.hibernate;
+
+import metrics.RequestSqlTracker;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares against the request that caused it (RequestSqlTracker)
+ * Leaves the SQL unchanged; selected with hibernate.session_factory.statement_inspector in hibernate.cfg.xml
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestSqlTracker.statement(sql);
+        return sql;
+    }
+}
@@ -1,11 +1,21 @@
 package dao.hibernate;
 
 import dao.EventDAO;
+import dto.BulkResultDTO;
+import dto.EventBulkOperationDTO;
 import model.Event;
+import model.Location;
+import model.Room;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.query.MutationQuery;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class EventHibernate implements EventDAO {
 
@@ -48,6 +58,65 @@ public class EventHibernate implements EventDAO {
         }
     }
 
+    /**
+     * Persist a complete event definition - price and quantity tiers, locations and rooms -
+     * in a single transaction; collection rows go out as JDBC batches on flush
+     *
+     * @throws IllegalArgumentException if a location or room id does not exist
+     */
+    @Override
+    public Event addEvent(Event event, List<Integer> locationIds, List<Integer> roomIds) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        Transaction transaction = HibernateSessionHelper.getCurrentTransaction(session);
+        boolean isManaged = HibernateSessionHelper.isTransactionManagedByFilter();
+
+        try {
+            Event newEvent = new Event(event.getName(), event.getDescription(), event.getEventDate(), event.getEventTime(),
+                    event.getEventStartDate(), event.getEventEndDate(), event.isNumberedSeats());
+            newEvent.setTicketPrices(event.getTicketPrices() != null ? new HashMap<>(event.getTicketPrices()) : new HashMap<>());
+            newEvent.setTicketQuantities(event.getTicketQuantities() != null ? new HashMap<>(event.getTicketQuantities()) : new HashMap<>());
+            newEvent.setLocations(loadAll(session, Location.class, locationIds, "location"));
+            newEvent.setRooms(loadAll(session, Room.class, roomIds, "room"));
+            session.persist(newEvent);
+            if (!isManaged && transaction.isActive()) {
+                transaction.commit();
+            }
+            return newEvent;
+        } catch (IllegalArgumentException e) {
+            if (!isManaged && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } catch (Exception e) {
+            if (!isManaged && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error adding event: " + e.getMessage(), e);
+        } finally {
+            if (!isManaged && session.isOpen()) {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * Load entities by id with one IN query
+     */
+    private static <T> List<T> loadAll(Session session, Class<T> type, List<Integer> ids, String label) {
+        List<T> entities = new ArrayList<>();
+        if (ids == null || ids.isEmpty()) {
+            return entities;
+        }
+        List<T> loaded = session.byMultipleIds(type).multiLoad(ids);
+        for (int i = 0; i < ids.size(); i++) {
+            if (loaded.get(i) == null) {
+                throw new IllegalArgumentException("Unknown " + label + " id: " + ids.get(i));
+            }
+            entities.add(loaded.get(i));
+        }
+        return entities;
+    }
+
     @Override
     public Event getEventById(int id) {
         Session session = HibernateSessionHelper.getCurrentSession();
@@ -63,6 +132,14 @@ public class EventHibernate implements EventDAO {
                 .uniqueResult();
     }
 
+    /**
+     * Apply changes to the stored event; only changed columns are written, guarded by the version
+     */
+    @Override
+    public Event patchEvent(int id, Integer expectedVersion, Consumer<Event> changes) {
+        return VersionedUpdate.apply(Event.class, id, expectedVersion, Event::getVersion, changes, "event");
+    }
+
     @Override
     public void updateEvent(Event event) {
         Session session = HibernateSessionHelper.getCurrentSession();
@@ -109,6 +186,130 @@ public class EventHibernate implements EventDAO {
         }
     }
 
+    // ===== BULK OPERATIONS =====
+    // Set-based DML against the selected events - nothing is loaded into the session, so cost does not
+    // grow with the number of entities; the persistence context is cleared afterwards as it may be stale
+
+    /**
+     * Delete the selected events with their tickets, tiers and location/room assignments
+     */
+    @Override
+    public BulkResultDTO deleteEvents(EventBulkOperationDTO filter) {
+        return executeBulk("deleting events", session -> {
+            String selected = "event_id IN (" + selectEventIds(filter) + ")";
+            int tickets = bulkQuery(session, "DELETE FROM tickets WHERE " + selected, filter).executeUpdate();
+            int tiers = bulkQuery(session, "DELETE FROM ticket_prices WHERE " + selected, filter).executeUpdate();
+            bulkQuery(session, "DELETE FROM ticket_quantities WHERE " + selected, filter).executeUpdate();
+            bulkQuery(session, "DELETE FROM event_locations WHERE " + selected, filter).executeUpdate();
+            bulkQuery(session, "DELETE FROM event_rooms WHERE " + selected, filter).executeUpdate();
+            int events = bulkQuery(session, "DELETE FROM events WHERE id IN (" + selectEventIds(filter) + ")", filter)
+                    .executeUpdate();
+            return new BulkResultDTO(events, tickets, tiers);
+        });
+    }
+
+    /**
+     * Set the price of one ticket type (price) or scale it (factor, rounded to cents) on the selected events;
+     * only events that already have the tier are changed, sold tickets keep their price
+     */
+    @Override
+    public BulkResultDTO repriceTicketType(EventBulkOperationDTO operation) {
+        return executeBulk("repricing tickets", session -> {
+            String set = operation.getPrice() != null ? "price = :price" : "price = ROUND(price * :factor, 2)";
+            MutationQuery query = bulkQuery(session, "UPDATE ticket_prices SET " + set
+                    + " WHERE ticket_type = :ticketType AND event_id IN (" + selectEventIds(operation) + ")", operation)
+                    .setParameter("ticketType", operation.getTicketType());
+            if (operation.getPrice() != null) {
+                query.setParameter("price", operation.getPrice());
+            } else {
+                query.setParameter("factor", operation.getFactor());
+            }
+            int tiers = query.executeUpdate();
+            // Native DML bypasses @Version - bump it so ETags handed out before no longer match;
+            // one row per event that has the tier, so this also counts the affected events
+            int events = bulkQuery(session, "UPDATE events SET version = version + 1 WHERE id IN (SELECT event_id FROM ticket_prices"
+                    + " WHERE ticket_type = :ticketType AND event_id IN (" + selectEventIds(operation) + "))", operation)
+                    .setParameter("ticketType", operation.getTicketType())
+                    .executeUpdate();
+            return new BulkResultDTO(events, 0, tiers);
+        });
+    }
+
+    /**
+     * Move eventDate, eventStartDate and eventEndDate of the selected events by a number of days;
+     * values that are not plain yyyy-MM-dd dates are left unchanged
+     */
+    @Override
+    public BulkResultDTO shiftEventDates(EventBulkOperationDTO operation) {
+        return executeBulk("shifting event dates", session -> {
+            String shift = "CASE WHEN date(%1$s) = %1$s THEN date(%1$s, :shift) ELSE %1$s END";
+            int events = bulkQuery(session, "UPDATE events SET version = version + 1, "
+                    + "event_date = " + String.format(shift, "event_date") + ", "
+                    + "event_start_date = " + String.format(shift, "event_start_date") + ", "
+                    + "event_end_date = " + String.format(shift, "event_end_date")
+                    + " WHERE id IN (" + selectEventIds(operation) + ")", operation)
+                    .setParameter("shift", String.format("%+d days", operation.getDays()))
+                    .executeUpdate();
+            return new BulkResultDTO(events, 0, 0);
+        });
+    }
+
+    private BulkResultDTO executeBulk(String action, Function<Session, BulkResultDTO> work) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        Transaction transaction = HibernateSessionHelper.getCurrentTransaction(session);
+        boolean isManaged = HibernateSessionHelper.isTransactionManagedByFilter();
+
+        try {
+            session.flush();
+            BulkResultDTO result = work.apply(session);
+            session.clear();
+            if (!isManaged && transaction.isActive()) {
+                transaction.commit();
+            }
+            return result;
+        } catch (Exception e) {
+            if (!isManaged && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error " + action + ": " + e.getMessage(), e);
+        } finally {
+            if (!isManaged && session.isOpen()) {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * Subquery selecting the ids of the events matched by the filter
+     */
+    private static String selectEventIds(EventBulkOperationDTO filter) {
+        StringBuilder sql = new StringBuilder("SELECT id FROM events WHERE 1 = 1");
+        if (filter.getEventIds() != null && !filter.getEventIds().isEmpty()) {
+            sql.append(" AND id IN (:eventIds)");
+        }
+        if (filter.getStartsFrom() != null) {
+            sql.append(" AND event_start_date >= :startsFrom");
+        }
+        if (filter.getStartsTo() != null) {
+            sql.append(" AND event_start_date <= :startsTo");
+        }
+        return sql.toString();
+    }
+
+    private static MutationQuery bulkQuery(Session session, String sql, EventBulkOperationDTO filter) {
+        MutationQuery query = session.createNativeMutationQuery(sql);
+        if (filter.getEventIds() != null && !filter.getEventIds().isEmpty()) {
+            query.setParameterList("eventIds", filter.getEventIds());
+        }
+        if (filter.getStartsFrom() != null) {
+            query.setParameter("startsFrom", filter.getStartsFrom());
+        }
+        if (filter.getStartsTo() != null) {
+            query.setParameter("startsTo", filter.getStartsTo());
+        }
+        return query;
+    }
+
     @Override
     public List<Event> getAllEvents() {
         Session session = HibernateSessionHelper.getCurrentSession();
@@ -116,6 +317,44 @@ public class EventHibernate implements EventDAO {
         return session.createQuery(query, Event.class).list();
     }
 
+    @Override
+    public void forEachEvent(Consumer<Event> action) {
+        ScrollingQuery.inTransaction(session -> {
+            ScrollingQuery.forEachChunk(session, session.createQuery("FROM Event e ORDER BY e.id", Event.class), chunk -> {
+                // Prices and quantities for the whole chunk in two queries, set on the detached events
+                List<Integer> ids = new ArrayList<>(chunk.size());
+                Map<Integer, Map<String, Double>> prices = new HashMap<>();
+                Map<Integer, Map<String, Integer>> quantities = new HashMap<>();
+                for (Event event : chunk) {
+                    ids.add(event.getId());
+                    prices.put(event.getId(), new HashMap<>());
+                    quantities.put(event.getId(), new HashMap<>());
+                }
+                for (Object[] row : session.createQuery(
+                        "SELECT e.id, KEY(p), VALUE(p) FROM Event e JOIN e.ticketPrices p WHERE e.id IN (:ids)", Object[].class)
+                        .setParameterList("ids", ids).list()) {
+                    prices.get((Integer) row[0]).put((String) row[1], (Double) row[2]);
+                }
+                for (Object[] row : session.createQuery(
+                        "SELECT e.id, KEY(q), VALUE(q) FROM Event e JOIN e.ticketQuantities q WHERE e.id IN (:ids)", Object[].class)
+                        .setParameterList("ids", ids).list()) {
+                    quantities.get((Integer) row[0]).put((String) row[1], (Integer) row[2]);
+                }
+                for (Event event : chunk) {
+                    event.setTicketPrices(prices.get(event.getId()));
+                    event.setTicketQuantities(quantities.get(event.getId()));
+                    action.accept(event);
+                }
+            });
+        });
+    }
+
+    @Override
+    public List<Event> getEventsPage(String sortField, String afterKey, Integer afterId, int limit) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        return KeysetQuery.create(session, Event.class, "Event", null, null, sortField, afterKey, afterId, limit).list();
+    }
+
     @Override
     public void setTicketPrice(int eventId, String ticketType, double price) {
         Session session = HibernateSessionHelper.getCurrentSession();
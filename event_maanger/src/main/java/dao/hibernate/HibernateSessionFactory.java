@@ -6,11 +6,20 @@ import model.Room;
 import model.Ticket;
 import model.User;
 import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
 
 
 public class HibernateSessionFactory {
-    private static SessionFactory sessionFactory;
+    /** System property overriding hibernate.generate_statistics from hibernate.cfg.xml */
+    public static final String STATISTICS_SWITCH = "sql.statistics";
+    /** System property overriding hibernate.connection.url, e.g. to run against a generated database */
+    public static final String DATABASE_URL = "db.url";
+    /** System property overriding hibernate.connection.pool_size */
+    public static final String POOL_SIZE = "db.poolSize";
+
+    private static volatile SessionFactory sessionFactory;
 
     private HibernateSessionFactory() {
     }
@@ -26,14 +35,23 @@ public class HibernateSessionFactory {
             synchronized (HibernateSessionFactory.class) {
                 if (sessionFactory == null) {
                     try {
-                        sessionFactory = new Configuration()
-                                .configure("hibernate.cfg.xml")
-                                .addAnnotatedClass(User.class)
-                                .addAnnotatedClass(Location.class)
-                                .addAnnotatedClass(Room.class)
-                                .addAnnotatedClass(Event.class)
-                                .addAnnotatedClass(Ticket.class)
-                                .buildSessionFactory();
+                        Configuration configuration = configuration();
+                        String url = System.getProperty(DATABASE_URL);
+                        if (url != null) {
+                            configuration.setProperty(AvailableSettings.URL, url);
+                        }
+                        String poolSize = System.getProperty(POOL_SIZE);
+                        if (poolSize != null) {
+                            configuration.setProperty(AvailableSettings.POOL_SIZE, poolSize);
+                        }
+                        String statistics = System.getProperty(STATISTICS_SWITCH);
+                        if (statistics != null) {
+                            configuration.setProperty(AvailableSettings.GENERATE_STATISTICS, statistics);
+                        }
+                        SqliteProfile.selected().apply(configuration);
+                        SessionFactory built = configuration.buildSessionFactory();
+                        SqliteProfile.readEffective(built);
+                        sessionFactory = built;
                     } catch (Exception e) {
                         System.err.println("Error creating Hibernate SessionFactory: " + e.getMessage());
                         e.printStackTrace();
@@ -45,6 +63,31 @@ public class HibernateSessionFactory {
         return sessionFactory;
     }
 
+    /**
+     * hibernate.cfg.xml with every entity class mapped - for tools that build their own SessionFactory
+     * against another database, e.g. to create the schema
+     */
+    public static Configuration configuration() {
+        return new Configuration().configure("hibernate.cfg.xml")
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Location.class)
+                .addAnnotatedClass(Room.class)
+                .addAnnotatedClass(Event.class)
+                .addAnnotatedClass(Ticket.class);
+    }
+
+    /**
+     * Statistics of the SessionFactory if it is built and statistics are switched on, otherwise null
+     * Never builds the SessionFactory itself
+     */
+    public static Statistics getStatistics() {
+        SessionFactory current = sessionFactory;
+        if (current == null || current.isClosed() || !current.getStatistics().isStatisticsEnabled()) {
+            return null;
+        }
+        return current.getStatistics();
+    }
+
     /**
      * Close the SessionFactory
      * Should be called on application shutdown
@@ -53,6 +96,7 @@ public class HibernateSessionFactory {
         if (sessionFactory != null && !sessionFactory.isClosed()) {
             sessionFactory.close();
             sessionFactory = null;
+            SqliteProfile.clearEffective();
         }
     }
 }
@@ -0,0 +1,124 @@
+package dao.hibernate;
+
+import metrics.SlowQueryLog;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JDBC wrappers that feed SlowQueryLog: statements remember their bound parameters and the time spent
+ * binding them, and report themselves when an execute call is slower than the threshold
+ * Used by MeteredConnectionProvider; connections must be unwrapped before they go back to the pool
+ */
+final class JdbcTiming {
+
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private JdbcTiming() {
+    }
+
+    static Connection wrap(Connection connection, SlowQueryLog log) {
+        return (Connection) Proxy.newProxyInstance(JdbcTiming.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection, log));
+    }
+
+    static Connection unwrap(Connection connection) {
+        if (Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof ConnectionHandler) {
+            return ((ConnectionHandler) Proxy.getInvocationHandler(connection)).target;
+        }
+        return connection;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final SlowQueryLog log;
+
+        ConnectionHandler(Connection target, SlowQueryLog log) {
+            this.target = target;
+            this.log = log;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = JdbcTiming.invoke(target, method, args);
+            // prepareStatement/prepareCall/createStatement - wrap exactly the declared interface
+            Class<?> type = method.getReturnType();
+            if (result instanceof Statement && type.isInterface() && Statement.class.isAssignableFrom(type)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return Proxy.newProxyInstance(JdbcTiming.class.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler((Statement) result, sql, log));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+        private final SlowQueryLog log;
+        private final Map<Integer, String> parameters = new TreeMap<>();
+        private long bindNanos;
+
+        StatementHandler(Statement target, String sql, SlowQueryLog log) {
+            this.target = target;
+            this.sql = sql;
+            this.log = log;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                    && target instanceof PreparedStatement) {
+                long start = System.nanoTime();
+                Object result = JdbcTiming.invoke(target, method, args);
+                bindNanos += System.nanoTime() - start;
+                parameters.put((Integer) args[0], render(name, args[1]));
+                return result;
+            }
+            if (name.equals("clearParameters")) {
+                parameters.clear();
+                bindNanos = 0;
+            }
+            if (!name.startsWith("execute")) {
+                return JdbcTiming.invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return JdbcTiming.invoke(target, method, args);
+            } finally {
+                long executeNanos = System.nanoTime() - start;
+                String statement = sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : name;
+                log.record(statement, parameters, bindNanos, executeNanos);
+                bindNanos = 0;
+            }
+        }
+
+        private static String render(String setter, Object value) {
+            if (setter.equals("setNull")) {
+                return "null";
+            }
+            if (value instanceof byte[]) {
+                return "<" + ((byte[]) value).length + " bytes>";
+            }
+            String text = String.valueOf(value);
+            return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+        }
+    }
+}
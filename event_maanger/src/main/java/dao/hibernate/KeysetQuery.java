@@ -0,0 +1,74 @@
+package dao.hibernate;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+import java.util.Map;
+
+/**
+ * Builds keyset ("seek") page queries: rows strictly after the last (sortKey, id) seen, ordered by (sortKey, id)
+ * Unlike OFFSET the database never reads the skipped rows, so every page costs the same
+ * A null sortField pages by id only
+ * The predicate compares the raw column so the composite (sortField, id) indexes of the entities serve both the
+ * seek and the ORDER BY; SQLite sorts NULLs first, so rows with a null sort value form the first group
+ */
+final class KeysetQuery {
+
+    private KeysetQuery() {
+    }
+
+    /**
+     * @param entity     entity name, aliased as "x" in the query
+     * @param filter     extra condition on "x" or null, e.g. "x.user.id = :userId"
+     * @param params     parameters of filter (may be null)
+     * @param sortField  entity attribute to sort by, or null for id
+     * @param afterKey   sort value of the last row of the previous page, null if it had none (ignored when sorting by id)
+     * @param afterId    id of the last row of the previous page, or null for the first page
+     * @param maxResults rows to fetch
+     */
+    static <T> Query<T> create(Session session, Class<T> type, String entity, String filter, Map<String, Object> params,
+                               String sortField, String afterKey, Integer afterId, int maxResults) {
+        if (sortField != null && !sortField.matches("[A-Za-z]+")) {
+            throw new IllegalArgumentException("Invalid sort field: " + sortField);
+        }
+        String sortColumn = sortField != null ? "x." + sortField : null;
+
+        StringBuilder hql = new StringBuilder("FROM ").append(entity).append(" x WHERE 1 = 1");
+        if (filter != null) {
+            hql.append(" AND (").append(filter).append(")");
+        }
+        if (afterId != null) {
+            if (sortColumn == null) {
+                hql.append(" AND x.id > :afterId");
+            } else if (afterKey == null) {
+                // still in the leading NULL group: the rest of it, then every non-null value
+                hql.append(" AND ((").append(sortColumn).append(" IS NULL AND x.id > :afterId) OR ")
+                        .append(sortColumn).append(" IS NOT NULL)");
+            } else {
+                // NULLs sort before afterKey, and "> / =" never match them
+                hql.append(" AND (").append(sortColumn).append(" > :afterKey OR (")
+                        .append(sortColumn).append(" = :afterKey AND x.id > :afterId))");
+            }
+        }
+        hql.append(" ORDER BY ");
+        if (sortColumn != null) {
+            hql.append(sortColumn).append(", ");
+        }
+        hql.append("x.id");
+
+        Query<T> query = session.createQuery(hql.toString(), type);
+        if (params != null) {
+            for (Map.Entry<String, Object> param : params.entrySet()) {
+                query.setParameter(param.getKey(), param.getValue());
+            }
+        }
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (sortColumn != null && afterKey != null) {
+                query.setParameter("afterKey", afterKey);
+            }
+        }
+        query.setMaxResults(maxResults);
+        return query;
+    }
+}
@@ -7,6 +7,7 @@ import org.hibernate.Session;
 import org.hibernate.Transaction;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public class LocationHibernate implements LocationDAO {
 
@@ -66,6 +67,14 @@ public class LocationHibernate implements LocationDAO {
                 .uniqueResult();
     }
 
+    /**
+     * Apply changes to the stored location; only changed columns are written, guarded by the version
+     */
+    @Override
+    public Location patchLocation(int id, Integer expectedVersion, Consumer<Location> changes) {
+        return VersionedUpdate.apply(Location.class, id, expectedVersion, Location::getVersion, changes, "location");
+    }
+
     @Override
     public void updateLocation(Location location) {
         Session session = HibernateSessionHelper.getCurrentSession();
@@ -119,6 +128,12 @@ public class LocationHibernate implements LocationDAO {
         return session.createQuery(query, Location.class).list();
     }
 
+    @Override
+    public List<Location> getLocationsPage(String sortField, String afterKey, Integer afterId, int limit) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        return KeysetQuery.create(session, Location.class, "Location", null, null, sortField, afterKey, afterId, limit).list();
+    }
+
     @Override
     public List<User> getContactsByLocationId(int locationId) {
         Session session = HibernateSessionHelper.getCurrentSession();
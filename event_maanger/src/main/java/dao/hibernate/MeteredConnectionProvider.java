@@ -0,0 +1,77 @@
+package dao.hibernate;
+
+import metrics.LatencyHistogram;
+import metrics.SlowQueryLog;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate's built-in connection pool with gauges for the metrics endpoint:
+ * connections in use against the pool size, and how long callers wait to get one
+ * Connections are wrapped by JdbcTiming only when the slow query log is switched on (-Dsql.slowQueryMillis),
+ * otherwise the driver's connections are handed out as they are
+ * Selected with hibernate.connection.provider_class in hibernate.cfg.xml
+ */
+public class MeteredConnectionProvider extends DriverManagerConnectionProviderImpl {
+
+    /** Hibernate's own default when hibernate.connection.pool_size is not set */
+    private static final int DEFAULT_POOL_SIZE = 20;
+
+    private static volatile MeteredConnectionProvider current;
+
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final LatencyHistogram acquireTime = new LatencyHistogram();
+    /** null while the slow query log is off */
+    private final SlowQueryLog slowQueries = SlowQueryLog.shared().isEnabled() ? SlowQueryLog.shared() : null;
+    private volatile int maxSize;
+
+    public MeteredConnectionProvider() {
+        current = this;
+    }
+
+    /**
+     * Provider of the running SessionFactory, or null before it is built
+     */
+    public static MeteredConnectionProvider current() {
+        return current;
+    }
+
+    @Override
+    public void configure(Map<String, Object> configurationValues) {
+        super.configure(configurationValues);
+        Object poolSize = configurationValues.get(AvailableSettings.POOL_SIZE);
+        maxSize = poolSize == null ? DEFAULT_POOL_SIZE : Integer.parseInt(poolSize.toString().trim());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        acquireTime.recordNanos(System.nanoTime() - start);
+        inUse.incrementAndGet();
+        return slowQueries != null ? JdbcTiming.wrap(connection, slowQueries) : connection;
+    }
+
+    @Override
+    public void closeConnection(Connection conn) throws SQLException {
+        inUse.decrementAndGet();
+        super.closeConnection(slowQueries != null ? JdbcTiming.unwrap(conn) : conn);
+    }
+
+    public int getInUse() {
+        return inUse.get();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public LatencyHistogram getAcquireTime() {
+        return acquireTime;
+    }
+}
@@ -6,6 +6,7 @@ import org.hibernate.Session;
 import org.hibernate.Transaction;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public class RoomHibernate implements RoomDAO {
 
@@ -54,6 +55,14 @@ public class RoomHibernate implements RoomDAO {
         return session.get(Room.class, id);
     }
 
+    /**
+     * Apply changes to the stored room; only changed columns are written, guarded by the version
+     */
+    @Override
+    public Room patchRoom(int id, Integer expectedVersion, Consumer<Room> changes) {
+        return VersionedUpdate.apply(Room.class, id, expectedVersion, Room::getVersion, changes, "room");
+    }
+
     @Override
     public void updateRoom(Room room) {
         Session session = HibernateSessionHelper.getCurrentSession();
@@ -107,6 +116,12 @@ public class RoomHibernate implements RoomDAO {
         return session.createQuery(query, Room.class).list();
     }
 
+    @Override
+    public List<Room> getRoomsPage(String sortField, String afterKey, Integer afterId, int limit) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        return KeysetQuery.create(session, Room.class, "Room", null, null, sortField, afterKey, afterId, limit).list();
+    }
+
     @Override
     public List<Room> getRoomsByLocationId(int locationId) {
         Session session = HibernateSessionHelper.getCurrentSession();
@@ -0,0 +1,81 @@
+package dao.hibernate;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only, read-only iteration over a query for exports
+ * Rows are read with a JDBC fetch size and handed over in chunks of that size; every entity is evicted
+ * from the session as soon as it is read, so memory stays constant however many rows the query returns
+ */
+final class ScrollingQuery {
+
+    static final int FETCH_SIZE = 500;
+
+    private ScrollingQuery() {
+    }
+
+    /**
+     * Run iteration with the current session inside one transaction, committed when it completes
+     * (left to the request filter when it manages the transaction) and rolled back if it throws
+     */
+    static void inTransaction(Consumer<Session> iteration) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        boolean isManaged = HibernateSessionHelper.isTransactionManagedByFilter();
+        // Keep one transaction open for the whole iteration - otherwise the connection is released after
+        // the next statement and the scroll cursor is closed with it
+        Transaction transaction = HibernateSessionHelper.getCurrentTransaction(session);
+        try {
+            iteration.accept(session);
+            if (!isManaged) {
+                transaction.commit();
+            }
+        } catch (RuntimeException e) {
+            if (!isManaged && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            if (!isManaged) {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * Pass every row to action, one chunk of at most FETCH_SIZE detached entities at a time
+     */
+    static <T> void forEachChunk(Session session, Query<T> query, Consumer<List<T>> action) {
+        query.setFetchSize(FETCH_SIZE);
+        query.setReadOnly(true);
+        List<T> chunk = new ArrayList<>(FETCH_SIZE);
+        try (ScrollableResults<T> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                T row = results.get();
+                session.evict(row);
+                chunk.add(row);
+                if (chunk.size() == FETCH_SIZE) {
+                    action.accept(chunk);
+                    chunk = new ArrayList<>(FETCH_SIZE);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            action.accept(chunk);
+        }
+    }
+
+    /**
+     * Pass every row to action as a detached entity
+     */
+    static <T> void forEach(Session session, Query<T> query, Consumer<T> action) {
+        forEachChunk(session, query, chunk -> chunk.forEach(action));
+    }
+}
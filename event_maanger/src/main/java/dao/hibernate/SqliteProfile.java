@@ -0,0 +1,153 @@
+package dao.hibernate;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * PRAGMA presets for the SQLite connections of the pool, picked with -Dsqlite.profile (durable by default)
+ * Single settings can be overridden with -Dsqlite.<pragma>, e.g. -Dsqlite.mmap_size=0
+ * The settings are passed to the driver as hibernate.connection.<pragma> properties, so sqlite-jdbc runs them
+ * on every connection it opens, before Hibernate gets it
+ */
+public enum SqliteProfile {
+
+    /** WAL with a full sync on every commit: a committed purchase survives a power cut */
+    DURABLE("WAL", "FULL", -16 * 1024, 64L * 1024 * 1024, "DEFAULT", 5000),
+    /**
+     * WAL with synchronous=NORMAL: the last commits can be lost on a power cut (a crash of the JVM loses nothing)
+     * but the database is never corrupted; larger cache and mmap window, temp tables in memory
+     */
+    THROUGHPUT("WAL", "NORMAL", -64 * 1024, 256L * 1024 * 1024, "MEMORY", 5000);
+
+    public static final String PROFILE_SWITCH = "sqlite.profile";
+
+    /** PRAGMAs a profile sets, in the order they are reported */
+    public static final List<String> PRAGMAS = Collections.unmodifiableList(Arrays.asList(
+            "journal_mode", "synchronous", "cache_size", "mmap_size", "temp_store", "busy_timeout"));
+
+    private final Map<String, String> settings = new LinkedHashMap<>();
+
+    /** PRAGMAs read back when the SessionFactory was built, or the error reading them; null before that */
+    private static volatile Map<String, Object> effective;
+    private static volatile String effectiveError;
+
+    /**
+     * @param cacheSize   pages, or KiB when negative
+     * @param busyTimeout milliseconds a connection waits for a lock before failing with SQLITE_BUSY
+     */
+    SqliteProfile(String journalMode, String synchronous, int cacheSize, long mmapSize, String tempStore, int busyTimeout) {
+        settings.put("journal_mode", journalMode);
+        settings.put("synchronous", synchronous);
+        settings.put("cache_size", String.valueOf(cacheSize));
+        settings.put("mmap_size", String.valueOf(mmapSize));
+        settings.put("temp_store", tempStore);
+        settings.put("busy_timeout", String.valueOf(busyTimeout));
+    }
+
+    /**
+     * The profile named by -Dsqlite.profile, DURABLE if it is not set
+     *
+     * @throws IllegalArgumentException for an unknown profile name
+     */
+    public static SqliteProfile selected() {
+        String name = System.getProperty(PROFILE_SWITCH);
+        if (name == null || name.trim().isEmpty()) {
+            return DURABLE;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + PROFILE_SWITCH + " " + name + ", expected one of "
+                    + Arrays.toString(values()).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * This profile's PRAGMA values with the -Dsqlite.<pragma> overrides applied
+     */
+    public Map<String, String> settings() {
+        Map<String, String> effective = new LinkedHashMap<>(settings);
+        for (String pragma : PRAGMAS) {
+            String override = System.getProperty("sqlite." + pragma);
+            if (override != null) {
+                effective.put(pragma, override.trim());
+            }
+        }
+        return effective;
+    }
+
+    /**
+     * Hand the settings to the driver of the configuration's connections
+     */
+    public void apply(Configuration configuration) {
+        for (Map.Entry<String, String> setting : settings().entrySet()) {
+            configuration.setProperty("hibernate.connection." + setting.getKey(), setting.getValue());
+        }
+    }
+
+    /**
+     * What SQLite reports for each of PRAGMAS on the connection: journal_mode as text, the rest as numbers
+     * (synchronous 0-3 = OFF/NORMAL/FULL/EXTRA, temp_store 0-2 = DEFAULT/FILE/MEMORY)
+     */
+    public static Map<String, Object> read(Connection connection) throws SQLException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : PRAGMAS) {
+                try (ResultSet result = statement.executeQuery("PRAGMA " + pragma)) {
+                    values.put(pragma, result.next() ? result.getObject(1) : null);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Read the PRAGMAs from one connection of a freshly built SessionFactory and keep them for status()
+     * Every pooled connection is opened with the same settings, so one read stands for all of them
+     */
+    static void readEffective(SessionFactory factory) {
+        try (Session session = factory.openSession()) {
+            effective = session.doReturningWork(SqliteProfile::read);
+            effectiveError = null;
+        } catch (RuntimeException e) {
+            effective = null;
+            effectiveError = e.getMessage();
+        }
+    }
+
+    /**
+     * Forget the values read by readEffective, when the SessionFactory is closed
+     */
+    static void clearEffective() {
+        effective = null;
+        effectiveError = null;
+    }
+
+    /**
+     * Profile, requested settings and the values read back when the SessionFactory was built,
+     * for the metrics endpoint; never touches the pool
+     */
+    public static Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        SqliteProfile profile = selected();
+        status.put("profile", profile.name().toLowerCase(Locale.ROOT));
+        status.put("requested", profile.settings());
+        status.put("effective", effective);
+        if (effectiveError != null) {
+            status.put("error", effectiveError);
+        }
+        return status;
+    }
+}
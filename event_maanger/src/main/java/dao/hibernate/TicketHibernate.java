@@ -4,12 +4,14 @@ import dao.TicketDAO;
 import model.Event;
 import model.Ticket;
 import model.User;
+import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Consumer;
 
 public class TicketHibernate implements TicketDAO {
 
@@ -64,6 +66,87 @@ public class TicketHibernate implements TicketDAO {
         }
     }
 
+    /**
+     * Sell one ticket at the event's price for ticketType, checking the seat (numbered events) and the
+     * remaining quantity in the same transaction as the insert - SQLite lets only one writer commit, so
+     * two buyers of the last ticket cannot both succeed
+     *
+     * @return the new ticket, or null if the event or user does not exist
+     * @throws IllegalArgumentException for a ticket type the event does not sell or a missing seat number
+     * @throws IllegalStateException if the seat is taken or the ticket type is sold out
+     */
+    @Override
+    public Ticket purchaseTicket(int eventId, int userId, String ticketType, String seatNumber, String purchaseDate) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        Transaction transaction = HibernateSessionHelper.getCurrentTransaction(session);
+        boolean isManaged = HibernateSessionHelper.isTransactionManagedByFilter();
+
+        try {
+            Event event = session.get(Event.class, eventId);
+            User user = session.get(User.class, userId);
+            if (event == null || user == null) {
+                if (!isManaged && transaction.isActive()) {
+                    transaction.commit();
+                }
+                return null;
+            }
+
+            Integer quantity = event.getTicketQuantities() != null ? event.getTicketQuantities().get(ticketType) : null;
+            Double price = event.getTicketPrices() != null ? event.getTicketPrices().get(ticketType) : null;
+            if (quantity == null || price == null) {
+                throw new IllegalArgumentException("Ticket type " + ticketType + " is not sold for event: " + eventId);
+            }
+            String seat = null;
+            if (event.isNumberedSeats()) {
+                if (seatNumber == null || seatNumber.trim().isEmpty()) {
+                    throw new IllegalArgumentException("Seat number is required for event: " + eventId);
+                }
+                seat = seatNumber.trim();
+                Long taken = session.createQuery(
+                                "SELECT COUNT(*) FROM Ticket WHERE event.id = :eventId AND seatNumber = :seatNumber", Long.class)
+                        .setParameter("eventId", eventId)
+                        .setParameter("seatNumber", seat)
+                        .getSingleResult();
+                if (taken > 0) {
+                    throw new IllegalStateException("Seat " + seat + " is already taken for event: " + eventId);
+                }
+            }
+            Long sold = session.createQuery(
+                            "SELECT COUNT(*) FROM Ticket WHERE event.id = :eventId AND ticketType = :ticketType", Long.class)
+                    .setParameter("eventId", eventId)
+                    .setParameter("ticketType", ticketType)
+                    .getSingleResult();
+            if (sold >= quantity) {
+                throw new IllegalStateException("Tickets of type " + ticketType + " are sold out for event: " + eventId);
+            }
+
+            Ticket ticket = new Ticket(event, user, ticketType, price, seat,
+                    event.getEventStartDate(), event.getEventEndDate());
+            ticket.setPurchaseDate(purchaseDate);
+            session.persist(ticket);
+            // Loaded now so the ticket can be mapped after the session is closed
+            Hibernate.initialize(event.getLocations());
+            if (!isManaged && transaction.isActive()) {
+                transaction.commit();
+            }
+            return ticket;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            if (!isManaged && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } catch (Exception e) {
+            if (!isManaged && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error purchasing ticket: " + e.getMessage(), e);
+        } finally {
+            if (!isManaged && session.isOpen()) {
+                session.close();
+            }
+        }
+    }
+
     @Override
     public Ticket getTicketById(int id) {
         Session session = HibernateSessionHelper.getCurrentSession();
@@ -132,6 +215,19 @@ public class TicketHibernate implements TicketDAO {
                 .list();
     }
 
+    @Override
+    public void forEachTicketByEventId(int eventId, Consumer<Ticket> action) {
+        ScrollingQuery.inTransaction(session -> {
+            // Both associations are eager - fetch them in the same row instead of one select per ticket
+            String query = "FROM Ticket t JOIN FETCH t.event JOIN FETCH t.user WHERE t.event.id = :eventId ORDER BY t.id";
+            ScrollingQuery.forEach(session, session.createQuery(query, Ticket.class).setParameter("eventId", eventId),
+                    ticket -> {
+                        session.evict(ticket.getUser());
+                        action.accept(ticket);
+                    });
+        });
+    }
+
     @Override
     public List<Ticket> getTicketsByUserId(int userId) {
         Session session = HibernateSessionHelper.getCurrentSession();
@@ -141,6 +237,15 @@ public class TicketHibernate implements TicketDAO {
                 .list();
     }
 
+    @Override
+    public List<Ticket> getTicketsByUserIdPage(int userId, String sortField, String afterKey, Integer afterId, int limit) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        return KeysetQuery.create(session, Ticket.class, "Ticket", "x.user.id = :userId", params,
+                sortField, afterKey, afterId, limit).list();
+    }
+
     @Override
     public int countTicketsByEventAndType(int eventId, String ticketType) {
         Session session = HibernateSessionHelper.getCurrentSession();
@@ -8,29 +8,15 @@ import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public class UserHibernate implements UserDAO {
 
-    private static boolean adminInitialized = false;
-    private static final Object initLock = new Object();
-
-    public UserHibernate() {
-        // Ensure default admin is initialized only once
-        if (!adminInitialized) {
-            synchronized (initLock) {
-                if (!adminInitialized) {
-                    initializeDefaultAdmin();
-                    adminInitialized = true;
-                }
-            }
-        }
-    }
-
     /**
      * Creates default admin user if no users exist in database
-     * Executed only once during application startup
+     * Executed once during application startup (ApplicationBootstrap), not from the constructor
      */
-    private void initializeDefaultAdmin() {
+    public static void initializeDefaultAdmin() {
         SessionFactory sessionFactory = HibernateSessionFactory.getSessionFactory();
         Session session = sessionFactory.openSession();
         Transaction transaction = null;
@@ -112,6 +98,14 @@ public class UserHibernate implements UserDAO {
                 .uniqueResult();
     }
 
+    /**
+     * Apply changes to the stored user; only changed columns are written, guarded by the version
+     */
+    @Override
+    public User patchUser(int id, Integer expectedVersion, Consumer<User> changes) {
+        return VersionedUpdate.apply(User.class, id, expectedVersion, User::getVersion, changes, "user");
+    }
+
     @Override
     public void updateUser(User user) {
         Session session = HibernateSessionHelper.getCurrentSession();
@@ -165,6 +159,18 @@ public class UserHibernate implements UserDAO {
         return session.createQuery(query, User.class).list();
     }
 
+    @Override
+    public void forEachUser(Consumer<User> action) {
+        ScrollingQuery.inTransaction(session ->
+                ScrollingQuery.forEach(session, session.createQuery("FROM User u ORDER BY u.id", User.class), action));
+    }
+
+    @Override
+    public List<User> getUsersPage(String sortField, String afterKey, Integer afterId, int limit) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        return KeysetQuery.create(session, User.class, "User", null, null, sortField, afterKey, afterId, limit).list();
+    }
+
     @Override
     public User getUserById(int id) {
         Session session = HibernateSessionHelper.getCurrentSession();
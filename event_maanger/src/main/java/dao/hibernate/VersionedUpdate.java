@@ -0,0 +1,72 @@
+package dao.hibernate;
+
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.Transaction;
+
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Load, change and flush one entity in a single transaction, guarded by its @Version
+ * The entities are @DynamicUpdate, so the UPDATE lists only the columns the changes touched,
+ * and Hibernate adds "AND version = ?" so a write that landed after the read is detected too
+ */
+final class VersionedUpdate {
+
+    private VersionedUpdate() {
+    }
+
+    /**
+     * @param expectedVersion version the caller last saw (If-Match), or null to skip the check
+     * @return the updated entity with its new version, or null if there is no entity with this id
+     * @throws OptimisticLockException if the entity's version is not expectedVersion or changes concurrently
+     * @throws IllegalArgumentException thrown by changes (validation); nothing is written
+     */
+    static <T> T apply(Class<T> type, int id, Integer expectedVersion, ToIntFunction<T> versionOf,
+                       Consumer<T> changes, String label) {
+        Session session = HibernateSessionHelper.getCurrentSession();
+        Transaction transaction = HibernateSessionHelper.getCurrentTransaction(session);
+        boolean isManaged = HibernateSessionHelper.isTransactionManagedByFilter();
+
+        try {
+            T entity = session.get(type, id);
+            if (entity == null) {
+                if (!isManaged && transaction.isActive()) {
+                    transaction.commit();
+                }
+                return null;
+            }
+            if (expectedVersion != null && expectedVersion != versionOf.applyAsInt(entity)) {
+                throw new OptimisticLockException(label + " " + id + " has version " + versionOf.applyAsInt(entity)
+                        + ", expected " + expectedVersion);
+            }
+            changes.accept(entity);
+            session.flush();
+            if (!isManaged && transaction.isActive()) {
+                transaction.commit();
+            }
+            return entity;
+        } catch (OptimisticLockException | IllegalArgumentException e) {
+            if (!isManaged && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } catch (StaleStateException e) {
+            if (!isManaged && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new OptimisticLockException(label + " " + id + " was changed concurrently", e);
+        } catch (Exception e) {
+            if (!isManaged && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error updating " + label + ": " + e.getMessage(), e);
+        } finally {
+            if (!isManaged && session.isOpen()) {
+                session.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package dto;
+
+/**
+ * Rows affected by a bulk event operation
+ */
+public class BulkResultDTO {
+    private int events;
+    private int tickets;
+    private int tiers;
+
+    public BulkResultDTO(int events, int tickets, int tiers) {
+        this.events = events;
+        this.tickets = tickets;
+        this.tiers = tiers;
+    }
+
+    public int getEvents() { return events; }
+    public int getTickets() { return tickets; }
+    public int getTiers() { return tiers; }
+}
@@ -0,0 +1,43 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Request body of the bulk event operations (delete, reprice, shift dates)
+ * Events are selected by eventIds and/or an eventStartDate range (inclusive, yyyy-MM-dd);
+ * at least one criterion is required
+ */
+public class EventBulkOperationDTO {
+    private List<Integer> eventIds;
+    private String startsFrom;
+    private String startsTo;
+
+    // Reprice: ticketType plus either a new price or a factor applied to the current price
+    private String ticketType;
+    private Double price;
+    private Double factor;
+
+    // Shift dates: number of days, negative moves events earlier
+    private Integer days;
+
+    public EventBulkOperationDTO() {}
+
+    public List<Integer> getEventIds() { return eventIds; }
+    public void setEventIds(List<Integer> eventIds) { this.eventIds = eventIds; }
+    public String getStartsFrom() { return startsFrom; }
+    public void setStartsFrom(String startsFrom) { this.startsFrom = startsFrom; }
+    public String getStartsTo() { return startsTo; }
+    public void setStartsTo(String startsTo) { this.startsTo = startsTo; }
+    public String getTicketType() { return ticketType; }
+    public void setTicketType(String ticketType) { this.ticketType = ticketType; }
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+    public Double getFactor() { return factor; }
+    public void setFactor(Double factor) { this.factor = factor; }
+    public Integer getDays() { return days; }
+    public void setDays(Integer days) { this.days = days; }
+
+    public boolean hasFilter() {
+        return (eventIds != null && !eventIds.isEmpty()) || startsFrom != null || startsTo != null;
+    }
+}
@@ -0,0 +1,98 @@
+package dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Facet counts for a public event search result
+ * Each count is the number of matching events that also fall into the facet value
+ */
+public class EventFacetsDTO {
+    private List<FacetCount> locations = new ArrayList<>();
+    private List<FacetCount> months = new ArrayList<>();
+    private List<FacetCount> priceRanges = new ArrayList<>();
+    private int available;
+    private int soldOut;
+
+    public List<FacetCount> getLocations() {
+        return locations;
+    }
+
+    public void setLocations(List<FacetCount> locations) {
+        this.locations = locations;
+    }
+
+    public List<FacetCount> getMonths() {
+        return months;
+    }
+
+    public void setMonths(List<FacetCount> months) {
+        this.months = months;
+    }
+
+    public List<FacetCount> getPriceRanges() {
+        return priceRanges;
+    }
+
+    public void setPriceRanges(List<FacetCount> priceRanges) {
+        this.priceRanges = priceRanges;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(int available) {
+        this.available = available;
+    }
+
+    public int getSoldOut() {
+        return soldOut;
+    }
+
+    public void setSoldOut(int soldOut) {
+        this.soldOut = soldOut;
+    }
+
+    /**
+     * One facet value - value is the filter key (location id, yyyy-MM, price range), label is for display
+     */
+    public static class FacetCount {
+        private String value;
+        private String label;
+        private int count;
+
+        public FacetCount() {
+        }
+
+        public FacetCount(String value, String label, int count) {
+            this.value = value;
+            this.label = label;
+            this.count = count;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Public event search response with facet counts (returned when facets=true)
+ */
+public class EventSearchResultDTO {
+    private List<EventPublicDTO> events;
+    private int total;
+    private EventFacetsDTO facets;
+
+    public EventSearchResultDTO() {
+    }
+
+    public EventSearchResultDTO(List<EventPublicDTO> events, EventFacetsDTO facets) {
+        this.events = events;
+        this.total = events.size();
+        this.facets = facets;
+    }
+
+    public List<EventPublicDTO> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<EventPublicDTO> events) {
+        this.events = events;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public EventFacetsDTO getFacets() {
+        return facets;
+    }
+
+    public void setFacets(EventFacetsDTO facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,92 @@
+package dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One validated row of a bulk import
+ * type "event" - a new event with optional price/quantity tiers and location names
+ * type "price" - sets the price and/or quantity of one tier of an existing or imported event
+ * type "ticket" - a sold ticket for an event and a user (by login)
+ */
+public class ImportRecord {
+    public static final String TYPE_EVENT = "event";
+    public static final String TYPE_PRICE = "price";
+    public static final String TYPE_TICKET = "ticket";
+
+    private final long line;
+    private final String type;
+
+    // event
+    private String name;
+    private String description;
+    private String eventDate;
+    private String eventTime;
+    private String eventStartDate;
+    private String eventEndDate;
+    private boolean numberedSeats;
+    private Map<String, Double> ticketPrices = new LinkedHashMap<>();
+    private Map<String, Integer> ticketQuantities = new LinkedHashMap<>();
+    private List<String> locationNames = new ArrayList<>();
+
+    // price and ticket
+    private String eventName;
+    private String ticketType;
+    private Double price;
+    private Integer quantity;
+
+    // ticket
+    private String userLogin;
+    private String seatNumber;
+    private String purchaseDate;
+    private String validFromDate;
+    private String validToDate;
+
+    public ImportRecord(long line, String type) {
+        this.line = line;
+        this.type = type;
+    }
+
+    public long getLine() { return line; }
+    public String getType() { return type; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public String getEventDate() { return eventDate; }
+    public void setEventDate(String eventDate) { this.eventDate = eventDate; }
+    public String getEventTime() { return eventTime; }
+    public void setEventTime(String eventTime) { this.eventTime = eventTime; }
+    public String getEventStartDate() { return eventStartDate; }
+    public void setEventStartDate(String eventStartDate) { this.eventStartDate = eventStartDate; }
+    public String getEventEndDate() { return eventEndDate; }
+    public void setEventEndDate(String eventEndDate) { this.eventEndDate = eventEndDate; }
+    public boolean isNumberedSeats() { return numberedSeats; }
+    public void setNumberedSeats(boolean numberedSeats) { this.numberedSeats = numberedSeats; }
+    public Map<String, Double> getTicketPrices() { return ticketPrices; }
+    public Map<String, Integer> getTicketQuantities() { return ticketQuantities; }
+    public List<String> getLocationNames() { return locationNames; }
+
+    public String getEventName() { return eventName; }
+    public void setEventName(String eventName) { this.eventName = eventName; }
+    public String getTicketType() { return ticketType; }
+    public void setTicketType(String ticketType) { this.ticketType = ticketType; }
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public String getUserLogin() { return userLogin; }
+    public void setUserLogin(String userLogin) { this.userLogin = userLogin; }
+    public String getSeatNumber() { return seatNumber; }
+    public void setSeatNumber(String seatNumber) { this.seatNumber = seatNumber; }
+    public String getPurchaseDate() { return purchaseDate; }
+    public void setPurchaseDate(String purchaseDate) { this.purchaseDate = purchaseDate; }
+    public String getValidFromDate() { return validFromDate; }
+    public void setValidFromDate(String validFromDate) { this.validFromDate = validFromDate; }
+    public String getValidToDate() { return validToDate; }
+    public void setValidToDate(String validToDate) { this.validToDate = validToDate; }
+}
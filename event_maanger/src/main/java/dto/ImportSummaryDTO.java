@@ -0,0 +1,27 @@
+package dto;
+
+/**
+ * Running totals of a bulk import, reported after every chunk and at the end
+ */
+public class ImportSummaryDTO {
+    private long processed;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+
+    public ImportSummaryDTO(long processed, long imported, long failed, long elapsedMillis) {
+        this.processed = processed;
+        this.imported = imported;
+        this.failed = failed;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getProcessed() { return processed; }
+    public long getImported() { return imported; }
+    public long getFailed() { return failed; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    public long getRowsPerSecond() {
+        return elapsedMillis > 0 ? processed * 1000 / elapsedMillis : processed;
+    }
+}
@@ -0,0 +1,24 @@
+package dto;
+
+/**
+ * Autocomplete suggestion for the public search box
+ * type is "event" or "location"; eventStartDate is only set for events
+ */
+public class SuggestionDTO {
+    private String type;
+    private int id;
+    private String name;
+    private String eventStartDate;
+
+    public SuggestionDTO(String type, int id, String name, String eventStartDate) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.eventStartDate = eventStartDate;
+    }
+
+    public String getType() { return type; }
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public String getEventStartDate() { return eventStartDate; }
+}
@@ -0,0 +1,42 @@
+package dto;
+
+/**
+ * Ticket DTO for admin ticket listings - flat ids instead of nested Event/User objects
+ */
+public class TicketAdminDTO {
+    private int id;
+    private int eventId;
+    private int userId;
+    private String userLogin;
+    private String ticketType;
+    private double price;
+    private String seatNumber;
+    private String purchaseDate;
+    private String validFromDate;
+    private String validToDate;
+
+    public TicketAdminDTO(int id, int eventId, int userId, String userLogin, String ticketType, double price,
+                          String seatNumber, String purchaseDate, String validFromDate, String validToDate) {
+        this.id = id;
+        this.eventId = eventId;
+        this.userId = userId;
+        this.userLogin = userLogin;
+        this.ticketType = ticketType;
+        this.price = price;
+        this.seatNumber = seatNumber;
+        this.purchaseDate = purchaseDate;
+        this.validFromDate = validFromDate;
+        this.validToDate = validToDate;
+    }
+
+    public int getId() { return id; }
+    public int getEventId() { return eventId; }
+    public int getUserId() { return userId; }
+    public String getUserLogin() { return userLogin; }
+    public String getTicketType() { return ticketType; }
+    public double getPrice() { return price; }
+    public String getSeatNumber() { return seatNumber; }
+    public String getPurchaseDate() { return purchaseDate; }
+    public String getValidFromDate() { return validFromDate; }
+    public String getValidToDate() { return validToDate; }
+}
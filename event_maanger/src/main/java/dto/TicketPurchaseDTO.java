@@ -0,0 +1,20 @@
+package dto;
+
+/**
+ * Request body of a ticket purchase by the logged-in user
+ * seatNumber is required for events with numbered seats and ignored otherwise
+ */
+public class TicketPurchaseDTO {
+    private int eventId;
+    private String ticketType;
+    private String seatNumber;
+
+    public TicketPurchaseDTO() {}
+
+    public int getEventId() { return eventId; }
+    public void setEventId(int eventId) { this.eventId = eventId; }
+    public String getTicketType() { return ticketType; }
+    public void setTicketType(String ticketType) { this.ticketType = ticketType; }
+    public String getSeatNumber() { return seatNumber; }
+    public void setSeatNumber(String seatNumber) { this.seatNumber = seatNumber; }
+}
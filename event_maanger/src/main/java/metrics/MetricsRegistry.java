@@ -0,0 +1,193 @@
+package metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Timers and gauges of the application, grouped in families that share a name and a label
+ * (e.g. family http_server_requests, label endpoint, one timer per resource method)
+ * Looking up an existing timer is a map read; gauges are suppliers evaluated only when exported
+ */
+public final class MetricsRegistry {
+
+    public static final Family HTTP = new Family("http_server_requests", "endpoint",
+            "Latency of REST resource methods, by Class.method");
+    public static final Family DAO = new Family("dao_calls", "method",
+            "Latency of DAO calls in dao.hibernate, by Class.method");
+
+    /** Reported quantiles: JSON key -> quantile */
+    static final Map<String, Double> QUANTILES;
+
+    static {
+        Map<String, Double> quantiles = new LinkedHashMap<>();
+        quantiles.put("p50", 0.5);
+        quantiles.put("p90", 0.9);
+        quantiles.put("p99", 0.99);
+        quantiles.put("p999", 0.999);
+        QUANTILES = Collections.unmodifiableMap(quantiles);
+    }
+
+    private static final MetricsRegistry SHARED = new MetricsRegistry();
+
+    private final Map<Family, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry shared() {
+        return SHARED;
+    }
+
+    public Timer timer(Family family, String labelValue) {
+        Map<String, Timer> byLabel = timers.computeIfAbsent(family, f -> new ConcurrentHashMap<>());
+        Timer timer = byLabel.get(labelValue);
+        return timer != null ? timer : byLabel.computeIfAbsent(labelValue, l -> new Timer());
+    }
+
+    /**
+     * Register (or replace) a gauge; name should follow Prometheus conventions, e.g. db_pool_connections_in_use
+     */
+    public void gauge(String name, String help, Supplier<? extends Number> value) {
+        gauges.put(name, new Gauge(name, null, null, help, value));
+    }
+
+    public void gauge(String name, String labelName, String labelValue, String help, Supplier<? extends Number> value) {
+        gauges.put(name + "{" + labelValue + "}", new Gauge(name, labelName, labelValue, help, value));
+    }
+
+    /**
+     * Everything as nested maps for the JSON endpoint: timers by family and label, gauges by name
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Family family : new Family[]{HTTP, DAO}) {
+            Map<String, Object> byLabel = new TreeMap<>();
+            for (Map.Entry<String, Timer> entry : timers(family).entrySet()) {
+                byLabel.put(entry.getKey(), entry.getValue().toMap());
+            }
+            map.put(family.getName(), byLabel);
+        }
+        Map<String, Object> gaugeValues = new TreeMap<>();
+        for (Gauge gauge : sortedGauges().values()) {
+            String key = gauge.labelName == null ? gauge.name : gauge.name + "{" + gauge.labelName + "=" + gauge.labelValue + "}";
+            gaugeValues.put(key, gauge.read());
+        }
+        map.put("gauges", gaugeValues);
+        return map;
+    }
+
+    /**
+     * Prometheus text exposition format 0.0.4 - timers as summaries in seconds plus an errors counter
+     */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Family family : new Family[]{HTTP, DAO}) {
+            Map<String, Timer> byLabel = timers(family);
+            if (byLabel.isEmpty()) {
+                continue;
+            }
+            String seconds = family.getName() + "_seconds";
+            out.append("# HELP ").append(seconds).append(' ').append(family.getHelp()).append('\n');
+            out.append("# TYPE ").append(seconds).append(" summary\n");
+            for (Map.Entry<String, Timer> entry : byLabel.entrySet()) {
+                LatencyHistogram histogram = entry.getValue().getHistogram();
+                String label = family.getLabel() + "=\"" + escape(entry.getKey()) + "\"";
+                for (double quantile : QUANTILES.values()) {
+                    out.append(seconds).append('{').append(label).append(",quantile=\"").append(quantile).append("\"} ")
+                            .append(histogram.percentile(quantile * 100) / 1e6).append('\n');
+                }
+                out.append(seconds).append("_count{").append(label).append("} ").append(histogram.getCount()).append('\n');
+                out.append(seconds).append("_sum{").append(label).append("} ").append(histogram.getSumMicros() / 1e6).append('\n');
+            }
+            String errors = family.getName() + "_errors_total";
+            out.append("# HELP ").append(errors).append(" Failed calls (5xx responses / exceptions)\n");
+            out.append("# TYPE ").append(errors).append(" counter\n");
+            for (Map.Entry<String, Timer> entry : byLabel.entrySet()) {
+                out.append(errors).append('{').append(family.getLabel()).append("=\"").append(escape(entry.getKey()))
+                        .append("\"} ").append(entry.getValue().getErrors()).append('\n');
+            }
+        }
+        String lastName = null;
+        for (Gauge gauge : sortedGauges().values()) {
+            if (!gauge.name.equals(lastName)) {
+                out.append("# HELP ").append(gauge.name).append(' ').append(gauge.help).append('\n');
+                out.append("# TYPE ").append(gauge.name).append(" gauge\n");
+                lastName = gauge.name;
+            }
+            out.append(gauge.name);
+            if (gauge.labelName != null) {
+                out.append('{').append(gauge.labelName).append("=\"").append(escape(gauge.labelValue)).append("\"}");
+            }
+            out.append(' ').append(gauge.read()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Forget all timers - for tests
+     */
+    void reset() {
+        timers.clear();
+        gauges.clear();
+    }
+
+    private Map<String, Timer> timers(Family family) {
+        Map<String, Timer> byLabel = timers.get(family);
+        return byLabel == null ? Collections.<String, Timer>emptyMap() : new TreeMap<>(byLabel);
+    }
+
+    private Map<String, Gauge> sortedGauges() {
+        return new TreeMap<>(gauges);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Metric name, label name and help text shared by a group of timers
+     */
+    public static final class Family {
+        private final String name;
+        private final String label;
+        private final String help;
+
+        public Family(String name, String label, String help) {
+            this.name = name;
+            this.label = label;
+            this.help = help;
+        }
+
+        public String getName() { return name; }
+        public String getLabel() { return label; }
+        public String getHelp() { return help; }
+    }
+
+    private static final class Gauge {
+        private final String name;
+        private final String labelName;
+        private final String labelValue;
+        private final String help;
+        private final Supplier<? extends Number> value;
+
+        Gauge(String name, String labelName, String labelValue, String help, Supplier<? extends Number> value) {
+            this.name = name;
+            this.labelName = labelName;
+            this.labelValue = labelValue;
+            this.help = help;
+            this.value = value;
+        }
+
+        Number read() {
+            try {
+                Number number = value.get();
+                return number == null ? 0 : number;
+            } catch (RuntimeException e) {
+                // A broken gauge must not break the whole scrape
+                return Double.NaN;
+            }
+        }
+    }
+}
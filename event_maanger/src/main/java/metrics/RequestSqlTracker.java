@@ -0,0 +1,145 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements one request runs, grouped by normalized text, and reports requests that go
+ * over the statement or time budget - the usual sign of an N+1 (57x the same select with a different id)
+ * The tracker of the current request is kept in a thread local; code that moves request work to another
+ * thread (Workload.dispatch) carries it over with attach/restore
+ * Budgets: -Dsql.budget.statements (default 50), -Dsql.budget.millis (default 1000)
+ */
+public final class RequestSqlTracker {
+
+    static final int STATEMENT_BUDGET = Integer.getInteger("sql.budget.statements", 50);
+    static final long MILLIS_BUDGET = Long.getLong("sql.budget.millis", 1000);
+
+    /** Distinct statements remembered per request; bulk operations would otherwise grow without bound */
+    private static final int MAX_DISTINCT = 50;
+    private static final int REPORTED = 5;
+
+    private static final ThreadLocal<RequestSqlTracker> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final String request;
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int count;
+    private volatile String endpoint;
+    private volatile boolean finished;
+
+    public RequestSqlTracker(String request) {
+        this.request = request;
+    }
+
+    /**
+     * Start tracking on the calling thread
+     */
+    public static RequestSqlTracker begin(String request) {
+        RequestSqlTracker tracker = new RequestSqlTracker(request);
+        CURRENT.set(tracker);
+        return tracker;
+    }
+
+    public static RequestSqlTracker current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Make tracker current on this thread; returns the previous one for restore
+     */
+    public static RequestSqlTracker attach(RequestSqlTracker tracker) {
+        RequestSqlTracker previous = CURRENT.get();
+        CURRENT.set(tracker);
+        return previous;
+    }
+
+    public static void restore(RequestSqlTracker previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Count a statement against the request running on this thread, if any
+     */
+    public static void statement(String sql) {
+        RequestSqlTracker tracker = CURRENT.get();
+        if (tracker != null && !tracker.finished) {
+            tracker.record(normalize(sql));
+        }
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public String getEndpoint() {
+        return endpoint != null ? endpoint : request;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Stop counting; returns the budget report, or null when the request stayed within budget
+     */
+    public String finish(long nanos) {
+        finished = true;
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        long millis = nanos / 1_000_000;
+        int total = getCount();
+        if (total <= STATEMENT_BUDGET && millis <= MILLIS_BUDGET) {
+            return null;
+        }
+        return report(total, millis);
+    }
+
+    synchronized void record(String normalizedSql) {
+        count++;
+        Integer seen = statements.get(normalizedSql);
+        if (seen != null) {
+            statements.put(normalizedSql, seen + 1);
+        } else if (statements.size() < MAX_DISTINCT) {
+            statements.put(normalizedSql, 1);
+        }
+    }
+
+    private synchronized String report(int total, long millis) {
+        StringBuilder out = new StringBuilder();
+        out.append("[SQL budget] ").append(request);
+        if (endpoint != null) {
+            out.append(" (").append(endpoint).append(')');
+        }
+        out.append(": ").append(total).append(" statements in ").append(millis).append(" ms (budget ")
+                .append(STATEMENT_BUDGET).append(" statements / ").append(MILLIS_BUDGET).append(" ms)");
+        List<Map.Entry<String, Integer>> top = new ArrayList<>(statements.entrySet());
+        top.sort((a, b) -> b.getValue() - a.getValue());
+        for (int i = 0; i < Math.min(REPORTED, top.size()); i++) {
+            out.append("\n  ").append(top.get(i).getValue()).append("x ").append(top.get(i).getKey());
+        }
+        return out.toString();
+    }
+
+    /**
+     * One line, literals and IN lists replaced by ?, so executions that differ only in values group together
+     */
+    public static String normalize(String sql) {
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        return PARAMETER_LIST.matcher(normalized).replaceAll("(?...)");
+    }
+}
@@ -0,0 +1,85 @@
+package metrics;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The most recent statements that took longer than -Dsql.slowQueryMillis, with their bound parameters,
+ * time spent binding them and time spent executing
+ * Off unless the threshold is set (e.g. -Dsql.slowQueryMillis=200): while it is on every pooled connection is
+ * wrapped to time its statements
+ * Each one is also printed when it happens; the admin metrics endpoint lists the last CAPACITY
+ */
+public final class SlowQueryLog {
+
+    /** System property with the threshold in milliseconds; unset or negative disables the log */
+    public static final String THRESHOLD_SWITCH = "sql.slowQueryMillis";
+    public static final long THRESHOLD_MILLIS = Long.getLong(THRESHOLD_SWITCH, -1);
+    static final int CAPACITY = 100;
+
+    private static final Pattern SENSITIVE = Pattern.compile("password", Pattern.CASE_INSENSITIVE);
+
+    private static final SlowQueryLog SHARED = new SlowQueryLog(THRESHOLD_MILLIS);
+
+    private final long thresholdNanos;
+    private final Deque<Map<String, Object>> entries = new ArrayDeque<>();
+
+    public SlowQueryLog(long thresholdMillis) {
+        this.thresholdNanos = thresholdMillis < 0 ? -1 : thresholdMillis * 1_000_000;
+    }
+
+    public static SlowQueryLog shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return thresholdNanos >= 0;
+    }
+
+    /**
+     * Keep the statement if executing it took longer than the threshold
+     *
+     * @param parameters bound values by parameter index, already rendered
+     */
+    public void record(String sql, Map<Integer, String> parameters, long bindNanos, long executeNanos) {
+        if (thresholdNanos < 0 || executeNanos < thresholdNanos) {
+            return;
+        }
+        RequestSqlTracker tracker = RequestSqlTracker.current();
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("at", Instant.now().toString());
+        entry.put("endpoint", tracker != null ? tracker.getEndpoint() : null);
+        entry.put("executeMs", executeNanos / 1_000_000.0);
+        entry.put("bindUs", bindNanos / 1000);
+        entry.put("sql", sql.trim().replaceAll("\\s+", " "));
+        // Never log credentials: statements touching password columns keep only the parameter count
+        entry.put("parameters", SENSITIVE.matcher(sql).find()
+                ? Collections.nCopies(parameters.size(), "<redacted>")
+                : new ArrayList<>(parameters.values()));
+        System.out.println("[Slow SQL] " + entry);
+        synchronized (entries) {
+            if (entries.size() == CAPACITY) {
+                entries.removeFirst();
+            }
+            entries.addLast(Collections.unmodifiableMap(entry));
+        }
+    }
+
+    /**
+     * Newest first
+     */
+    public List<Map<String, Object>> recent() {
+        synchronized (entries) {
+            List<Map<String, Object>> recent = new ArrayList<>(entries);
+            Collections.reverse(recent);
+            return recent;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram plus error count for one endpoint or DAO method
+ */
+public final class Timer {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    public void record(long nanos, boolean error) {
+        histogram.recordNanos(nanos);
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * count, errors and latencies in milliseconds, for the JSON endpoint
+     */
+    public Map<String, Object> toMap() {
+        long count = histogram.getCount();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("errors", errors.sum());
+        map.put("meanMs", count == 0 ? 0.0 : millis(histogram.getSumMicros() / (double) count));
+        for (Map.Entry<String, Double> quantile : MetricsRegistry.QUANTILES.entrySet()) {
+            map.put(quantile.getKey() + "Ms", millis(histogram.percentile(quantile.getValue() * 100)));
+        }
+        map.put("maxMs", millis(histogram.getMaxMicros()));
+        return map;
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+}
@@ -0,0 +1,113 @@
+package metrics;
+
+import profiling.DaoCallEvent;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every call of an interface (the DAOs) into a timer family, one timer per method,
+ * named after the implementation class, e.g. TicketHibernate.purchaseTicket
+ * A call that throws counts as an error; the exception reaches the caller unchanged
+ * DAO calls are also emitted as JFR DaoCallEvents when a recording has them enabled
+ */
+public final class TimingProxy implements InvocationHandler {
+
+    private final Object target;
+    private final MetricsRegistry registry;
+    private final MetricsRegistry.Family family;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    private TimingProxy(Object target, MetricsRegistry registry, MetricsRegistry.Family family) {
+        this.target = target;
+        this.registry = registry;
+        this.family = family;
+    }
+
+    public static <T> T wrap(Class<T> type, T target) {
+        return wrap(type, target, MetricsRegistry.shared(), MetricsRegistry.DAO);
+    }
+
+    public static <T> T wrap(Class<T> type, T target, MetricsRegistry registry, MetricsRegistry.Family family) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new TimingProxy(target, registry, family)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(target, args);
+        }
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method,
+                    m -> registry.timer(family, target.getClass().getSimpleName() + "." + m.getName()));
+        }
+        DaoCallEvent event = family == MetricsRegistry.DAO ? new DaoCallEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        Object result = null;
+        try {
+            result = method.invoke(target, args);
+            failed = false;
+            return result;
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            timer.record(System.nanoTime() - start, failed);
+            if (event != null) {
+                commit(event, method, args, result, failed);
+            }
+        }
+    }
+
+    private void commit(DaoCallEvent event, Method method, Object[] args, Object result, boolean failed) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        String implementation = target.getClass().getSimpleName();
+        event.entity = implementation.endsWith("Hibernate")
+                ? implementation.substring(0, implementation.length() - "Hibernate".length())
+                : implementation;
+        event.operation = method.getName();
+        event.id = -1;
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof Integer) {
+                    event.id = (Integer) arg;
+                    break;
+                }
+            }
+        }
+        event.rows = rows(result);
+        RequestSqlTracker tracker = RequestSqlTracker.current();
+        event.endpoint = tracker != null ? tracker.getEndpoint() : null;
+        event.failed = failed;
+        event.commit();
+    }
+
+    private static int rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        if (result instanceof Number) {
+            return ((Number) result).intValue();
+        }
+        return 1;
+    }
+}
@@ -1,11 +1,16 @@
 package model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.util.List;
 import java.util.Map;
 
 @Entity
-@Table(name = "events")
+@DynamicUpdate
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_name_id", columnList = "name, id"),
+    @Index(name = "idx_events_start_date_id", columnList = "event_start_date, id")
+})
 public class Event {
 
     @Id
@@ -13,6 +18,10 @@ public class Event {
     @Column(name = "id")
     private int id;
 
+    @Version
+    @Column(name = "version", columnDefinition = "integer default 0")
+    private int version;
+
     @Column(name = "name", unique = true)
     private String name;
 
@@ -86,6 +95,14 @@ public class Event {
         this.id = id;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -2,17 +2,25 @@ package model;
 
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.List;
 
 @Entity
-@Table(name="locations")
+@DynamicUpdate
+@Table(name="locations", indexes = {
+    @Index(name = "idx_locations_name_id", columnList = "name, id")
+})
 public class Location {
 
     @Id
     @GeneratedValue(strategy= GenerationType.IDENTITY)
     private int id;
 
+    @Version
+    @Column(name = "version", columnDefinition = "integer default 0")
+    private int version;
+
     @Column(name="name", unique = true)
     private String name;
 
@@ -53,6 +61,14 @@ public class Location {
         this.id = id;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -1,15 +1,23 @@
 package model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name="rooms")
+@DynamicUpdate
+@Table(name="rooms", indexes = {
+    @Index(name = "idx_rooms_name_id", columnList = "name, id")
+})
 public class Room {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name="id")
     private int id;
 
+    @Version
+    @Column(name = "version", columnDefinition = "integer default 0")
+    private int version;
+
     @Column(name="name")
     private String name;
 
@@ -44,6 +52,14 @@ public class Room {
         this.id = id;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -5,6 +5,9 @@ import jakarta.persistence.*;
 @Entity
 @Table(name = "tickets", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"event_id", "seat_number"}, name = "uc_event_seat")
+}, indexes = {
+    // a user's tickets by purchase date: the filter column first, then the keyset (sort value, id)
+    @Index(name = "idx_tickets_user_purchase_date_id", columnList = "user_id, purchase_date, id")
 })
 public class Ticket {
 
@@ -2,15 +2,24 @@ package model;
 
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 
 @Entity
-@Table(name="users")
+@DynamicUpdate
+@Table(name="users", indexes = {
+    @Index(name = "idx_users_login_id", columnList = "login, id"),
+    @Index(name = "idx_users_last_name_id", columnList = "last_name, id")
+})
 public class User {
     @Id
     @GeneratedValue(strategy= GenerationType.IDENTITY)
     private int id;
 
+    @Version
+    @Column(name = "version", columnDefinition = "integer default 0")
+    private int version;
+
     @Column(name="login", unique=true)
     private String login;
 
@@ -137,4 +146,12 @@ public class User {
     public void setId(int id) {
         this.id = id;
     }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
 }
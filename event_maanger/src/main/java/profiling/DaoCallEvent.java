@@ -0,0 +1,43 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call into a dao.hibernate DAO, so JDBC frames in a recording come with the business operation
+ * Emitted by metrics.TimingProxy around every call of the application's DAOs
+ */
+@Name("eventmanager.DaoCall")
+@Label("DAO Call")
+@Category({"Event Manager", "Database"})
+@Description("Call into a Hibernate DAO")
+@StackTrace(false)
+public class DaoCallEvent extends Event {
+
+    @Label("Operation")
+    @Description("DAO method, e.g. getTicketsByEventId")
+    public String operation;
+
+    @Label("Entity")
+    @Description("Entity the DAO works on, e.g. Ticket")
+    public String entity;
+
+    @Label("Id")
+    @Description("First int argument - usually the id of the entity or event the call is about, -1 if none")
+    public int id;
+
+    @Label("Rows")
+    @Description("Entities returned (1 for a single entity, 0 for null), or the count an int-returning call reported")
+    public int rows;
+
+    @Label("Endpoint")
+    @Description("Resource method of the request that made the call")
+    public String endpoint;
+
+    @Label("Failed")
+    public boolean failed;
+}
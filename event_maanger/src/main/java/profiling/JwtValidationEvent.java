@@ -0,0 +1,34 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Authentication of one request by JwtFilter; the event duration is the time spent on the token
+ */
+@Name("eventmanager.JwtValidation")
+@Label("JWT Validation")
+@Category({"Event Manager", "Security"})
+@Description("Bearer token check in JwtFilter")
+@StackTrace(false)
+public class JwtValidationEvent extends Event {
+
+    public static final String VALID = "VALID";
+    public static final String MISSING = "MISSING";
+    public static final String INVALID = "INVALID";
+
+    @Label("Path")
+    public String path;
+
+    @Label("Result")
+    @Description("VALID, MISSING (no Bearer header) or INVALID")
+    public String result;
+
+    @Label("User Id")
+    @Description("User of a valid token, -1 otherwise")
+    public int userId;
+}
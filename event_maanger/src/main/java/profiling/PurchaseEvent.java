@@ -0,0 +1,38 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One ticket purchase through TicketService, from validation to the committed sale
+ */
+@Name("eventmanager.Purchase")
+@Label("Ticket Purchase")
+@Category({"Event Manager", "Business"})
+@Description("Ticket purchase in TicketService")
+public class PurchaseEvent extends Event {
+
+    public static final String SOLD = "SOLD";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String REJECTED = "REJECTED";
+    public static final String FAILED = "FAILED";
+
+    @Label("Event Id")
+    public int eventId;
+
+    @Label("User Id")
+    public int userId;
+
+    @Label("Ticket Type")
+    public String ticketType;
+
+    @Label("Seat")
+    public String seatNumber;
+
+    @Label("Result")
+    @Description("SOLD, NOT_FOUND (no such event), REJECTED (sold out, seat taken, bad tier) or FAILED")
+    public String result;
+}
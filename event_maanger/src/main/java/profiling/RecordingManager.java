@@ -0,0 +1,164 @@
+package profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One on-demand Flight Recorder recording at a time, started and downloaded through the admin API
+ * Recordings are bounded: they keep at most maxAge / maxSize of data (capped at MAX_AGE / MAX_SIZE_BYTES)
+ * and stop by themselves after duration, if one is given
+ * A stopped recording stays available for download until the next one is started
+ */
+public final class RecordingManager {
+
+    public static final String NAME = "event-manager";
+    public static final Duration MAX_AGE = Duration.ofHours(1);
+    public static final long MAX_SIZE_BYTES = 256L * 1024 * 1024;
+    static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(10);
+    static final long DEFAULT_MAX_SIZE_BYTES = 64L * 1024 * 1024;
+
+    private static final RecordingManager SHARED = new RecordingManager();
+
+    private Recording recording;
+    private String settings;
+
+    RecordingManager() {
+    }
+
+    public static RecordingManager shared() {
+        return SHARED;
+    }
+
+    /**
+     * Start a recording with the JDK's "default" (continuous, ~1% overhead) or "profile" settings,
+     * plus the application's events
+     *
+     * @param maxAge   oldest data kept, null for DEFAULT_MAX_AGE
+     * @param maxSize  bytes kept, 0 or less for DEFAULT_MAX_SIZE_BYTES
+     * @param duration stop automatically after this long, null to run until stopped
+     * @throws IllegalArgumentException for unknown settings or limits over the caps
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized Map<String, Object> start(String settings, Duration maxAge, long maxSize, Duration duration) {
+        String name = settings == null || settings.isEmpty() ? "default" : settings;
+        if (!name.equals("default") && !name.equals("profile")) {
+            throw new IllegalArgumentException("settings must be default or profile");
+        }
+        Duration age = maxAge != null ? maxAge : DEFAULT_MAX_AGE;
+        long size = maxSize > 0 ? maxSize : DEFAULT_MAX_SIZE_BYTES;
+        if (age.isNegative() || age.isZero() || age.compareTo(MAX_AGE) > 0) {
+            throw new IllegalArgumentException("maxAge must be between 1 second and " + MAX_AGE.getSeconds() + " seconds");
+        }
+        if (size > MAX_SIZE_BYTES) {
+            throw new IllegalArgumentException("maxSize must be at most " + MAX_SIZE_BYTES / (1024 * 1024) + " MB");
+        }
+        if (duration != null && (duration.isNegative() || duration.isZero() || duration.compareTo(MAX_AGE) > 0)) {
+            throw new IllegalArgumentException("duration must be between 1 second and " + MAX_AGE.getSeconds() + " seconds");
+        }
+        if (isRunning()) {
+            throw new IllegalStateException("A recording is already running");
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings " + name + ": " + e.getMessage(), e);
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        Recording started = new Recording(configuration);
+        started.setName(NAME);
+        started.setToDisk(true);
+        started.setMaxAge(age);
+        started.setMaxSize(size);
+        if (duration != null) {
+            started.setDuration(duration);
+        }
+        started.enable(DaoCallEvent.class);
+        started.enable(JwtValidationEvent.class);
+        started.enable(PurchaseEvent.class);
+        started.start();
+        recording = started;
+        this.settings = name;
+        System.out.println("[Profiling] Recording started: " + status());
+        return status();
+    }
+
+    /**
+     * Stop the running recording; its data stays available for download
+     *
+     * @throws IllegalStateException if there is no recording
+     */
+    public synchronized Map<String, Object> stop() {
+        if (recording == null) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        if (isRunning()) {
+            recording.stop();
+            System.out.println("[Profiling] Recording stopped");
+        }
+        return status();
+    }
+
+    /**
+     * Write the data recorded so far to a temporary file; the caller deletes it
+     *
+     * @return the file, or null if no recording has been started
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        Path file = Files.createTempFile(NAME + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    public synchronized boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("settings", settings);
+        status.put("startTime", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+        status.put("stopTime", recording.getStopTime() != null ? recording.getStopTime().toString() : null);
+        status.put("maxAgeSeconds", recording.getMaxAge() != null ? recording.getMaxAge().getSeconds() : null);
+        status.put("maxSizeBytes", recording.getMaxSize());
+        status.put("durationSeconds", recording.getDuration() != null ? recording.getDuration().getSeconds() : null);
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    /**
+     * Stop and discard the recording, e.g. when the application shuts down
+     */
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            settings = null;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package search;
+
+import dto.SuggestionDTO;
+import model.Event;
+import model.Location;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory prefix index over event and location names used by autocomplete and fuzzy event search
+ * Every name is stored under its full normalized form and under each of its words,
+ * so "tour" suggests "Metallica World Tour"
+ * Shared by all requests - built once from the database, then kept up to date incrementally
+ * Changes reported while the content for a rebuild is being read are recorded and replayed on top of it,
+ * so a change committed after the read started is not lost
+ */
+public class AutocompleteIndex {
+
+    public static final String TYPE_EVENT = "event";
+    public static final String TYPE_LOCATION = "location";
+
+    private static final AutocompleteIndex INSTANCE = new AutocompleteIndex();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NameTrie eventTrie = new NameTrie();
+    private final NameTrie locationTrie = new NameTrie();
+    private final Map<Integer, Entry> events = new HashMap<>();
+    private final Map<Integer, Entry> locations = new HashMap<>();
+    private volatile boolean loaded;
+    /** Changes since beginRebuild(), in order; null when no rebuild is under way */
+    private List<Runnable> pending;
+
+    /**
+     * Standalone index; the application uses the shared instance from getInstance()
+     */
+    public AutocompleteIndex() {
+    }
+
+    public static AutocompleteIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Mark the content stale after changes made in bulk; the next lookup reloads it from the database
+     */
+    public void invalidate() {
+        loaded = false;
+    }
+
+    /**
+     * Start recording changes - call before reading the content for rebuild() from the database
+     * Anything committed before this call is in what is read; anything after is replayed by rebuild()
+     */
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index content, then apply the changes recorded since beginRebuild()
+     */
+    public void rebuild(List<Event> allEvents, List<Location> allLocations) {
+        lock.writeLock().lock();
+        try {
+            eventTrie.clear();
+            locationTrie.clear();
+            events.clear();
+            locations.clear();
+            for (Event event : allEvents) {
+                put(eventTrie, events, new Entry(TYPE_EVENT, event.getId(), event.getName(), event.getEventStartDate()));
+            }
+            for (Location location : allLocations) {
+                put(locationTrie, locations, new Entry(TYPE_LOCATION, location.getId(), location.getName(), null));
+            }
+            if (pending != null) {
+                for (Runnable change : pending) {
+                    change.run();
+                }
+                pending = null;
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or rename an event; dropped while the index is not loaded and no rebuild is under way
+     * (the next build reads it from the database)
+     */
+    public void putEvent(int id, String name, String eventStartDate) {
+        Entry entry = new Entry(TYPE_EVENT, id, name, eventStartDate);
+        change(() -> put(eventTrie, events, entry));
+    }
+
+    public void removeEvent(int id) {
+        change(() -> remove(eventTrie, events, id));
+    }
+
+    /**
+     * Add or rename a location; same rules as putEvent
+     */
+    public void putLocation(int id, String name) {
+        Entry entry = new Entry(TYPE_LOCATION, id, name, null);
+        change(() -> put(locationTrie, locations, entry));
+    }
+
+    public void removeLocation(int id) {
+        change(() -> remove(locationTrie, locations, id));
+    }
+
+    private void change(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(change);
+            } else if (loaded) {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Suggest up to limit names starting with prefix
+     * Events come first, upcoming ones by nearest start date, then past ones (most recent first);
+     * matching locations fill the remaining slots in alphabetical order
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        String normalized = TextNormalizer.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<SuggestionDTO> result = new ArrayList<>(limit);
+            for (Entry entry : topMatches(eventTrie, events, normalized, limit, eventRanking())) {
+                result.add(entry.toSuggestion());
+            }
+            if (result.size() < limit) {
+                for (Entry entry : topMatches(locationTrie, locations, normalized, limit - result.size(), BY_NAME)) {
+                    result.add(entry.toSuggestion());
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of events whose name words are all within a few typos of the query words
+     * Each query word is matched with a Levenshtein automaton against the indexed words;
+     * results are ranked by total edit distance, then like autocomplete suggestions
+     *
+     * @param maxEdits edits allowed per word, null for a length-based default
+     */
+    public List<Integer> fuzzySearchEvents(String query, Integer maxEdits, int limit) {
+        List<String> terms = TextNormalizer.tokens(TextNormalizer.normalize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> totalDistance = null;
+            for (String term : terms) {
+                int edits = maxEdits != null
+                        ? Math.max(0, Math.min(maxEdits, LevenshteinAutomaton.MAX_SUPPORTED_EDITS))
+                        : LevenshteinAutomaton.defaultMaxEdits(term);
+                Map<Integer, Integer> best = new HashMap<>();
+                eventTrie.forEachFuzzyMatch(new LevenshteinAutomaton(term, edits),
+                        (id, distance) -> best.merge(id, distance, Math::min));
+
+                if (totalDistance == null) {
+                    totalDistance = best;
+                } else {
+                    Map<Integer, Integer> both = new HashMap<>();
+                    for (Map.Entry<Integer, Integer> match : totalDistance.entrySet()) {
+                        Integer distance = best.get(match.getKey());
+                        if (distance != null) {
+                            both.put(match.getKey(), match.getValue() + distance);
+                        }
+                    }
+                    totalDistance = both;
+                }
+                if (totalDistance.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            Map<Integer, Integer> distances = totalDistance;
+            Comparator<Entry> byDate = eventRanking();
+            Comparator<Entry> ranking = Comparator.comparingInt((Entry e) -> distances.get(e.id)).thenComparing(byDate);
+            PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, ranking.reversed());
+            for (Integer id : distances.keySet()) {
+                Entry entry = events.get(id);
+                if (entry != null) {
+                    top.offer(entry);
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+            List<Entry> sorted = new ArrayList<>(top);
+            sorted.sort(ranking);
+            List<Integer> ids = new ArrayList<>(sorted.size());
+            for (Entry entry : sorted) {
+                ids.add(entry.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Entry> topMatches(NameTrie trie, Map<Integer, Entry> entries, String prefix, int limit,
+                                   Comparator<Entry> ranking) {
+        Set<Integer> seen = new HashSet<>();
+        // Bounded heap whose head is the worst of the current top-N
+        PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, ranking.reversed());
+        trie.forEachWithPrefix(prefix, id -> {
+            if (!seen.add(id)) {
+                return;
+            }
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                return;
+            }
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+        List<Entry> sorted = new ArrayList<>(top);
+        sorted.sort(ranking);
+        return sorted;
+    }
+
+    private static void put(NameTrie trie, Map<Integer, Entry> entries, Entry entry) {
+        remove(trie, entries, entry.id);
+        if (entry.keys.isEmpty()) {
+            return;
+        }
+        entries.put(entry.id, entry);
+        for (String key : entry.keys) {
+            trie.add(key, entry.id);
+        }
+    }
+
+    private static void remove(NameTrie trie, Map<Integer, Entry> entries, int id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            for (String key : previous.keys) {
+                trie.remove(key, id);
+            }
+        }
+    }
+
+    private static final Comparator<Entry> BY_NAME =
+            Comparator.comparing((Entry e) -> e.normalizedName).thenComparingInt(e -> e.id);
+
+    private static Comparator<Entry> eventRanking() {
+        String today = LocalDate.now().toString();
+        return (a, b) -> {
+            int groupA = rankGroup(a.eventStartDate, today);
+            int groupB = rankGroup(b.eventStartDate, today);
+            if (groupA != groupB) {
+                return Integer.compare(groupA, groupB);
+            }
+            int byDate = 0;
+            if (groupA == 0) {
+                byDate = a.eventStartDate.compareTo(b.eventStartDate);
+            } else if (groupA == 1) {
+                byDate = b.eventStartDate.compareTo(a.eventStartDate);
+            }
+            return byDate != 0 ? byDate : BY_NAME.compare(a, b);
+        };
+    }
+
+    /**
+     * 0 - upcoming, 1 - past, 2 - no start date
+     */
+    private static int rankGroup(String eventStartDate, String today) {
+        if (eventStartDate == null || eventStartDate.isEmpty()) {
+            return 2;
+        }
+        return eventStartDate.compareTo(today) >= 0 ? 0 : 1;
+    }
+
+    /**
+     * Indexed name with the keys it was stored under
+     */
+    private static final class Entry {
+        final String type;
+        final int id;
+        final String name;
+        final String normalizedName;
+        final String eventStartDate;
+        final List<String> keys;
+
+        Entry(String type, int id, String name, String eventStartDate) {
+            this.type = type;
+            this.id = id;
+            this.name = name;
+            this.normalizedName = TextNormalizer.normalize(name);
+            this.eventStartDate = eventStartDate;
+
+            if (normalizedName.isEmpty()) {
+                this.keys = Collections.emptyList();
+            } else {
+                Set<String> unique = new HashSet<>(TextNormalizer.tokens(normalizedName));
+                unique.add(normalizedName);
+                this.keys = new ArrayList<>(unique);
+            }
+        }
+
+        SuggestionDTO toSuggestion() {
+            return new SuggestionDTO(type, id, name, eventStartDate);
+        }
+    }
+}
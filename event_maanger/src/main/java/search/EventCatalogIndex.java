@@ -0,0 +1,460 @@
+package search;
+
+import dao.CatalogDAO;
+import dto.EventFacetsDTO;
+import dto.EventPublicDTO;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable in-memory snapshot of the public event catalog used by search and facet counts
+ * Events are numbered 0..size-1 in id order; every facet value (location, start month, price range,
+ * availability) keeps a BitSet of the events it contains, so a search builds one result BitSet
+ * and each facet count is a single word-wise AND + popcount against it
+ * Loaded with a handful of set-based queries instead of per-event lookups;
+ * inventory (remaining tickets) can be refreshed without reloading the catalog, for all events or only some
+ */
+public class EventCatalogIndex {
+
+    public static final String UNPRICED = "unpriced";
+    private static final double[] PRICE_BOUNDS = {50, 100, 200, 500};
+    private static final String[] PRICE_RANGES = {"0-50", "50-100", "100-200", "200-500", "500+"};
+
+    private final long catalogVersion;
+    private final long inventoryVersion;
+    private final int size;
+
+    private final int[] ids;
+    private final Map<Integer, Integer> ordinalById;
+    private final String[] names;
+    private final String[] lowerNames;
+    private final String[] descriptions;
+    private final String[] startDates;
+    private final String[] endDates;
+    private final List<Map<String, Double>> prices;
+    private final List<Map<String, Integer>> quantities;
+    private final double[] minPrices;
+    private final double[] maxPrices;
+
+    private final List<Facet> locationFacets;
+    private final List<Facet> monthFacets;
+    private final List<Facet> priceFacets;
+
+    private final List<Map<String, Integer>> remaining;
+    private final Facet available;
+
+    private EventCatalogIndex(EventCatalogIndex catalog, long inventoryVersion,
+                              List<Map<String, Integer>> remaining, Facet available) {
+        this.catalogVersion = catalog.catalogVersion;
+        this.inventoryVersion = inventoryVersion;
+        this.size = catalog.size;
+        this.ids = catalog.ids;
+        this.ordinalById = catalog.ordinalById;
+        this.names = catalog.names;
+        this.lowerNames = catalog.lowerNames;
+        this.descriptions = catalog.descriptions;
+        this.startDates = catalog.startDates;
+        this.endDates = catalog.endDates;
+        this.prices = catalog.prices;
+        this.quantities = catalog.quantities;
+        this.minPrices = catalog.minPrices;
+        this.maxPrices = catalog.maxPrices;
+        this.locationFacets = catalog.locationFacets;
+        this.monthFacets = catalog.monthFacets;
+        this.priceFacets = catalog.priceFacets;
+        this.remaining = remaining;
+        this.available = available;
+    }
+
+    private EventCatalogIndex(long catalogVersion, List<Object[]> eventRows, List<Object[]> locationRows,
+                              List<Object[]> priceRows, List<Object[]> quantityRows) {
+        this.catalogVersion = catalogVersion;
+        this.inventoryVersion = -1;
+
+        List<Object[]> sortedEvents = new ArrayList<>(eventRows);
+        sortedEvents.sort((a, b) -> Integer.compare(toInt(a[0]), toInt(b[0])));
+        this.size = sortedEvents.size();
+        this.ids = new int[size];
+        this.ordinalById = new HashMap<>();
+        this.names = new String[size];
+        this.lowerNames = new String[size];
+        this.descriptions = new String[size];
+        this.startDates = new String[size];
+        this.endDates = new String[size];
+        this.prices = new ArrayList<>(size);
+        this.quantities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Object[] row = sortedEvents.get(i);
+            ids[i] = toInt(row[0]);
+            ordinalById.put(ids[i], i);
+            names[i] = (String) row[1];
+            lowerNames[i] = names[i] != null ? names[i].toLowerCase() : null;
+            descriptions[i] = (String) row[2];
+            startDates[i] = (String) row[3];
+            endDates[i] = (String) row[4];
+            prices.add(new LinkedHashMap<>());
+            quantities.add(new LinkedHashMap<>());
+        }
+
+        // Locations, sorted by name for display
+        Map<Integer, String> locationNames = new HashMap<>();
+        Map<Integer, BitSet> locationBits = new HashMap<>();
+        for (Object[] row : locationRows) {
+            Integer ordinal = ordinalById.get(toInt(row[0]));
+            if (ordinal == null) {
+                continue;
+            }
+            int locationId = toInt(row[1]);
+            locationNames.put(locationId, (String) row[2]);
+            locationBits.computeIfAbsent(locationId, k -> new BitSet(size)).set(ordinal);
+        }
+        this.locationFacets = new ArrayList<>();
+        for (Map.Entry<Integer, BitSet> entry : locationBits.entrySet()) {
+            String name = locationNames.get(entry.getKey());
+            locationFacets.add(new Facet(String.valueOf(entry.getKey()), name, entry.getValue()));
+        }
+        locationFacets.sort((a, b) -> {
+            String left = a.label != null ? a.label : "";
+            String right = b.label != null ? b.label : "";
+            int byName = left.compareToIgnoreCase(right);
+            return byName != 0 ? byName : a.value.compareTo(b.value);
+        });
+
+        // Months of the start date (yyyy-MM), chronological
+        Map<String, BitSet> monthBits = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            if (startDates[i] != null && startDates[i].length() >= 7) {
+                monthBits.computeIfAbsent(startDates[i].substring(0, 7), k -> new BitSet(size)).set(i);
+            }
+        }
+        this.monthFacets = new ArrayList<>();
+        for (Map.Entry<String, BitSet> entry : monthBits.entrySet()) {
+            monthFacets.add(new Facet(entry.getKey(), entry.getKey(), entry.getValue()));
+        }
+
+        // Ticket prices and quantities
+        for (Object[] row : priceRows) {
+            Integer ordinal = ordinalById.get(toInt(row[0]));
+            if (ordinal != null && row[2] != null) {
+                prices.get(ordinal).put((String) row[1], ((Number) row[2]).doubleValue());
+            }
+        }
+        for (Object[] row : quantityRows) {
+            Integer ordinal = ordinalById.get(toInt(row[0]));
+            if (ordinal != null) {
+                quantities.get(ordinal).put((String) row[1], row[2] != null ? toInt(row[2]) : 0);
+            }
+        }
+
+        // Price ranges by the cheapest ticket type
+        this.minPrices = new double[size];
+        this.maxPrices = new double[size];
+        BitSet[] priceBits = new BitSet[PRICE_RANGES.length + 1];
+        for (int b = 0; b < priceBits.length; b++) {
+            priceBits[b] = new BitSet(size);
+        }
+        for (int i = 0; i < size; i++) {
+            Map<String, Double> eventPrices = prices.get(i);
+            if (eventPrices.isEmpty()) {
+                minPrices[i] = Double.NaN;
+                maxPrices[i] = Double.NaN;
+                priceBits[PRICE_RANGES.length].set(i);
+                continue;
+            }
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (double price : eventPrices.values()) {
+                min = Math.min(min, price);
+                max = Math.max(max, price);
+            }
+            minPrices[i] = min;
+            maxPrices[i] = max;
+            priceBits[priceRange(min)].set(i);
+        }
+        this.priceFacets = new ArrayList<>();
+        for (int b = 0; b < PRICE_RANGES.length; b++) {
+            priceFacets.add(new Facet(PRICE_RANGES[b], PRICE_RANGES[b], priceBits[b]));
+        }
+        priceFacets.add(new Facet(UNPRICED, UNPRICED, priceBits[PRICE_RANGES.length]));
+
+        this.remaining = Collections.emptyList();
+        this.available = null;
+    }
+
+    /**
+     * Load a full snapshot (catalog and inventory)
+     */
+    public static EventCatalogIndex load(CatalogDAO catalogDAO, long catalogVersion, long inventoryVersion) {
+        EventCatalogIndex catalog = new EventCatalogIndex(catalogVersion,
+                catalogDAO.getEventRows(),
+                catalogDAO.getEventLocationRows(),
+                catalogDAO.getTicketPriceRows(),
+                catalogDAO.getTicketQuantityRows());
+        return catalog.withInventory(catalogDAO.getSoldTicketRows(), inventoryVersion);
+    }
+
+    /**
+     * Same catalog with remaining tickets recomputed from fresh sold counts
+     */
+    public EventCatalogIndex withInventory(CatalogDAO catalogDAO, long inventoryVersion) {
+        return withInventory(catalogDAO.getSoldTicketRows(), inventoryVersion);
+    }
+
+    /**
+     * Same catalog with remaining tickets recomputed for the given events only; the others keep theirs
+     */
+    public EventCatalogIndex withInventory(CatalogDAO catalogDAO, Collection<Integer> eventIds, long inventoryVersion) {
+        List<Map<String, Integer>> newRemaining = new ArrayList<>(remaining);
+        BitSet availableBits = (BitSet) available.bits.clone();
+        if (!eventIds.isEmpty()) {
+            List<Map<String, Integer>> sold = soldByOrdinal(catalogDAO.getSoldTicketRows(eventIds));
+            for (Integer id : eventIds) {
+                Integer ordinal = ordinalById.get(id);
+                if (ordinal != null) {
+                    recount(ordinal, sold.get(ordinal), newRemaining, availableBits);
+                }
+            }
+        }
+        return new EventCatalogIndex(this, inventoryVersion, newRemaining,
+                new Facet("available", "available", availableBits));
+    }
+
+    private EventCatalogIndex withInventory(List<Object[]> soldRows, long inventoryVersion) {
+        List<Map<String, Integer>> sold = soldByOrdinal(soldRows);
+        List<Map<String, Integer>> newRemaining = new ArrayList<>(sold);
+        BitSet availableBits = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            recount(i, sold.get(i), newRemaining, availableBits);
+        }
+        return new EventCatalogIndex(this, inventoryVersion, newRemaining,
+                new Facet("available", "available", availableBits));
+    }
+
+    /**
+     * Sold counts by ticket type, per ordinal; null for events with no rows
+     */
+    private List<Map<String, Integer>> soldByOrdinal(List<Object[]> soldRows) {
+        List<Map<String, Integer>> sold = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sold.add(null);
+        }
+        for (Object[] row : soldRows) {
+            Integer ordinal = row[0] != null ? ordinalById.get(toInt(row[0])) : null;
+            if (ordinal == null) {
+                continue;
+            }
+            if (sold.get(ordinal) == null) {
+                sold.set(ordinal, new HashMap<>());
+            }
+            sold.get(ordinal).merge((String) row[1], toInt(row[2]), Integer::sum);
+        }
+        return sold;
+    }
+
+    private void recount(int ordinal, Map<String, Integer> soldByType,
+                         List<Map<String, Integer>> newRemaining, BitSet availableBits) {
+        // Same rule as TicketDAO.getRemainingTicketsByEvent: quantity minus sold, never below zero
+        Map<String, Integer> eventRemaining = new HashMap<>();
+        boolean anyLeft = false;
+        for (Map.Entry<String, Integer> entry : quantities.get(ordinal).entrySet()) {
+            int soldCount = soldByType != null ? soldByType.getOrDefault(entry.getKey(), 0) : 0;
+            int left = Math.max(0, entry.getValue() - soldCount);
+            eventRemaining.put(entry.getKey(), left);
+            anyLeft |= left > 0;
+        }
+        newRemaining.set(ordinal, eventRemaining);
+        availableBits.set(ordinal, anyLeft);
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public long getInventoryVersion() {
+        return inventoryVersion;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Events matching all criteria, as a BitSet of ordinals
+     * Filters behave like the original list-based search: substring name/location match,
+     * start on or after startDate, end on or before endDate, and events without prices pass price filters
+     */
+    public BitSet search(EventSearchCriteria criteria) {
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+
+        if (criteria.getEventIds() != null) {
+            BitSet candidates = new BitSet(size);
+            for (Integer id : criteria.getEventIds()) {
+                Integer ordinal = ordinalById.get(id);
+                if (ordinal != null) {
+                    candidates.set(ordinal);
+                }
+            }
+            result.and(candidates);
+        }
+
+        if (!isBlank(criteria.getEventName())) {
+            String fragment = criteria.getEventName().toLowerCase();
+            for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+                if (lowerNames[i] == null || !lowerNames[i].contains(fragment)) {
+                    result.clear(i);
+                }
+            }
+        }
+
+        if (!isBlank(criteria.getLocationName())) {
+            String fragment = criteria.getLocationName().toLowerCase();
+            BitSet atLocation = new BitSet(size);
+            for (Facet location : locationFacets) {
+                if (location.label != null && location.label.toLowerCase().contains(fragment)) {
+                    atLocation.or(location.bits);
+                }
+            }
+            result.and(atLocation);
+        }
+
+        String startDate = criteria.getStartDate();
+        String endDate = criteria.getEndDate();
+        boolean filterStart = !isBlank(startDate);
+        boolean filterEnd = !isBlank(endDate);
+        boolean filterPrice = criteria.getMinPrice() != null || criteria.getMaxPrice() != null;
+        if (filterStart || filterEnd || filterPrice) {
+            for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+                if (filterStart && (startDates[i] == null || startDates[i].compareTo(startDate) < 0)) {
+                    result.clear(i);
+                } else if (filterEnd && (endDates[i] == null || endDates[i].compareTo(endDate) > 0)) {
+                    result.clear(i);
+                } else if (filterPrice && !Double.isNaN(minPrices[i])) {
+                    boolean minCheck = criteria.getMinPrice() == null || minPrices[i] >= criteria.getMinPrice();
+                    boolean maxCheck = criteria.getMaxPrice() == null || maxPrices[i] <= criteria.getMaxPrice();
+                    if (!minCheck || !maxCheck) {
+                        result.clear(i);
+                    }
+                }
+            }
+        }
+
+        if (criteria.isOnlyAvailable()) {
+            result.and(available.bits);
+        }
+        return result;
+    }
+
+    /**
+     * Facet counts restricted to the given result; location and month values with no matches are omitted
+     */
+    public EventFacetsDTO facets(BitSet result) {
+        long[] words = result.toLongArray();
+        EventFacetsDTO facets = new EventFacetsDTO();
+        facets.setLocations(counts(locationFacets, words, false));
+        facets.setMonths(counts(monthFacets, words, false));
+        facets.setPriceRanges(counts(priceFacets, words, true));
+        int availableCount = available.countIn(words);
+        facets.setAvailable(availableCount);
+        facets.setSoldOut(result.cardinality() - availableCount);
+        return facets;
+    }
+
+    /**
+     * Public DTOs of the given events, in ordinal (id) order
+     */
+    public List<EventPublicDTO> toPublicDTOs(BitSet result) {
+        List<EventPublicDTO> dtos = new ArrayList<>(result.cardinality());
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            dtos.add(toPublicDTO(i));
+        }
+        return dtos;
+    }
+
+    /**
+     * Event id of an ordinal returned by search
+     */
+    public int idOf(int ordinal) {
+        return ids[ordinal];
+    }
+
+    private EventPublicDTO toPublicDTO(int ordinal) {
+        EventPublicDTO dto = new EventPublicDTO();
+        dto.setId(ids[ordinal]);
+        dto.setName(names[ordinal]);
+        dto.setDescription(descriptions[ordinal]);
+        dto.setEventStartDate(startDates[ordinal]);
+        dto.setEventEndDate(endDates[ordinal]);
+        dto.setAverageRating(0.0); // Average rating calculation removed with EventReview
+
+        Map<String, Integer> eventRemaining = remaining.get(ordinal);
+        Map<String, EventPublicDTO.TicketAvailability> availability = new HashMap<>();
+        prices.get(ordinal).forEach((ticketType, price) ->
+                availability.put(ticketType, new EventPublicDTO.TicketAvailability(price,
+                        eventRemaining.getOrDefault(ticketType, 0))));
+        dto.setTicketAvailability(availability);
+        return dto;
+    }
+
+    private static List<EventFacetsDTO.FacetCount> counts(List<Facet> facets, long[] words, boolean keepEmpty) {
+        List<EventFacetsDTO.FacetCount> counts = new ArrayList<>();
+        for (Facet facet : facets) {
+            int count = facet.countIn(words);
+            if (count > 0 || keepEmpty) {
+                counts.add(new EventFacetsDTO.FacetCount(facet.value, facet.label, count));
+            }
+        }
+        return counts;
+    }
+
+    private static int priceRange(double minPrice) {
+        for (int b = 0; b < PRICE_BOUNDS.length; b++) {
+            if (minPrice < PRICE_BOUNDS[b]) {
+                return b;
+            }
+        }
+        return PRICE_BOUNDS.length;
+    }
+
+    private static int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Facet value with its event BitSet; the long[] form is kept for allocation-free counting
+     */
+    private static final class Facet {
+        final String value;
+        final String label;
+        final BitSet bits;
+        final long[] words;
+
+        Facet(String value, String label, BitSet bits) {
+            this.value = value;
+            this.label = label;
+            this.bits = bits;
+            this.words = bits.toLongArray();
+        }
+
+        int countIn(long[] other) {
+            int n = Math.min(words.length, other.length);
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                count += Long.bitCount(words[i] & other[i]);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package search;
+
+import java.util.List;
+
+/**
+ * Filters of the public event search; null or blank values mean "no filter"
+ * eventIds restricts the search to a candidate set (used by fuzzy name matching)
+ */
+public class EventSearchCriteria {
+    private String eventName;
+    private String locationName;
+    private String startDate;
+    private String endDate;
+    private Double minPrice;
+    private Double maxPrice;
+    private boolean onlyAvailable;
+    private List<Integer> eventIds;
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public void setEventName(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String getLocationName() {
+        return locationName;
+    }
+
+    public void setLocationName(String locationName) {
+        this.locationName = locationName;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(String endDate) {
+        this.endDate = endDate;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Double minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public boolean isOnlyAvailable() {
+        return onlyAvailable;
+    }
+
+    public void setOnlyAvailable(boolean onlyAvailable) {
+        this.onlyAvailable = onlyAvailable;
+    }
+
+    public List<Integer> getEventIds() {
+        return eventIds;
+    }
+
+    public void setEventIds(List<Integer> eventIds) {
+        this.eventIds = eventIds;
+    }
+}
@@ -0,0 +1,101 @@
+package search;
+
+import java.util.Arrays;
+
+/**
+ * Levenshtein automaton for a single query term and a bounded edit distance
+ * A state is the row of edit distances between the term and the input consumed so far;
+ * only the band of width 2 * maxEdits + 1 around the diagonal is ever computed, and a state whose
+ * band is entirely above maxEdits is dead, which lets NameTrie prune whole subtrees
+ */
+public class LevenshteinAutomaton {
+
+    /** Largest supported distance - beyond this the automaton matches too much to be useful */
+    public static final int MAX_SUPPORTED_EDITS = 2;
+
+    private final char[] term;
+    private final int maxEdits;
+
+    public LevenshteinAutomaton(String term, int maxEdits) {
+        if (maxEdits < 0 || maxEdits > MAX_SUPPORTED_EDITS) {
+            throw new IllegalArgumentException("maxEdits must be between 0 and " + MAX_SUPPORTED_EDITS);
+        }
+        this.term = term.toCharArray();
+        this.maxEdits = maxEdits;
+    }
+
+    /**
+     * Default distance for a term: exact for very short words, 1 edit up to 5 characters, 2 above
+     */
+    public static int defaultMaxEdits(String term) {
+        if (term.length() <= 2) {
+            return 0;
+        }
+        return term.length() <= 5 ? 1 : 2;
+    }
+
+    public int getMaxEdits() {
+        return maxEdits;
+    }
+
+    /**
+     * State before any input: distance i for deleting the first i term characters
+     */
+    public int[] start() {
+        int[] state = new int[term.length + 1];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = Math.min(i, maxEdits + 1);
+        }
+        return state;
+    }
+
+    /**
+     * Consume one input character; returns a new state (the argument is not modified)
+     *
+     * @param depth number of input characters consumed before c
+     */
+    public int[] step(int[] state, char c, int depth) {
+        int row = depth + 1;
+        int limit = maxEdits + 1;
+        int[] next = new int[state.length];
+        int from = Math.max(1, row - maxEdits);
+        int to = Math.min(term.length, row + maxEdits);
+
+        Arrays.fill(next, limit);
+        next[0] = Math.min(row, limit);
+        for (int i = from; i <= to; i++) {
+            int cost = term[i - 1] == c ? 0 : 1;
+            int best = state[i - 1] + cost;
+            best = Math.min(best, state[i] + 1);
+            best = Math.min(best, next[i - 1] + 1);
+            next[i] = Math.min(best, limit);
+        }
+        return next;
+    }
+
+    /**
+     * True if the consumed input is within maxEdits of the whole term
+     */
+    public boolean isMatch(int[] state) {
+        return state[term.length] <= maxEdits;
+    }
+
+    /**
+     * True if some continuation of the consumed input can still match
+     */
+    public boolean canMatch(int[] state) {
+        for (int distance : state) {
+            if (distance <= maxEdits) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Edit distance of a matching state
+     */
+    public int distance(int[] state) {
+        return state[term.length];
+    }
+}
@@ -0,0 +1,216 @@
+package search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compact prefix trie mapping normalized keys to integer ids (event or location ids)
+ * Children are kept in sorted parallel arrays and found by binary search,
+ * so a node costs a few small arrays instead of a HashMap
+ * Not thread-safe - callers guard access (see AutocompleteIndex)
+ */
+public class NameTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_IDS = new int[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Register id under key; duplicates of the same (key, id) pair are ignored
+     */
+    public void add(String key, int id) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+        }
+        if (node.addId(id)) {
+            size++;
+        }
+    }
+
+    /**
+     * Remove id from key and prune branches left without ids
+     */
+    public void remove(String key, int id) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        if (remove(root, key, 0, id)) {
+            size--;
+        }
+    }
+
+    private boolean remove(Node node, String key, int depth, int id) {
+        if (depth == key.length()) {
+            return node.removeId(id);
+        }
+        int index = node.indexOf(key.charAt(depth));
+        if (index < 0) {
+            return false;
+        }
+        Node child = node.children[index];
+        boolean removed = remove(child, key, depth + 1, id);
+        if (removed && child.isEmpty()) {
+            node.removeChild(index);
+        }
+        return removed;
+    }
+
+    /**
+     * Visit every id stored under a key starting with prefix
+     * An id registered under several matching keys is visited once per key
+     */
+    public void forEachWithPrefix(String prefix, IntConsumer consumer) {
+        Node node = find(prefix);
+        if (node != null) {
+            collect(node, consumer);
+        }
+    }
+
+    private void collect(Node node, IntConsumer consumer) {
+        for (int i = 0; i < node.idCount; i++) {
+            consumer.accept(node.ids[i]);
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            collect(node.children[i], consumer);
+        }
+    }
+
+    /**
+     * Visit every id stored under a key within the automaton's edit distance
+     * Walks the trie and the automaton together, skipping subtrees once no continuation can match
+     */
+    public void forEachFuzzyMatch(LevenshteinAutomaton automaton, FuzzyVisitor visitor) {
+        fuzzy(root, automaton, automaton.start(), 0, visitor);
+    }
+
+    private void fuzzy(Node node, LevenshteinAutomaton automaton, int[] state, int depth, FuzzyVisitor visitor) {
+        if (node.idCount > 0 && automaton.isMatch(state)) {
+            int distance = automaton.distance(state);
+            for (int i = 0; i < node.idCount; i++) {
+                visitor.accept(node.ids[i], distance);
+            }
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            int[] next = automaton.step(state, node.labels[i], depth);
+            if (automaton.canMatch(next)) {
+                fuzzy(node.children[i], automaton, next, depth + 1, visitor);
+            }
+        }
+    }
+
+    Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Remove all keys
+     */
+    public void clear() {
+        root.labels = NO_LABELS;
+        root.children = NO_CHILDREN;
+        root.childCount = 0;
+        root.ids = NO_IDS;
+        root.idCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Number of (key, id) pairs stored
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Receives ids found by forEachFuzzyMatch with the edit distance of the matching key
+     */
+    public interface FuzzyVisitor {
+        void accept(int id, int distance);
+    }
+
+    /**
+     * Trie node with sorted child labels
+     */
+    static final class Node {
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        int[] ids = NO_IDS;
+        int idCount;
+
+        int indexOf(char c) {
+            return Arrays.binarySearch(labels, 0, childCount, c);
+        }
+
+        Node child(char c) {
+            int index = indexOf(c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node getOrAddChild(char c) {
+            int index = indexOf(c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (childCount == labels.length) {
+                int capacity = Math.max(2, childCount * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node child = new Node();
+            labels[insertAt] = c;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+
+        void removeChild(int index) {
+            System.arraycopy(labels, index + 1, labels, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        boolean addId(int id) {
+            for (int i = 0; i < idCount; i++) {
+                if (ids[i] == id) {
+                    return false;
+                }
+            }
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(1, idCount * 2));
+            }
+            ids[idCount++] = id;
+            return true;
+        }
+
+        boolean removeId(int id) {
+            for (int i = 0; i < idCount; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[idCount - 1];
+                    idCount--;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isEmpty() {
+            return idCount == 0 && childCount == 0;
+        }
+    }
+}
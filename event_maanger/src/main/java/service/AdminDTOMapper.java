@@ -3,10 +3,12 @@ package service;
 import dto.EventAdminDTO;
 import dto.LocationAdminDTO;
 import dto.RoomAdminDTO;
+import dto.TicketAdminDTO;
 import dto.UserAdminDTO;
 import model.Event;
 import model.Location;
 import model.Room;
+import model.Ticket;
 import model.User;
 
 import java.util.List;
@@ -77,6 +79,27 @@ public class AdminDTOMapper {
         );
     }
 
+    public static TicketAdminDTO toTicketDTO(Ticket ticket) {
+        if (ticket == null) return null;
+
+        int eventId = (ticket.getEvent() != null) ? ticket.getEvent().getId() : 0;
+        int userId = (ticket.getUser() != null) ? ticket.getUser().getId() : 0;
+        String userLogin = (ticket.getUser() != null) ? ticket.getUser().getLogin() : null;
+
+        return new TicketAdminDTO(
+                ticket.getId(),
+                eventId,
+                userId,
+                userLogin,
+                ticket.getTicketType(),
+                ticket.getPrice(),
+                ticket.getSeatNumber(),
+                ticket.getPurchaseDate(),
+                ticket.getValidFromDate(),
+                ticket.getValidToDate()
+        );
+    }
+
     public static List<EventAdminDTO> toEventDTOList(List<Event> events) {
         return events.stream()
                 .map(AdminDTOMapper::toEventDTO)
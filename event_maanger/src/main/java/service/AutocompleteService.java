@@ -0,0 +1,93 @@
+package service;
+
+import dao.EventDAO;
+import dao.LocationDAO;
+import dto.SuggestionDTO;
+import model.Event;
+import model.Location;
+import search.AutocompleteIndex;
+
+import java.util.List;
+
+/**
+ * Name suggestions and typo-tolerant name lookup for the public search box,
+ * served from the shared in-memory AutocompleteIndex
+ * The index is loaded from the database on first use and updated by admin changes afterwards
+ */
+public class AutocompleteService {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final EventDAO eventDAO;
+    private final LocationDAO locationDAO;
+    private final AutocompleteIndex index;
+
+    public AutocompleteService(EventDAO eventDAO, LocationDAO locationDAO) {
+        this(eventDAO, locationDAO, AutocompleteIndex.getInstance());
+    }
+
+    public AutocompleteService(EventDAO eventDAO, LocationDAO locationDAO, AutocompleteIndex index) {
+        this.eventDAO = eventDAO;
+        this.locationDAO = locationDAO;
+        this.index = index;
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, Integer limit) {
+        ensureLoaded();
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return index.suggest(prefix, effectiveLimit);
+    }
+
+    /**
+     * Ids of events matching query despite typos, best matches first
+     */
+    public List<Integer> fuzzySearchEventIds(String query, Integer maxEdits, int limit) {
+        ensureLoaded();
+        return index.fuzzySearchEvents(query, maxEdits, limit);
+    }
+
+    public void eventSaved(Event event) {
+        if (event != null) {
+            index.putEvent(event.getId(), event.getName(), event.getEventStartDate());
+        }
+    }
+
+    public void eventDeleted(int eventId) {
+        index.removeEvent(eventId);
+    }
+
+    public void locationSaved(Location location) {
+        if (location != null) {
+            index.putLocation(location.getId(), location.getName());
+        }
+    }
+
+    public void locationDeleted(int locationId) {
+        index.removeLocation(locationId);
+    }
+
+    /**
+     * Reload everything on next use - for bulk changes that bypass the per-entity notifications
+     */
+    public void invalidate() {
+        index.invalidate();
+    }
+
+    /**
+     * Load the index now rather than on the first suggestion - called by the startup bootstrap
+     */
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    private void ensureLoaded() {
+        if (!index.isLoaded()) {
+            synchronized (index) {
+                if (!index.isLoaded()) {
+                    index.beginRebuild();
+                    index.rebuild(eventDAO.getAllEvents(), locationDAO.getAllLocations());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dao.BulkImportDAO;
+import dto.ImportRecord;
+import dto.ImportSummaryDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk import of events, price tiers and tickets from NDJSON or CSV
+ * Input is read one row at a time; rows are validated here and written by BulkImportDAO
+ * in chunks of CHUNK_SIZE, each chunk in its own transaction
+ *
+ * NDJSON: one object per line; "type" is event (default), price or ticket;
+ * event rows use the Event JSON fields plus "locations" (array of location names)
+ * CSV: header row with the same field names; "locations" is ';'-separated and an event row
+ * may carry one tier in ticketType/price/quantity
+ */
+public class BulkImportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+    public static final int CHUNK_SIZE = 1000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BulkImportDAO bulkImportDAO;
+    private final int chunkSize;
+
+    public BulkImportService(BulkImportDAO bulkImportDAO) {
+        this(bulkImportDAO, CHUNK_SIZE);
+    }
+
+    public BulkImportService(BulkImportDAO bulkImportDAO, int chunkSize) {
+        this.bulkImportDAO = bulkImportDAO;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Receives per-row errors as they are found and the running totals after every chunk
+     */
+    public interface ProgressListener {
+        void rowFailed(long line, String message);
+
+        void chunkImported(ImportSummaryDTO progress);
+    }
+
+    /**
+     * Import everything from input; malformed or invalid rows are reported and skipped
+     *
+     * @throws IllegalArgumentException for an unknown format or a CSV without header
+     * @throws IOException if the input cannot be read or parsed any further (e.g. an unterminated CSV quote);
+     *                     the chunks reported through chunkImported before it stay committed
+     */
+    public ImportSummaryDTO importData(Reader input, String format, ProgressListener listener) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        Run run = new Run(listener);
+        try {
+            if (FORMAT_CSV.equals(format)) {
+                readCsv(reader, run);
+            } else if (FORMAT_NDJSON.equals(format)) {
+                readNdjson(reader, run);
+            } else {
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+            }
+            run.flush();
+        } finally {
+            // also when the import stops early - the chunks written so far are committed
+            if (run.imported > 0) {
+                CatalogVersion.catalogChanged();
+                CatalogVersion.inventoryChanged();
+            }
+        }
+        return run.summary();
+    }
+
+    private void readNdjson(BufferedReader reader, Run run) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            Map<String, Object> fields;
+            try {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> parsed = MAPPER.readValue(line, Map.class);
+                fields = parsed;
+            } catch (JsonProcessingException e) {
+                run.fail(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            run.add(lineNumber, fields);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Run run) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header row is missing");
+        }
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() > header.size()) {
+                run.fail(csv.getRecordLine(), "Expected " + header.size() + " columns, found " + record.size());
+                continue;
+            }
+            Map<String, Object> fields = new HashMap<>();
+            for (int i = 0; i < record.size(); i++) {
+                String value = record.get(i).trim();
+                fields.put(header.get(i).trim(), value.isEmpty() ? null : value);
+            }
+            Object locations = fields.get("locations");
+            if (locations != null) {
+                fields.put("locations", Arrays.asList(locations.toString().split("\\s*;\\s*")));
+            }
+            run.add(csv.getRecordLine(), fields);
+        }
+    }
+
+    /**
+     * Convert and validate one parsed row
+     *
+     * @throws IllegalArgumentException with the message reported for the row
+     */
+    static ImportRecord toRecord(long line, Map<String, Object> fields) {
+        String type = text(fields, "type");
+        ImportRecord record = new ImportRecord(line, type != null ? type.toLowerCase() : ImportRecord.TYPE_EVENT);
+
+        switch (record.getType()) {
+            case ImportRecord.TYPE_EVENT:
+                record.setName(required(fields, "name"));
+                record.setDescription(text(fields, "description"));
+                record.setEventDate(text(fields, "eventDate"));
+                record.setEventTime(text(fields, "eventTime"));
+                record.setEventStartDate(text(fields, "eventStartDate"));
+                record.setEventEndDate(text(fields, "eventEndDate"));
+                record.setNumberedSeats(Boolean.parseBoolean(String.valueOf(fields.get("numberedSeats"))));
+                if (record.getEventStartDate() != null && record.getEventEndDate() != null
+                        && record.getEventEndDate().compareTo(record.getEventStartDate()) < 0) {
+                    throw new IllegalArgumentException("eventEndDate is before eventStartDate");
+                }
+                for (Map.Entry<String, Object> tier : map(fields, "ticketPrices").entrySet()) {
+                    record.getTicketPrices().put(tier.getKey(), nonNegative(tier.getKey() + " price", toDouble(tier.getValue())));
+                }
+                for (Map.Entry<String, Object> tier : map(fields, "ticketQuantities").entrySet()) {
+                    record.getTicketQuantities().put(tier.getKey(), (int) nonNegative(tier.getKey() + " quantity", toInteger(tier.getValue())));
+                }
+                String tierType = text(fields, "ticketType");
+                if (tierType != null) {
+                    Double price = toDouble(fields.get("price"));
+                    Integer quantity = toInteger(fields.get("quantity"));
+                    if (price != null) {
+                        record.getTicketPrices().put(tierType, nonNegative("price", price));
+                    }
+                    if (quantity != null) {
+                        record.getTicketQuantities().put(tierType, (int) nonNegative("quantity", quantity));
+                    }
+                }
+                Object locations = fields.get("locations");
+                if (locations instanceof List) {
+                    for (Object location : (List<?>) locations) {
+                        if (location != null && !location.toString().trim().isEmpty()) {
+                            record.getLocationNames().add(location.toString().trim());
+                        }
+                    }
+                } else if (locations != null) {
+                    throw new IllegalArgumentException("locations must be a list of location names");
+                }
+                break;
+            case ImportRecord.TYPE_PRICE:
+                record.setEventName(required(fields, "event"));
+                record.setTicketType(required(fields, "ticketType"));
+                record.setPrice(toDouble(fields.get("price")));
+                record.setQuantity(toInteger(fields.get("quantity")));
+                if (record.getPrice() == null && record.getQuantity() == null) {
+                    throw new IllegalArgumentException("price or quantity is required");
+                }
+                if (record.getPrice() != null) {
+                    nonNegative("price", record.getPrice());
+                }
+                if (record.getQuantity() != null) {
+                    nonNegative("quantity", record.getQuantity());
+                }
+                break;
+            case ImportRecord.TYPE_TICKET:
+                record.setEventName(required(fields, "event"));
+                record.setUserLogin(required(fields, "userLogin"));
+                record.setTicketType(required(fields, "ticketType"));
+                Double price = toDouble(fields.get("price"));
+                if (price == null) {
+                    throw new IllegalArgumentException("price is required");
+                }
+                record.setPrice(nonNegative("price", price));
+                record.setSeatNumber(text(fields, "seatNumber"));
+                record.setPurchaseDate(text(fields, "purchaseDate"));
+                record.setValidFromDate(text(fields, "validFromDate"));
+                record.setValidToDate(text(fields, "validToDate"));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown row type: " + type);
+        }
+        return record;
+    }
+
+    private static String text(Map<String, Object> fields, String key) {
+        Object value = fields.get(key);
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static String required(Map<String, Object> fields, String key) {
+        String value = text(fields, key);
+        if (value == null) {
+            throw new IllegalArgumentException(key + " is required");
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Map<String, Object> fields, String key) {
+        Object value = fields.get(key);
+        if (value == null) {
+            return new HashMap<>();
+        }
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException(key + " must be an object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private static Double toDouble(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return Double.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+
+    private static Integer toInteger(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return Integer.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an integer: " + value);
+        }
+    }
+
+    private static double nonNegative(String field, Number value) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        if (value.doubleValue() < 0) {
+            throw new IllegalArgumentException(field + " must not be negative");
+        }
+        return value.doubleValue();
+    }
+
+    /**
+     * State of one import: the pending chunk and the running totals
+     */
+    private class Run {
+        private final ProgressListener listener;
+        private final long started = System.currentTimeMillis();
+        private final List<ImportRecord> chunk = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        Run(ProgressListener listener) {
+            this.listener = listener;
+        }
+
+        void add(long line, Map<String, Object> fields) {
+            processed++;
+            try {
+                chunk.add(toRecord(line, fields));
+            } catch (IllegalArgumentException e) {
+                failed++;
+                listener.rowFailed(line, e.getMessage());
+            }
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void fail(long line, String message) {
+            processed++;
+            failed++;
+            listener.rowFailed(line, message);
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<String> errors = bulkImportDAO.importChunk(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                String error = errors.get(i);
+                if (error == null) {
+                    imported++;
+                } else {
+                    failed++;
+                    listener.rowFailed(chunk.get(i).getLine(), error);
+                }
+            }
+            chunk.clear();
+            listener.chunkImported(summary());
+        }
+
+        ImportSummaryDTO summary() {
+            return new ImportSummaryDTO(processed, imported, failed, System.currentTimeMillis() - started);
+        }
+    }
+}
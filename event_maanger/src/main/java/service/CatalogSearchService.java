@@ -0,0 +1,109 @@
+package service;
+
+import dao.CatalogDAO;
+import dto.EventPublicDTO;
+import dto.EventSearchResultDTO;
+import search.EventCatalogIndex;
+import search.EventSearchCriteria;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Public event search over the shared in-memory EventCatalogIndex
+ * The snapshot is reloaded when CatalogVersion reports a catalog change; a ticket sale only
+ * re-reads the sold counts of the events sold since the snapshot. Changes made outside this application
+ * are picked up on the next change
+ * One request refreshes a stale snapshot at a time; the others keep being served the previous one meanwhile
+ */
+public class CatalogSearchService {
+
+    /** More changed events than this are recounted with one query over all tickets */
+    static final int MAX_RECOUNTED_EVENTS = 500;
+
+    private static final AtomicReference<EventCatalogIndex> SHARED = new AtomicReference<>();
+    private static final ReentrantLock SHARED_REFRESH = new ReentrantLock();
+
+    private final CatalogDAO catalogDAO;
+    private final AtomicReference<EventCatalogIndex> current;
+    private final ReentrantLock refresh;
+
+    public CatalogSearchService(CatalogDAO catalogDAO) {
+        this(catalogDAO, SHARED, SHARED_REFRESH);
+    }
+
+    public CatalogSearchService(CatalogDAO catalogDAO, AtomicReference<EventCatalogIndex> current) {
+        this(catalogDAO, current, new ReentrantLock());
+    }
+
+    private CatalogSearchService(CatalogDAO catalogDAO, AtomicReference<EventCatalogIndex> current,
+                                 ReentrantLock refresh) {
+        this.catalogDAO = catalogDAO;
+        this.current = current;
+        this.refresh = refresh;
+    }
+
+    /**
+     * Up-to-date snapshot, refreshing it first if the catalog or inventory changed
+     * While another request is refreshing it, the previous snapshot is returned instead of waiting
+     */
+    public EventCatalogIndex getIndex() {
+        long catalogVersion = CatalogVersion.catalog();
+        long inventoryVersion = CatalogVersion.inventory();
+        EventCatalogIndex index = current.get();
+        if (isCurrent(index, catalogVersion, inventoryVersion)) {
+            return index;
+        }
+        if (index == null) {
+            refresh.lock(); // nothing to serve until the first load is done
+        } else if (!refresh.tryLock()) {
+            return index;
+        }
+        try {
+            index = current.get();
+            if (isCurrent(index, catalogVersion, inventoryVersion)) {
+                return index;
+            }
+            index = refreshed(index, catalogVersion, inventoryVersion);
+            current.set(index);
+            return index;
+        } finally {
+            refresh.unlock();
+        }
+    }
+
+    private EventCatalogIndex refreshed(EventCatalogIndex index, long catalogVersion, long inventoryVersion) {
+        if (index == null || index.getCatalogVersion() < catalogVersion) {
+            return EventCatalogIndex.load(catalogDAO, catalogVersion, inventoryVersion);
+        }
+        Set<Integer> changed = CatalogVersion.inventoryChangedSince(index.getInventoryVersion());
+        if (changed == null || changed.size() > MAX_RECOUNTED_EVENTS) {
+            return index.withInventory(catalogDAO, inventoryVersion);
+        }
+        return index.withInventory(catalogDAO, changed, inventoryVersion);
+    }
+
+    public List<EventPublicDTO> search(EventSearchCriteria criteria) {
+        EventCatalogIndex index = getIndex();
+        return index.toPublicDTOs(index.search(criteria));
+    }
+
+    /**
+     * Matching events and their facet counts, computed from the same result set
+     */
+    public EventSearchResultDTO searchWithFacets(EventSearchCriteria criteria) {
+        EventCatalogIndex index = getIndex();
+        BitSet result = index.search(criteria);
+        return new EventSearchResultDTO(index.toPublicDTOs(result), index.facets(result));
+    }
+
+    private static boolean isCurrent(EventCatalogIndex index, long catalogVersion, long inventoryVersion) {
+        // versions only grow - a snapshot built after these were read is current too
+        return index != null
+                && index.getCatalogVersion() >= catalogVersion
+                && index.getInventoryVersion() >= inventoryVersion;
+    }
+}
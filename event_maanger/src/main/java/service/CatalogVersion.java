@@ -0,0 +1,103 @@
+package service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Change counters for the public catalog, used to tell in-memory indexes and caches they are stale
+ * catalog - events, prices, quantities and locations changed
+ * inventory - tickets were sold or released; inventory(eventId) moves only with that event (or a change to all)
+ * Inventory listeners are told which event's remaining tickets changed (ALL_EVENTS when it is not known),
+ * synchronously on the writing thread - they must only record the change and return
+ */
+public final class CatalogVersion {
+
+    private static final AtomicLong CATALOG = new AtomicLong();
+    private static final AtomicLong INVENTORY = new AtomicLong();
+    /** INVENTORY at the last change that could touch any event */
+    private static final AtomicLong ALL_EVENTS_INVENTORY = new AtomicLong();
+    /** INVENTORY at each event's last change */
+    private static final ConcurrentHashMap<Integer, Long> EVENT_INVENTORY = new ConcurrentHashMap<>();
+    private static final List<IntConsumer> INVENTORY_LISTENERS = new CopyOnWriteArrayList<>();
+
+    /** Event id passed to inventory listeners when a change may touch any event */
+    public static final int ALL_EVENTS = 0;
+
+    private CatalogVersion() {
+    }
+
+    public static long catalog() {
+        return CATALOG.get();
+    }
+
+    public static long inventory() {
+        return INVENTORY.get();
+    }
+
+    /**
+     * Version of one event's remaining tickets - unlike inventory(), a sale of another event leaves it alone
+     */
+    public static long inventory(int eventId) {
+        return Math.max(ALL_EVENTS_INVENTORY.get(), EVENT_INVENTORY.getOrDefault(eventId, 0L));
+    }
+
+    public static void catalogChanged() {
+        CATALOG.incrementAndGet();
+    }
+
+    public static void inventoryChanged() {
+        inventoryChanged(ALL_EVENTS);
+    }
+
+    /**
+     * Remaining tickets of one event changed - a sale, a release or a new quantity
+     */
+    public static void inventoryChanged(int eventId) {
+        // the new version and the record of what it changed appear together to inventoryChangedSince
+        synchronized (EVENT_INVENTORY) {
+            long version = INVENTORY.incrementAndGet();
+            if (eventId == ALL_EVENTS) {
+                ALL_EVENTS_INVENTORY.accumulateAndGet(version, Math::max);
+            } else {
+                EVENT_INVENTORY.merge(eventId, version, Math::max);
+            }
+        }
+        for (IntConsumer listener : INVENTORY_LISTENERS) {
+            listener.accept(eventId);
+        }
+    }
+
+    /**
+     * Events whose remaining tickets changed after inventory() returned the given version,
+     * or null if a change since then may have touched any event
+     * May also name events changed later than the caller's own inventory() read - recounting them is harmless
+     */
+    public static Set<Integer> inventoryChangedSince(long version) {
+        synchronized (EVENT_INVENTORY) {
+            if (ALL_EVENTS_INVENTORY.get() > version) {
+                return null;
+            }
+            Set<Integer> changed = new HashSet<>();
+            for (Map.Entry<Integer, Long> entry : EVENT_INVENTORY.entrySet()) {
+                if (entry.getValue() > version) {
+                    changed.add(entry.getKey());
+                }
+            }
+            return changed;
+        }
+    }
+
+    public static void addInventoryListener(IntConsumer listener) {
+        INVENTORY_LISTENERS.add(listener);
+    }
+
+    public static void removeInventoryListener(IntConsumer listener) {
+        INVENTORY_LISTENERS.remove(listener);
+    }
+}
@@ -0,0 +1,89 @@
+package service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming CSV reader (RFC 4180): comma separated, double-quoted fields,
+ * "" as an escaped quote, quoted fields may span lines
+ * Reads one record at a time, so the input is never buffered as a whole
+ */
+class CsvRecordReader {
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private long recordLine;
+
+    CsvRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Line on which the last record returned by next() started (1-based)
+     */
+    long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Next record, or null at end of input; blank lines are skipped
+     */
+    List<String> next() throws IOException {
+        String line = reader.readLine();
+        lineNumber++;
+        while (line != null && line.trim().isEmpty()) {
+            line = reader.readLine();
+            lineNumber++;
+        }
+        if (line == null) {
+            return null;
+        }
+        recordLine = lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // Quoted field continues on the next line
+                String continuation = reader.readLine();
+                lineNumber++;
+                if (continuation == null) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                field.append('\n');
+                line = continuation;
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -1,12 +1,29 @@
 package service;
 
 import dao.EventDAO;
+import dto.BulkResultDTO;
+import dto.EventBulkOperationDTO;
 import model.Event;
+import model.Location;
+import model.Room;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class EventService {
+    /** Sort keys accepted by getEventsPage */
+    private static final Map<String, Function<Event, String>> SORT_KEYS = new LinkedHashMap<>();
+
+    static {
+        SORT_KEYS.put(Pagination.SORT_BY_ID, null);
+        SORT_KEYS.put("name", Event::getName);
+        SORT_KEYS.put("eventStartDate", Event::getEventStartDate);
+    }
+
     private final EventDAO eventDAO;
 
     public EventService(EventDAO eventDAO) {
@@ -15,7 +32,32 @@ public class EventService {
 
 
     public Event addEvent(String name, String description, String eventDate, String eventTime, String eventStartDate, String eventEndDate, boolean numberedSeats) {
-        return eventDAO.addEvent(name, description, eventDate, eventTime, eventStartDate, eventEndDate, numberedSeats);
+        Event event = eventDAO.addEvent(name, description, eventDate, eventTime, eventStartDate, eventEndDate, numberedSeats);
+        CatalogVersion.catalogChanged();
+        return event;
+    }
+
+    /**
+     * Create an event from a full definition - ticketPrices, ticketQuantities, and the
+     * locations and rooms referenced by id - in one transaction
+     */
+    public Event addEvent(Event definition) {
+        Event event = eventDAO.addEvent(definition, idsOf(definition.getLocations(), Location::getId),
+                idsOf(definition.getRooms(), Room::getId));
+        CatalogVersion.catalogChanged();
+        return event;
+    }
+
+    private static <T> List<Integer> idsOf(List<T> entities, Function<T, Integer> id) {
+        List<Integer> ids = new ArrayList<>();
+        if (entities != null) {
+            for (T entity : entities) {
+                if (entity != null && !ids.contains(id.apply(entity))) {
+                    ids.add(id.apply(entity));
+                }
+            }
+        }
+        return ids;
     }
 
     public Event getEvent(int id) {
@@ -28,22 +70,115 @@ public class EventService {
 
     public void updateEvent(Event event) {
         eventDAO.updateEvent(event);
+        CatalogVersion.catalogChanged();
+        CatalogVersion.inventoryChanged(event.getId());
+    }
+
+    /**
+     * Apply changes to the event with the given id, only if it is still at expectedVersion (null skips the check)
+     *
+     * @return the updated event, or null if it does not exist
+     * @throws jakarta.persistence.OptimisticLockException on a version mismatch
+     */
+    public Event patchEvent(int id, Integer expectedVersion, Consumer<Event> changes) {
+        Event event = eventDAO.patchEvent(id, expectedVersion, changes);
+        if (event != null) {
+            CatalogVersion.catalogChanged();
+            CatalogVersion.inventoryChanged(id);
+        }
+        return event;
     }
 
     public void deleteEvent(Event event) {
         eventDAO.deleteEvent(event);
+        CatalogVersion.catalogChanged();
+    }
+
+    /**
+     * Delete the selected events together with their tickets in a few set-based statements
+     *
+     * @throws IllegalArgumentException if no selection criterion is given
+     */
+    public BulkResultDTO deleteEvents(EventBulkOperationDTO filter) {
+        requireFilter(filter);
+        BulkResultDTO result = eventDAO.deleteEvents(filter);
+        CatalogVersion.catalogChanged();
+        CatalogVersion.inventoryChanged();
+        return result;
+    }
+
+    /**
+     * Set (price) or scale (factor) the price of one ticket type across the selected events
+     *
+     * @throws IllegalArgumentException for a missing selection, ticket type, or price/factor
+     */
+    public BulkResultDTO repriceTicketType(EventBulkOperationDTO operation) {
+        requireFilter(operation);
+        if (operation.getTicketType() == null || operation.getTicketType().trim().isEmpty()) {
+            throw new IllegalArgumentException("ticketType is required");
+        }
+        if ((operation.getPrice() == null) == (operation.getFactor() == null)) {
+            throw new IllegalArgumentException("Exactly one of price or factor is required");
+        }
+        if ((operation.getPrice() != null && operation.getPrice() < 0)
+                || (operation.getFactor() != null && operation.getFactor() < 0)) {
+            throw new IllegalArgumentException("price and factor must not be negative");
+        }
+        BulkResultDTO result = eventDAO.repriceTicketType(operation);
+        CatalogVersion.catalogChanged();
+        return result;
+    }
+
+    /**
+     * Move the dates of the selected events by a number of days
+     *
+     * @throws IllegalArgumentException for a missing selection or days
+     */
+    public BulkResultDTO shiftEventDates(EventBulkOperationDTO operation) {
+        requireFilter(operation);
+        if (operation.getDays() == null || operation.getDays() == 0) {
+            throw new IllegalArgumentException("days is required and must not be 0");
+        }
+        BulkResultDTO result = eventDAO.shiftEventDates(operation);
+        CatalogVersion.catalogChanged();
+        return result;
+    }
+
+    private static void requireFilter(EventBulkOperationDTO filter) {
+        if (filter == null || !filter.hasFilter()) {
+            throw new IllegalArgumentException("Select events by eventIds, startsFrom or startsTo");
+        }
     }
 
     public List<Event> getAllEvents() {
         return eventDAO.getAllEvents();
     }
 
+    /**
+     * Visit every event (with prices and quantities) without loading the whole table - for exports
+     */
+    public void forEachEvent(Consumer<Event> action) {
+        eventDAO.forEachEvent(action);
+    }
+
+    /**
+     * One page of events ordered by sort (id, name, eventStartDate), continuing after cursor
+     */
+    public Page<Event> getEventsPage(String sort, String cursor, Integer limit) {
+        return Pagination.fetch(cursor, limit, sort, SORT_KEYS, Event::getId,
+                (sortField, afterKey, afterId, maxResults) ->
+                        eventDAO.getEventsPage(sortField, afterKey, afterId, maxResults));
+    }
+
     public void setTicketPrice(int eventId, String ticketType, double price) {
         eventDAO.setTicketPrice(eventId, ticketType, price);
+        CatalogVersion.catalogChanged();
     }
 
     public void setTicketQuantity(int eventId, String ticketType, int quantity) {
         eventDAO.setTicketQuantity(eventId, ticketType, quantity);
+        CatalogVersion.catalogChanged();
+        CatalogVersion.inventoryChanged(eventId);
     }
 
     public double getTicketPrice(int eventId, String ticketType) {
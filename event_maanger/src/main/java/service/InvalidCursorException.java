@@ -0,0 +1,16 @@
+package service;
+
+/**
+ * Bad cursor or sort key in a paged request - the client's mistake, unlike an IllegalArgumentException
+ * thrown by the query underneath
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
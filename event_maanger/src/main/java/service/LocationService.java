@@ -3,9 +3,21 @@ package service;
 import dao.LocationDAO;
 import model.Location;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class LocationService {
+    /** Sort keys accepted by getLocationsPage */
+    private static final Map<String, Function<Location, String>> SORT_KEYS = new LinkedHashMap<>();
+
+    static {
+        SORT_KEYS.put(Pagination.SORT_BY_ID, null);
+        SORT_KEYS.put("name", Location::getName);
+    }
+
     private final LocationDAO locationDAO;
 
     public LocationService(LocationDAO locationDAO) {
@@ -14,7 +26,9 @@ public class LocationService {
 
 
     public Location addLocation(String name, String address) {
-        return locationDAO.addLocation(name, address);
+        Location location = locationDAO.addLocation(name, address);
+        CatalogVersion.catalogChanged();
+        return location;
     }
 
     public Location getLocation(int id) {
@@ -27,16 +41,41 @@ public class LocationService {
 
     public void updateLocation(Location location) {
         locationDAO.updateLocation(location);
+        CatalogVersion.catalogChanged();
+    }
+
+    /**
+     * Apply changes to the location with the given id, only if it is still at expectedVersion (null skips the check)
+     *
+     * @return the updated location, or null if it does not exist
+     * @throws jakarta.persistence.OptimisticLockException on a version mismatch
+     */
+    public Location patchLocation(int id, Integer expectedVersion, Consumer<Location> changes) {
+        Location location = locationDAO.patchLocation(id, expectedVersion, changes);
+        if (location != null) {
+            CatalogVersion.catalogChanged();
+        }
+        return location;
     }
 
     public void deleteLocation(Location location) {
         locationDAO.deleteLocation(location);
+        CatalogVersion.catalogChanged();
     }
 
     public List<Location> getAllLocations() {
         return locationDAO.getAllLocations();
     }
 
+    /**
+     * One page of locations ordered by sort (id, name), continuing after cursor
+     */
+    public Page<Location> getLocationsPage(String sort, String cursor, Integer limit) {
+        return Pagination.fetch(cursor, limit, sort, SORT_KEYS, Location::getId,
+                (sortField, afterKey, afterId, maxResults) ->
+                        locationDAO.getLocationsPage(sortField, afterKey, afterId, maxResults));
+    }
+
     public List<model.User> getContactsForLocation(int locationId) {
         return locationDAO.getContactsByLocationId(locationId);
     }
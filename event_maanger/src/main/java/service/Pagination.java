@@ -0,0 +1,108 @@
+package service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keyset pagination shared by the list endpoints
+ * A cursor is an opaque base64url token holding the sort key name and the (sort value, id) of the last row
+ * returned; the next page is fetched with a "rows after this key" query, never with OFFSET
+ */
+public final class Pagination {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+    public static final String SORT_BY_ID = "id";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private Pagination() {
+    }
+
+    /**
+     * Keyset page query of a DAO; sortField is null when sorting by id
+     */
+    public interface PageQuery<T> {
+        List<T> fetch(String sortField, String afterKey, Integer afterId, int maxResults);
+    }
+
+    /**
+     * Fetch one page
+     *
+     * @param cursor   cursor from the previous page, or null for the first page
+     * @param limit    requested page size, clamped to 1..MAX_LIMIT (DEFAULT_LIMIT when null)
+     * @param sort     sort key name, or null to keep the cursor's sort (id for the first page)
+     * @param sortKeys allowed sort keys mapped to the value getter; "id" maps to null
+     * @throws InvalidCursorException for an unknown sort key or a malformed cursor
+     */
+    public static <T> Page<T> fetch(String cursor, Integer limit, String sort, Map<String, Function<T, String>> sortKeys,
+                                    ToIntFunction<T> idOf, PageQuery<T> query) {
+        Cursor after = cursor != null && !cursor.isEmpty() ? decode(cursor) : null;
+        String sortKey = sort != null && !sort.isEmpty() ? sort : (after != null ? after.sort : SORT_BY_ID);
+        if (!sortKeys.containsKey(sortKey)) {
+            throw new InvalidCursorException("Unsupported sort key: " + sortKey + " (allowed: " + sortKeys.keySet() + ")");
+        }
+        if (after != null && !after.sort.equals(sortKey)) {
+            throw new InvalidCursorException("Cursor was issued for sort key '" + after.sort + "'");
+        }
+
+        int pageSize = effectiveLimit(limit);
+        String sortField = SORT_BY_ID.equals(sortKey) ? null : sortKey;
+        List<T> rows = query.fetch(sortField,
+                after != null ? after.key : null,
+                after != null ? after.id : null,
+                pageSize + 1);
+
+        if (rows.size() <= pageSize) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        T last = items.get(pageSize - 1);
+        Function<T, String> keyOf = sortKeys.get(sortKey);
+        String nextCursor = encode(sortKey, idOf.applyAsInt(last), keyOf != null ? keyOf.apply(last) : null);
+        return new Page<>(items, nextCursor);
+    }
+
+    public static int effectiveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    static String encode(String sort, int id, String key) {
+        String raw = sort + "\n" + id + (key != null ? "\n" + key : "");
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String cursor) {
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 3);
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(parts[0], Integer.parseInt(parts[1]), parts.length == 3 ? parts[2] : null);
+        } catch (IllegalArgumentException e) {
+            // Also covers bad base64 and NumberFormatException
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+    }
+
+    static final class Cursor {
+        final String sort;
+        final int id;
+        final String key;
+
+        Cursor(String sort, int id, String key) {
+            this.sort = sort;
+            this.id = id;
+            this.key = key;
+        }
+    }
+}
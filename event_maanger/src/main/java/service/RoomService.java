@@ -3,9 +3,21 @@ package service;
 import dao.RoomDAO;
 import model.Room;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class RoomService {
+    /** Sort keys accepted by getRoomsPage */
+    private static final Map<String, Function<Room, String>> SORT_KEYS = new LinkedHashMap<>();
+
+    static {
+        SORT_KEYS.put(Pagination.SORT_BY_ID, null);
+        SORT_KEYS.put("name", Room::getName);
+    }
+
     private final RoomDAO roomDAO;
 
     public RoomService(RoomDAO roomDAO) {
@@ -25,6 +37,16 @@ public class RoomService {
         roomDAO.updateRoom(room);
     }
 
+    /**
+     * Apply changes to the room with the given id, only if it is still at expectedVersion (null skips the check)
+     *
+     * @return the updated room, or null if it does not exist
+     * @throws jakarta.persistence.OptimisticLockException on a version mismatch
+     */
+    public Room patchRoom(int id, Integer expectedVersion, Consumer<Room> changes) {
+        return roomDAO.patchRoom(id, expectedVersion, changes);
+    }
+
     public void deleteRoom(Room room) {
         roomDAO.deleteRoom(room);
     }
@@ -33,6 +55,15 @@ public class RoomService {
         return roomDAO.getAllRooms();
     }
 
+    /**
+     * One page of rooms ordered by sort (id, name), continuing after cursor
+     */
+    public Page<Room> getRoomsPage(String sort, String cursor, Integer limit) {
+        return Pagination.fetch(cursor, limit, sort, SORT_KEYS, Room::getId,
+                (sortField, afterKey, afterId, maxResults) ->
+                        roomDAO.getRoomsPage(sortField, afterKey, afterId, maxResults));
+    }
+
     public List<Room> getRoomsByLocation(int locationId) {
         return roomDAO.getRoomsByLocationId(locationId);
     }
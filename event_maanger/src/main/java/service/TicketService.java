@@ -2,10 +2,24 @@ package service;
 
 import dao.TicketDAO;
 import model.Ticket;
+import profiling.PurchaseEvent;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class TicketService {
+    /** Sort keys accepted by getTicketsByUserPage */
+    private static final Map<String, Function<Ticket, String>> SORT_KEYS = new LinkedHashMap<>();
+
+    static {
+        SORT_KEYS.put(Pagination.SORT_BY_ID, null);
+        SORT_KEYS.put("purchaseDate", Ticket::getPurchaseDate);
+    }
+
     private final TicketDAO ticketDAO;
 
     public TicketService(TicketDAO ticketDAO) {
@@ -21,7 +35,43 @@ public class TicketService {
     }
 
     public Ticket addTicket(int eventId, int userId, String ticketType, double price, String purchaseDate, String validFromDate, String validToDate) {
-        return ticketDAO.addTicket(eventId, userId, ticketType, price, purchaseDate, validFromDate, validToDate);
+        Ticket ticket = ticketDAO.addTicket(eventId, userId, ticketType, price, purchaseDate, validFromDate, validToDate);
+        CatalogVersion.inventoryChanged(eventId);
+        return ticket;
+    }
+
+    /**
+     * Buy one ticket of ticketType for userId at the event's current price
+     * seatNumber is required for numbered-seat events and ignored otherwise
+     *
+     * @return the ticket, or null if the event or user does not exist
+     * @throws IllegalArgumentException for an unknown ticket type or a missing seat number
+     * @throws IllegalStateException if the seat is taken or the ticket type is sold out
+     */
+    public Ticket purchaseTicket(int eventId, int userId, String ticketType, String seatNumber) {
+        PurchaseEvent event = new PurchaseEvent();
+        event.begin();
+        event.eventId = eventId;
+        event.userId = userId;
+        event.ticketType = ticketType;
+        event.seatNumber = seatNumber;
+        event.result = PurchaseEvent.FAILED;
+        try {
+            if (ticketType == null || ticketType.trim().isEmpty()) {
+                throw new IllegalArgumentException("ticketType is required");
+            }
+            Ticket ticket = ticketDAO.purchaseTicket(eventId, userId, ticketType, seatNumber, LocalDate.now().toString());
+            if (ticket != null) {
+                CatalogVersion.inventoryChanged(eventId);
+            }
+            event.result = ticket != null ? PurchaseEvent.SOLD : PurchaseEvent.NOT_FOUND;
+            return ticket;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            event.result = PurchaseEvent.REJECTED;
+            throw e;
+        } finally {
+            event.commit();
+        }
     }
 
     public Ticket getTicket(int id) {
@@ -30,10 +80,13 @@ public class TicketService {
 
     public void updateTicket(Ticket ticket) {
         ticketDAO.updateTicket(ticket);
+        // The ticket may have moved to another event or type, so the previous event is affected too
+        CatalogVersion.inventoryChanged();
     }
 
     public void deleteTicket(Ticket ticket) {
         ticketDAO.deleteTicket(ticket);
+        CatalogVersion.inventoryChanged(ticket.getEvent() != null ? ticket.getEvent().getId() : CatalogVersion.ALL_EVENTS);
     }
 
     public List<Ticket> getAllTickets() {
@@ -44,10 +97,26 @@ public class TicketService {
         return ticketDAO.getTicketsByEventId(eventId);
     }
 
+    /**
+     * Visit every ticket of an event without loading them all at once - for exports
+     */
+    public void forEachTicketByEvent(int eventId, Consumer<Ticket> action) {
+        ticketDAO.forEachTicketByEventId(eventId, action);
+    }
+
     public List<Ticket> getTicketsByUser(int userId) {
         return ticketDAO.getTicketsByUserId(userId);
     }
 
+    /**
+     * One page of the user's tickets ordered by sort (id, purchaseDate), continuing after cursor
+     */
+    public Page<Ticket> getTicketsByUserPage(int userId, String sort, String cursor, Integer limit) {
+        return Pagination.fetch(cursor, limit, sort, SORT_KEYS, Ticket::getId,
+                (sortField, afterKey, afterId, maxResults) ->
+                        ticketDAO.getTicketsByUserIdPage(userId, sortField, afterKey, afterId, maxResults));
+    }
+
     public int countTicketsByEventAndType(int eventId, String ticketType) {
         return ticketDAO.countTicketsByEventAndType(eventId, ticketType);
     }
@@ -3,9 +3,22 @@ package service;
 import dao.UserDAO;
 import model.User;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class UserService {
+    /** Sort keys accepted by getUsersPage */
+    private static final Map<String, Function<User, String>> SORT_KEYS = new LinkedHashMap<>();
+
+    static {
+        SORT_KEYS.put(Pagination.SORT_BY_ID, null);
+        SORT_KEYS.put("login", User::getLogin);
+        SORT_KEYS.put("lastName", User::getLastName);
+    }
+
     private final UserDAO userDAO;
 
     public UserService(UserDAO userDAO) {
@@ -25,6 +38,16 @@ public class UserService {
         userDAO.updateUser(user);
     }
 
+    /**
+     * Apply changes to the user with the given id, only if it is still at expectedVersion (null skips the check)
+     *
+     * @return the updated user, or null if it does not exist
+     * @throws jakarta.persistence.OptimisticLockException on a version mismatch
+     */
+    public User patchUser(int id, Integer expectedVersion, Consumer<User> changes) {
+        return userDAO.patchUser(id, expectedVersion, changes);
+    }
+
     public void deleteUser(User user) {
         userDAO.deleteUser(user);
     }
@@ -33,6 +56,22 @@ public class UserService {
         return userDAO.getAllUsers();
     }
 
+    /**
+     * Visit every user without loading the whole table - for exports
+     */
+    public void forEachUser(Consumer<User> action) {
+        userDAO.forEachUser(action);
+    }
+
+    /**
+     * One page of users ordered by sort (id, login, lastName), continuing after cursor
+     */
+    public Page<User> getUsersPage(String sort, String cursor, Integer limit) {
+        return Pagination.fetch(cursor, limit, sort, SORT_KEYS, User::getId,
+                (sortField, afterKey, afterId, maxResults) ->
+                        userDAO.getUsersPage(sortField, afterKey, afterId, maxResults));
+    }
+
     public User getUserById(int id) {
         return userDAO.getUserById(id);
     }
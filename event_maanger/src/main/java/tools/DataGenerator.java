@@ -0,0 +1,485 @@
+package tools;
+
+import JWT.PasswordUtil;
+import dao.hibernate.HibernateSessionFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills a new SQLite database with synthetic data at scale - data/test_data.sql is far too small for
+ * N+1 queries and full scans to show
+ * The schema comes from the entity mappings (Hibernate, hbm2ddl create), the rows from batched JDBC inserts
+ * in one connection with journaling and syncing switched off, so ten million tickets take minutes
+ *
+ * Shape of the data:
+ * - event popularity follows a Zipf curve: a few events sell most tickets, the long tail sells a handful
+ * - buyers are skewed too: regulars hold many tickets, most users one or none
+ * - a third of the events have numbered seats (unique seat per event), the rest are general admission
+ * - events have 2-5 tiers, 1-2 locations and rooms; locations have rooms and contact users
+ * Users: admin/admin (id 1) and user2..userN, all with the password "password"
+ *
+ * mvn -q compile exec:java -Dexec.mainClass=tools.DataGenerator -Dexec.args="--out=data/scale.sqlite --tickets=10000000"
+ */
+public final class DataGenerator {
+
+    public static final String USER_PASSWORD = "password";
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int COMMIT_EVERY = 500_000;
+    private static final double POPULARITY_SKEW = 1.1;
+    private static final String[] TIERS = {"Standard", "VIP", "Student", "Early Bird", "Balcony"};
+    private static final double[] TIER_SHARES = {0.55, 0.1, 0.2, 0.1, 0.05};
+    private static final String[] CITIES = {"Warszawa", "Krakow", "Lodz", "Wroclaw", "Poznan", "Gdansk", "Szczecin",
+            "Bydgoszcz", "Lublin", "Bialystok", "Katowice", "Gdynia", "Czestochowa", "Radom", "Torun"};
+    private static final String[] STREETS = {"Piotrkowska", "Glowna", "Dluga", "Krotka", "Zielona", "Polna", "Lesna",
+            "Sloneczna", "Ogrodowa", "Kosciuszki", "Mickiewicza", "Sienkiewicza"};
+    private static final String[] FIRST_NAMES = {"Jan", "Anna", "Piotr", "Maria", "Tomasz", "Katarzyna", "Pawel",
+            "Agnieszka", "Michal", "Magdalena", "Krzysztof", "Joanna", "Andrzej", "Ewa", "Marcin", "Zofia"};
+    private static final String[] LAST_NAMES = {"Nowak", "Kowalski", "Wisniewski", "Wojcik", "Kowalczyk", "Kaminski",
+            "Lewandowski", "Zielinski", "Szymanski", "Wozniak", "Dabrowski", "Kozlowski", "Jankowski", "Mazur"};
+    private static final String[] GENRES = {"Concert", "Festival", "Conference", "Stand-up", "Theatre", "Opera",
+            "Meetup", "Workshop", "Exhibition", "Match"};
+
+    /**
+     * Volumes to generate; the defaults build a mid-size database in well under a minute
+     */
+    public static final class Options {
+        public String out = "data/event_manager_scale.sqlite";
+        public boolean overwrite;
+        public int users = 100_000;
+        public int locations = 1_000;
+        public int maxRoomsPerLocation = 8;
+        public int events = 10_000;
+        public int tickets = 1_000_000;
+        public long seed = 42;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+                String value = pair.length > 1 ? pair[1] : "true";
+                switch (pair[0]) {
+                    case "out": options.out = value; break;
+                    case "overwrite": options.overwrite = Boolean.parseBoolean(value); break;
+                    case "users": options.users = Integer.parseInt(value); break;
+                    case "locations": options.locations = Integer.parseInt(value); break;
+                    case "maxRoomsPerLocation": options.maxRoomsPerLocation = Integer.parseInt(value); break;
+                    case "events": options.events = Integer.parseInt(value); break;
+                    case "tickets": options.tickets = Integer.parseInt(value); break;
+                    case "seed": options.seed = Long.parseLong(value); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (options.users < 1 || options.locations < 1 || options.events < 1 || options.tickets < 0
+                    || options.maxRoomsPerLocation < 1) {
+                throw new IllegalArgumentException("users, locations, events and maxRoomsPerLocation must be positive");
+            }
+            return options;
+        }
+    }
+
+    private final Options options;
+    private final Random random;
+
+    /** Per event, filled while events are written and used for its tickets */
+    private int[] eventSold;
+    private boolean[] eventNumbered;
+    private String[] eventStart;
+    private String[] eventEnd;
+    private String[][] eventTiers;
+    private double[][] eventPrices;
+    private int[][] eventTierSold;
+    private int[] firstRoomOfLocation;
+
+    public DataGenerator(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Options options = Options.parse(args);
+        Map<String, Long> counts = new DataGenerator(options).generate();
+        System.out.println("[DataGenerator] " + new File(options.out).getAbsolutePath() + ": " + counts);
+    }
+
+    /**
+     * Create the database and fill it
+     *
+     * @return rows written per table
+     * @throws IllegalStateException if the file exists and overwrite is not set
+     */
+    public Map<String, Long> generate() throws SQLException {
+        File file = new File(options.out);
+        if (file.exists()) {
+            if (!options.overwrite) {
+                throw new IllegalStateException(file + " exists - pass --overwrite to replace it");
+            }
+            if (!file.delete()) {
+                throw new IllegalStateException("Cannot delete " + file);
+            }
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + parent);
+        }
+        String url = "jdbc:sqlite:" + file.getPath();
+        long started = System.nanoTime();
+        createSchema(url);
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try (Connection connection = DriverManager.getConnection(url)) {
+            try (Statement statement = connection.createStatement()) {
+                // Nothing to recover if the build fails half way - the file is simply generated again
+                statement.execute("PRAGMA journal_mode = OFF");
+                statement.execute("PRAGMA synchronous = OFF");
+                statement.execute("PRAGMA locking_mode = EXCLUSIVE");
+                statement.execute("PRAGMA temp_store = MEMORY");
+                statement.execute("PRAGMA cache_size = -262144");
+            }
+            connection.setAutoCommit(false);
+            counts.put("users", step("users", () -> insertUsers(connection)));
+            counts.put("locations", step("locations", () -> insertLocations(connection)));
+            counts.put("rooms", step("rooms", () -> insertRooms(connection)));
+            counts.put("location_contacts", step("location_contacts", () -> insertContacts(connection)));
+            counts.put("events", step("events", () -> insertEvents(connection)));
+            counts.put("tickets", step("tickets", () -> insertTickets(connection)));
+            connection.commit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                step("analyze", () -> {
+                    statement.execute("ANALYZE");
+                    return 0;
+                });
+            }
+        }
+        System.out.println("[DataGenerator] done in " + (System.nanoTime() - started) / 1_000_000_000 + " s");
+        return counts;
+    }
+
+    private static void createSchema(String url) {
+        Configuration configuration = HibernateSessionFactory.configuration()
+                .setProperty(AvailableSettings.URL, url)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .setProperty(AvailableSettings.SHOW_SQL, "false")
+                .setProperty(AvailableSettings.CONNECTION_PROVIDER,
+                        "org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl")
+                .setProperty(AvailableSettings.POOL_SIZE, "1");
+        try (SessionFactory ignored = configuration.buildSessionFactory()) {
+            // building the factory creates the tables
+        }
+    }
+
+    private interface Step {
+        long run() throws SQLException;
+    }
+
+    private static long step(String name, Step step) throws SQLException {
+        long started = System.nanoTime();
+        long rows = step.run();
+        System.out.println("[DataGenerator] " + name + ": " + rows + " rows in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms");
+        return rows;
+    }
+
+    private long insertUsers(Connection connection) throws SQLException {
+        String passwordHash = PasswordUtil.hashPassword(USER_PASSWORD);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO users (id, version, login, email,"
+                + " first_name, last_name, address, phone_number, password_hash, is_admin) VALUES (?,0,?,?,?,?,?,?,?,?)")) {
+            for (int id = 1; id <= options.users; id++) {
+                boolean admin = id == 1;
+                String login = admin ? "admin" : "user" + id;
+                insert.setInt(1, id);
+                insert.setString(2, login);
+                insert.setString(3, admin ? "admin@admin.com" : login + "@example.com");
+                insert.setString(4, admin ? "Admin" : pick(FIRST_NAMES));
+                insert.setString(5, admin ? "Administrator" : pick(LAST_NAMES));
+                insert.setString(6, admin ? "System" : address());
+                insert.setString(7, String.format("+48-6%02d-%03d-%03d", random.nextInt(100), random.nextInt(1000),
+                        random.nextInt(1000)));
+                insert.setString(8, admin ? PasswordUtil.hashPassword("admin") : passwordHash);
+                insert.setBoolean(9, admin);
+                add(connection, insert, id);
+            }
+            insert.executeBatch();
+        }
+        return options.users;
+    }
+
+    private long insertLocations(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO locations (id, version, name,"
+                + " description, address, max_available_seats) VALUES (?,0,?,?,?,?)")) {
+            for (int id = 1; id <= options.locations; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, CITIES[id % CITIES.length] + " Arena " + id);
+                insert.setString(3, "Venue " + id + " with " + (1 + id % options.maxRoomsPerLocation) + " halls");
+                insert.setString(4, address());
+                // Mostly clubs and halls, a few stadiums
+                insert.setInt(5, 200 + (int) (50_000 * Math.pow(random.nextDouble(), 4)));
+                add(connection, insert, id);
+            }
+            insert.executeBatch();
+        }
+        return options.locations;
+    }
+
+    private long insertRooms(Connection connection) throws SQLException {
+        List<Integer> locations = new ArrayList<>();
+        firstRoomOfLocation = new int[options.locations + 2];
+        for (int location = 1; location <= options.locations; location++) {
+            firstRoomOfLocation[location] = locations.size() + 1;
+            int rooms = 1 + random.nextInt(options.maxRoomsPerLocation);
+            for (int i = 0; i < rooms; i++) {
+                locations.add(location);
+            }
+        }
+        firstRoomOfLocation[options.locations + 1] = locations.size() + 1;
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO rooms (id, version, name,"
+                + " description, seat_capacity, location_id) VALUES (?,0,?,?,?,?)")) {
+            for (int id = 1; id <= locations.size(); id++) {
+                int location = locations.get(id - 1);
+                insert.setInt(1, id);
+                insert.setString(2, "Hall " + (char) ('A' + id - firstRoomOfLocation[location]));
+                insert.setString(3, "Floor " + random.nextInt(4));
+                insert.setInt(4, 50 + random.nextInt(950));
+                insert.setInt(5, location);
+                add(connection, insert, id);
+            }
+            insert.executeBatch();
+        }
+        return locations.size();
+    }
+
+    private long insertContacts(Connection connection) throws SQLException {
+        long rows = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO location_contacts (location_id, user_id) VALUES (?,?)")) {
+            for (int location = 1; location <= options.locations; location++) {
+                int contacts = 1 + random.nextInt(3);
+                for (int i = 0; i < contacts; i++) {
+                    insert.setInt(1, location);
+                    insert.setInt(2, 1 + random.nextInt(options.users));
+                    add(connection, insert, ++rows);
+                }
+            }
+            insert.executeBatch();
+        }
+        return rows;
+    }
+
+    /**
+     * Events with their tiers, prices, quantities, locations and rooms
+     * Ticket sales are decided here: each event's share of the tickets follows its Zipf popularity,
+     * and its tier quantities leave room for what it sells (popular events end up close to sold out)
+     */
+    private long insertEvents(Connection connection) throws SQLException {
+        int events = options.events;
+        eventSold = allocateSales(events, options.tickets);
+        eventNumbered = new boolean[events + 1];
+        eventStart = new String[events + 1];
+        eventEnd = new String[events + 1];
+        eventTiers = new String[events + 1][];
+        eventPrices = new double[events + 1][];
+        eventTierSold = new int[events + 1][];
+        LocalDate firstDay = LocalDate.of(2025, 1, 1);
+
+        try (PreparedStatement event = connection.prepareStatement("INSERT INTO events (id, version, name, description,"
+                + " event_date, event_time, event_start_date, event_end_date, numbered_seats) VALUES (?,0,?,?,?,?,?,?,?)");
+             PreparedStatement price = connection.prepareStatement(
+                     "INSERT INTO ticket_prices (event_id, ticket_type, price) VALUES (?,?,?)");
+             PreparedStatement quantity = connection.prepareStatement(
+                     "INSERT INTO ticket_quantities (event_id, ticket_type, quantity) VALUES (?,?,?)");
+             PreparedStatement location = connection.prepareStatement(
+                     "INSERT INTO event_locations (event_id, location_id) VALUES (?,?)");
+             PreparedStatement room = connection.prepareStatement(
+                     "INSERT INTO event_rooms (event_id, room_id) VALUES (?,?)")) {
+            for (int id = 1; id <= events; id++) {
+                LocalDate start = firstDay.plusDays(random.nextInt(3 * 365));
+                LocalDate end = random.nextInt(5) == 0 ? start.plusDays(1 + random.nextInt(3)) : start;
+                eventStart[id] = start.toString();
+                eventEnd[id] = end.toString();
+                eventNumbered[id] = random.nextInt(3) == 0;
+                event.setInt(1, id);
+                event.setString(2, GENRES[id % GENRES.length] + " #" + id);
+                event.setString(3, GENRES[id % GENRES.length] + " in " + CITIES[random.nextInt(CITIES.length)]
+                        + " - doors open an hour before the start");
+                event.setString(4, eventStart[id]);
+                event.setString(5, String.format("%02d:%02d", 10 + random.nextInt(12), random.nextInt(4) * 15));
+                event.setString(6, eventStart[id]);
+                event.setString(7, eventEnd[id]);
+                event.setBoolean(8, eventNumbered[id]);
+                event.addBatch();
+
+                int tiers = 2 + random.nextInt(TIERS.length - 1);
+                eventTiers[id] = Arrays.copyOf(TIERS, tiers);
+                eventPrices[id] = new double[tiers];
+                eventTierSold[id] = new int[tiers];
+                double shares = 0;
+                for (int t = 0; t < tiers; t++) {
+                    shares += TIER_SHARES[t];
+                }
+                int allocated = 0;
+                double basePrice = 30 + random.nextInt(300);
+                for (int t = 0; t < tiers; t++) {
+                    int sold = t == tiers - 1 ? eventSold[id] - allocated
+                            : (int) (eventSold[id] * TIER_SHARES[t] / shares);
+                    allocated += sold;
+                    eventTierSold[id][t] = sold;
+                    // Sell-through between 60 and 100%, and never less than a small room
+                    int available = Math.max(20, (int) Math.ceil(sold / (0.6 + 0.4 * random.nextDouble())));
+                    eventPrices[id][t] = Math.round(basePrice * (t == 1 ? 2.5 : t == 2 ? 0.6 : 1.0 + 0.1 * t));
+                    price.setInt(1, id);
+                    price.setString(2, eventTiers[id][t]);
+                    price.setDouble(3, eventPrices[id][t]);
+                    price.addBatch();
+                    quantity.setInt(1, id);
+                    quantity.setString(2, eventTiers[id][t]);
+                    quantity.setInt(3, available);
+                    quantity.addBatch();
+                }
+
+                int venue = 1 + random.nextInt(options.locations);
+                location.setInt(1, id);
+                location.setInt(2, venue);
+                location.addBatch();
+                if (options.locations > 1 && random.nextInt(10) == 0) {
+                    location.setInt(1, id);
+                    location.setInt(2, venue % options.locations + 1);
+                    location.addBatch();
+                }
+                int firstRoom = firstRoomOfLocation[venue];
+                int roomCount = firstRoomOfLocation[venue + 1] - firstRoom;
+                int rooms = Math.min(roomCount, 1 + random.nextInt(2));
+                for (int r = 0; r < rooms; r++) {
+                    room.setInt(1, id);
+                    room.setInt(2, firstRoom + r);
+                    room.addBatch();
+                }
+
+                if (id % BATCH_SIZE == 0) {
+                    for (PreparedStatement statement : Arrays.asList(event, price, quantity, location, room)) {
+                        statement.executeBatch();
+                    }
+                }
+            }
+            for (PreparedStatement statement : Arrays.asList(event, price, quantity, location, room)) {
+                statement.executeBatch();
+            }
+        }
+        connection.commit();
+        return events;
+    }
+
+    private long insertTickets(Connection connection) throws SQLException {
+        long rows = 0;
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO tickets (id, event_id, user_id,"
+                + " ticket_type, price, seat_number, purchase_date, valid_from_date, valid_to_date)"
+                + " VALUES (?,?,?,?,?,?,?,?,?)")) {
+            for (int event = 1; event <= options.events; event++) {
+                LocalDate start = LocalDate.parse(eventStart[event]);
+                int seat = 0;
+                for (int t = 0; t < eventTiers[event].length; t++) {
+                    for (int i = 0; i < eventTierSold[event][t]; i++) {
+                        rows++;
+                        insert.setLong(1, rows);
+                        insert.setInt(2, event);
+                        insert.setInt(3, buyer());
+                        insert.setString(4, eventTiers[event][t]);
+                        insert.setDouble(5, eventPrices[event][t]);
+                        if (eventNumbered[event]) {
+                            insert.setString(6, "R" + (seat / 30 + 1) + "-S" + (seat % 30 + 1));
+                            seat++;
+                        } else {
+                            insert.setNull(6, java.sql.Types.VARCHAR);
+                        }
+                        insert.setString(7, start.minusDays(random.nextInt(120)).toString());
+                        insert.setString(8, eventStart[event]);
+                        insert.setString(9, eventEnd[event]);
+                        add(connection, insert, rows);
+                        if (rows % 1_000_000 == 0) {
+                            System.out.println("[DataGenerator] tickets: " + rows);
+                        }
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+        return rows;
+    }
+
+    /**
+     * Split total tickets over the events by Zipf weight of a random popularity rank; sums to total exactly
+     */
+    static int[] allocateSales(int events, int total, Random random) {
+        List<Integer> ranks = new ArrayList<>(events);
+        for (int rank = 1; rank <= events; rank++) {
+            ranks.add(rank);
+        }
+        Collections.shuffle(ranks, random);
+        double[] weights = new double[events + 1];
+        double sum = 0;
+        for (int id = 1; id <= events; id++) {
+            weights[id] = 1 / Math.pow(ranks.get(id - 1), POPULARITY_SKEW);
+            sum += weights[id];
+        }
+        int[] sold = new int[events + 1];
+        long allocated = 0;
+        for (int id = 1; id <= events; id++) {
+            sold[id] = (int) (total * weights[id] / sum);
+            allocated += sold[id];
+        }
+        // Rounding leftovers go to the events in id order, at most one each
+        for (int id = 1; allocated < total; id = id % events + 1) {
+            sold[id]++;
+            allocated++;
+        }
+        return sold;
+    }
+
+    private int[] allocateSales(int events, int total) {
+        return allocateSales(events, total, random);
+    }
+
+    /**
+     * Power law over user ids: low ids are the regulars with hundreds of tickets; the admin buys none
+     */
+    private int buyer() {
+        if (options.users == 1) {
+            return 1;
+        }
+        return 2 + (int) ((options.users - 1) * Math.pow(random.nextDouble(), 1.5));
+    }
+
+    private String address() {
+        return "ul. " + pick(STREETS) + " " + (1 + random.nextInt(200)) + ", " + pick(CITIES);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static void add(Connection connection, PreparedStatement insert, long row) throws SQLException {
+        insert.addBatch();
+        if (row % BATCH_SIZE == 0) {
+            insert.executeBatch();
+        }
+        if (row % COMMIT_EVERY == 0) {
+            connection.commit();
+        }
+    }
+}
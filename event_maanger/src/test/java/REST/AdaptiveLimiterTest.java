@@ -0,0 +1,108 @@
+package REST;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveLimiter
+ */
+@DisplayName("AdaptiveLimiter Tests")
+class AdaptiveLimiterTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("Should refuse slots beyond the limit and give them back on release")
+    void testAcquireUpToLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 10, TARGET);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(1.0));
+        }
+        assertFalse(limiter.tryAcquire(1.0));
+        assertEquals(4, limiter.getInFlight());
+
+        limiter.release(0, false);
+        assertEquals(3, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire(1.0));
+    }
+
+    @Test
+    @DisplayName("Should turn lower traffic classes away first")
+    void testShareOfLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 10, TARGET);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(0.5));
+        }
+        assertFalse(limiter.tryAcquire(0.5));
+        assertTrue(limiter.tryAcquire(0.75));
+        assertTrue(limiter.tryAcquire(1.0));
+    }
+
+    @Test
+    @DisplayName("Should grow additively while fast requests keep the limit busy")
+    void testAdditiveIncrease() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 10, TARGET);
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 4; i++) {
+                limiter.tryAcquire(1.0);
+            }
+            for (int i = 0; i < 4; i++) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+            }
+        }
+        assertTrue(limiter.getLimit() > 4, "limit " + limiter.getLimit());
+        assertTrue(limiter.getLimit() <= 10);
+    }
+
+    @Test
+    @DisplayName("Should not grow while most of the limit is idle")
+    void testNoIncreaseWhenIdle() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, TARGET);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(1.0);
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively once per interval on slow or overloaded requests")
+    void testMultiplicativeDecrease() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 2, 100, TARGET);
+
+        limiter.tryAcquire(1.0);
+        limiter.release(TARGET * 2, false);
+        assertEquals(18, limiter.getLimit());
+
+        // Same interval - not punished again
+        limiter.tryAcquire(1.0);
+        limiter.release(0, true);
+        assertEquals(18, limiter.getLimit());
+
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(TARGET) + 10);
+        limiter.tryAcquire(1.0);
+        limiter.release(0, true);
+        assertEquals(16, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should never shrink below the minimum")
+    void testMinimumLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(3, 2, 10, 0);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(1.0);
+            limiter.release(1, true);
+        }
+        assertEquals(2, limiter.getLimit());
+        assertTrue(limiter.tryAcquire(0.1));
+    }
+}
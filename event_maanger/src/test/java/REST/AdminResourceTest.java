@@ -31,6 +31,7 @@ class AdminResourceTest extends JerseyTest {
     @Override
     protected Application configure() {
         return new ResourceConfig()
+                .register(ServiceFeature.class)
                 .register(AdminResource.class);
     }
 
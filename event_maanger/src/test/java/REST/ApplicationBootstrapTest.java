@@ -0,0 +1,111 @@
+package REST;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ApplicationBootstrap with stub steps (no servlet container or database needed)
+ */
+@DisplayName("ApplicationBootstrap Tests")
+class ApplicationBootstrapTest {
+
+    private ApplicationBootstrap bootstrap;
+
+    @AfterEach
+    void tearDown() {
+        if (bootstrap != null) {
+            bootstrap.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run steps of a phase in parallel and become ready when all succeed")
+    void testParallelStepsThenReady() throws Exception {
+        // Both foundation steps wait for each other - only completes if they run concurrently
+        CountDownLatch together = new CountDownLatch(2);
+        Runnable meet = () -> {
+            together.countDown();
+            await(together);
+        };
+        Map<String, Runnable> foundation = new LinkedHashMap<>();
+        foundation.put("a", meet);
+        foundation.put("b", meet);
+        bootstrap = new ApplicationBootstrap(foundation, new LinkedHashMap<>());
+
+        bootstrap.start().get(5, TimeUnit.SECONDS);
+
+        assertTrue(bootstrap.isReady());
+        assertSame(bootstrap, ApplicationBootstrap.current());
+        assertEquals(ApplicationBootstrap.DONE, bootstrap.status().get("a").get("status"));
+        assertEquals(ApplicationBootstrap.DONE, bootstrap.status().get("b").get("status"));
+    }
+
+    @Test
+    @DisplayName("Should start warm-ups only after the foundation is done")
+    void testWarmupsWaitForFoundation() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        Map<String, Runnable> foundation = new LinkedHashMap<>();
+        foundation.put("hibernate", () -> {
+            await(release);
+            order.add("hibernate");
+        });
+        Map<String, Runnable> warmups = new LinkedHashMap<>();
+        warmups.put("index", () -> order.add("index"));
+        bootstrap = new ApplicationBootstrap(foundation, warmups);
+
+        CompletableFuture<Void> done = bootstrap.start();
+        Thread.sleep(50);
+        assertFalse(bootstrap.isReady());
+        assertEquals(ApplicationBootstrap.PENDING, bootstrap.status().get("index").get("status"));
+
+        release.countDown();
+        done.get(5, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("hibernate", "index"), order);
+        assertTrue(bootstrap.isReady());
+    }
+
+    @Test
+    @DisplayName("Should stay not ready and report the failed step")
+    void testFailureKeepsNotReady() {
+        Map<String, Runnable> foundation = new LinkedHashMap<>();
+        foundation.put("hibernate", () -> {
+            throw new IllegalStateException("database unreachable");
+        });
+        Map<String, Runnable> warmups = new LinkedHashMap<>();
+        warmups.put("index", () -> { });
+        bootstrap = new ApplicationBootstrap(foundation, warmups);
+
+        assertThrows(ExecutionException.class, () -> bootstrap.start().get(5, TimeUnit.SECONDS));
+
+        assertFalse(bootstrap.isReady());
+        Map<String, Object> hibernate = bootstrap.status().get("hibernate");
+        assertEquals(ApplicationBootstrap.FAILED, hibernate.get("status"));
+        assertEquals("IllegalStateException: database unreachable", hibernate.get("error"));
+        assertEquals(ApplicationBootstrap.PENDING, bootstrap.status().get("index").get("status"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -27,6 +27,7 @@ class AuthResourceTest extends JerseyTest {
     @Override
     protected Application configure() {
         return new ResourceConfig()
+                .register(ServiceFeature.class)
                 .register(AuthResource.class);
     }
 
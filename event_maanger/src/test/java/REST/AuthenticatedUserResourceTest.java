@@ -26,6 +26,7 @@ class AuthenticatedUserResourceTest extends JerseyTest {
     @Override
     protected Application configure() {
         return new ResourceConfig()
+                .register(ServiceFeature.class)
                 .register(AuthenticatedUserResource.class);
     }
 
@@ -0,0 +1,197 @@
+package REST;
+
+import cache.ResponseCache;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTTP tests for CompressionFilter and ContentEncoding against a stub resource (no database needed)
+ */
+@DisplayName("CompressionFilter HTTP Tests")
+class CompressionFilterTest extends JerseyTest {
+
+    private static final String LARGE_JSON = largeJson();
+    private static final ResponseCache CACHE = new ResponseCache(ResponseCache.DEFAULT_MAX_BYTES);
+
+    @Path("/stub")
+    @Produces("application/json")
+    public static class StubResource {
+        @GET
+        @Path("/large")
+        public String large() {
+            return LARGE_JSON;
+        }
+
+        @GET
+        @Path("/small")
+        public String small() {
+            return "{\"id\":1}";
+        }
+
+        @GET
+        @Cached
+        @Path("/cached")
+        public String cached() {
+            return LARGE_JSON;
+        }
+
+        @GET
+        @Path("/binary")
+        @Produces("application/octet-stream")
+        public byte[] binary() {
+            return LARGE_JSON.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig()
+                .register(StubResource.class)
+                .register(CompressionFilter.class)
+                .register(new ResponseCacheFilter(CACHE));
+    }
+
+    @BeforeEach
+    void reset() {
+        CACHE.clear();
+    }
+
+    @Test
+    @DisplayName("Should gzip large JSON bodies when the client accepts gzip")
+    void testGzip() throws IOException {
+        Response response = target("/stub/large").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate").get();
+
+        assertEquals(200, response.getStatus());
+        assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaderString(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = response.readEntity(byte[].class);
+        assertTrue(body.length < LARGE_JSON.length() / 4);
+        assertEquals(LARGE_JSON, gunzip(body));
+    }
+
+    @Test
+    @DisplayName("Should use deflate when it is preferred")
+    void testDeflate() throws IOException {
+        Response response = target("/stub/large").request()
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0.5, deflate").get();
+
+        assertEquals("deflate", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_JSON, inflate(response.readEntity(byte[].class)));
+    }
+
+    @Test
+    @DisplayName("Should send identity bodies without Accept-Encoding, for small bodies and for binary types")
+    void testIdentity() {
+        Response plain = target("/stub/large").request().get();
+        assertNull(plain.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(plain.getHeaderString(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(LARGE_JSON, plain.readEntity(String.class));
+
+        Response small = target("/stub/small").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+        assertNull(small.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\"id\":1}", small.readEntity(String.class));
+
+        Response binary = target("/stub/binary").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+        assertNull(binary.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertNull(binary.getHeaderString(HttpHeaders.VARY));
+    }
+
+    @Test
+    @DisplayName("Should revalidate each coding with its own ETag")
+    void testNotModifiedPerCoding() {
+        Response gzip = target("/stub/cached").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+        String gzipTag = gzip.getHeaderString(HttpHeaders.ETAG);
+        Response identity = target("/stub/cached").request().get();
+        String identityTag = identity.getHeaderString(HttpHeaders.ETAG);
+        assertNotEquals(gzipTag, identityTag);
+
+        assertEquals(304, target("/stub/cached").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, gzipTag).get().getStatus());
+        assertEquals(304, target("/stub/cached").request()
+                .header(HttpHeaders.IF_NONE_MATCH, identityTag).get().getStatus());
+        Response other = target("/stub/cached").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, identityTag).get();
+        assertEquals(200, other.getStatus(), "the identity tag does not validate the gzip body");
+        assertEquals(gzipTag, other.getHeaderString(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should cache the identity body and serve a stored compressed copy on hits")
+    void testCachedHitIsPreCompressed() throws IOException {
+        Response miss = target("/stub/cached").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+        assertEquals("MISS", miss.getHeaderString("X-Cache"));
+        assertEquals(LARGE_JSON, gunzip(miss.readEntity(byte[].class)));
+
+        Response hit = target("/stub/cached").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+        assertEquals("HIT", hit.getHeaderString("X-Cache"));
+        assertEquals("gzip", hit.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(hit.getHeaderString(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(miss.getEntityTag(), hit.getEntityTag());
+        assertEquals(LARGE_JSON, gunzip(hit.readEntity(byte[].class)));
+
+        Response identity = target("/stub/cached").request().get();
+        assertEquals("HIT", identity.getHeaderString("X-Cache"));
+        assertNull(identity.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_JSON, identity.readEntity(String.class));
+        assertEquals(identity.getEntityTag().getValue() + "-gzip", hit.getEntityTag().getValue(),
+                "each coding has its own strong ETag");
+        assertFalse(hit.getEntityTag().isWeak());
+    }
+
+    @Test
+    @DisplayName("Should pick the best coding from Accept-Encoding q-values")
+    void testNegotiate() {
+        assertEquals("gzip", ContentEncoding.negotiate("gzip, deflate, br"));
+        assertEquals("gzip", ContentEncoding.negotiate("*"));
+        assertEquals("deflate", ContentEncoding.negotiate("deflate"));
+        assertEquals("deflate", ContentEncoding.negotiate("*;q=0.5, gzip;q=0.1"));
+        assertNull(ContentEncoding.negotiate("gzip;q=0, identity"));
+        assertNull(ContentEncoding.negotiate("br"));
+        assertNull(ContentEncoding.negotiate(null));
+    }
+
+    private static String largeJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"Event ").append(i)
+                    .append("\",\"description\":\"Concert in the main hall\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        return read(new GZIPInputStream(new ByteArrayInputStream(body)));
+    }
+
+    private static String inflate(byte[] body) throws IOException {
+        return read(new InflaterInputStream(new ByteArrayInputStream(body)));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        for (int n; (n = in.read(chunk)) > 0; ) {
+            out.write(chunk, 0, n);
+        }
+        return out.toString(StandardCharsets.UTF_8.name());
+    }
+}
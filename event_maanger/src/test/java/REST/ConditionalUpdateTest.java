@@ -0,0 +1,103 @@
+package REST;
+
+import jakarta.persistence.OptimisticLockException;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import model.Event;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConditionalUpdate
+ * Header parsing, merge-patch application and status mapping without a running server
+ */
+@DisplayName("ConditionalUpdate Tests")
+class ConditionalUpdateTest {
+
+    private static final Set<String> FIELDS = new HashSet<>(Arrays.asList("name", "description", "numberedSeats"));
+
+    @Test
+    @DisplayName("Should read the version from a strong If-Match tag")
+    void testParseIfMatch() {
+        assertEquals(Integer.valueOf(3), ConditionalUpdate.parseIfMatch("\"3\""));
+        assertNull(ConditionalUpdate.parseIfMatch(null));
+        assertNull(ConditionalUpdate.parseIfMatch("*"));
+    }
+
+    @Test
+    @DisplayName("Should fail with 412 for weak or malformed If-Match tags")
+    void testParseIfMatchRejectsUnmatchableTags() {
+        WebApplicationException weak = assertThrows(WebApplicationException.class,
+                () -> ConditionalUpdate.parseIfMatch("W/\"3\""));
+        assertEquals(412, weak.getResponse().getStatus());
+        assertThrows(WebApplicationException.class, () -> ConditionalUpdate.parseIfMatch("\"abc\""));
+    }
+
+    @Test
+    @DisplayName("Should copy only the patched fields onto the entity")
+    void testChangesApplyPatchedFields() {
+        Event event = new Event("Concert", "Old", "2026-05-15", "19:00", "2026-05-15", "2026-05-15", false);
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("description", "New");
+        patch.put("numberedSeats", true);
+
+        ConditionalUpdate.<Event>changes(patch, FIELDS, e -> { }).accept(event);
+
+        assertEquals("Concert", event.getName());
+        assertEquals("New", event.getDescription());
+        assertTrue(event.isNumberedSeats());
+    }
+
+    @Test
+    @DisplayName("Should reject fields that cannot be patched")
+    void testChangesRejectUnknownFields() {
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("version", 7);
+
+        assertThrows(BadRequestException.class, () -> ConditionalUpdate.changes(patch, FIELDS, e -> { }));
+        assertThrows(BadRequestException.class, () -> ConditionalUpdate.changes(new HashMap<>(), FIELDS, e -> { }));
+    }
+
+    @Test
+    @DisplayName("Should report invalid values as IllegalArgumentException")
+    void testChangesRejectInvalidValues() {
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("numberedSeats", "maybe");
+        Consumer<Event> changes = ConditionalUpdate.changes(patch, FIELDS, e -> { });
+
+        assertThrows(IllegalArgumentException.class, () -> changes.accept(new Event()));
+    }
+
+    @Test
+    @DisplayName("Should answer 200 with the new ETag, 404, 400 or 412")
+    void testRespondMapsOutcomes() {
+        Event event = new Event();
+        event.setVersion(4);
+
+        Response ok = ConditionalUpdate.respond(() -> event, Event::getVersion, Event::getVersion, "missing");
+        assertEquals(200, ok.getStatus());
+        assertEquals("4", ok.getEntityTag().getValue());
+
+        assertThrows(NotFoundException.class,
+                () -> ConditionalUpdate.respond(() -> null, Event::getVersion, e -> e, "missing"));
+        assertThrows(BadRequestException.class, () -> ConditionalUpdate.respond(() -> {
+            throw new IllegalArgumentException("Event name is required");
+        }, Event::getVersion, e -> e, "missing"));
+        WebApplicationException conflict = assertThrows(WebApplicationException.class,
+                () -> ConditionalUpdate.respond(() -> {
+                    throw new RuntimeException("Error updating event", new OptimisticLockException("stale"));
+                }, Event::getVersion, e -> e, "missing"));
+        assertEquals(412, conflict.getResponse().getStatus());
+    }
+}
@@ -59,6 +59,16 @@ class EventMangerApplicationTest {
                 "AdminResource should be registered");
     }
 
+    @Test
+    @DisplayName("Should register ServiceFeature class")
+    void testServiceFeatureIsRegistered() {
+        EventMangerApplication app = new EventMangerApplication();
+        Set<Class<?>> classes = app.getClasses();
+
+        assertTrue(classes.contains(ServiceFeature.class),
+                "ServiceFeature should be registered");
+    }
+
     @Test
     @DisplayName("Should register JwtFilter class")
     void testJwtFilterIsRegistered() {
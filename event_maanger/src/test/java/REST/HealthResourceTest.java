@@ -0,0 +1,86 @@
+package REST;
+
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.Response;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTTP tests for HealthResource, with a stub bootstrap standing in for the deploy-time warm-up
+ */
+@DisplayName("HealthResource HTTP Tests")
+class HealthResourceTest extends JerseyTest {
+
+    private ApplicationBootstrap bootstrap;
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig().register(HealthResource.class);
+    }
+
+    @AfterEach
+    void stopBootstrap() {
+        if (bootstrap != null) {
+            bootstrap.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should always report live")
+    void testLive() {
+        Response response = target("/health/live").request().get();
+
+        assertEquals(200, response.getStatus());
+        assertTrue(response.readEntity(String.class).contains("UP"));
+    }
+
+    @Test
+    @DisplayName("Should answer 503 while no bootstrap ran")
+    void testNotStarted() {
+        Response response = target("/health/ready").request().get();
+
+        assertEquals(503, response.getStatus());
+        assertTrue(response.readEntity(String.class).contains("NOT_STARTED"));
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with step status while warming up, then 200 once ready")
+    void testStartingThenReady() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Map<String, Runnable> foundation = new LinkedHashMap<>();
+        foundation.put("hibernate", () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        bootstrap = new ApplicationBootstrap(foundation, Collections.<String, Runnable>emptyMap());
+        CompletableFuture<Void> done = bootstrap.start();
+
+        Response starting = target("/health/ready").request().get();
+        assertEquals(503, starting.getStatus());
+        assertEquals(Workload.RETRY_AFTER_SECONDS, starting.getHeaderString("Retry-After"));
+        String body = starting.readEntity(String.class);
+        assertTrue(body.contains("STARTING") && body.contains("hibernate"), body);
+
+        release.countDown();
+        done.get(5, TimeUnit.SECONDS);
+
+        Response ready = target("/health/ready").request().get();
+        assertEquals(200, ready.getStatus());
+        assertTrue(ready.readEntity(String.class).contains("READY"));
+    }
+}
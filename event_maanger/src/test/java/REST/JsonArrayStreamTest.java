@@ -0,0 +1,64 @@
+package REST;
+
+import dto.UserAdminDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonArrayStream
+ * Writes into an in-memory stream instead of an HTTP response
+ */
+@DisplayName("JsonArrayStream Tests")
+class JsonArrayStreamTest {
+
+    @Test
+    @DisplayName("Should write every element of the source as one JSON array")
+    void testWritesArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonArrayStream.<UserAdminDTO>of(sink -> {
+            sink.accept(new UserAdminDTO(1, "anna", "anna@example.com", "Anna", "Nowak", null, null, false));
+            sink.accept(new UserAdminDTO(2, "jan", "jan@example.com", "Jan", "Kowalski", null, null, true));
+        }).write(out);
+
+        String json = out.toString(StandardCharsets.UTF_8.name());
+        assertTrue(json.startsWith("[{"));
+        assertTrue(json.endsWith("}]"));
+        assertTrue(json.contains("\"login\":\"anna\""));
+        assertTrue(json.contains("\"login\":\"jan\""));
+    }
+
+    @Test
+    @DisplayName("Should write an empty array for an empty source")
+    void testEmptySource() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonArrayStream.of(sink -> { }).write(out);
+
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    @DisplayName("Should propagate write errors as IOException")
+    void testWriteErrorPropagates() {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("client went away");
+            }
+        };
+
+        assertThrows(IOException.class, () -> JsonArrayStream.<String>of(sink -> {
+            for (int i = 0; i < 10000; i++) {
+                sink.accept("row " + i);
+            }
+        }).write(failing));
+    }
+}
@@ -0,0 +1,87 @@
+package REST;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.Response;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LoadSheddingFilter - traffic classes, and shedding over HTTP against a stub resource
+ */
+@DisplayName("LoadSheddingFilter Tests")
+class LoadSheddingFilterTest extends JerseyTest {
+
+    private AdaptiveLimiter limiter;
+
+    @Path("/")
+    @Produces("application/json")
+    public static class StubResource {
+        @GET
+        @Path("public/events")
+        public String events() {
+            return "[]";
+        }
+
+        @GET
+        @Path("admin/users")
+        public String users() {
+            return "[]";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        limiter = new AdaptiveLimiter(4, 1, 4, TimeUnit.SECONDS.toNanos(10));
+        return new ResourceConfig()
+                .register(StubResource.class)
+                .register(new LoadSheddingFilter(limiter));
+    }
+
+    @Test
+    @DisplayName("Should classify purchases and logins as critical and admin as lowest")
+    void testClassify() {
+        assertEquals(LoadSheddingFilter.TrafficClass.CRITICAL, LoadSheddingFilter.classify("POST", "auth/login"));
+        assertEquals(LoadSheddingFilter.TrafficClass.CRITICAL, LoadSheddingFilter.classify("POST", "/private/tickets/purchase"));
+        assertEquals(LoadSheddingFilter.TrafficClass.USER, LoadSheddingFilter.classify("GET", "private/tickets"));
+        assertEquals(LoadSheddingFilter.TrafficClass.BROWSING, LoadSheddingFilter.classify("GET", "public/events/1"));
+        assertEquals(LoadSheddingFilter.TrafficClass.ADMIN, LoadSheddingFilter.classify("GET", "admin/users"));
+    }
+
+    @Test
+    @DisplayName("Should pass requests under the limit and give the slot back")
+    void testPassesUnderLimit() {
+        Response response = target("/public/events").request().get();
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After once a class's share of the limit is taken")
+    void testShedsOverLimit() {
+        // 2 of 4 slots busy: admin (50%) is full, browsing (75% -> 3) still has room
+        assertTrue(limiter.tryAcquire(1.0));
+        assertTrue(limiter.tryAcquire(1.0));
+        try {
+            Response admin = target("/admin/users").request().get();
+            assertEquals(503, admin.getStatus());
+            assertEquals(Workload.RETRY_AFTER_SECONDS, admin.getHeaderString("Retry-After"));
+            assertTrue(admin.readEntity(String.class).contains("\"error\""));
+
+            assertEquals(200, target("/public/events").request().get().getStatus());
+        } finally {
+            limiter.release(0, false);
+            limiter.release(0, false);
+        }
+        assertEquals(0, limiter.getInFlight());
+    }
+}
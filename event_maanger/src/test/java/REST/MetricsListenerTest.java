@@ -0,0 +1,69 @@
+package REST;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Application;
+import metrics.MetricsRegistry;
+import metrics.Timer;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTTP tests for MetricsListener against a stub resource, recording into a private registry
+ */
+@DisplayName("MetricsListener Tests")
+class MetricsListenerTest extends JerseyTest {
+
+    private MetricsRegistry registry;
+
+    @Path("/stub")
+    @Produces("application/json")
+    public static class StubResource {
+        @GET
+        @Path("/items/{id}")
+        public void item(@PathParam("id") int id, @Suspended AsyncResponse response) {
+            Workload.PUBLIC_READS.dispatch(response, () -> {
+                if (id == 0) {
+                    throw new IllegalStateException("broken");
+                }
+                return Collections.singletonMap("id", id);
+            });
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        // Called from JerseyTest's constructor, before field initializers run
+        registry = new MetricsRegistry();
+        return new ResourceConfig()
+                .register(StubResource.class)
+                .register(new MetricsListener(registry));
+    }
+
+    @Test
+    @DisplayName("Should time async requests against their resource method and count failures as errors")
+    void testRecordsPerResourceMethod() {
+        assertEquals(200, target("/stub/items/1").request().get().getStatus());
+        assertEquals(200, target("/stub/items/2").request().get().getStatus());
+        assertEquals(500, target("/stub/items/0").request().get().getStatus());
+
+        // FINISHED fires once the response is written, possibly just after the client has read it
+        Timer timer = registry.timer(MetricsRegistry.HTTP, "StubResource.item");
+        long deadline = System.currentTimeMillis() + 2000;
+        while (timer.getCount() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(3, timer.getCount());
+        assertEquals(1, timer.getErrors());
+    }
+}
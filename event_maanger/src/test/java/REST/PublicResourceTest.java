@@ -29,6 +29,7 @@ class PublicResourceTest extends JerseyTest {
     @Override
     protected Application configure() {
         return new ResourceConfig()
+                .register(ServiceFeature.class)
                 .register(PublicResource.class);
     }
 
@@ -0,0 +1,205 @@
+package REST;
+
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseBroadcaster;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.CatalogVersion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RemainingTicketsBroadcaster with in-memory sinks (no database or server needed)
+ */
+@DisplayName("RemainingTicketsBroadcaster Tests")
+class RemainingTicketsBroadcasterTest {
+
+    private static final Sse SSE = new Sse() {
+        @Override
+        public OutboundSseEvent.Builder newEventBuilder() {
+            return new OutboundEvent.Builder();
+        }
+
+        @Override
+        public SseBroadcaster newBroadcaster() {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final Map<Integer, Map<String, Integer>> counts = new ConcurrentHashMap<>();
+    private final AtomicInteger computations = new AtomicInteger();
+    private RemainingTicketsBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        counts.put(1, remaining(10, 2));
+        counts.put(2, remaining(5, 0));
+        broadcaster = new RemainingTicketsBroadcaster(eventId -> {
+            computations.incrementAndGet();
+            return new HashMap<>(counts.get(eventId));
+        }, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    @DisplayName("Should send the full counts to a new watcher")
+    void testSnapshotOnSubscribe() {
+        RecordingSink sink = new RecordingSink();
+        broadcaster.subscribe(1, sink, SSE);
+
+        await(() -> sink.events.size() == 1);
+        assertEquals(RemainingTicketsBroadcaster.EVENT_NAME, sink.events.get(0).getName());
+        assertEquals("{\"REGULAR\":10,\"VIP\":2}", sink.events.get(0).getData());
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst of sales into one computation and one delta per watcher")
+    void testCoalescedDeltaFanOut() throws InterruptedException {
+        List<RecordingSink> sinks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            RecordingSink sink = new RecordingSink();
+            sinks.add(sink);
+            broadcaster.subscribe(1, sink, SSE);
+        }
+        await(() -> broadcaster.watchers(1) == 100);
+        computations.set(0);
+
+        counts.put(1, remaining(7, 2));
+        for (int i = 0; i < 3; i++) {
+            CatalogVersion.inventoryChanged(1);
+        }
+
+        await(() -> sinks.get(99).events.size() == 2);
+        Thread.sleep(150);
+        assertEquals(1, computations.get());
+        for (RecordingSink sink : sinks) {
+            assertEquals(2, sink.events.size());
+            assertEquals("{\"REGULAR\":7}", sink.events.get(1).getData());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not compute anything for events nobody watches")
+    void testUnwatchedEventCostsNothing() throws InterruptedException {
+        RecordingSink sink = new RecordingSink();
+        broadcaster.subscribe(1, sink, SSE);
+        await(() -> sink.events.size() == 1);
+        computations.set(0);
+
+        CatalogVersion.inventoryChanged(2);
+        Thread.sleep(150);
+
+        assertEquals(0, computations.get());
+        assertEquals(1, sink.events.size());
+    }
+
+    @Test
+    @DisplayName("Should keep sending to other events while one event's watcher blocks")
+    void testSlowWatcherBlocksOnlyItsChannel() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink() {
+            @Override
+            public CompletionStage<?> send(OutboundSseEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.send(event);
+            }
+        };
+        RecordingSink other = new RecordingSink();
+        broadcaster.subscribe(1, slow, SSE);
+        broadcaster.subscribe(2, other, SSE);
+        await(() -> other.events.size() == 1);
+
+        counts.put(2, remaining(4, 0));
+        CatalogVersion.inventoryChanged(2);
+        await(() -> other.events.size() == 2);
+        assertEquals(0, slow.events.size(), "still blocked in its first send");
+
+        release.countDown();
+        await(() -> slow.events.size() == 1);
+    }
+
+    @Test
+    @DisplayName("Should drop closed watchers and skip unchanged counts")
+    void testClosedWatcherIsDropped() throws InterruptedException {
+        RecordingSink open = new RecordingSink();
+        RecordingSink closed = new RecordingSink();
+        broadcaster.subscribe(1, open, SSE);
+        broadcaster.subscribe(1, closed, SSE);
+        await(() -> open.events.size() == 1 && closed.events.size() == 1);
+
+        closed.close();
+        CatalogVersion.inventoryChanged(CatalogVersion.ALL_EVENTS);
+        Thread.sleep(150);
+        assertEquals(1, open.events.size());
+
+        counts.put(1, remaining(10, 1));
+        CatalogVersion.inventoryChanged(1);
+        await(() -> open.events.size() == 2);
+        assertEquals("{\"VIP\":1}", open.events.get(1).getData());
+        assertEquals(1, closed.events.size());
+        await(() -> broadcaster.watchers(1) == 1);
+    }
+
+    private static Map<String, Integer> remaining(int regular, int vip) {
+        Map<String, Integer> remaining = new HashMap<>();
+        remaining.put("REGULAR", regular);
+        remaining.put("VIP", vip);
+        return remaining;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 2s");
+            }
+            Thread.yield();
+        }
+    }
+
+    private static class RecordingSink implements SseEventSink {
+        private final List<OutboundSseEvent> events = new CopyOnWriteArrayList<>();
+        private volatile boolean closed;
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public CompletionStage<?> send(OutboundSseEvent event) {
+            events.add(event);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package REST;
+
+import cache.ResponseCache;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.CatalogVersion;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTTP tests for ResponseCacheFilter against a stub resource (no database needed)
+ */
+@DisplayName("ResponseCacheFilter HTTP Tests")
+class ResponseCacheFilterTest extends JerseyTest {
+
+    private static final AtomicInteger CALLS = new AtomicInteger();
+    private static final ResponseCache CACHE = new ResponseCache(ResponseCache.DEFAULT_MAX_BYTES);
+
+    @Path("/stub")
+    @Produces("application/json")
+    public static class StubResource {
+        @GET
+        @Cached
+        @Path("/items/{id}")
+        public Response item(@PathParam("id") int id, @QueryParam("q") String q) {
+            CALLS.incrementAndGet();
+            if (id == 0) {
+                throw new NotFoundException();
+            }
+            return Response.ok("{\"id\":" + id + ",\"q\":\"" + q + "\"}").header("X-Next-Cursor", "c" + id).build();
+        }
+
+        @GET
+        @Cached(eventParam = "eventId")
+        @Path("/events/{eventId}")
+        public String event(@PathParam("eventId") int eventId) {
+            CALLS.incrementAndGet();
+            return "{\"event\":" + eventId + "}";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig()
+                .register(StubResource.class)
+                .register(new ResponseCacheFilter(CACHE));
+    }
+
+    @BeforeEach
+    void reset() {
+        CACHE.clear();
+        CALLS.set(0);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated GETs from the cache with the same body, ETag and headers")
+    void testSecondRequestIsHit() {
+        Response first = target("/stub/items/1").queryParam("q", "x").request().get();
+        Response second = target("/stub/items/1").queryParam("q", "x").request().get();
+
+        assertEquals(200, second.getStatus());
+        assertEquals("MISS", first.getHeaderString("X-Cache"));
+        assertEquals("HIT", second.getHeaderString("X-Cache"));
+        assertEquals(first.getEntityTag(), second.getEntityTag());
+        assertEquals("{\"id\":1,\"q\":\"x\"}", second.readEntity(String.class));
+        assertEquals("c1", second.getHeaderString("X-Next-Cursor"));
+        assertEquals(1, CALLS.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when If-None-Match carries the current ETag")
+    void testNotModified() {
+        Response first = target("/stub/items/2").request().get();
+        String etag = first.getHeaderString(HttpHeaders.ETAG);
+
+        Response revalidated = target("/stub/items/2").request().header(HttpHeaders.IF_NONE_MATCH, etag).get();
+
+        assertEquals(304, revalidated.getStatus());
+        assertEquals(etag, revalidated.getHeaderString(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should render again after the catalog changes")
+    void testCatalogChangeInvalidates() {
+        target("/stub/items/3").request().get().close();
+        CatalogVersion.catalogChanged();
+        Response after = target("/stub/items/3").request().get();
+
+        assertEquals("MISS", after.getHeaderString("X-Cache"));
+        assertEquals(2, CALLS.get());
+    }
+
+    @Test
+    @DisplayName("Should not let an encoded & or = in a value share an entry with separate parameters")
+    void testEncodedQueryIsNotConfused() {
+        Response encoded = target("/stub/items/4").queryParam("q", "1%26r%3D2").request().get();
+        Response split = target("/stub/items/4").queryParam("q", "1").queryParam("r", "2").request().get();
+
+        assertEquals("{\"id\":4,\"q\":\"1&r=2\"}", encoded.readEntity(String.class));
+        assertEquals("MISS", split.getHeaderString("X-Cache"));
+        assertEquals("{\"id\":4,\"q\":\"1\"}", split.readEntity(String.class));
+        assertEquals(2, CALLS.get());
+    }
+
+    @Test
+    @DisplayName("Should keep a per-event entry when tickets of another event are sold")
+    void testPerEventInventory() {
+        target("/stub/events/101").request().get().close();
+        target("/stub/items/5").request().get().close();
+        CatalogVersion.inventoryChanged(102);
+
+        assertEquals("HIT", target("/stub/events/101").request().get().getHeaderString("X-Cache"));
+        assertEquals("MISS", target("/stub/items/5").request().get().getHeaderString("X-Cache"),
+                "entries without an event parameter follow every sale");
+
+        CatalogVersion.inventoryChanged(101);
+        assertEquals("MISS", target("/stub/events/101").request().get().getHeaderString("X-Cache"));
+        CatalogVersion.inventoryChanged();
+        assertEquals("MISS", target("/stub/events/101").request().get().getHeaderString("X-Cache"));
+    }
+
+    @Test
+    @DisplayName("Should not cache error responses")
+    void testErrorsAreNotCached() {
+        assertEquals(404, target("/stub/items/0").request().get().getStatus());
+        assertEquals(404, target("/stub/items/0").request().get().getStatus());
+
+        assertEquals(2, CALLS.get());
+        assertEquals(0, CACHE.size());
+    }
+}
@@ -0,0 +1,51 @@
+package REST;
+
+import dao.TicketDAO;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.EventService;
+import service.TicketService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ServiceBinder - resolved through a plain HK2 locator, no server or database needed
+ */
+@DisplayName("ServiceBinder Tests")
+class ServiceBinderTest {
+
+    private ServiceLocator locator;
+
+    @BeforeEach
+    void setUp() {
+        locator = ServiceLocatorUtilities.bind(new ServiceBinder());
+    }
+
+    @AfterEach
+    void tearDown() {
+        locator.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hand out the same service and DAO instances on every lookup")
+    void testSingletons() {
+        assertSame(locator.getService(EventService.class), locator.getService(EventService.class));
+        assertSame(locator.getService(TicketService.class), locator.getService(TicketService.class));
+        assertSame(locator.getService(TicketDAO.class), locator.getService(TicketDAO.class));
+        assertSame(locator.getService(RemainingTicketsBroadcaster.class),
+                locator.getService(RemainingTicketsBroadcaster.class));
+    }
+
+    @Test
+    @DisplayName("Should satisfy every resource's @Inject constructor from the bound services")
+    void testResourcesCanBeInjected() {
+        assertNotNull(locator.createAndInitialize(PublicResource.class));
+        assertNotNull(locator.createAndInitialize(AdminResource.class));
+        assertNotNull(locator.createAndInitialize(AuthenticatedUserResource.class));
+        assertNotNull(locator.createAndInitialize(AuthResource.class));
+    }
+}
@@ -0,0 +1,223 @@
+package REST;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.container.TimeoutHandler;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Workload dispatch - over HTTP against a stub resource, and saturation with a recording AsyncResponse
+ */
+@DisplayName("Workload Tests")
+class WorkloadTest extends JerseyTest {
+
+    @Path("/stub")
+    @Produces("application/json")
+    public static class StubResource {
+        @GET
+        @Path("/items/{id}")
+        public void item(@PathParam("id") int id, @Context UriInfo uriInfo, @Suspended AsyncResponse response) {
+            Workload.PUBLIC_READS.dispatch(response, () -> {
+                if (id == 0) {
+                    throw new NotFoundException("Item not found");
+                }
+                return Collections.singletonMap("path", uriInfo.getPath() + " on " + Thread.currentThread().getName());
+            });
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig().register(StubResource.class);
+    }
+
+    @Test
+    @DisplayName("Should run the work on the workload executor and resume with its result")
+    void testDispatchResumesWithResult() {
+        Response response = target("/stub/items/1").request().get();
+
+        assertEquals(200, response.getStatus());
+        String body = response.readEntity(String.class);
+        assertTrue(body.contains("stub/items/1 on workload-public-"), body);
+    }
+
+    @Test
+    @DisplayName("Should map exceptions thrown by the work like exceptions of the resource method")
+    void testDispatchResumesWithException() {
+        assertEquals(404, target("/stub/items/0").request().get().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when the workload's threads and queue are full")
+    void testRejectsWhenSaturated() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        int capacity = 2 + 20; // ADMIN threads + queue
+        RecordingAsyncResponse[] accepted = new RecordingAsyncResponse[capacity];
+        try {
+            for (int i = 0; i < capacity; i++) {
+                accepted[i] = new RecordingAsyncResponse();
+                Workload.ADMIN.dispatch(accepted[i], () -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return "done";
+                });
+            }
+            RecordingAsyncResponse rejected = new RecordingAsyncResponse();
+            Workload.ADMIN.dispatch(rejected, () -> "never");
+
+            Response response = (Response) rejected.resumed;
+            assertEquals(503, response.getStatus());
+            assertEquals(Workload.RETRY_AFTER_SECONDS, response.getHeaderString("Retry-After"));
+        } finally {
+            release.countDown();
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Workload.ADMIN.active() + Workload.ADMIN.queued() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        for (RecordingAsyncResponse response : accepted) {
+            assertEquals("done", response.resumed);
+        }
+    }
+
+    @Test
+    @DisplayName("Should time out queued work with 503 but let started work finish")
+    void testTimeoutOnlyWhileQueued() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        RecordingAsyncResponse running = new RecordingAsyncResponse();
+        RecordingAsyncResponse queued = new RecordingAsyncResponse();
+        try {
+            Workload.PURCHASES.dispatch(running, () -> {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return "sold";
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Workload.PURCHASES.dispatch(queued, () -> {
+                queuedRan.set(true);
+                return "sold twice";
+            });
+
+            running.timeoutHandler.handleTimeout(running);
+            queued.timeoutHandler.handleTimeout(queued);
+
+            assertNull(running.resumed, "started work is not answered with 503");
+            assertEquals(2, running.timeoutsSet, "the timeout is extended instead");
+            assertEquals(503, ((Response) queued.resumed).getStatus());
+        } finally {
+            release.countDown();
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (running.resumed == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("sold", running.resumed);
+        Thread.sleep(50);
+        assertFalse(queuedRan.get(), "timed-out work never runs");
+    }
+
+    /**
+     * Only what Workload.dispatch uses: timeout settings and handler, isDone and resume
+     */
+    private static final class RecordingAsyncResponse implements AsyncResponse {
+        private volatile Object resumed;
+        private volatile TimeoutHandler timeoutHandler;
+        private volatile int timeoutsSet;
+
+        @Override
+        public boolean resume(Object response) {
+            resumed = response;
+            return true;
+        }
+
+        @Override
+        public boolean resume(Throwable response) {
+            resumed = response;
+            return true;
+        }
+
+        @Override
+        public boolean cancel() {
+            return false;
+        }
+
+        @Override
+        public boolean cancel(int retryAfter) {
+            return false;
+        }
+
+        @Override
+        public boolean cancel(Date retryAfter) {
+            return false;
+        }
+
+        @Override
+        public boolean isSuspended() {
+            return resumed == null;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return resumed != null;
+        }
+
+        @Override
+        public boolean setTimeout(long time, TimeUnit unit) {
+            timeoutsSet++;
+            return true;
+        }
+
+        @Override
+        public void setTimeoutHandler(TimeoutHandler handler) {
+            timeoutHandler = handler;
+        }
+
+        @Override
+        public Collection<Class<?>> register(Class<?> callback) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Map<Class<?>, Collection<Class<?>>> register(Class<?> callback, Class<?>... callbacks) {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Collection<Class<?>> register(Object callback) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Map<Class<?>, Collection<Class<?>>> register(Object callback, Object... callbacks) {
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResponseCache
+ */
+class ResponseCacheTest {
+
+    private static byte[] body(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testEntryIsReturnedOnlyForItsVersions() {
+        ResponseCache cache = new ResponseCache(1024 * 1024);
+        cache.put("public/events", "application/json", Collections.emptyMap(), body("[]"), 3, 7, new Versions(3, 7));
+
+        assertNotNull(cache.get("public/events", 3, 7));
+        assertNull(cache.get("public/events", 4, 7));
+        assertNull(cache.get("public/events", 3, 8));
+        assertNull(cache.get("public/events/1", 3, 7));
+        assertEquals(1, cache.hits());
+        assertEquals(3, cache.misses());
+    }
+
+    @Test
+    void testEtagDependsOnContentOnly() {
+        ResponseCache cache = new ResponseCache(1024 * 1024);
+        String first = cache.put("a", "application/json", Collections.emptyMap(), body("{\"id\":1}"), 1, 1, new Versions(1, 1)).getEtag();
+        String same = cache.put("b", "application/json", Collections.emptyMap(), body("{\"id\":1}"), 2, 2, new Versions(2, 2)).getEtag();
+        String other = cache.put("c", "application/json", Collections.emptyMap(), body("{\"id\":2}"), 2, 2, new Versions(2, 2)).getEtag();
+
+        assertEquals(first, same);
+        assertNotEquals(first, other);
+        assertEquals(16, first.length());
+    }
+
+    @Test
+    void testByteBudgetEvictsStaleEntriesFirst() {
+        ResponseCache cache = new ResponseCache(4000);
+        byte[] kilobyte = new byte[1000];
+        Versions versions = new Versions(1, 1);
+        cache.put("old", "application/json", Collections.emptyMap(), kilobyte, 1, 1, versions);
+        versions.catalog = 2;
+        cache.put("current1", "application/json", Collections.emptyMap(), kilobyte, 2, 1, versions);
+        cache.put("current2", "application/json", Collections.emptyMap(), kilobyte, 2, 1, versions);
+        cache.put("current3", "application/json", Collections.emptyMap(), kilobyte, 2, 1, versions);
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("old", 1, 1));
+        assertNotNull(cache.get("current3", 2, 1));
+        assertTrue(cache.bytes() <= 4000);
+    }
+
+    @Test
+    void testEntriesAreStaleOnlyAgainstTheirOwnVersions() {
+        ResponseCache cache = new ResponseCache(4000);
+        byte[] kilobyte = new byte[1000];
+        Versions all = new Versions(1, 10);
+        Versions event1 = new Versions(1, 3);
+        Versions event2 = new Versions(1, 5);
+        cache.put("public/events", "application/json", Collections.emptyMap(), kilobyte, 1, 10, all);
+        cache.put("public/events/1", "application/json", Collections.emptyMap(), kilobyte, 1, 3, event1);
+        cache.put("public/events/2", "application/json", Collections.emptyMap(), kilobyte, 1, 5, event2);
+        event2.inventory = 11;
+        cache.put("public/events/2", "application/json", Collections.emptyMap(), kilobyte, 1, 11, event2);
+        all.inventory = 11;
+        cache.put("public/events?page=2", "application/json", Collections.emptyMap(), kilobyte, 1, 11, all);
+
+        // only the global listing rendered at inventory 10 is stale; event 1's entry is still current
+        assertNull(cache.get("public/events", 1, 10));
+        assertNotNull(cache.get("public/events/1", 1, 3));
+        assertNotNull(cache.get("public/events/2", 1, 11));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testCompressedVariantsCountTowardsTheBudget() {
+        ResponseCache cache = new ResponseCache(4000);
+        Versions versions = new Versions(1, 1);
+        ResponseCache.Entry first = cache.put("a", "application/json", Collections.emptyMap(), new byte[1000], 1, 1, versions);
+        cache.put("b", "application/json", Collections.emptyMap(), new byte[1000], 1, 1, versions);
+        versions.catalog = 2;
+        cache.put("c", "application/json", Collections.emptyMap(), new byte[1000], 2, 1, versions);
+
+        cache.encodedBody(first, "gzip", body -> new byte[2000]);
+
+        assertTrue(cache.bytes() <= 4000, "adding the variant evicts the stale entries");
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Mutable VersionSource standing in for CatalogVersion
+     */
+    private static final class Versions implements ResponseCache.VersionSource {
+        private long catalog;
+        private long inventory;
+
+        Versions(long catalog, long inventory) {
+            this.catalog = catalog;
+            this.inventory = inventory;
+        }
+
+        @Override
+        public long catalog() {
+            return catalog;
+        }
+
+        @Override
+        public long inventory() {
+            return inventory;
+        }
+    }
+}
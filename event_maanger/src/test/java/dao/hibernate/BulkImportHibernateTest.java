@@ -0,0 +1,149 @@
+package dao.hibernate;
+
+import dto.ImportRecord;
+import model.Event;
+import model.Ticket;
+import model.User;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ticket rules of BulkImportHibernate against an SQLite file
+ */
+@DisplayName("BulkImportHibernate Tests")
+class BulkImportHibernateTest {
+
+    @TempDir
+    static File directory;
+
+    private final BulkImportHibernate importDAO = new BulkImportHibernate();
+    private String login;
+    private String eventName;
+
+    @BeforeAll
+    static void setUp() {
+        String url = "jdbc:sqlite:" + new File(directory, "import.sqlite").getPath();
+        HibernateSessionFactory.configuration()
+                .setProperty(AvailableSettings.URL, url)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .buildSessionFactory()
+                .close();
+        HibernateSessionFactory.closeSessionFactory();
+        System.setProperty(HibernateSessionFactory.DATABASE_URL, url);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        HibernateSessionFactory.closeSessionFactory();
+        System.clearProperty(HibernateSessionFactory.DATABASE_URL);
+    }
+
+    @BeforeEach
+    void addUser() {
+        login = "buyer" + System.nanoTime();
+        eventName = "Event " + System.nanoTime();
+        User user = new User(login, "Jan", "Nowak", login + "@example.com", null, null);
+        HibernateSessionFactory.getSessionFactory().inTransaction(session -> session.persist(user));
+    }
+
+    @Test
+    @DisplayName("Should reject a ticket type the event does not sell")
+    void testUnknownTier() {
+        addEvent(false, 10);
+
+        assertEquals(Arrays.asList("Ticket type Balcony is not sold for event: " + eventName, null),
+                importDAO.importChunk(Arrays.asList(ticket("Balcony", null), ticket("Standard", null))));
+        assertEquals(1, sold());
+    }
+
+    @Test
+    @DisplayName("Should reject rows over the quantity, counting tickets sold and rows earlier in the chunk")
+    void testOverQuantity() {
+        int eventId = addEvent(false, 3);
+        HibernateSessionFactory.getSessionFactory().inTransaction(session -> session.persist(new Ticket(
+                session.getReference(Event.class, eventId),
+                session.createQuery("FROM User WHERE login = :login", User.class).setParameter("login", login).getSingleResult(),
+                "Standard", 20.0)));
+
+        assertEquals(Arrays.asList(null, null, "Tickets of type Standard are sold out for event: " + eventName),
+                importDAO.importChunk(Arrays.asList(ticket("Standard", null), ticket("Standard", null),
+                        ticket("Standard", null))));
+        assertEquals(3, sold());
+    }
+
+    @Test
+    @DisplayName("Should require seats for numbered events and refuse them for the others")
+    void testSeats() {
+        addEvent(false, 10);
+        String unnumbered = eventName;
+        eventName = "Numbered " + System.nanoTime();
+        addEvent(true, 10);
+
+        ImportRecord seatForUnnumbered = ticket("Standard", "A1");
+        seatForUnnumbered.setEventName(unnumbered);
+        assertEquals(Arrays.asList("Event has no numbered seats: " + unnumbered,
+                        "Seat number is required for event: " + eventName, null),
+                importDAO.importChunk(Arrays.asList(seatForUnnumbered, ticket("Standard", null), ticket("Standard", "A1"))));
+        assertEquals(1, sold());
+    }
+
+    @Test
+    @DisplayName("Should apply the tiers of events created earlier in the same chunk")
+    void testTiersFromChunk() {
+        ImportRecord event = new ImportRecord(1, ImportRecord.TYPE_EVENT);
+        event.setName(eventName);
+        event.getTicketPrices().put("Standard", 20.0);
+        event.getTicketQuantities().put("Standard", 1);
+        ImportRecord tier = new ImportRecord(2, ImportRecord.TYPE_PRICE);
+        tier.setEventName(eventName);
+        tier.setTicketType("VIP");
+        tier.setPrice(90.0);
+        tier.setQuantity(1);
+
+        assertEquals(Arrays.asList(null, null, null, null, "Tickets of type VIP are sold out for event: " + eventName),
+                importDAO.importChunk(Arrays.asList(event, tier, ticket("Standard", null), ticket("VIP", null),
+                        ticket("VIP", null))));
+        assertEquals(2, sold());
+    }
+
+    private int addEvent(boolean numberedSeats, int quantity) {
+        Event event = new Event(eventName, "", null, null, "2030-01-01", "2030-01-01", numberedSeats);
+        Map<String, Double> prices = new HashMap<>();
+        prices.put("Standard", 20.0);
+        Map<String, Integer> quantities = new HashMap<>();
+        quantities.put("Standard", quantity);
+        event.setTicketPrices(prices);
+        event.setTicketQuantities(quantities);
+        HibernateSessionFactory.getSessionFactory().inTransaction(session -> session.persist(event));
+        return event.getId();
+    }
+
+    private ImportRecord ticket(String ticketType, String seatNumber) {
+        ImportRecord record = new ImportRecord(1, ImportRecord.TYPE_TICKET);
+        record.setEventName(eventName);
+        record.setUserLogin(login);
+        record.setTicketType(ticketType);
+        record.setPrice(20.0);
+        record.setSeatNumber(seatNumber);
+        return record;
+    }
+
+    private long sold() {
+        return HibernateSessionFactory.getSessionFactory().fromSession(session -> session.createQuery(
+                        "SELECT COUNT(t) FROM Ticket t WHERE t.user.login = :login", Long.class)
+                .setParameter("login", login)
+                .getSingleResult());
+    }
+}
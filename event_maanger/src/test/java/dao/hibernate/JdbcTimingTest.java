@@ -0,0 +1,63 @@
+package dao.hibernate;
+
+import metrics.SlowQueryLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcTiming against an in-memory SQLite database
+ */
+@DisplayName("JdbcTiming Tests")
+class JdbcTimingTest {
+
+    @Test
+    @DisplayName("Should log executed statements with their bound parameters")
+    void testRecordsParameters() throws Exception {
+        SlowQueryLog log = new SlowQueryLog(0);
+        try (Connection raw = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            Connection connection = JdbcTiming.wrap(raw, log);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table tickets (id integer, ticket_type varchar(20))");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("insert into tickets values (?, ?)")) {
+                insert.setInt(1, 7);
+                insert.setString(2, "VIP");
+                assertEquals(1, insert.executeUpdate());
+            }
+            try (PreparedStatement select = connection.prepareStatement("select ticket_type from tickets where id = ?")) {
+                select.setInt(1, 7);
+                try (ResultSet rows = select.executeQuery()) {
+                    assertTrue(rows.next());
+                    assertEquals("VIP", rows.getString(1));
+                }
+            }
+            assertSame(raw, JdbcTiming.unwrap(connection));
+        }
+
+        List<Map<String, Object>> recent = log.recent();
+        assertEquals(3, recent.size());
+        assertEquals("select ticket_type from tickets where id = ?", recent.get(0).get("sql"));
+        assertEquals(Arrays.asList("7"), recent.get(0).get("parameters"));
+        assertEquals(Arrays.asList("7", "VIP"), recent.get(1).get("parameters"));
+        assertEquals("create table tickets (id integer, ticket_type varchar(20))", recent.get(2).get("sql"));
+    }
+
+    @Test
+    @DisplayName("Should pass unwrapped connections through unchanged")
+    void testUnwrapPlainConnection() throws Exception {
+        try (Connection raw = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            assertSame(raw, JdbcTiming.unwrap(raw));
+        }
+    }
+}
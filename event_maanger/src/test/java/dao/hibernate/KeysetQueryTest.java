@@ -0,0 +1,111 @@
+package dao.hibernate;
+
+import model.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KeysetQuery against an SQLite file
+ */
+@DisplayName("KeysetQuery Tests")
+class KeysetQueryTest {
+
+    /** last names in id order, with NULLs before, between and after the duplicates */
+    private static final String[] LAST_NAMES = {"Nowak", null, "Kowalski", "", null, "Nowak", "Adamczyk", null, "Nowak"};
+
+    @TempDir
+    static File directory;
+
+    private static SessionFactory factory;
+
+    @BeforeAll
+    static void setUp() {
+        factory = HibernateSessionFactory.configuration()
+                .setProperty(AvailableSettings.URL, "jdbc:sqlite:" + new File(directory, "keyset.sqlite").getPath())
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .buildSessionFactory();
+        factory.inTransaction(session -> {
+            for (int i = 0; i < LAST_NAMES.length; i++) {
+                session.persist(new User("user" + i, "First", LAST_NAMES[i], "user" + i + "@example.com", null, null));
+            }
+        });
+    }
+
+    @AfterAll
+    static void tearDown() {
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("Should page through NULL and duplicate sort values without skipping or repeating rows")
+    void testPagesWithNulls() {
+        List<User> expected = factory.fromSession(session -> session.createQuery(
+                "FROM User ORDER BY lastName, id", User.class).list());
+        assertNull(expected.get(0).getLastName(), "NULLs sort first");
+
+        for (int pageSize = 1; pageSize <= 4; pageSize++) {
+            assertEquals(ids(expected), ids(pages("lastName", pageSize)), "page size " + pageSize);
+        }
+        assertEquals(ids(expected).size(), LAST_NAMES.length);
+    }
+
+    @Test
+    @DisplayName("Should page by id when there is no sort field")
+    void testPagesById() {
+        List<Integer> ids = ids(pages(null, 2));
+
+        List<Integer> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertEquals(sorted, ids);
+        assertEquals(LAST_NAMES.length, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should reject sort fields that are not plain attribute names")
+    void testInvalidSortField() {
+        try (Session session = factory.openSession()) {
+            assertThrows(IllegalArgumentException.class, () -> KeysetQuery.create(session, User.class, "User",
+                    null, null, "id; DROP TABLE users", null, null, 10));
+        }
+    }
+
+    private static List<User> pages(String sortField, int pageSize) {
+        List<User> all = new ArrayList<>();
+        try (Session session = factory.openSession()) {
+            String afterKey = null;
+            Integer afterId = null;
+            while (true) {
+                List<User> page = KeysetQuery.create(session, User.class, "User", null, null,
+                        sortField, afterKey, afterId, pageSize).list();
+                all.addAll(page);
+                if (page.size() < pageSize || all.size() > LAST_NAMES.length) {
+                    return all;
+                }
+                User last = page.get(page.size() - 1);
+                afterKey = sortField != null ? last.getLastName() : null;
+                afterId = last.getId();
+            }
+        }
+    }
+
+    private static List<Integer> ids(List<User> users) {
+        Integer[] ids = new Integer[users.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = users.get(i).getId();
+        }
+        return Arrays.asList(ids);
+    }
+}
@@ -0,0 +1,103 @@
+package dao.hibernate;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SqliteProfile against an SQLite file
+ */
+@DisplayName("SqliteProfile Tests")
+class SqliteProfileTest {
+
+    @TempDir
+    File directory;
+
+    @AfterEach
+    void clearProperties() {
+        System.clearProperty(SqliteProfile.PROFILE_SWITCH);
+        System.clearProperty("sqlite.mmap_size");
+        SqliteProfile.clearEffective();
+    }
+
+    @Test
+    @DisplayName("Should pick the profile from -Dsqlite.profile, durable by default")
+    void testSelected() {
+        assertEquals(SqliteProfile.DURABLE, SqliteProfile.selected());
+
+        System.setProperty(SqliteProfile.PROFILE_SWITCH, "Throughput");
+        assertEquals(SqliteProfile.THROUGHPUT, SqliteProfile.selected());
+
+        System.setProperty(SqliteProfile.PROFILE_SWITCH, "fast");
+        assertThrows(IllegalArgumentException.class, SqliteProfile::selected);
+    }
+
+    @Test
+    @DisplayName("Should let a system property override a single PRAGMA of the profile")
+    void testOverride() {
+        System.setProperty("sqlite.mmap_size", "0");
+
+        Map<String, String> settings = SqliteProfile.THROUGHPUT.settings();
+
+        assertEquals("0", settings.get("mmap_size"));
+        assertEquals("NORMAL", settings.get("synchronous"));
+        assertEquals(SqliteProfile.PRAGMAS, new ArrayList<>(settings.keySet()));
+    }
+
+    @Test
+    @DisplayName("Should apply the profile to every pooled connection")
+    void testApplied() {
+        Configuration configuration = new Configuration()
+                .setProperty(AvailableSettings.URL, "jdbc:sqlite:" + new File(directory, "profile.sqlite").getPath())
+                .setProperty(AvailableSettings.DIALECT, "org.hibernate.community.dialect.SQLiteDialect")
+                .setProperty(AvailableSettings.POOL_SIZE, "2");
+        SqliteProfile.THROUGHPUT.apply(configuration);
+
+        try (SessionFactory factory = configuration.buildSessionFactory();
+             Session first = factory.openSession();
+             Session second = factory.openSession()) {
+            Map<String, Object> pragmas = first.doReturningWork(SqliteProfile::read);
+            assertEquals("wal", pragmas.get("journal_mode"));
+            assertEquals(1, pragmas.get("synchronous"), "NORMAL");
+            assertEquals(-64 * 1024, pragmas.get("cache_size"));
+            assertEquals(256L * 1024 * 1024, ((Number) pragmas.get("mmap_size")).longValue());
+            assertEquals(2, pragmas.get("temp_store"), "MEMORY");
+            assertEquals(5000, pragmas.get("busy_timeout"));
+            assertEquals(pragmas, second.doReturningWork(SqliteProfile::read), "the second connection has them too");
+        }
+    }
+
+    @Test
+    @DisplayName("Should report the PRAGMAs read when the SessionFactory was built without using the pool")
+    @SuppressWarnings("unchecked")
+    void testStatusCached() {
+        assertNull(SqliteProfile.status().get("effective"));
+        Configuration configuration = new Configuration()
+                .setProperty(AvailableSettings.URL, "jdbc:sqlite:" + new File(directory, "status.sqlite").getPath())
+                .setProperty(AvailableSettings.DIALECT, "org.hibernate.community.dialect.SQLiteDialect");
+        SqliteProfile.DURABLE.apply(configuration);
+
+        try (SessionFactory factory = configuration.buildSessionFactory()) {
+            SqliteProfile.readEffective(factory);
+        }
+
+        // the factory is closed - the values can only come from the cache
+        Map<String, Object> status = SqliteProfile.status();
+        assertEquals("durable", status.get("profile"));
+        Map<String, Object> effective = (Map<String, Object>) status.get("effective");
+        assertEquals("wal", effective.get("journal_mode"));
+        assertEquals(2, effective.get("synchronous"), "FULL");
+        assertNull(status.get("error"));
+    }
+}
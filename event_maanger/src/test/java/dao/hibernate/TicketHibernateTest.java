@@ -0,0 +1,142 @@
+package dao.hibernate;
+
+import model.Event;
+import model.Ticket;
+import model.User;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the single-transaction sale in TicketHibernate.purchaseTicket against an SQLite file
+ */
+@DisplayName("TicketHibernate purchase Tests")
+class TicketHibernateTest {
+
+    private static final String TODAY = "2030-01-01";
+
+    @TempDir
+    static File directory;
+
+    private final TicketHibernate ticketDAO = new TicketHibernate();
+    private int userId;
+
+    @BeforeAll
+    static void setUp() {
+        String url = "jdbc:sqlite:" + new File(directory, "tickets.sqlite").getPath();
+        HibernateSessionFactory.configuration()
+                .setProperty(AvailableSettings.URL, url)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .buildSessionFactory()
+                .close();
+        HibernateSessionFactory.closeSessionFactory();
+        System.setProperty(HibernateSessionFactory.DATABASE_URL, url);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        HibernateSessionFactory.closeSessionFactory();
+        System.clearProperty(HibernateSessionFactory.DATABASE_URL);
+    }
+
+    @BeforeEach
+    void addUser() {
+        User user = new User("buyer" + System.nanoTime(), "Jan", "Nowak", "jan@example.com", null, null);
+        HibernateSessionFactory.getSessionFactory().inTransaction(session -> session.persist(user));
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("Should sell at the tier's price with the event's validity and the trimmed seat")
+    void testSold() {
+        int eventId = addEvent(true, 2);
+
+        Ticket ticket = ticketDAO.purchaseTicket(eventId, userId, "Standard", " A1 ", TODAY);
+
+        assertEquals(45.0, ticket.getPrice());
+        assertEquals("A1", ticket.getSeatNumber());
+        assertEquals("2030-05-01", ticket.getValidFromDate());
+        assertEquals(TODAY, ticket.getPurchaseDate());
+        assertEquals(1, sold(eventId));
+    }
+
+    @Test
+    @DisplayName("Should reject a ticket type the event does not sell")
+    void testUnknownTier() {
+        int eventId = addEvent(false, 2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketDAO.purchaseTicket(eventId, userId, "Balcony", null, TODAY));
+        assertEquals(0, sold(eventId));
+    }
+
+    @Test
+    @DisplayName("Should require a free seat for numbered events and ignore seats for the others")
+    void testSeats() {
+        int numbered = addEvent(true, 5);
+        int unnumbered = addEvent(false, 5);
+        ticketDAO.purchaseTicket(numbered, userId, "Standard", "A1", TODAY);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketDAO.purchaseTicket(numbered, userId, "Standard", " ", TODAY));
+        IllegalStateException taken = assertThrows(IllegalStateException.class,
+                () -> ticketDAO.purchaseTicket(numbered, userId, "Standard", "A1", TODAY));
+        assertTrue(taken.getMessage().contains("already taken"), taken.getMessage());
+        assertEquals(1, sold(numbered));
+
+        assertNull(ticketDAO.purchaseTicket(unnumbered, userId, "Standard", "A1", TODAY).getSeatNumber());
+    }
+
+    @Test
+    @DisplayName("Should refuse to sell past the tier's quantity")
+    void testSoldOut() {
+        int eventId = addEvent(false, 2);
+        ticketDAO.purchaseTicket(eventId, userId, "Standard", null, TODAY);
+        ticketDAO.purchaseTicket(eventId, userId, "Standard", null, TODAY);
+
+        IllegalStateException soldOut = assertThrows(IllegalStateException.class,
+                () -> ticketDAO.purchaseTicket(eventId, userId, "Standard", null, TODAY));
+
+        assertTrue(soldOut.getMessage().contains("sold out"), soldOut.getMessage());
+        assertEquals(2, sold(eventId));
+    }
+
+    @Test
+    @DisplayName("Should return null for a missing event or user")
+    void testMissing() {
+        int eventId = addEvent(false, 2);
+
+        assertNull(ticketDAO.purchaseTicket(eventId + 1000, userId, "Standard", null, TODAY));
+        assertNull(ticketDAO.purchaseTicket(eventId, userId + 1000, "Standard", null, TODAY));
+        assertEquals(0, sold(eventId));
+    }
+
+    private static int addEvent(boolean numberedSeats, int quantity) {
+        Event event = new Event("Event " + System.nanoTime(), "", null, null, "2030-05-01", "2030-05-02", numberedSeats);
+        Map<String, Double> prices = new HashMap<>();
+        prices.put("Standard", 45.0);
+        Map<String, Integer> quantities = new HashMap<>();
+        quantities.put("Standard", quantity);
+        event.setTicketPrices(prices);
+        event.setTicketQuantities(quantities);
+        HibernateSessionFactory.getSessionFactory().inTransaction(session -> session.persist(event));
+        return event.getId();
+    }
+
+    private static long sold(int eventId) {
+        return HibernateSessionFactory.getSessionFactory().fromSession(session -> session.createQuery(
+                        "SELECT COUNT(t) FROM Ticket t WHERE t.event.id = :eventId", Long.class)
+                .setParameter("eventId", eventId)
+                .getSingleResult());
+    }
+}
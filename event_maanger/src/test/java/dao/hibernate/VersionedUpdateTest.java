@@ -0,0 +1,113 @@
+package dao.hibernate;
+
+import jakarta.persistence.OptimisticLockException;
+import model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VersionedUpdate against an SQLite file, through the shared SessionFactory like the DAOs
+ */
+@DisplayName("VersionedUpdate Tests")
+class VersionedUpdateTest {
+
+    @TempDir
+    static File directory;
+
+    private int userId;
+
+    @BeforeAll
+    static void setUp() {
+        String url = "jdbc:sqlite:" + new File(directory, "versioned.sqlite").getPath();
+        HibernateSessionFactory.configuration()
+                .setProperty(AvailableSettings.URL, url)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .buildSessionFactory()
+                .close();
+        HibernateSessionFactory.closeSessionFactory();
+        System.setProperty(HibernateSessionFactory.DATABASE_URL, url);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        HibernateSessionFactory.closeSessionFactory();
+        System.clearProperty(HibernateSessionFactory.DATABASE_URL);
+    }
+
+    @BeforeEach
+    void addUser() {
+        User user = new User("user" + System.nanoTime(), "Jan", "Nowak", "jan@example.com", null, null);
+        HibernateSessionFactory.getSessionFactory().inTransaction(session -> session.persist(user));
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("Should write the changes and bump the version")
+    void testBumpsVersion() {
+        User updated = patch(0, user -> user.setEmail("nowak@example.com"));
+
+        assertEquals(1, updated.getVersion());
+        User stored = stored();
+        assertEquals("nowak@example.com", stored.getEmail());
+        assertEquals("Nowak", stored.getLastName());
+        assertEquals(1, stored.getVersion());
+
+        assertEquals(2, patch(null, user -> user.setLastName("Kowalski")).getVersion(), "null skips the check");
+    }
+
+    @Test
+    @DisplayName("Should reject a stale expected version and write nothing")
+    void testStaleVersion() {
+        patch(0, user -> user.setEmail("first@example.com"));
+
+        OptimisticLockException e = assertThrows(OptimisticLockException.class,
+                () -> patch(0, user -> user.setEmail("second@example.com")));
+
+        assertTrue(e.getMessage().contains("has version 1, expected 0"), e.getMessage());
+        User stored = stored();
+        assertEquals("first@example.com", stored.getEmail());
+        assertEquals(1, stored.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should roll back when the changes fail validation")
+    void testInvalidChanges() {
+        assertThrows(IllegalArgumentException.class, () -> patch(0, user -> {
+            user.setEmail("half@example.com");
+            throw new IllegalArgumentException("login must not be empty");
+        }));
+
+        User stored = stored();
+        assertEquals("jan@example.com", stored.getEmail());
+        assertEquals(0, stored.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should return null for a missing entity without calling the changes")
+    void testMissingEntity() {
+        User missing = VersionedUpdate.apply(User.class, userId + 1000, 0, User::getVersion,
+                user -> fail("no entity to change"), "user");
+
+        assertNull(missing);
+    }
+
+    private User patch(Integer expectedVersion, Consumer<User> changes) {
+        return VersionedUpdate.apply(User.class, userId, expectedVersion, User::getVersion, changes, "user");
+    }
+
+    private User stored() {
+        SessionFactory factory = HibernateSessionFactory.getSessionFactory();
+        return factory.fromSession(session -> session.get(User.class, userId));
+    }
+}
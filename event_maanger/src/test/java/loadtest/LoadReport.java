@@ -0,0 +1,198 @@
+package loadtest;
+
+import metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counts per scenario, exported as a JSON-ready map and compared against a baseline run
+ * Latencies are of whole scenario iterations (all requests a virtual user makes for it)
+ */
+final class LoadReport {
+
+    /** Result of one scenario iteration; the worst response decides */
+    enum Outcome {
+        /** 2xx/3xx */
+        OK,
+        /** 409 - a business rejection such as a sold-out tier or taken seat, expected in a purchase storm */
+        REJECTED,
+        /** 503/429 - load shedding */
+        SHED,
+        /** anything else, including exceptions */
+        ERROR;
+
+        static Outcome of(int status) {
+            if (status < 400) {
+                return OK;
+            }
+            if (status == 409) {
+                return REJECTED;
+            }
+            return status == 503 || status == 429 ? SHED : ERROR;
+        }
+
+        Outcome worst(Outcome other) {
+            return other.ordinal() > ordinal() ? other : this;
+        }
+    }
+
+    static final class ScenarioStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+
+        ScenarioStats() {
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos, Outcome outcome) {
+            latency.recordNanos(nanos);
+            outcomes[outcome.ordinal()].increment();
+        }
+
+        long count(Outcome outcome) {
+            return outcomes[outcome.ordinal()].sum();
+        }
+
+        Map<String, Object> toMap(double seconds) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            long count = latency.getCount();
+            map.put("count", count);
+            map.put("throughput", round(count / seconds));
+            // only iterations that succeeded - fast 409s and 503s inflate the plain throughput
+            map.put("okThroughput", round(count(Outcome.OK) / seconds));
+            for (Outcome outcome : Outcome.values()) {
+                map.put(outcome.name().toLowerCase(), count(outcome));
+            }
+            map.put("errorRate", count == 0 ? 0.0 : round(count(Outcome.ERROR) / (double) count));
+            map.put("shedRate", count == 0 ? 0.0 : round(count(Outcome.SHED) / (double) count));
+            map.put("meanMs", count == 0 ? 0.0 : round(latency.getSumMicros() / 1000.0 / count));
+            map.put("p50Ms", latency.percentile(50) / 1000.0);
+            map.put("p90Ms", latency.percentile(90) / 1000.0);
+            map.put("p99Ms", latency.percentile(99) / 1000.0);
+            map.put("p999Ms", latency.percentile(99.9) / 1000.0);
+            map.put("maxMs", latency.getMaxMicros() / 1000.0);
+            return map;
+        }
+    }
+
+    private final Map<String, ScenarioStats> scenarios = new LinkedHashMap<>();
+
+    LoadReport(Iterable<String> names) {
+        for (String name : names) {
+            scenarios.put(name, new ScenarioStats());
+        }
+    }
+
+    ScenarioStats scenario(String name) {
+        return scenarios.get(name);
+    }
+
+    /**
+     * @param seconds length of the measured window
+     * @param config  run settings, stored with the results so baselines stay interpretable
+     */
+    Map<String, Object> toMap(double seconds, Map<String, Object> config) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("config", config);
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, ScenarioStats> entry : scenarios.entrySet()) {
+            results.put(entry.getKey(), entry.getValue().toMap(seconds));
+        }
+        map.put("scenarios", results);
+        return map;
+    }
+
+    /**
+     * Text table of a report map, one line per scenario
+     */
+    @SuppressWarnings("unchecked")
+    static String format(Map<String, Object> report) {
+        StringBuilder out = new StringBuilder(String.format("%-10s %9s %9s %9s %7s %7s %7s %9s %9s %9s %9s%n",
+                "scenario", "count", "ops/s", "ok/s", "rej", "shed", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        Map<String, Map<String, Object>> scenarios = (Map<String, Map<String, Object>>) report.get("scenarios");
+        for (Map.Entry<String, Map<String, Object>> entry : scenarios.entrySet()) {
+            Map<String, Object> s = entry.getValue();
+            out.append(String.format("%-10s %9d %9.1f %9.1f %7d %7d %7d %9.1f %9.1f %9.1f %9.1f%n", entry.getKey(),
+                    number(s, "count").longValue(), number(s, "throughput").doubleValue(),
+                    number(s, "okThroughput").doubleValue(),
+                    number(s, "rejected").longValue(), number(s, "shed").longValue(), number(s, "error").longValue(),
+                    number(s, "p50Ms").doubleValue(), number(s, "p90Ms").doubleValue(),
+                    number(s, "p99Ms").doubleValue(), number(s, "maxMs").doubleValue()));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Scenarios that got worse than the baseline by more than tolerancePercent: lower throughput, lower
+     * throughput of OK iterations or higher p99, or an error or shed rate up by more than a percentage point
+     * Checking the OK throughput and the shed rate keeps a run that answers fast with 503 or 409 from passing
+     * Scenarios missing from either run are skipped, as are metrics a baseline does not have yet
+     *
+     * @return one line per regression, empty if none
+     */
+    @SuppressWarnings("unchecked")
+    static List<String> compare(Map<String, Object> current, Map<String, Object> baseline, double tolerancePercent) {
+        List<String> regressions = new ArrayList<>();
+        Map<String, Map<String, Object>> now = (Map<String, Map<String, Object>>) current.get("scenarios");
+        Map<String, Map<String, Object>> before = (Map<String, Map<String, Object>>) baseline.get("scenarios");
+        double tolerance = tolerancePercent / 100.0;
+        for (Map.Entry<String, Map<String, Object>> entry : now.entrySet()) {
+            Map<String, Object> old = before.get(entry.getKey());
+            if (old == null) {
+                continue;
+            }
+            String name = entry.getKey();
+            Map<String, Object> cur = entry.getValue();
+            double throughput = number(cur, "throughput").doubleValue();
+            double oldThroughput = number(old, "throughput").doubleValue();
+            if (oldThroughput > 0 && throughput < oldThroughput * (1 - tolerance)) {
+                regressions.add(String.format("%s: throughput %.1f -> %.1f ops/s (%+.1f%%)", name, oldThroughput,
+                        throughput, change(oldThroughput, throughput)));
+            }
+            double okThroughput = number(cur, "okThroughput").doubleValue();
+            double oldOkThroughput = number(old, "okThroughput").doubleValue();
+            if (oldOkThroughput > 0 && okThroughput < oldOkThroughput * (1 - tolerance)) {
+                regressions.add(String.format("%s: ok throughput %.1f -> %.1f ops/s (%+.1f%%)", name, oldOkThroughput,
+                        okThroughput, change(oldOkThroughput, okThroughput)));
+            }
+            double p99 = number(cur, "p99Ms").doubleValue();
+            double oldP99 = number(old, "p99Ms").doubleValue();
+            if (oldP99 > 0 && p99 > oldP99 * (1 + tolerance)) {
+                regressions.add(String.format("%s: p99 %.1f -> %.1f ms (%+.1f%%)", name, oldP99, p99,
+                        change(oldP99, p99)));
+            }
+            double errorRate = number(cur, "errorRate").doubleValue();
+            double oldErrorRate = number(old, "errorRate").doubleValue();
+            if (errorRate > oldErrorRate + 0.01) {
+                regressions.add(String.format("%s: error rate %.2f%% -> %.2f%%", name, oldErrorRate * 100,
+                        errorRate * 100));
+            }
+            double shedRate = number(cur, "shedRate").doubleValue();
+            double oldShedRate = number(old, "shedRate").doubleValue();
+            if (old.containsKey("shedRate") && shedRate > oldShedRate + 0.01) {
+                regressions.add(String.format("%s: shed rate %.2f%% -> %.2f%%", name, oldShedRate * 100,
+                        shedRate * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static Number number(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value instanceof Number ? (Number) value : 0;
+    }
+
+    private static double change(double before, double after) {
+        return (after - before) / before * 100;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
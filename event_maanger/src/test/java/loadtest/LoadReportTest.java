@@ -0,0 +1,119 @@
+package loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoadReport
+ */
+@DisplayName("LoadReport Tests")
+class LoadReportTest {
+
+    @Test
+    @DisplayName("Should classify statuses and keep the worst outcome of an iteration")
+    void testOutcome() {
+        assertEquals(LoadReport.Outcome.OK, LoadReport.Outcome.of(200));
+        assertEquals(LoadReport.Outcome.OK, LoadReport.Outcome.of(304));
+        assertEquals(LoadReport.Outcome.REJECTED, LoadReport.Outcome.of(409));
+        assertEquals(LoadReport.Outcome.SHED, LoadReport.Outcome.of(503));
+        assertEquals(LoadReport.Outcome.SHED, LoadReport.Outcome.of(429));
+        assertEquals(LoadReport.Outcome.ERROR, LoadReport.Outcome.of(500));
+        assertEquals(LoadReport.Outcome.ERROR, LoadReport.Outcome.of(401));
+
+        assertEquals(LoadReport.Outcome.SHED, LoadReport.Outcome.OK.worst(LoadReport.Outcome.SHED));
+        assertEquals(LoadReport.Outcome.SHED, LoadReport.Outcome.SHED.worst(LoadReport.Outcome.REJECTED));
+    }
+
+    @Test
+    @DisplayName("Should export counts, throughput and percentiles per scenario")
+    @SuppressWarnings("unchecked")
+    void testToMap() {
+        LoadReport report = new LoadReport(Arrays.asList("browse", "purchase"));
+        for (int i = 1; i <= 100; i++) {
+            report.scenario("browse").record(TimeUnit.MILLISECONDS.toNanos(i), LoadReport.Outcome.OK);
+        }
+        report.scenario("purchase").record(TimeUnit.MILLISECONDS.toNanos(5), LoadReport.Outcome.REJECTED);
+        report.scenario("purchase").record(TimeUnit.MILLISECONDS.toNanos(5), LoadReport.Outcome.ERROR);
+
+        Map<String, Object> map = report.toMap(10, Collections.singletonMap("users", 4));
+
+        assertEquals(Collections.singletonMap("users", 4), map.get("config"));
+        Map<String, Map<String, Object>> scenarios = (Map<String, Map<String, Object>>) map.get("scenarios");
+        Map<String, Object> browse = scenarios.get("browse");
+        assertEquals(100L, browse.get("count"));
+        assertEquals(10.0, browse.get("throughput"));
+        assertEquals(10.0, browse.get("okThroughput"));
+        assertEquals(100L, browse.get("ok"));
+        assertEquals(0.0, browse.get("errorRate"));
+        assertEquals(50.0, (Double) browse.get("p50Ms"), 5.0);
+        assertEquals(100.0, (Double) browse.get("maxMs"), 1.0);
+        Map<String, Object> purchase = scenarios.get("purchase");
+        assertEquals(1L, purchase.get("rejected"));
+        assertEquals(0.5, purchase.get("errorRate"));
+        assertEquals(0.0, purchase.get("okThroughput"));
+        assertEquals(0.0, purchase.get("shedRate"));
+        assertTrue(LoadReport.format(map).contains("purchase"));
+    }
+
+    @Test
+    @DisplayName("Should report throughput, p99 and error rate regressions beyond the tolerance")
+    void testCompare() {
+        Map<String, Object> baseline = report(100, 50, 0.0);
+
+        assertEquals(Collections.emptyList(), LoadReport.compare(report(95, 54, 0.005), baseline, 10));
+
+        List<String> regressions = LoadReport.compare(report(80, 70, 0.05), baseline, 10);
+        assertEquals(3, regressions.size(), regressions.toString());
+        assertTrue(regressions.get(0).startsWith("browse: throughput"));
+        assertTrue(regressions.get(1).startsWith("browse: p99"));
+        assertTrue(regressions.get(2).startsWith("browse: error rate"));
+    }
+
+    @Test
+    @DisplayName("Should not let fast 503s and 409s pass as throughput")
+    void testCompareShedding() {
+        Map<String, Object> baseline = report(100, 50, 0.0);
+        Map<String, Object> current = report(150, 5, 0.0);
+        scenarioOf(baseline).put("okThroughput", 100.0);
+        scenarioOf(baseline).put("shedRate", 0.0);
+        scenarioOf(current).put("okThroughput", 40.0);
+        scenarioOf(current).put("shedRate", 0.6);
+
+        List<String> regressions = LoadReport.compare(current, baseline, 10);
+
+        assertEquals(2, regressions.size(), regressions.toString());
+        assertTrue(regressions.get(0).startsWith("browse: ok throughput"));
+        assertTrue(regressions.get(1).startsWith("browse: shed rate"));
+    }
+
+    @Test
+    @DisplayName("Should skip scenarios the baseline did not run")
+    void testCompareNewScenario() {
+        Map<String, Object> current = report(1, 1000, 1.0);
+        Map<String, Object> baseline = Collections.singletonMap("scenarios", Collections.emptyMap());
+
+        assertTrue(LoadReport.compare(current, baseline, 10).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> scenarioOf(Map<String, Object> report) {
+        return ((Map<String, Map<String, Object>>) report.get("scenarios")).get("browse");
+    }
+
+    private static Map<String, Object> report(double throughput, double p99, double errorRate) {
+        Map<String, Object> browse = new LinkedHashMap<>();
+        browse.put("throughput", throughput);
+        browse.put("p99Ms", p99);
+        browse.put("errorRate", errorRate);
+        return Collections.singletonMap("scenarios", Collections.singletonMap("browse", browse));
+    }
+}
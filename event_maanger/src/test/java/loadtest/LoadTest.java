@@ -0,0 +1,434 @@
+package loadtest;
+
+import REST.ApplicationBootstrap;
+import REST.EventMangerApplication;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dao.hibernate.HibernateSessionFactory;
+import org.eclipse.jetty.server.Server;
+import org.glassfish.jersey.jetty.JettyHttpContainerFactory;
+import org.glassfish.jersey.server.ResourceConfig;
+import tools.DataGenerator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end load test: boots the whole JAX-RS application (EventMangerApplication with its filters, real
+ * Hibernate and SQLite) on Jetty in this JVM and drives it over HTTP with concurrent virtual users
+ * Each virtual user loops over scenarios picked by weight:
+ * - browse:   first page of the catalog, one event, its remaining tickets
+ * - search:   catalog search with facets, autocomplete
+ * - login:    POST auth/login
+ * - purchase: buy a ticket for one of a few hot events (purchase storm); sold out / taken seat count as rejected
+ * - export:   admin streaming export of all events
+ * Results per scenario (throughput overall and of OK iterations, p50-p999, outcomes) are printed and written
+ * as JSON; with --baseline the run is compared against an earlier JSON and the process exits with 1 on a regression
+ *
+ * Without --db a fresh database is generated with tools.DataGenerator, so every run starts from the same data
+ * Application output goes to target/loadtest/server.log
+ *
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=loadtest.LoadTest \
+ *     -Dexec.args="--users=32 --duration=30 --baseline=target/loadtest/baseline.json"
+ */
+public final class LoadTest {
+
+    static final List<String> SCENARIOS = Collections.unmodifiableList(Arrays.asList(
+            "browse", "search", "login", "purchase", "export"));
+    private static final String[] SEARCH_TERMS = {"Concert", "Festival", "Conference", "Theatre", "Opera", "Meetup",
+            "Workshop", "Exhibition", "Match", "Stand-up"};
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static final class Options {
+        int users = 32;
+        int durationSeconds = 30;
+        int warmupSeconds = 10;
+        String mix = "browse:50,search:20,login:10,purchase:15,export:5";
+        String db;
+        /** Connections in Hibernate's pool; the test hibernate.cfg.xml on this classpath has only 1 */
+        int pool = 16;
+        /** Accounts user2..userN with password "password" that login and purchase use */
+        int accounts = 1000;
+        int hotEvents = 3;
+        /** Tickets already sold in a generated database; every public listing counts them per event and tier */
+        int tickets = 50_000;
+        String out = "target/loadtest/result.json";
+        String baseline;
+        double tolerance = 10;
+        long seed = 7;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+                if (pair.length < 2) {
+                    throw new IllegalArgumentException("Expected --name=value: " + arg);
+                }
+                switch (pair[0]) {
+                    case "users": options.users = Integer.parseInt(pair[1]); break;
+                    case "duration": options.durationSeconds = Integer.parseInt(pair[1]); break;
+                    case "warmup": options.warmupSeconds = Integer.parseInt(pair[1]); break;
+                    case "mix": options.mix = pair[1]; break;
+                    case "db": options.db = pair[1]; break;
+                    case "pool": options.pool = Integer.parseInt(pair[1]); break;
+                    case "accounts": options.accounts = Integer.parseInt(pair[1]); break;
+                    case "hotEvents": options.hotEvents = Integer.parseInt(pair[1]); break;
+                    case "tickets": options.tickets = Integer.parseInt(pair[1]); break;
+                    case "out": options.out = pair[1]; break;
+                    case "baseline": options.baseline = pair[1]; break;
+                    case "tolerance": options.tolerance = Double.parseDouble(pair[1]); break;
+                    case "seed": options.seed = Long.parseLong(pair[1]); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            return options;
+        }
+
+        /**
+         * Scenario weights from "name:weight,..."; unknown names are rejected
+         */
+        Map<String, Integer> weights() {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (String part : mix.split(",")) {
+                String[] pair = part.trim().split(":");
+                if (!SCENARIOS.contains(pair[0]) || pair.length != 2) {
+                    throw new IllegalArgumentException("Bad scenario weight: " + part + " (scenarios: " + SCENARIOS + ")");
+                }
+                weights.put(pair[0], Integer.parseInt(pair[1]));
+            }
+            return weights;
+        }
+    }
+
+    private final Options options;
+    private final Map<String, Integer> weights;
+    private final HttpClient client;
+    private URI base;
+    private String adminToken;
+    private final List<Integer> eventIds = new ArrayList<>();
+    private final List<Integer> hotEventIds = new ArrayList<>();
+    private final Map<Integer, String> hotEventTier = new LinkedHashMap<>();
+    private volatile LoadReport report;
+    private volatile boolean running = true;
+
+    private LoadTest(Options options) {
+        this.options = options;
+        this.weights = options.weights();
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4, daemon("http-client")))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        int exitCode = new LoadTest(options).run();
+        System.exit(exitCode);
+    }
+
+    private int run() throws Exception {
+        new File(options.out).getAbsoluteFile().getParentFile().mkdirs();
+        String db = options.db != null ? options.db : generateDatabase();
+        System.setProperty(HibernateSessionFactory.DATABASE_URL, "jdbc:sqlite:" + db);
+        System.setProperty(HibernateSessionFactory.POOL_SIZE, String.valueOf(options.pool));
+
+        PrintStream console = System.out;
+        File log = new File(new File(options.out).getAbsoluteFile().getParentFile(), "server.log");
+        ApplicationBootstrap bootstrap = new ApplicationBootstrap();
+        Server server;
+        try (PrintStream serverLog = new PrintStream(new FileOutputStream(log), true)) {
+            System.setOut(serverLog);
+            int port;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            // Jersey's Jetty container serves the application at the root and ignores @ApplicationPath
+            base = URI.create("http://localhost:" + port + "/");
+            server = JettyHttpContainerFactory.createServer(base, ResourceConfig.forApplicationClass(EventMangerApplication.class));
+            try {
+                bootstrap.contextInitialized(null);
+                awaitReady();
+                prepare();
+                console.println("[LoadTest] " + options.users + " virtual users, " + options.warmupSeconds + " s warm-up + "
+                        + options.durationSeconds + " s, mix " + weights + ", db " + db + ", log " + log);
+                Map<String, Object> result = drive();
+                return finish(result, console);
+            } finally {
+                running = false;
+                server.stop();
+                bootstrap.contextDestroyed(null);
+                System.setOut(console);
+            }
+        }
+    }
+
+    private String generateDatabase() throws Exception {
+        DataGenerator.Options generator = new DataGenerator.Options();
+        generator.out = new File(new File(options.out).getAbsoluteFile().getParentFile(), "loadtest.sqlite").getPath();
+        generator.overwrite = true;
+        generator.users = Math.max(options.accounts + 1, 5000);
+        generator.locations = 200;
+        generator.events = 2000;
+        generator.tickets = options.tickets;
+        generator.seed = options.seed;
+        new DataGenerator(generator).generate();
+        return generator.out;
+    }
+
+    private void awaitReady() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        String status = null;
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> ready = send(get("health/ready"), HttpResponse.BodyHandlers.ofString());
+                if (ready.statusCode() == 200) {
+                    return;
+                }
+                status = ready.body();
+                if (status.contains("FAILED")) {
+                    break;
+                }
+            } catch (IOException e) {
+                // server still starting
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("Application did not become ready: " + status);
+    }
+
+    /**
+     * Admin token, event ids for browsing and the hot events of the purchase storm
+     */
+    private void prepare() throws Exception {
+        adminToken = login("admin", "admin");
+        if (adminToken == null) {
+            throw new IllegalStateException("admin/admin cannot log in");
+        }
+        String cursor = null;
+        List<Map<String, Object>> events = new ArrayList<>();
+        do {
+            HttpResponse<String> page = send(get("public/events?limit=20" + (cursor != null ? "&cursor=" + cursor : "")),
+                    HttpResponse.BodyHandlers.ofString());
+            if (page.statusCode() != 200) {
+                throw new IllegalStateException("Cannot list events: " + page.statusCode() + " " + page.body());
+            }
+            events.addAll(MAPPER.readValue(page.body(), new TypeReference<List<Map<String, Object>>>() {
+            }));
+            cursor = page.headers().firstValue("X-Next-Cursor").orElse(null);
+        } while (cursor != null && events.size() < 200);
+        for (Map<String, Object> event : events) {
+            eventIds.add((Integer) event.get("id"));
+        }
+        for (Map<String, Object> event : events) {
+            @SuppressWarnings("unchecked")
+            Map<String, Map<String, Object>> tiers = (Map<String, Map<String, Object>>) event.get("ticketAvailability");
+            if (tiers != null && !tiers.isEmpty() && hotEventIds.size() < options.hotEvents) {
+                int id = (Integer) event.get("id");
+                hotEventIds.add(id);
+                hotEventTier.put(id, tiers.keySet().iterator().next());
+            }
+        }
+        if (eventIds.isEmpty() || hotEventIds.isEmpty()) {
+            throw new IllegalStateException("The database has no events to load");
+        }
+    }
+
+    private Map<String, Object> drive() throws InterruptedException {
+        List<String> picks = new ArrayList<>();
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            for (int i = 0; i < weight.getValue(); i++) {
+                picks.add(weight.getKey());
+            }
+        }
+        ExecutorService users = Executors.newFixedThreadPool(options.users, daemon("virtual-user"));
+        for (int i = 0; i < options.users; i++) {
+            VirtualUser user = new VirtualUser(2 + i % options.accounts, new Random(options.seed * 31 + i));
+            users.execute(() -> {
+                while (running) {
+                    iteration(user, picks.get(user.random.nextInt(picks.size())));
+                }
+            });
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(options.warmupSeconds));
+        report = new LoadReport(weights.keySet());
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(options.durationSeconds));
+        LoadReport measured = report;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        users.shutdown();
+        users.awaitTermination(30, TimeUnit.SECONDS);
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("startedAt", Instant.now().toString());
+        config.put("users", options.users);
+        config.put("durationSeconds", options.durationSeconds);
+        config.put("warmupSeconds", options.warmupSeconds);
+        config.put("mix", weights);
+        config.put("db", options.db != null ? options.db : "generated, " + options.tickets + " tickets");
+        config.put("pool", options.pool);
+        config.put("java", System.getProperty("java.version"));
+        config.put("cpus", Runtime.getRuntime().availableProcessors());
+        return measured.toMap(seconds, config);
+    }
+
+    private int finish(Map<String, Object> result, PrintStream console) throws IOException {
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(new File(options.out), result);
+        console.print(LoadReport.format(result));
+        console.println("[LoadTest] results written to " + options.out);
+        if (options.baseline == null) {
+            return 0;
+        }
+        Map<String, Object> baseline = MAPPER.readValue(new File(options.baseline), new TypeReference<Map<String, Object>>() {
+        });
+        List<String> regressions = LoadReport.compare(result, baseline, options.tolerance);
+        if (regressions.isEmpty()) {
+            console.println("[LoadTest] no regression against " + options.baseline + " (tolerance " + options.tolerance + "%)");
+            return 0;
+        }
+        console.println("[LoadTest] regressions against " + options.baseline + ":");
+        for (String regression : regressions) {
+            console.println("  " + regression);
+        }
+        return 1;
+    }
+
+    private static final class VirtualUser {
+        final int account;
+        final Random random;
+        String token;
+
+        VirtualUser(int account, Random random) {
+            this.account = account;
+            this.random = random;
+        }
+    }
+
+    private void iteration(VirtualUser user, String scenario) {
+        try {
+            if (scenario.equals("purchase") && user.token == null) {
+                // Logging in is the login scenario's job; purchases reuse the token
+                user.token = login("user" + user.account, DataGenerator.USER_PASSWORD);
+            }
+            long start = System.nanoTime();
+            LoadReport.Outcome outcome;
+            try {
+                outcome = run(user, scenario);
+            } catch (IOException e) {
+                outcome = LoadReport.Outcome.ERROR;
+            }
+            LoadReport current = report;
+            if (current != null && running) {
+                current.scenario(scenario).record(System.nanoTime() - start, outcome);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        } catch (IOException e) {
+            // login for the purchase storm failed; tried again next time
+        }
+    }
+
+    private LoadReport.Outcome run(VirtualUser user, String scenario) throws IOException, InterruptedException {
+        Random random = user.random;
+        switch (scenario) {
+            case "browse": {
+                int id = eventIds.get(random.nextInt(eventIds.size()));
+                return status(get("public/events?limit=20"))
+                        .worst(status(get("public/events/" + id)))
+                        .worst(status(get("public/events/" + id + "/tickets/remaining")));
+            }
+            case "search": {
+                String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                return status(get("public/events/search?facets=true&eventName=" + term))
+                        .worst(status(get("public/autocomplete?q=" + term.substring(0, 3))));
+            }
+            case "login":
+                return status(post("auth/login", "{\"login\":\"user" + (2 + random.nextInt(options.accounts))
+                        + "\",\"password\":\"" + DataGenerator.USER_PASSWORD + "\"}", null));
+            case "purchase": {
+                if (user.token == null) {
+                    return LoadReport.Outcome.ERROR;
+                }
+                int event = hotEventIds.get(random.nextInt(hotEventIds.size()));
+                // The seat is ignored for general admission; numbered events reject taken seats with 409
+                String seat = "R" + (1 + random.nextInt(40)) + "-S" + (1 + random.nextInt(30));
+                return status(post("private/tickets/purchase", "{\"eventId\":" + event + ",\"ticketType\":\""
+                        + hotEventTier.get(event) + "\",\"seatNumber\":\"" + seat + "\"}", user.token));
+            }
+            case "export":
+                return status(HttpRequest.newBuilder(base.resolve("admin/events/export"))
+                        .header("Authorization", "Bearer " + adminToken).GET().build());
+            default:
+                throw new IllegalArgumentException(scenario);
+        }
+    }
+
+    private LoadReport.Outcome status(HttpRequest request) throws IOException, InterruptedException {
+        return LoadReport.Outcome.of(send(request, null).statusCode());
+    }
+
+    private String login(String login, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("auth/login", "{\"login\":\"" + login + "\",\"password\":\""
+                + password + "\"}", null), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        return (String) MAPPER.readValue(response.body(), Map.class).get("token");
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).header("Accept", "application/json").GET().build();
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+
+    /**
+     * @param body null to read and drop the body
+     */
+    @SuppressWarnings("unchecked")
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> body)
+            throws IOException, InterruptedException {
+        HttpResponse.BodyHandler<T> handler = body != null ? body
+                : (HttpResponse.BodyHandler<T>) HttpResponse.BodyHandlers.discarding();
+        return client.send(request, handler);
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
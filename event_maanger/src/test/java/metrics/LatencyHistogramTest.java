@@ -0,0 +1,92 @@
+package metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram
+ */
+@DisplayName("LatencyHistogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should report 0 for an empty histogram")
+    void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(99));
+    }
+
+    @Test
+    @DisplayName("Should keep small values exact")
+    void testSmallValuesExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(5, histogram.percentile(50));
+        assertEquals(10, histogram.percentile(100));
+        assertEquals(55, histogram.getSumMicros());
+        assertEquals(10, histogram.getMaxMicros());
+    }
+
+    @Test
+    @DisplayName("Should place every value in a bucket whose range contains it")
+    void testBucketBoundaries() {
+        long[] values = {15, 16, 17, 31, 32, 33, 1000, 1023, 1024, 123456789L};
+        for (long value : values) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(LatencyHistogram.highestEquivalent(index) >= value, "upper bound of " + value);
+            assertTrue(index == 0 || LatencyHistogram.highestEquivalent(index - 1) < value, "lower bound of " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should estimate percentiles within the bucket precision")
+    void testPercentilePrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(42);
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            long value = 100 + random.nextInt(1_000_000);
+            values.add(value);
+            histogram.record(value);
+        }
+        values.sort(null);
+
+        for (double percentile : new double[]{50, 90, 99}) {
+            long exact = values.get((int) Math.ceil(percentile / 100 * values.size()) - 1);
+            long estimate = histogram.percentile(percentile);
+            assertTrue(estimate >= exact && estimate <= exact * 1.07, percentile + ": " + estimate + " vs " + exact);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not lose recordings from concurrent threads")
+    void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    histogram.record(i % 500);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000, histogram.getCount());
+        assertEquals(499, histogram.getMaxMicros());
+    }
+}
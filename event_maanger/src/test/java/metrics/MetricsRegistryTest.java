@@ -0,0 +1,95 @@
+package metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricsRegistry exports and TimingProxy
+ */
+@DisplayName("MetricsRegistry Tests")
+class MetricsRegistryTest {
+
+    interface Lookup {
+        String find(int id);
+    }
+
+    static class LookupImpl implements Lookup {
+        @Override
+        public String find(int id) {
+            if (id < 0) {
+                throw new IllegalArgumentException("negative id");
+            }
+            return "item" + id;
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the same timer for the same family and label")
+    void testTimerReuse() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        assertSame(registry.timer(MetricsRegistry.HTTP, "A.b"), registry.timer(MetricsRegistry.HTTP, "A.b"));
+        assertNotSame(registry.timer(MetricsRegistry.HTTP, "A.b"), registry.timer(MetricsRegistry.DAO, "A.b"));
+    }
+
+    @Test
+    @DisplayName("Should export timers and gauges as JSON-ready maps")
+    @SuppressWarnings("unchecked")
+    void testToMap() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.timer(MetricsRegistry.HTTP, "PublicResource.getEvent").record(TimeUnit.MILLISECONDS.toNanos(12), false);
+        registry.timer(MetricsRegistry.HTTP, "PublicResource.getEvent").record(TimeUnit.MILLISECONDS.toNanos(3), true);
+        registry.gauge("limiter_limit", "help", () -> 20);
+
+        Map<String, Object> map = registry.toMap();
+
+        Map<String, Object> timer = (Map<String, Object>) ((Map<String, Object>) map.get("http_server_requests"))
+                .get("PublicResource.getEvent");
+        assertEquals(2L, timer.get("count"));
+        assertEquals(1L, timer.get("errors"));
+        assertTrue((Double) timer.get("maxMs") >= 12.0);
+        assertEquals(20, ((Map<String, Object>) map.get("gauges")).get("limiter_limit"));
+    }
+
+    @Test
+    @DisplayName("Should write the Prometheus text format")
+    void testToPrometheus() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.timer(MetricsRegistry.DAO, "TicketHibernate.getTicket").record(TimeUnit.MILLISECONDS.toNanos(2), false);
+        registry.gauge("workload_queued_tasks", "workload", "public", "Queued", () -> 3);
+        registry.gauge("workload_queued_tasks", "workload", "admin", "Queued", () -> 1);
+        registry.gauge("broken", "Throws", () -> {
+            throw new IllegalStateException();
+        });
+
+        String text = registry.toPrometheus();
+
+        assertTrue(text.contains("# TYPE dao_calls_seconds summary\n"), text);
+        assertTrue(text.contains("dao_calls_seconds{method=\"TicketHibernate.getTicket\",quantile=\"0.99\"} 0.002"), text);
+        assertTrue(text.contains("dao_calls_seconds_count{method=\"TicketHibernate.getTicket\"} 1\n"), text);
+        assertTrue(text.contains("dao_calls_errors_total{method=\"TicketHibernate.getTicket\"} 0\n"), text);
+        assertEquals(text.indexOf("# TYPE workload_queued_tasks gauge"), text.lastIndexOf("# TYPE workload_queued_tasks gauge"));
+        assertTrue(text.contains("workload_queued_tasks{workload=\"public\"} 3\n"), text);
+        assertTrue(text.contains("broken NaN\n"), text);
+        assertFalse(text.contains("http_server_requests"), "empty families are left out");
+    }
+
+    @Test
+    @DisplayName("Should time proxied calls per method and count exceptions as errors")
+    void testTimingProxy() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Lookup lookup = TimingProxy.wrap(Lookup.class, new LookupImpl(), registry, MetricsRegistry.DAO);
+
+        assertEquals("item1", lookup.find(1));
+        assertThrows(IllegalArgumentException.class, () -> lookup.find(-1));
+
+        Timer timer = registry.timer(MetricsRegistry.DAO, "LookupImpl.find");
+        assertEquals(2, timer.getCount());
+        assertEquals(1, timer.getErrors());
+    }
+}
@@ -0,0 +1,97 @@
+package metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestSqlTracker
+ */
+@DisplayName("RequestSqlTracker Tests")
+class RequestSqlTrackerTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestSqlTracker.restore(null);
+    }
+
+    @Test
+    @DisplayName("Should normalize literals, IN lists and whitespace")
+    void testNormalize() {
+        assertEquals("select * from tickets t1_0 where t1_0.event_id=? and t1_0.ticket_type=?",
+                RequestSqlTracker.normalize("select *\n  from tickets t1_0 where t1_0.event_id=42 and t1_0.ticket_type='VIP'"));
+        assertEquals("select * from events e1_0 where e1_0.id in (?...)",
+                RequestSqlTracker.normalize("select * from events e1_0 where e1_0.id in (?, ?,?)"));
+    }
+
+    @Test
+    @DisplayName("Should count statements only for the request running on the thread")
+    void testCountsCurrentRequest() {
+        // No request on this thread yet - ignored
+        RequestSqlTracker.statement("select 0");
+        RequestSqlTracker tracker = RequestSqlTracker.begin("GET /public/events");
+
+        RequestSqlTracker.statement("select * from events where id=1");
+        RequestSqlTracker.statement("select * from events where id=2");
+
+        assertEquals(2, tracker.getCount());
+        assertNull(tracker.finish(0));
+        RequestSqlTracker.statement("select 3");
+        assertEquals(2, tracker.getCount());
+        assertNull(RequestSqlTracker.current());
+    }
+
+    @Test
+    @DisplayName("Should follow request work to another thread with attach and restore")
+    void testAttachOnWorkerThread() throws InterruptedException {
+        RequestSqlTracker tracker = RequestSqlTracker.begin("GET /private/tickets");
+        AtomicReference<RequestSqlTracker> afterRestore = new AtomicReference<>(tracker);
+
+        Thread worker = new Thread(() -> {
+            RequestSqlTracker previous = RequestSqlTracker.attach(tracker);
+            try {
+                RequestSqlTracker.statement("select * from tickets where user_id=7");
+            } finally {
+                RequestSqlTracker.restore(previous);
+            }
+            afterRestore.set(RequestSqlTracker.current());
+        });
+        worker.start();
+        worker.join();
+
+        assertEquals(1, tracker.getCount());
+        assertNull(afterRestore.get());
+    }
+
+    @Test
+    @DisplayName("Should report requests over the statement budget with the most repeated statements first")
+    void testOverBudgetReport() {
+        RequestSqlTracker tracker = RequestSqlTracker.begin("GET /public/events");
+        tracker.setEndpoint("PublicResource.getAllEvents");
+        RequestSqlTracker.statement("select * from events");
+        for (int i = 0; i < RequestSqlTracker.STATEMENT_BUDGET; i++) {
+            RequestSqlTracker.statement("select * from tickets where event_id=" + i);
+        }
+
+        String report = tracker.finish(0);
+
+        assertNotNull(report);
+        assertTrue(report.startsWith("[SQL budget] GET /public/events (PublicResource.getAllEvents): "
+                + (RequestSqlTracker.STATEMENT_BUDGET + 1) + " statements"), report);
+        String[] lines = report.split("\n");
+        assertEquals("  " + RequestSqlTracker.STATEMENT_BUDGET + "x select * from tickets where event_id=?", lines[1]);
+        assertEquals("  1x select * from events", lines[2]);
+    }
+
+    @Test
+    @DisplayName("Should report requests over the time budget")
+    void testOverTimeBudget() {
+        RequestSqlTracker tracker = RequestSqlTracker.begin("POST /private/tickets/purchase");
+
+        assertNotNull(tracker.finish((RequestSqlTracker.MILLIS_BUDGET + 1) * 1_000_000));
+    }
+}
@@ -0,0 +1,82 @@
+package metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SlowQueryLog
+ */
+@DisplayName("SlowQueryLog Tests")
+class SlowQueryLogTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    @DisplayName("Should keep only statements slower than the threshold, with parameters and timings")
+    void testThreshold() {
+        SlowQueryLog log = new SlowQueryLog(100);
+        Map<Integer, String> parameters = new TreeMap<>();
+        parameters.put(1, "42");
+        parameters.put(2, "VIP");
+
+        log.record("select * from tickets where event_id=? and ticket_type=?", parameters, 5000, 99 * MS);
+        log.record("select *\n from tickets where event_id=? and ticket_type=?", parameters, 5000, 150 * MS);
+
+        List<Map<String, Object>> recent = log.recent();
+        assertEquals(1, recent.size());
+        assertEquals("select * from tickets where event_id=? and ticket_type=?", recent.get(0).get("sql"));
+        assertEquals(Arrays.asList("42", "VIP"), recent.get(0).get("parameters"));
+        assertEquals(150.0, recent.get(0).get("executeMs"));
+        assertEquals(5L, recent.get(0).get("bindUs"));
+    }
+
+    @Test
+    @DisplayName("Should keep the newest entries up to capacity, newest first")
+    void testCapacity() {
+        SlowQueryLog log = new SlowQueryLog(0);
+        for (int i = 0; i < SlowQueryLog.CAPACITY + 5; i++) {
+            log.record("select " + i, Collections.<Integer, String>emptyMap(), 0, MS);
+        }
+
+        List<Map<String, Object>> recent = log.recent();
+        assertEquals(SlowQueryLog.CAPACITY, recent.size());
+        assertEquals("select " + (SlowQueryLog.CAPACITY + 4), recent.get(0).get("sql"));
+    }
+
+    @Test
+    @DisplayName("Should redact parameters of statements touching passwords")
+    void testRedactsPasswords() {
+        SlowQueryLog log = new SlowQueryLog(0);
+        Map<Integer, String> parameters = new TreeMap<>();
+        parameters.put(1, "secret-hash");
+
+        log.record("update users set password_hash=? where id=?", parameters, 0, MS);
+
+        assertEquals(Collections.singletonList("<redacted>"), log.recent().get(0).get("parameters"));
+    }
+
+    @Test
+    @DisplayName("Should record nothing when disabled")
+    void testDisabled() {
+        SlowQueryLog log = new SlowQueryLog(-1);
+
+        log.record("select 1", Collections.<Integer, String>emptyMap(), 0, 10_000 * MS);
+
+        assertFalse(log.isEnabled());
+        assertTrue(log.recent().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should be off unless -Dsql.slowQueryMillis is set")
+    void testSharedOptIn() {
+        assertEquals(System.getProperty(SlowQueryLog.THRESHOLD_SWITCH) != null, SlowQueryLog.shared().isEnabled());
+    }
+}
@@ -0,0 +1,186 @@
+package profiling;
+
+import JWT.JwtFilter;
+import JWT.JwtUtil;
+import dao.TicketDAO;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.UriInfo;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import metrics.MetricsRegistry;
+import metrics.TimingProxy;
+import model.Ticket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.TicketService;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the application's JFR events are emitted with their business fields
+ */
+@DisplayName("Profiling Events Tests")
+class ProfilingEventsTest {
+
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        recording = new Recording();
+        recording.enable(DaoCallEvent.class);
+        recording.enable(JwtValidationEvent.class);
+        recording.enable(PurchaseEvent.class);
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    @DisplayName("Should emit a DaoCallEvent per proxied DAO call with entity, id and row count")
+    void testDaoCallEvent() throws Exception {
+        SeatDAO dao = TimingProxy.wrap(SeatDAO.class, new SeatHibernate(), new MetricsRegistry(), MetricsRegistry.DAO);
+
+        assertEquals(3, dao.getSeatsByRoomId(7).size());
+        assertThrows(IllegalStateException.class, () -> dao.getSeatById(9));
+
+        List<RecordedEvent> events = events("eventmanager.DaoCall");
+        RecordedEvent list = find(events, "operation", "getSeatsByRoomId");
+        assertEquals("Seat", list.getString("entity"));
+        assertEquals(7, list.getInt("id"));
+        assertEquals(3, list.getInt("rows"));
+        assertFalse(list.getBoolean("failed"));
+        RecordedEvent failed = find(events, "operation", "getSeatById");
+        assertEquals(9, failed.getInt("id"));
+        assertTrue(failed.getBoolean("failed"));
+    }
+
+    @Test
+    @DisplayName("Should emit a PurchaseEvent with the outcome of each purchase")
+    void testPurchaseEvent() throws Exception {
+        TicketService service = new TicketService(stubTicketDAO());
+
+        assertNotNull(service.purchaseTicket(1, 5, "VIP", "A1"));
+        assertNull(service.purchaseTicket(2, 5, "VIP", null));
+        assertThrows(IllegalStateException.class, () -> service.purchaseTicket(3, 5, "VIP", null));
+        assertThrows(IllegalArgumentException.class, () -> service.purchaseTicket(4, 5, " ", null));
+
+        List<RecordedEvent> events = events("eventmanager.Purchase");
+        RecordedEvent sold = find(events, "result", PurchaseEvent.SOLD);
+        assertEquals(1, sold.getInt("eventId"));
+        assertEquals(5, sold.getInt("userId"));
+        assertEquals("VIP", sold.getString("ticketType"));
+        assertEquals("A1", sold.getString("seatNumber"));
+        assertEquals(2, find(events, "result", PurchaseEvent.NOT_FOUND).getInt("eventId"));
+        assertEquals(Arrays.asList(3, 4), events.stream()
+                .filter(e -> PurchaseEvent.REJECTED.equals(e.getString("result")))
+                .map(e -> e.getInt("eventId")).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should emit a JwtValidationEvent for each protected request")
+    void testJwtValidationEvent() throws Exception {
+        JwtFilter filter = new JwtFilter();
+
+        filter.filter(request("private/tickets", "Bearer " + JwtUtil.generateToken(12, "alice", false)));
+        filter.filter(request("private/tickets", null));
+        filter.filter(request("admin/events", "Bearer not-a-token"));
+        filter.filter(request("public/events", null));
+
+        List<RecordedEvent> events = events("eventmanager.JwtValidation");
+        assertEquals(3, events.size(), "public endpoints are not checked");
+        assertEquals(12, find(events, "result", JwtValidationEvent.VALID).getInt("userId"));
+        assertEquals("private/tickets", find(events, "result", JwtValidationEvent.MISSING).getString("path"));
+        assertEquals("admin/events", find(events, "result", JwtValidationEvent.INVALID).getString("path"));
+    }
+
+    private List<RecordedEvent> events(String name) throws Exception {
+        recording.stop();
+        Path file = Files.createTempFile("profiling-events", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals(name))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String field, String value) {
+        return events.stream().filter(e -> value.equals(e.getString(field))).findFirst()
+                .orElseThrow(() -> new AssertionError("no event with " + field + "=" + value + " in " + events));
+    }
+
+    /**
+     * Event 1 sells, event 2 does not exist, event 3 is sold out
+     */
+    private static TicketDAO stubTicketDAO() {
+        return (TicketDAO) Proxy.newProxyInstance(TicketDAO.class.getClassLoader(), new Class<?>[]{TicketDAO.class},
+                new TicketStub());
+    }
+
+    private static final class TicketStub implements java.lang.reflect.InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args) {
+            switch (method.getName()) {
+                case "purchaseTicket":
+                    int eventId = (Integer) args[0];
+                    if (eventId == 3) {
+                        throw new IllegalStateException("Tickets of type VIP are sold out for event: 3");
+                    }
+                    return eventId == 1 ? new Ticket() : null;
+                default:
+                    throw new IllegalStateException("not stubbed: " + method.getName());
+            }
+        }
+    }
+
+    public interface SeatDAO {
+        List<String> getSeatsByRoomId(int roomId);
+
+        String getSeatById(int id);
+    }
+
+    static class SeatHibernate implements SeatDAO {
+        @Override
+        public List<String> getSeatsByRoomId(int roomId) {
+            return Arrays.asList("A1", "A2", "A3");
+        }
+
+        @Override
+        public String getSeatById(int id) {
+            throw new IllegalStateException("Seat not found with id: " + id);
+        }
+    }
+
+    private static ContainerRequestContext request(String path, String authorization) {
+        UriInfo uriInfo = (UriInfo) Proxy.newProxyInstance(UriInfo.class.getClassLoader(), new Class<?>[]{UriInfo.class},
+                (proxy, method, args) -> method.getName().equals("getPath") ? path : null);
+        return (ContainerRequestContext) Proxy.newProxyInstance(ContainerRequestContext.class.getClassLoader(),
+                new Class<?>[]{ContainerRequestContext.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getUriInfo":
+                            return uriInfo;
+                        case "getMethod":
+                            return "GET";
+                        case "getHeaderString":
+                            return "Authorization".equals(args[0]) ? authorization : null;
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,90 @@
+package profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RecordingManager
+ */
+@DisplayName("RecordingManager Tests")
+class RecordingManagerTest {
+
+    private final RecordingManager manager = new RecordingManager();
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    @DisplayName("Should report NONE before the first recording")
+    void testStatusWithoutRecording() throws Exception {
+        assertEquals("NONE", manager.status().get("state"));
+        assertFalse(manager.isRunning());
+        assertNull(manager.dump());
+        assertThrows(IllegalStateException.class, manager::stop);
+    }
+
+    @Test
+    @DisplayName("Should start one bounded recording at a time and keep it after stopping")
+    void testStartStop() throws Exception {
+        Map<String, Object> status = manager.start("default", Duration.ofMinutes(5), 16L * 1024 * 1024, null);
+
+        assertEquals("RUNNING", status.get("state"));
+        assertEquals("default", status.get("settings"));
+        assertEquals(300L, status.get("maxAgeSeconds"));
+        assertEquals(16L * 1024 * 1024, status.get("maxSizeBytes"));
+        assertThrows(IllegalStateException.class, () -> manager.start("profile", null, 0, null));
+
+        PurchaseEvent event = new PurchaseEvent();
+        event.eventId = 42;
+        event.result = PurchaseEvent.SOLD;
+        event.commit();
+
+        assertEquals("STOPPED", manager.stop().get("state"));
+        assertFalse(manager.isRunning());
+
+        Path file = manager.dump();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("eventmanager.Purchase")
+                    && e.getInt("eventId") == 42), "the application's events are enabled");
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().startsWith("jdk.")),
+                    "the JDK settings are applied");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertEquals("RUNNING", manager.start("profile", null, 0, Duration.ofMinutes(1)).get("state"),
+                "a stopped recording does not block the next one");
+    }
+
+    @Test
+    @DisplayName("Should use the defaults and reject unknown settings and limits over the caps")
+    void testLimits() {
+        assertThrows(IllegalArgumentException.class, () -> manager.start("everything", null, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> manager.start("default", Duration.ofHours(2), 0, null));
+        assertThrows(IllegalArgumentException.class, () -> manager.start("default", Duration.ZERO, 0, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.start("default", null, RecordingManager.MAX_SIZE_BYTES + 1, null));
+        assertThrows(IllegalArgumentException.class, () -> manager.start("default", null, 0, Duration.ofDays(1)));
+        assertFalse(manager.isRunning());
+
+        Map<String, Object> status = manager.start(null, null, 0, null);
+        assertEquals("default", status.get("settings"));
+        assertEquals(RecordingManager.DEFAULT_MAX_AGE.getSeconds(), status.get("maxAgeSeconds"));
+        assertEquals(RecordingManager.DEFAULT_MAX_SIZE_BYTES, status.get("maxSizeBytes"));
+        assertNull(status.get("durationSeconds"));
+    }
+}
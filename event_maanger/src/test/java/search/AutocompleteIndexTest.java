@@ -0,0 +1,198 @@
+package search;
+
+import dto.SuggestionDTO;
+import model.Event;
+import model.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AutocompleteIndex
+ * Uses a standalone index instance instead of the shared singleton
+ */
+class AutocompleteIndexTest {
+
+    private AutocompleteIndex index;
+    private String nextYear;
+    private String lastYear;
+
+    @BeforeEach
+    void setUp() {
+        index = new AutocompleteIndex();
+        nextYear = String.valueOf(LocalDate.now().getYear() + 1);
+        lastYear = String.valueOf(LocalDate.now().getYear() - 1);
+    }
+
+    private Event event(int id, String name, String startDate) {
+        Event event = new Event(name, "", startDate, "19:00", startDate, startDate, false);
+        event.setId(id);
+        return event;
+    }
+
+    private Location location(int id, String name) {
+        return new Location(id, name, "Address " + id);
+    }
+
+    @Test
+    void testSuggestByPrefixOfAnyWord() {
+        index.rebuild(Arrays.asList(event(1, "Metallica World Tour", nextYear + "-06-01")), new ArrayList<>());
+
+        List<SuggestionDTO> result = index.suggest("tou", 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Metallica World Tour", result.get(0).getName());
+        assertEquals(AutocompleteIndex.TYPE_EVENT, result.get(0).getType());
+    }
+
+    @Test
+    void testSuggestIsCaseAndAccentInsensitive() {
+        index.rebuild(new ArrayList<>(), Arrays.asList(location(1, "Pałac Kultury")));
+
+        List<SuggestionDTO> result = index.suggest("PALAC", 10);
+
+        assertEquals(1, result.size());
+        assertEquals(AutocompleteIndex.TYPE_LOCATION, result.get(0).getType());
+    }
+
+    @Test
+    void testUpcomingEventsRankedByNearestStartDate() {
+        index.rebuild(Arrays.asList(
+                event(1, "Rock Past", lastYear + "-01-01"),
+                event(2, "Rock Later", nextYear + "-12-01"),
+                event(3, "Rock Soon", nextYear + "-01-01")
+        ), new ArrayList<>());
+
+        List<SuggestionDTO> result = index.suggest("rock", 10);
+
+        assertEquals(3, result.size());
+        assertEquals(3, result.get(0).getId());
+        assertEquals(2, result.get(1).getId());
+        assertEquals(1, result.get(2).getId());
+    }
+
+    @Test
+    void testLimitKeepsBestRanked() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            events.add(event(i, "Jazz " + i, nextYear + String.format("-01-%02d", i)));
+        }
+        index.rebuild(events, new ArrayList<>());
+
+        List<SuggestionDTO> result = index.suggest("jazz", 3);
+
+        assertEquals(3, result.size());
+        assertEquals(1, result.get(0).getId());
+        assertEquals(3, result.get(2).getId());
+    }
+
+    @Test
+    void testLocationsFillRemainingSlots() {
+        index.rebuild(Arrays.asList(event(1, "Stadium Show", nextYear + "-05-01")),
+                Arrays.asList(location(7, "Stadion Energa")));
+
+        List<SuggestionDTO> result = index.suggest("stad", 10);
+
+        assertEquals(2, result.size());
+        assertEquals(AutocompleteIndex.TYPE_EVENT, result.get(0).getType());
+        assertEquals(AutocompleteIndex.TYPE_LOCATION, result.get(1).getType());
+    }
+
+    @Test
+    void testRenameReplacesOldKeys() {
+        index.rebuild(Arrays.asList(event(1, "Old Name", nextYear + "-05-01")), new ArrayList<>());
+
+        index.putEvent(1, "New Name", nextYear + "-05-01");
+
+        assertTrue(index.suggest("old", 10).isEmpty());
+        assertEquals(1, index.suggest("new", 10).size());
+    }
+
+    @Test
+    void testRemoveEventAndLocation() {
+        index.rebuild(Arrays.asList(event(1, "Opera Night", nextYear + "-05-01")),
+                Arrays.asList(location(2, "Opera House")));
+
+        index.removeEvent(1);
+        index.removeLocation(2);
+
+        assertTrue(index.suggest("opera", 10).isEmpty());
+    }
+
+    @Test
+    void testChangesIgnoredBeforeLoad() {
+        index.putEvent(1, "Early", nextYear + "-05-01");
+
+        assertFalse(index.isLoaded());
+        index.rebuild(new ArrayList<>(), new ArrayList<>());
+        assertTrue(index.suggest("early", 10).isEmpty());
+    }
+
+    @Test
+    void testChangesDuringRebuildReplayed() {
+        index.beginRebuild();
+        // committed after the snapshot below was read
+        index.putEvent(2, "Late Show", nextYear + "-06-01");
+        index.removeEvent(1);
+
+        index.rebuild(Arrays.asList(event(1, "Opera Night", nextYear + "-05-01")), new ArrayList<>());
+
+        assertTrue(index.suggest("opera", 10).isEmpty());
+        assertEquals(1, index.suggest("late", 10).size());
+    }
+
+    @Test
+    void testBlankPrefixReturnsNothing() {
+        index.rebuild(Arrays.asList(event(1, "Anything", nextYear + "-05-01")), new ArrayList<>());
+
+        assertTrue(index.suggest("  !! ", 10).isEmpty());
+    }
+
+    @Test
+    void testFuzzySearchToleratesTypos() {
+        index.rebuild(Arrays.asList(
+                event(1, "Metallica World Tour", nextYear + "-06-01"),
+                event(2, "Opera Night", nextYear + "-06-02")
+        ), new ArrayList<>());
+
+        List<Integer> result = index.fuzzySearchEvents("metalica", null, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0));
+    }
+
+    @Test
+    void testFuzzySearchRanksByDistance() {
+        index.rebuild(Arrays.asList(
+                event(1, "Jazz Festival", nextYear + "-01-01"),
+                event(2, "Jaz Festivals", nextYear + "-02-01")
+        ), new ArrayList<>());
+
+        List<Integer> result = index.fuzzySearchEvents("jaz festivals", 2, 10);
+
+        assertEquals(2, result.size());
+        assertEquals(2, result.get(0));
+        assertEquals(1, result.get(1));
+    }
+
+    @Test
+    void testFuzzySearchRequiresEveryWord() {
+        index.rebuild(Arrays.asList(event(1, "Rock Concert", nextYear + "-01-01")), new ArrayList<>());
+
+        assertTrue(index.fuzzySearchEvents("rock opera", null, 10).isEmpty());
+    }
+
+    @Test
+    void testFuzzySearchExactWhenZeroEdits() {
+        index.rebuild(Arrays.asList(event(1, "Ballet", nextYear + "-01-01")), new ArrayList<>());
+
+        assertTrue(index.fuzzySearchEvents("balet", 0, 10).isEmpty());
+        assertEquals(1, index.fuzzySearchEvents("ballet", 0, 10).size());
+    }
+}
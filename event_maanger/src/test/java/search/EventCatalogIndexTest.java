@@ -0,0 +1,251 @@
+package search;
+
+import dao.CatalogDAO;
+import dto.EventFacetsDTO;
+import dto.EventPublicDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventCatalogIndex
+ * Uses an in-memory CatalogDAO returning hand-built projection rows
+ */
+class EventCatalogIndexTest {
+
+    private TestCatalogDAO dao;
+
+    @BeforeEach
+    void setUp() {
+        dao = new TestCatalogDAO();
+        dao.event(1, "Rock Concert", "2030-05-10", "2030-05-10");
+        dao.event(2, "Jazz Night", "2030-05-20", "2030-05-21");
+        dao.event(3, "Opera Gala", "2030-06-01", "2030-06-01");
+        dao.event(4, "Free Meetup", null, null);
+
+        dao.location(1, 10, "Arena");
+        dao.location(2, 11, "Jazz Club");
+        dao.location(3, 10, "Arena");
+
+        dao.price(1, "Standard", 40.0);
+        dao.price(1, "VIP", 150.0);
+        dao.price(2, "Standard", 80.0);
+        dao.price(3, "Standard", 600.0);
+
+        dao.quantity(1, "Standard", 2);
+        dao.quantity(1, "VIP", 1);
+        dao.quantity(2, "Standard", 1);
+        dao.quantity(3, "Standard", 5);
+
+        dao.sold(2, "Standard", 1);
+        dao.sold(1, "VIP", 1);
+    }
+
+    private List<Integer> ids(EventCatalogIndex index, BitSet result) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            ids.add(index.idOf(i));
+        }
+        return ids;
+    }
+
+    @Test
+    void testEmptyCriteriaMatchesAllInIdOrder() {
+        EventCatalogIndex index = EventCatalogIndex.load(dao, 0, 0);
+
+        assertEquals(List.of(1, 2, 3, 4), ids(index, index.search(new EventSearchCriteria())));
+    }
+
+    @Test
+    void testNameAndLocationFragments() {
+        EventCatalogIndex index = EventCatalogIndex.load(dao, 0, 0);
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setLocationName("aren");
+
+        assertEquals(List.of(1, 3), ids(index, index.search(criteria)));
+
+        criteria.setEventName("OPERA");
+        assertEquals(List.of(3), ids(index, index.search(criteria)));
+    }
+
+    @Test
+    void testDateFiltersExcludeEventsWithoutDates() {
+        EventCatalogIndex index = EventCatalogIndex.load(dao, 0, 0);
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setStartDate("2030-05-15");
+
+        assertEquals(List.of(2, 3), ids(index, index.search(criteria)));
+
+        criteria.setEndDate("2030-05-31");
+        assertEquals(List.of(2), ids(index, index.search(criteria)));
+    }
+
+    @Test
+    void testPriceFilterLetsUnpricedEventsThrough() {
+        EventCatalogIndex index = EventCatalogIndex.load(dao, 0, 0);
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setMaxPrice(100.0);
+
+        assertEquals(List.of(2, 4), ids(index, index.search(criteria)));
+    }
+
+    @Test
+    void testOnlyAvailableUsesSoldCounts() {
+        EventCatalogIndex index = EventCatalogIndex.load(dao, 0, 0);
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setOnlyAvailable(true);
+
+        assertEquals(List.of(1, 3), ids(index, index.search(criteria)));
+    }
+
+    @Test
+    void testCandidateIdsRestrictResult() {
+        EventCatalogIndex index = EventCatalogIndex.load(dao, 0, 0);
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setEventIds(List.of(3, 1, 99));
+
+        assertEquals(List.of(1, 3), ids(index, index.search(criteria)));
+    }
+
+    @Test
+    void testFacetCountsFollowResult() {
+        EventCatalogIndex index = EventCatalogIndex.load(dao, 0, 0);
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setStartDate("2030-01-01");
+
+        EventFacetsDTO facets = index.facets(index.search(criteria));
+
+        assertEquals(2, facets.getLocations().size());
+        assertEquals("Arena", facets.getLocations().get(0).getLabel());
+        assertEquals(2, facets.getLocations().get(0).getCount());
+        assertEquals("2030-05", facets.getMonths().get(0).getValue());
+        assertEquals(2, facets.getMonths().get(0).getCount());
+        assertEquals(1, facets.getMonths().get(1).getCount());
+        assertEquals(6, facets.getPriceRanges().size());
+        assertEquals(1, facets.getPriceRanges().get(0).getCount());
+        assertEquals(2, facets.getAvailable());
+        assertEquals(1, facets.getSoldOut());
+    }
+
+    @Test
+    void testPublicDTOCarriesRemainingTickets() {
+        EventCatalogIndex index = EventCatalogIndex.load(dao, 0, 0);
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setEventName("rock");
+
+        List<EventPublicDTO> dtos = index.toPublicDTOs(index.search(criteria));
+
+        assertEquals(1, dtos.size());
+        assertEquals(2, dtos.get(0).getTicketAvailability().get("Standard").getAvailableCount());
+        assertEquals(0, dtos.get(0).getTicketAvailability().get("VIP").getAvailableCount());
+        assertEquals(150.0, dtos.get(0).getTicketAvailability().get("VIP").getPrice());
+    }
+
+    @Test
+    void testWithInventoryKeepsCatalogAndRefreshesAvailability() {
+        EventCatalogIndex index = EventCatalogIndex.load(dao, 3, 0);
+        dao.sold(3, "Standard", 5);
+
+        EventCatalogIndex refreshed = index.withInventory(dao, 1);
+
+        assertEquals(3, refreshed.getCatalogVersion());
+        assertEquals(1, refreshed.getInventoryVersion());
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setOnlyAvailable(true);
+        assertEquals(List.of(1), ids(refreshed, refreshed.search(criteria)));
+        assertEquals(List.of(1, 3), ids(index, index.search(criteria)));
+    }
+
+    @Test
+    void testWithInventoryRecountsOnlyChangedEvents() {
+        EventCatalogIndex index = EventCatalogIndex.load(dao, 3, 0);
+        dao.sold(3, "Standard", 5);
+        dao.sold(1, "Standard", 2);
+
+        EventCatalogIndex refreshed = index.withInventory(dao, List.of(3), 1);
+
+        assertEquals(List.of(3), dao.recounted);
+        assertEquals(1, refreshed.getInventoryVersion());
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setOnlyAvailable(true);
+        assertEquals(List.of(1), ids(refreshed, refreshed.search(criteria)), "event 1 keeps its old counts");
+        List<EventPublicDTO> dtos = refreshed.toPublicDTOs(refreshed.search(new EventSearchCriteria()));
+        assertEquals(0, dtos.get(2).getTicketAvailability().get("Standard").getAvailableCount());
+        assertEquals(2, dtos.get(0).getTicketAvailability().get("Standard").getAvailableCount());
+    }
+
+    /**
+     * In-memory CatalogDAO
+     */
+    private static class TestCatalogDAO implements CatalogDAO {
+        private final List<Object[]> events = new ArrayList<>();
+        private final List<Object[]> locations = new ArrayList<>();
+        private final List<Object[]> prices = new ArrayList<>();
+        private final List<Object[]> quantities = new ArrayList<>();
+        private final List<Object[]> sold = new ArrayList<>();
+        private final List<Integer> recounted = new ArrayList<>();
+
+        void event(int id, String name, String startDate, String endDate) {
+            events.add(new Object[]{id, name, "", startDate, endDate});
+        }
+
+        void location(int eventId, int locationId, String name) {
+            locations.add(new Object[]{eventId, locationId, name});
+        }
+
+        void price(int eventId, String type, double price) {
+            prices.add(new Object[]{eventId, type, price});
+        }
+
+        void quantity(int eventId, String type, int quantity) {
+            quantities.add(new Object[]{eventId, type, quantity});
+        }
+
+        void sold(int eventId, String type, long count) {
+            sold.add(new Object[]{eventId, type, count});
+        }
+
+        @Override
+        public List<Object[]> getEventRows() {
+            return events;
+        }
+
+        @Override
+        public List<Object[]> getEventLocationRows() {
+            return locations;
+        }
+
+        @Override
+        public List<Object[]> getTicketPriceRows() {
+            return prices;
+        }
+
+        @Override
+        public List<Object[]> getTicketQuantityRows() {
+            return quantities;
+        }
+
+        @Override
+        public List<Object[]> getSoldTicketRows() {
+            return sold;
+        }
+
+        @Override
+        public List<Object[]> getSoldTicketRows(Collection<Integer> eventIds) {
+            recounted.addAll(eventIds);
+            List<Object[]> rows = new ArrayList<>();
+            for (Object[] row : sold) {
+                if (eventIds.contains(row[0])) {
+                    rows.add(row);
+                }
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LevenshteinAutomaton and its intersection with NameTrie
+ */
+class LevenshteinAutomatonTest {
+
+    private int run(LevenshteinAutomaton automaton, String input) {
+        int[] state = automaton.start();
+        for (int i = 0; i < input.length(); i++) {
+            state = automaton.step(state, input.charAt(i), i);
+        }
+        return automaton.isMatch(state) ? automaton.distance(state) : -1;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int[] current = new int[b.length() + 1];
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            previous = current;
+        }
+        return previous[b.length()];
+    }
+
+    @Test
+    void testExactMatch() {
+        assertEquals(0, run(new LevenshteinAutomaton("concert", 1), "concert"));
+    }
+
+    @Test
+    void testSubstitutionInsertionDeletion() {
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("concert", 1);
+
+        assertEquals(1, run(automaton, "concart"));
+        assertEquals(1, run(automaton, "concerts"));
+        assertEquals(1, run(automaton, "concrt"));
+    }
+
+    @Test
+    void testTooFarDoesNotMatch() {
+        assertEquals(-1, run(new LevenshteinAutomaton("concert", 1), "cancart"));
+    }
+
+    @Test
+    void testDeadStateCannotMatch() {
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("abc", 1);
+        int[] state = automaton.start();
+        state = automaton.step(state, 'x', 0);
+        state = automaton.step(state, 'y', 1);
+
+        assertFalse(automaton.canMatch(state));
+    }
+
+    @Test
+    void testAgreesWithDynamicProgramming() {
+        Random random = new Random(42);
+        for (int n = 0; n < 2000; n++) {
+            String term = randomWord(random);
+            String input = randomWord(random);
+            int maxEdits = random.nextInt(3);
+            int expected = levenshtein(term, input);
+
+            int actual = run(new LevenshteinAutomaton(term, maxEdits), input);
+
+            assertEquals(expected <= maxEdits ? expected : -1, actual, term + " vs " + input);
+        }
+    }
+
+    @Test
+    void testTrieIntersection() {
+        NameTrie trie = new NameTrie();
+        trie.add("metallica", 1);
+        trie.add("metal", 2);
+        trie.add("opera", 3);
+        Map<Integer, Integer> found = new HashMap<>();
+
+        trie.forEachFuzzyMatch(new LevenshteinAutomaton("metalica", 2), found::put);
+
+        assertEquals(1, found.size());
+        assertEquals(1, found.get(1));
+    }
+
+    @Test
+    void testDefaultMaxEdits() {
+        assertEquals(0, LevenshteinAutomaton.defaultMaxEdits("ab"));
+        assertEquals(1, LevenshteinAutomaton.defaultMaxEdits("rock"));
+        assertEquals(2, LevenshteinAutomaton.defaultMaxEdits("festival"));
+    }
+
+    @Test
+    void testRejectsUnsupportedDistance() {
+        assertThrows(IllegalArgumentException.class, () -> new LevenshteinAutomaton("abc", 3));
+    }
+
+    private static String randomWord(Random random) {
+        int length = 1 + random.nextInt(7);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(3)));
+        }
+        return sb.toString();
+    }
+}
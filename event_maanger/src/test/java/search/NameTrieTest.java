@@ -0,0 +1,113 @@
+package search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NameTrie and TextNormalizer
+ */
+class NameTrieTest {
+
+    private NameTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new NameTrie();
+    }
+
+    private List<Integer> idsWithPrefix(String prefix) {
+        List<Integer> ids = new ArrayList<>();
+        trie.forEachWithPrefix(prefix, ids::add);
+        return ids;
+    }
+
+    @Test
+    void testPrefixLookup() {
+        trie.add("metallica", 1);
+        trie.add("metal fest", 2);
+        trie.add("opera", 3);
+
+        List<Integer> ids = idsWithPrefix("meta");
+
+        assertEquals(2, ids.size());
+        assertTrue(ids.contains(1));
+        assertTrue(ids.contains(2));
+    }
+
+    @Test
+    void testExactKeyIsItsOwnPrefix() {
+        trie.add("opera", 3);
+
+        assertEquals(1, idsWithPrefix("opera").size());
+        assertTrue(idsWithPrefix("operas").isEmpty());
+    }
+
+    @Test
+    void testDuplicatePairIgnored() {
+        trie.add("jazz", 1);
+        trie.add("jazz", 1);
+
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void testRemove() {
+        trie.add("jazz", 1);
+        trie.add("jazz night", 2);
+
+        trie.remove("jazz", 1);
+
+        assertEquals(1, trie.size());
+        List<Integer> ids = idsWithPrefix("jazz");
+        assertEquals(1, ids.size());
+        assertEquals(2, ids.get(0));
+    }
+
+    @Test
+    void testRemovePrunesEmptyBranches() {
+        trie.add("abc", 1);
+        trie.remove("abc", 1);
+
+        assertNull(trie.find("a"));
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void testRemoveUnknownKey() {
+        trie.add("abc", 1);
+
+        assertDoesNotThrow(() -> trie.remove("xyz", 1));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void testClear() {
+        trie.add("abc", 1);
+        trie.add("abd", 2);
+
+        trie.clear();
+
+        assertEquals(0, trie.size());
+        assertTrue(idsWithPrefix("a").isEmpty());
+    }
+
+    @Test
+    void testNormalizeStripsDiacriticsAndPunctuation() {
+        assertEquals("palac kultury", TextNormalizer.normalize("  Pałac   Kultury! "));
+        assertEquals("lodz", TextNormalizer.normalize("Łódź"));
+        assertEquals("", TextNormalizer.normalize(null));
+    }
+
+    @Test
+    void testTokens() {
+        List<String> tokens = TextNormalizer.tokens("metallica world tour");
+
+        assertEquals(3, tokens.size());
+        assertEquals("tour", tokens.get(2));
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -132,6 +133,11 @@ class AuthServiceTest {
         public User getUserById(int id) {
             return users.stream().filter(u -> u.getId() == id).findFirst().orElse(null);
         }
+        @Override
+        public User patchUser(int id, Integer expectedVersion, Consumer<User> changes) {
+            return null;
+        }
+
         @Override
         public void updateUser(User user) {
             users.stream()
@@ -156,6 +162,20 @@ class AuthServiceTest {
         public List<User> getAllUsers() {
             return new ArrayList<>(users);
         }
+        @Override
+        public void forEachUser(Consumer<User> action) {
+            users.forEach(action);
+        }
+        @Override
+        public List<User> getUsersPage(String sortField, String afterKey, Integer afterId, int limit) {
+            List<User> page = new ArrayList<>();
+            for (User item : users) {
+                if ((afterId == null || item.getId() > afterId) && page.size() < limit) {
+                    page.add(item);
+                }
+            }
+            return page;
+        }
     }
 }
 
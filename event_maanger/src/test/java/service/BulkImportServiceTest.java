@@ -0,0 +1,168 @@
+package service;
+
+import dao.BulkImportDAO;
+import dto.ImportRecord;
+import dto.ImportSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BulkImportService
+ * Parsing, validation and chunking are checked against an in-memory TestBulkImportDAO
+ */
+class BulkImportServiceTest {
+
+    private TestBulkImportDAO testDAO;
+    private BulkImportService importService;
+    private List<String> rowErrors;
+    private List<ImportSummaryDTO> progress;
+    private BulkImportService.ProgressListener listener;
+
+    @BeforeEach
+    void setUp() {
+        testDAO = new TestBulkImportDAO();
+        importService = new BulkImportService(testDAO, 2);
+        rowErrors = new ArrayList<>();
+        progress = new ArrayList<>();
+        listener = new BulkImportService.ProgressListener() {
+            @Override
+            public void rowFailed(long line, String message) {
+                rowErrors.add(line + ": " + message);
+            }
+
+            @Override
+            public void chunkImported(ImportSummaryDTO totals) {
+                progress.add(totals);
+            }
+        };
+    }
+
+    private ImportSummaryDTO importNdjson(String input) throws IOException {
+        return importService.importData(new StringReader(input), BulkImportService.FORMAT_NDJSON, listener);
+    }
+
+    @Test
+    void testNdjsonEventWithTiersAndLocations() throws IOException {
+        ImportSummaryDTO summary = importNdjson(
+                "{\"name\":\"Rock\",\"eventStartDate\":\"2030-01-01\",\"ticketPrices\":{\"VIP\":100.0},"
+                        + "\"ticketQuantities\":{\"VIP\":50},\"locations\":[\"Arena\"]}\n");
+
+        assertEquals(1, summary.getImported());
+        ImportRecord record = testDAO.records.get(0);
+        assertEquals(ImportRecord.TYPE_EVENT, record.getType());
+        assertEquals(100.0, record.getTicketPrices().get("VIP"));
+        assertEquals(50, record.getTicketQuantities().get("VIP"));
+        assertEquals(List.of("Arena"), record.getLocationNames());
+    }
+
+    @Test
+    void testRowsAreWrittenInChunks() throws IOException {
+        importNdjson("{\"name\":\"A\"}\n{\"name\":\"B\"}\n\n{\"name\":\"C\"}\n");
+
+        assertEquals(2, testDAO.chunks);
+        assertEquals(2, progress.size());
+        assertEquals(2, progress.get(0).getImported());
+        assertEquals(3, progress.get(1).getImported());
+    }
+
+    @Test
+    void testInvalidRowsReportedWithLineAndSkipped() throws IOException {
+        ImportSummaryDTO summary = importNdjson(
+                "{\"name\":\"Ok\"}\n"
+                        + "not json\n"
+                        + "{\"type\":\"ticket\",\"event\":\"Ok\",\"ticketType\":\"VIP\",\"price\":10}\n"
+                        + "{\"type\":\"price\",\"event\":\"Ok\",\"ticketType\":\"VIP\",\"price\":-1}\n"
+                        + "{\"type\":\"unknown\"}\n");
+
+        assertEquals(5, summary.getProcessed());
+        assertEquals(1, summary.getImported());
+        assertEquals(4, summary.getFailed());
+        assertTrue(rowErrors.get(0).startsWith("2: Malformed JSON"));
+        assertEquals("3: userLogin is required", rowErrors.get(1));
+        assertEquals("4: price must not be negative", rowErrors.get(2));
+        assertEquals("5: Unknown row type: unknown", rowErrors.get(3));
+    }
+
+    @Test
+    void testDatabaseErrorsReportedPerRow() throws IOException {
+        testDAO.rejectName = "Duplicate";
+
+        ImportSummaryDTO summary = importNdjson("{\"name\":\"Duplicate\"}\n{\"name\":\"Fine\"}\n");
+
+        assertEquals(1, summary.getImported());
+        assertEquals(List.of("1: Event already exists: Duplicate"), rowErrors);
+    }
+
+    @Test
+    void testCsvWithQuotedFieldsAndInlineTier() throws IOException {
+        String csv = "type,name,description,ticketType,price,quantity,locations\n"
+                + "event,\"Jazz, Live\",\"Two\nlines with \"\"quotes\"\"\",Standard,45.5,100,Club; Hall\n"
+                + "price,,,VIP,90,,\n";
+
+        ImportSummaryDTO summary = importService.importData(new StringReader(csv), BulkImportService.FORMAT_CSV, listener);
+
+        assertEquals(2, summary.getProcessed());
+        assertEquals(1, summary.getImported());
+        ImportRecord record = testDAO.records.get(0);
+        assertEquals("Jazz, Live", record.getName());
+        assertEquals("Two\nlines with \"quotes\"", record.getDescription());
+        assertEquals(45.5, record.getTicketPrices().get("Standard"));
+        assertEquals(100, record.getTicketQuantities().get("Standard"));
+        assertEquals(List.of("Club", "Hall"), record.getLocationNames());
+        assertEquals(List.of("4: event is required"), rowErrors);
+    }
+
+    @Test
+    void testUnreadableInputKeepsCommittedChunks() {
+        String csv = "type,name\n"
+                + "event,First\n"
+                + "event,Second\n"
+                + "event,\"Unterminated\n";
+        long catalog = CatalogVersion.catalog();
+
+        assertThrows(IOException.class,
+                () -> importService.importData(new StringReader(csv), BulkImportService.FORMAT_CSV, listener));
+
+        assertEquals(1, progress.size());
+        assertEquals(2, progress.get(0).getImported());
+        assertEquals(2, testDAO.records.size());
+        assertTrue(CatalogVersion.catalog() > catalog, "cached catalog pages must not outlive the committed rows");
+    }
+
+    @Test
+    void testUnknownFormatRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importData(new StringReader(""), "xml", listener));
+    }
+
+    /**
+     * In-memory BulkImportDAO - accepts every record except events named rejectName
+     */
+    private static class TestBulkImportDAO implements BulkImportDAO {
+        private final List<ImportRecord> records = new ArrayList<>();
+        private int chunks;
+        private String rejectName;
+
+        @Override
+        public List<String> importChunk(List<ImportRecord> chunk) {
+            chunks++;
+            List<String> errors = new ArrayList<>();
+            for (ImportRecord record : chunk) {
+                if (record.getName() != null && record.getName().equals(rejectName)) {
+                    errors.add("Event already exists: " + record.getName());
+                } else {
+                    records.add(record);
+                    errors.add(null);
+                }
+            }
+            return errors;
+        }
+    }
+}
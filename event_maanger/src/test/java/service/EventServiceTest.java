@@ -1,14 +1,24 @@
 package service;
 
 import dao.EventDAO;
+import dto.BulkResultDTO;
+import dto.EventBulkOperationDTO;
+import jakarta.persistence.OptimisticLockException;
 import model.Event;
+import model.Location;
+import model.Room;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -197,6 +207,161 @@ class EventServiceTest {
         assertEquals(100, eventService.getTicketQuantity(event.getId(), "Standard"));
     }
 
+    @Test
+    void testForEachEventVisitsAllEvents() {
+        eventService.addEvent("Event 1", "", "2026-01-01", "19:00", "2026-01-01", "2026-01-01", false);
+        eventService.addEvent("Event 2", "", "2026-01-01", "19:00", "2026-01-01", "2026-01-01", false);
+        List<String> visited = new ArrayList<>();
+
+        eventService.forEachEvent(event -> visited.add(event.getName()));
+
+        assertEquals(List.of("Event 1", "Event 2"), visited);
+    }
+
+    @Test
+    void testGetEventsPageWalksAllEventsWithCursor() {
+        for (int i = 1; i <= 5; i++) {
+            eventService.addEvent("Event " + i, "", "2026-01-01", "19:00", "2026-01-01", "2026-01-01", false);
+        }
+
+        Page<Event> first = eventService.getEventsPage(null, null, 2);
+        Page<Event> second = eventService.getEventsPage(null, first.getNextCursor(), 2);
+        Page<Event> last = eventService.getEventsPage(null, second.getNextCursor(), 2);
+
+        assertEquals(2, first.getItems().size());
+        assertEquals(1, first.getItems().get(0).getId());
+        assertEquals(3, second.getItems().get(0).getId());
+        assertEquals(1, last.getItems().size());
+        assertEquals(5, last.getItems().get(0).getId());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void testAddEventFromDefinition() {
+        Event definition = new Event("Gala", "Annual gala", "2026-12-01", "20:00", "2026-12-01", "2026-12-01", true);
+        Map<String, Double> prices = new HashMap<>();
+        prices.put("VIP", 250.0);
+        definition.setTicketPrices(prices);
+        Location hall = new Location();
+        hall.setId(3);
+        definition.setLocations(Arrays.asList(hall, hall));
+        Room stage = new Room();
+        stage.setId(7);
+        definition.setRooms(Arrays.asList(stage));
+
+        Event result = eventService.addEvent(definition);
+
+        assertEquals("Gala", result.getName());
+        assertEquals(250.0, result.getTicketPrices().get("VIP"));
+        assertEquals(Arrays.asList(3), testEventDAO.lastLocationIds);
+        assertEquals(Arrays.asList(7), testEventDAO.lastRoomIds);
+    }
+
+    @Test
+    void testDeleteEventsByIds() {
+        Event keep = eventService.addEvent("Keep", "", "2026-01-01", "19:00", "2026-01-01", "2026-01-01", false);
+        Event drop = eventService.addEvent("Drop", "", "2026-01-01", "19:00", "2026-01-01", "2026-01-01", false);
+        EventBulkOperationDTO filter = new EventBulkOperationDTO();
+        filter.setEventIds(Arrays.asList(drop.getId()));
+
+        BulkResultDTO result = eventService.deleteEvents(filter);
+
+        assertEquals(1, result.getEvents());
+        assertNotNull(eventService.getEvent(keep.getId()));
+        assertNull(eventService.getEvent(drop.getId()));
+    }
+
+    @Test
+    void testBulkOperationsRequireFilter() {
+        EventBulkOperationDTO operation = new EventBulkOperationDTO();
+        operation.setTicketType("VIP");
+        operation.setPrice(10.0);
+        operation.setDays(7);
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.deleteEvents(operation));
+        assertThrows(IllegalArgumentException.class, () -> eventService.repriceTicketType(operation));
+        assertThrows(IllegalArgumentException.class, () -> eventService.shiftEventDates(operation));
+    }
+
+    @Test
+    void testRepriceValidatesPriceOrFactor() {
+        EventBulkOperationDTO operation = new EventBulkOperationDTO();
+        operation.setStartsFrom("2026-01-01");
+        operation.setTicketType("VIP");
+        assertThrows(IllegalArgumentException.class, () -> eventService.repriceTicketType(operation));
+
+        operation.setPrice(10.0);
+        operation.setFactor(1.1);
+        assertThrows(IllegalArgumentException.class, () -> eventService.repriceTicketType(operation));
+
+        operation.setPrice(null);
+        eventService.repriceTicketType(operation);
+        assertSame(operation, testEventDAO.lastOperation);
+    }
+
+    @Test
+    void testShiftEventDatesRequiresDays() {
+        EventBulkOperationDTO operation = new EventBulkOperationDTO();
+        operation.setEventIds(Arrays.asList(1));
+        operation.setDays(0);
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.shiftEventDates(operation));
+    }
+
+    @Test
+    void testPatchEventDelegatesAndInvalidatesCaches() {
+        Event event = eventService.addEvent("Draft", "", "2026-01-01", "19:00", "2026-01-01", "2026-01-01", false);
+        long catalog = CatalogVersion.catalog();
+        long inventory = CatalogVersion.inventory(event.getId());
+
+        Event patched = eventService.patchEvent(event.getId(), 3, e -> e.setDescription("Final"));
+
+        assertSame(event, patched);
+        assertEquals("Final", patched.getDescription());
+        assertEquals(3, testEventDAO.patchedVersion);
+        assertTrue(CatalogVersion.catalog() > catalog);
+        assertTrue(CatalogVersion.inventory(event.getId()) > inventory);
+    }
+
+    @Test
+    void testPatchEventPropagatesVersionConflict() {
+        Event event = eventService.addEvent("Draft", "", "2026-01-01", "19:00", "2026-01-01", "2026-01-01", false);
+        testEventDAO.patchFailure = new OptimisticLockException("event 1 has version 1, expected 0");
+        long catalog = CatalogVersion.catalog();
+
+        assertThrows(OptimisticLockException.class,
+                () -> eventService.patchEvent(event.getId(), 0, e -> e.setDescription("Second")));
+        assertEquals(catalog, CatalogVersion.catalog());
+    }
+
+    @Test
+    void testPatchMissingEventReturnsNull() {
+        long catalog = CatalogVersion.catalog();
+
+        assertNull(eventService.patchEvent(42, null, e -> e.setDescription("x")));
+        assertEquals(catalog, CatalogVersion.catalog());
+    }
+
+    @Test
+    void testGetEventsPageBySortKey() {
+        eventService.addEvent("Charlie", "", "2026-01-01", "19:00", "2026-01-01", "2026-01-01", false);
+        eventService.addEvent("Alpha", "", "2026-01-01", "19:00", "2026-01-01", "2026-01-01", false);
+        eventService.addEvent("Bravo", "", "2026-01-01", "19:00", "2026-01-01", "2026-01-01", false);
+
+        Page<Event> first = eventService.getEventsPage("name", null, 2);
+        Page<Event> second = eventService.getEventsPage(null, first.getNextCursor(), 2);
+
+        assertEquals("Alpha", first.getItems().get(0).getName());
+        assertEquals("Bravo", first.getItems().get(1).getName());
+        assertEquals("Charlie", second.getItems().get(0).getName());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testGetEventsPageRejectsUnknownSortKey() {
+        assertThrows(IllegalArgumentException.class, () -> eventService.getEventsPage("description", null, 10));
+    }
+
     // ===== TEST DAO IMPLEMENTATION =====
 
     /**
@@ -205,7 +370,12 @@ class EventServiceTest {
      */
     private static class TestEventDAO implements EventDAO {
         private List<Event> events = new ArrayList<>();
+        private Integer patchedVersion;
+        private RuntimeException patchFailure;
         private Map<String, Map<String, Object>> ticketData = new HashMap<>();
+        private List<Integer> lastLocationIds;
+        private List<Integer> lastRoomIds;
+        private EventBulkOperationDTO lastOperation;
 
         @Override
         public void rollback() {
@@ -223,6 +393,37 @@ class EventServiceTest {
             return event;
         }
 
+        @Override
+        public Event addEvent(Event definition, List<Integer> locationIds, List<Integer> roomIds) {
+            Event event = addEvent(definition.getName(), definition.getDescription(), definition.getEventDate(),
+                    definition.getEventTime(), definition.getEventStartDate(), definition.getEventEndDate(),
+                    definition.isNumberedSeats());
+            event.setTicketPrices(definition.getTicketPrices());
+            event.setTicketQuantities(definition.getTicketQuantities());
+            lastLocationIds = locationIds;
+            lastRoomIds = roomIds;
+            return event;
+        }
+
+        @Override
+        public BulkResultDTO deleteEvents(EventBulkOperationDTO filter) {
+            int before = events.size();
+            events.removeIf(e -> filter.getEventIds().contains(e.getId()));
+            return new BulkResultDTO(before - events.size(), 0, 0);
+        }
+
+        @Override
+        public BulkResultDTO repriceTicketType(EventBulkOperationDTO operation) {
+            lastOperation = operation;
+            return new BulkResultDTO(0, 0, 0);
+        }
+
+        @Override
+        public BulkResultDTO shiftEventDates(EventBulkOperationDTO operation) {
+            lastOperation = operation;
+            return new BulkResultDTO(0, 0, 0);
+        }
+
         @Override
         public Event getEventById(int id) {
             return events.stream().filter(e -> e.getId() == id).findFirst().orElse(null);
@@ -233,6 +434,19 @@ class EventServiceTest {
             return events.stream().filter(e -> e.getName() != null && e.getName().equals(name)).findFirst().orElse(null);
         }
 
+        @Override
+        public Event patchEvent(int id, Integer expectedVersion, Consumer<Event> changes) {
+            patchedVersion = expectedVersion;
+            if (patchFailure != null) {
+                throw patchFailure;
+            }
+            Event event = events.stream().filter(x -> x.getId() == id).findFirst().orElse(null);
+            if (event != null) {
+                changes.accept(event);
+            }
+            return event;
+        }
+
         @Override
         public void updateEvent(Event event) {
         }
@@ -247,6 +461,23 @@ class EventServiceTest {
             return new ArrayList<>(events);
         }
 
+        @Override
+        public void forEachEvent(Consumer<Event> action) {
+            events.forEach(action);
+        }
+
+        @Override
+        public List<Event> getEventsPage(String sortField, String afterKey, Integer afterId, int limit) {
+            Function<Event, String> key = "name".equals(sortField) ? Event::getName : e -> "";
+            String after = afterKey != null ? afterKey : "";
+            return events.stream()
+                    .sorted(Comparator.comparing(key).thenComparingInt(Event::getId))
+                    .filter(e -> afterId == null || key.apply(e).compareTo(after) > 0
+                            || (key.apply(e).equals(after) && e.getId() > afterId))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+
         @Override
         public void setTicketPrice(int eventId, String ticketType, double price) {
             String key = eventId + "_" + ticketType;
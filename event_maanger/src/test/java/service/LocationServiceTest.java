@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -66,6 +67,20 @@ class LocationServiceTest {
         assertDoesNotThrow(() -> locationService.deleteLocation(location));
     }
 
+    @Test
+    void testPatchLocationDelegatesAndInvalidatesCatalog() {
+        Location location = locationService.addLocation("Location", "Address");
+        long catalog = CatalogVersion.catalog();
+
+        Location patched = locationService.patchLocation(location.getId(), 2, l -> l.setAddress("New address"));
+
+        assertSame(location, patched);
+        assertEquals("New address", patched.getAddress());
+        assertEquals(2, testLocationDAO.patchedVersion);
+        assertTrue(CatalogVersion.catalog() > catalog);
+        assertNull(locationService.patchLocation(42, null, l -> l.setAddress("x")));
+    }
+
     @Test
     void testGetAllLocations() {
         locationService.addLocation("Loc1", "Addr1");
@@ -88,6 +103,8 @@ class LocationServiceTest {
 
     private static class TestLocationDAO implements LocationDAO {
         private List<Location> locations = new ArrayList<>();
+        private Integer patchedVersion;
+        private RuntimeException patchFailure;
 
         @Override
         public void rollback() {}
@@ -107,6 +124,19 @@ class LocationServiceTest {
         public Location getLocationByName(String name) {
             return locations.stream().filter(l -> l.getName() != null && l.getName().equals(name)).findFirst().orElse(null);
         }
+        @Override
+        public Location patchLocation(int id, Integer expectedVersion, Consumer<Location> changes) {
+            patchedVersion = expectedVersion;
+            if (patchFailure != null) {
+                throw patchFailure;
+            }
+            Location location = locations.stream().filter(x -> x.getId() == id).findFirst().orElse(null);
+            if (location != null) {
+                changes.accept(location);
+            }
+            return location;
+        }
+
         @Override
         public void updateLocation(Location location) {}
         @Override
@@ -118,6 +148,16 @@ class LocationServiceTest {
             return new ArrayList<>(locations);
         }
         @Override
+        public List<Location> getLocationsPage(String sortField, String afterKey, Integer afterId, int limit) {
+            List<Location> page = new ArrayList<>();
+            for (Location item : locations) {
+                if ((afterId == null || item.getId() > afterId) && page.size() < limit) {
+                    page.add(item);
+                }
+            }
+            return page;
+        }
+        @Override
         public List<User> getContactsByLocationId(int locationId) {
             return new ArrayList<>();
         }
@@ -0,0 +1,91 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Pagination - cursor format, limits and sort key validation
+ */
+class PaginationTest {
+
+    private final Map<String, Function<String, String>> sortKeys = new LinkedHashMap<>();
+    private final List<Object[]> calls = new ArrayList<>();
+
+    PaginationTest() {
+        sortKeys.put(Pagination.SORT_BY_ID, null);
+        sortKeys.put("name", value -> value);
+    }
+
+    private Page<String> fetch(String cursor, Integer limit, String sort, int rowsAvailable) {
+        return Pagination.fetch(cursor, limit, sort, sortKeys, value -> value.length(),
+                (sortField, afterKey, afterId, maxResults) -> {
+                    calls.add(new Object[]{sortField, afterKey, afterId, maxResults});
+                    List<String> rows = new ArrayList<>();
+                    for (int i = 1; i <= Math.min(rowsAvailable, maxResults); i++) {
+                        rows.add(new String(new char[i]).replace('\0', 'x'));
+                    }
+                    return rows;
+                });
+    }
+
+    @Test
+    void testFetchesOneExtraRowToDetectNextPage() {
+        Page<String> page = fetch(null, 3, null, 10);
+
+        assertEquals(3, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        assertEquals(4, calls.get(0)[3]);
+        assertNull(calls.get(0)[0]);
+    }
+
+    @Test
+    void testLastPageHasNoCursor() {
+        Page<String> page = fetch(null, 3, null, 3);
+
+        assertEquals(3, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testCursorCarriesSortKeyValueAndId() {
+        Page<String> page = fetch(null, 2, "name", 10);
+        fetch(page.getNextCursor(), 2, null, 10);
+
+        Object[] second = calls.get(1);
+        assertEquals("name", second[0]);
+        assertEquals("xx", second[1]);
+        assertEquals(2, second[2]);
+    }
+
+    @Test
+    void testLimitIsClamped() {
+        assertEquals(Pagination.DEFAULT_LIMIT, Pagination.effectiveLimit(null));
+        assertEquals(1, Pagination.effectiveLimit(0));
+        assertEquals(Pagination.MAX_LIMIT, Pagination.effectiveLimit(100000));
+    }
+
+    @Test
+    void testInvalidCursorRejected() {
+        assertThrows(InvalidCursorException.class, () -> fetch("not a cursor!", 2, null, 10));
+        assertThrows(InvalidCursorException.class, () -> fetch(Pagination.encode("id", 1, null) + "$", 2, null, 10));
+    }
+
+    @Test
+    void testCursorForDifferentSortRejected() {
+        String cursor = Pagination.encode("id", 5, null);
+
+        assertThrows(InvalidCursorException.class, () -> fetch(cursor, 2, "name", 10));
+    }
+
+    @Test
+    void testUnknownSortKeyRejected() {
+        assertThrows(InvalidCursorException.class, () -> fetch(null, 2, "password", 10));
+    }
+}
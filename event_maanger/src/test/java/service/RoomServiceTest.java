@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -56,6 +57,18 @@ class RoomServiceTest {
         assertDoesNotThrow(() -> roomService.deleteRoom(room));
     }
 
+    @Test
+    void testPatchRoomDelegates() {
+        Room room = roomService.addRoom("Room", "Desc");
+
+        Room patched = roomService.patchRoom(room.getId(), 2, r -> r.setName("Renamed"));
+
+        assertSame(room, patched);
+        assertEquals("Renamed", patched.getName());
+        assertEquals(2, testRoomDAO.patchedVersion);
+        assertNull(roomService.patchRoom(42, null, r -> r.setName("x")));
+    }
+
     @Test
     void testGetAllRooms() {
         roomService.addRoom("Room1", "Desc1");
@@ -90,6 +103,8 @@ class RoomServiceTest {
 
     private static class TestRoomDAO implements RoomDAO {
         private List<Room> rooms = new ArrayList<>();
+        private Integer patchedVersion;
+        private RuntimeException patchFailure;
 
         @Override
         public void rollback() {}
@@ -105,6 +120,19 @@ class RoomServiceTest {
         public Room getRoomById(int id) {
             return rooms.stream().filter(r -> r.getId() == id).findFirst().orElse(null);
         }
+        @Override
+        public Room patchRoom(int id, Integer expectedVersion, Consumer<Room> changes) {
+            patchedVersion = expectedVersion;
+            if (patchFailure != null) {
+                throw patchFailure;
+            }
+            Room room = rooms.stream().filter(x -> x.getId() == id).findFirst().orElse(null);
+            if (room != null) {
+                changes.accept(room);
+            }
+            return room;
+        }
+
         @Override
         public void updateRoom(Room room) {}
         @Override
@@ -116,6 +144,16 @@ class RoomServiceTest {
             return new ArrayList<>(rooms);
         }
         @Override
+        public List<Room> getRoomsPage(String sortField, String afterKey, Integer afterId, int limit) {
+            List<Room> page = new ArrayList<>();
+            for (Room item : rooms) {
+                if ((afterId == null || item.getId() > afterId) && page.size() < limit) {
+                    page.add(item);
+                }
+            }
+            return page;
+        }
+        @Override
         public List<Room> getRoomsByLocationId(int locationId) {
             return new ArrayList<>();
         }
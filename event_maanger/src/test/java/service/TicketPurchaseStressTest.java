@@ -0,0 +1,297 @@
+package service;
+
+import dao.hibernate.HibernateSessionFactory;
+import dao.hibernate.TicketHibernate;
+import model.Ticket;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.DataGenerator;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for TicketService.purchaseTicket: many threads buying from a real SQLite file at once,
+ * bypassing the single purchase thread the REST layer uses
+ * A purchase either sells, is rejected (seat taken, sold out) or aborts when SQLite refuses the write lock or
+ * the uc_event_seat constraint fires; aborted purchases are retried like a client would,
+ * up to MAX_RETRIES times; ones that still abort count as given up, which costs throughput but not correctness
+ * Every run prints purchases per second and the abort and retry rates
+ * Excluded from the regular build: mvn -P stress test (threads: -Dstress.threads, default 16)
+ */
+@Tag("stress")
+@DisplayName("Ticket purchase stress tests")
+class TicketPurchaseStressTest {
+
+    private static final int THREADS = Integer.getInteger("stress.threads", 16);
+    private static final int MAX_RETRIES = 20;
+    private static final int USERS = 200;
+
+    private static final int NUMBERED_EVENT = 1001;
+    private static final int GENERAL_EVENT = 1002;
+    private static final int GENERAL_QUANTITY = 25;
+    private static final int CART_EVENT = 1003;
+    private static final int CART_SEATED_EVENT = 1004;
+    private static final int CART_SEATS = 60;
+    private static final String[] CART_TIERS = {"Standard", "VIP", "Student"};
+    private static final int[] CART_QUANTITIES = {80, 15, 30};
+
+    @TempDir
+    static File directory;
+
+    private static String url;
+    private static TicketService ticketService;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        DataGenerator.Options options = new DataGenerator.Options();
+        options.out = new File(directory, "stress.sqlite").getPath();
+        options.users = USERS;
+        options.locations = 1;
+        options.events = 1;
+        options.tickets = 0;
+        new DataGenerator(options).generate();
+        url = "jdbc:sqlite:" + options.out;
+        try (Connection connection = DriverManager.getConnection(url)) {
+            addEvent(connection, NUMBERED_EVENT, true, new String[]{"Standard"}, new int[]{500});
+            addEvent(connection, GENERAL_EVENT, false, new String[]{"Standard"}, new int[]{GENERAL_QUANTITY});
+            addEvent(connection, CART_EVENT, false, CART_TIERS, CART_QUANTITIES);
+            addEvent(connection, CART_SEATED_EVENT, true, new String[]{"Standard"}, new int[]{CART_SEATS});
+        }
+
+        HibernateSessionFactory.closeSessionFactory();
+        System.setProperty(HibernateSessionFactory.DATABASE_URL, url);
+        System.setProperty(HibernateSessionFactory.POOL_SIZE, String.valueOf(THREADS));
+        ticketService = new TicketService(new TicketHibernate());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        HibernateSessionFactory.closeSessionFactory();
+        System.clearProperty(HibernateSessionFactory.DATABASE_URL);
+        System.clearProperty(HibernateSessionFactory.POOL_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should sell a contended numbered seat exactly once")
+    void testSameSeat() throws Exception {
+        Stats stats = run("same seat", THREADS, (tally, thread, random) ->
+                purchase(tally, NUMBERED_EVENT, 2 + thread, "Standard", "A-1"));
+
+        assertEquals(1, stats.sold.sum(), stats.toString());
+        // everyone else is told the seat is taken, or gives up after MAX_RETRIES aborted attempts
+        assertEquals(THREADS - 1, stats.rejected.sum() + stats.failed.sum(), stats.toString());
+        assertEquals(1, count("SELECT COUNT(*) FROM tickets WHERE event_id = ? AND seat_number = 'A-1'", NUMBERED_EVENT));
+    }
+
+    @Test
+    @DisplayName("Should sell the last general-admission tickets of a tier without exceeding its quantity")
+    void testLastTickets() throws Exception {
+        Stats stats = run("last tickets", THREADS, (tally, thread, random) -> {
+            for (int i = 0; i < GENERAL_QUANTITY; i++) {
+                if (purchase(tally, GENERAL_EVENT, 2 + random.nextInt(USERS - 1), "Standard", null)
+                        == Result.REJECTED) {
+                    return;
+                }
+            }
+        });
+
+        assertEquals(GENERAL_QUANTITY, stats.sold.sum(), stats.toString());
+        assertEquals(GENERAL_QUANTITY, count("SELECT COUNT(*) FROM tickets WHERE event_id = ?", GENERAL_EVENT));
+    }
+
+    @Test
+    @DisplayName("Should keep tiers and seats consistent when carts mix tiers and numbered seats")
+    void testMixedCarts() throws Exception {
+        int carts = 20;
+        Stats stats = run("mixed carts", THREADS, (tally, thread, random) -> {
+            for (int cart = 0; cart < carts; cart++) {
+                int user = 2 + random.nextInt(USERS - 1);
+                // A cart is bought item by item: two tiers of one event and a seat of another
+                purchase(tally, CART_EVENT, user, CART_TIERS[random.nextInt(CART_TIERS.length)], null);
+                purchase(tally, CART_EVENT, user, CART_TIERS[random.nextInt(CART_TIERS.length)], null);
+                purchase(tally, CART_SEATED_EVENT, user, "Standard", "S-" + (1 + random.nextInt(CART_SEATS)));
+            }
+        });
+
+        for (int i = 0; i < CART_TIERS.length; i++) {
+            assertTrue(count("SELECT COUNT(*) FROM tickets WHERE event_id = ? AND ticket_type = '" + CART_TIERS[i] + "'",
+                    CART_EVENT) <= CART_QUANTITIES[i], CART_TIERS[i] + " is not oversold");
+        }
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT seat_number FROM tickets WHERE event_id = ?"
+                + " GROUP BY seat_number HAVING COUNT(*) > 1)", CART_SEATED_EVENT), "no seat is sold twice");
+        assertEquals(stats.sold.sum(), count("SELECT COUNT(*) FROM tickets WHERE event_id IN (?, " + CART_EVENT + ")",
+                CART_SEATED_EVENT), "every sale reported is in the database and nothing else is: " + stats);
+        assertTrue(stats.sold.sum() > 0, stats.toString());
+    }
+
+    private enum Result {SOLD, REJECTED, FAILED}
+
+    private interface Worker {
+        void run(Stats stats, int thread, Random random) throws Exception;
+    }
+
+    private static final class Stats {
+        final String name;
+        final LongAdder sold = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder aborts = new LongAdder();
+        final LongAdder retried = new LongAdder();
+        /** Root cause of each abort, e.g. SQLITE_BUSY or the uc_event_seat violation */
+        final Map<String, LongAdder> causes = new ConcurrentHashMap<>();
+        long nanos;
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        long purchases() {
+            return sold.sum() + rejected.sum() + failed.sum();
+        }
+
+        @Override
+        public String toString() {
+            double seconds = nanos / 1e9;
+            long attempts = purchases() + aborts.sum() - failed.sum();
+            return String.format("%s: %d threads, %d purchases in %.2f s (%.1f/s), %d sold (%.1f/s), %d rejected,"
+                            + " %d gave up; %d aborts (%.1f%% of attempts), %d purchases retried (%.1f%%); causes %s",
+                    name, THREADS, purchases(), seconds, purchases() / seconds, sold.sum(), sold.sum() / seconds,
+                    rejected.sum(), failed.sum(), aborts.sum(), attempts == 0 ? 0 : 100.0 * aborts.sum() / attempts,
+                    retried.sum(), purchases() == 0 ? 0 : 100.0 * retried.sum() / purchases(), causes);
+        }
+    }
+
+    /**
+     * Start all threads at once and wait for them; worker exceptions fail the test
+     */
+    private static Stats run(String name, int threads, Worker worker) throws Exception {
+        Stats stats = new Stats(name);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger ready = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    ready.incrementAndGet();
+                    start.await();
+                    worker.run(stats, thread, new Random(31L * thread + name.hashCode()));
+                    return null;
+                }));
+            }
+            while (ready.get() < threads) {
+                Thread.sleep(1);
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            stats.nanos = System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+        System.out.println("[Stress] " + stats);
+        return stats;
+    }
+
+    /**
+     * One purchase, retried while it aborts
+     */
+    private static Result purchase(Stats stats, int eventId, int userId, String ticketType, String seat) {
+        for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+            if (attempt == 1) {
+                stats.retried.increment();
+            }
+            try {
+                Ticket ticket = ticketService.purchaseTicket(eventId, userId, ticketType, seat);
+                assertNotNull(ticket, "event " + eventId + " and user " + userId + " exist");
+                stats.sold.increment();
+                return Result.SOLD;
+            } catch (IllegalStateException e) {
+                stats.rejected.increment();
+                return Result.REJECTED;
+            } catch (RuntimeException e) {
+                stats.aborts.increment();
+                stats.causes.computeIfAbsent(cause(e), key -> new LongAdder()).increment();
+                try {
+                    Thread.sleep(1 + attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        stats.failed.increment();
+        return Result.FAILED;
+    }
+
+    private static String cause(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        String message = String.valueOf(root.getMessage());
+        return message.length() > 60 ? message.substring(0, 60) : message;
+    }
+
+    private static void addEvent(Connection connection, int id, boolean numbered, String[] tiers, int[] quantities)
+            throws SQLException {
+        try (PreparedStatement event = connection.prepareStatement("INSERT INTO events (id, version, name, description,"
+                + " event_date, event_time, event_start_date, event_end_date, numbered_seats)"
+                + " VALUES (?,0,?,'stress test','2030-01-01','20:00','2030-01-01','2030-01-01',?)");
+             PreparedStatement price = connection.prepareStatement(
+                     "INSERT INTO ticket_prices (event_id, ticket_type, price) VALUES (?,?,100)");
+             PreparedStatement quantity = connection.prepareStatement(
+                     "INSERT INTO ticket_quantities (event_id, ticket_type, quantity) VALUES (?,?,?)")) {
+            event.setInt(1, id);
+            event.setString(2, "Stress #" + id);
+            event.setBoolean(3, numbered);
+            event.executeUpdate();
+            for (int i = 0; i < tiers.length; i++) {
+                price.setInt(1, id);
+                price.setString(2, tiers[i]);
+                price.executeUpdate();
+                quantity.setInt(1, id);
+                quantity.setString(2, tiers[i]);
+                quantity.setInt(3, quantities[i]);
+                quantity.executeUpdate();
+            }
+        }
+    }
+
+    private static long count(String sql, int eventId) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url);
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, eventId);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+}
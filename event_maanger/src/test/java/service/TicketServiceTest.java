@@ -6,10 +6,12 @@ import model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -136,6 +138,35 @@ class TicketServiceTest {
         assertNotNull(result);
     }
 
+    @Test
+    void testPurchaseTicket() {
+        long inventory = CatalogVersion.inventory();
+
+        Ticket result = ticketService.purchaseTicket(1, 1, "VIP", "A1");
+
+        assertNotNull(result);
+        assertEquals("VIP", result.getTicketType());
+        assertEquals("A1", result.getSeatNumber());
+        assertEquals(LocalDate.now().toString(), result.getPurchaseDate());
+        assertTrue(CatalogVersion.inventory() > inventory);
+    }
+
+    @Test
+    void testPurchaseTicketRequiresType() {
+        long inventory = CatalogVersion.inventory();
+
+        assertThrows(IllegalArgumentException.class, () -> ticketService.purchaseTicket(1, 2, " ", null));
+        assertEquals(inventory, CatalogVersion.inventory());
+    }
+
+    @Test
+    void testPurchaseTicketNotFoundLeavesInventory() {
+        long inventory = CatalogVersion.inventory();
+
+        assertNull(ticketService.purchaseTicket(0, 1, "VIP", null));
+        assertEquals(inventory, CatalogVersion.inventory());
+    }
+
     @Test
     void testCommit() {
         assertDoesNotThrow(() -> ticketService.commit());
@@ -163,6 +194,17 @@ class TicketServiceTest {
             return ticket;
         }
         @Override
+        public Ticket purchaseTicket(int eventId, int userId, String ticketType, String seatNumber, String purchaseDate) {
+            // The sale rules are TicketHibernate's (see TicketHibernateTest); event 0 stands for a missing event
+            if (eventId == 0) {
+                return null;
+            }
+            Ticket ticket = addTicket(eventId, userId, ticketType, 50.0, purchaseDate, null, null);
+            ticket.setSeatNumber(seatNumber);
+            ticket.setPurchaseDate(purchaseDate);
+            return ticket;
+        }
+        @Override
         public Ticket getTicketById(int id) {
             return tickets.stream().filter(t -> t.getId() == id).findFirst().orElse(null);
         }
@@ -185,6 +227,13 @@ class TicketServiceTest {
             return new ArrayList<>();
         }
         @Override
+        public void forEachTicketByEventId(int eventId, Consumer<Ticket> action) {
+        }
+        @Override
+        public List<Ticket> getTicketsByUserIdPage(int userId, String sortField, String afterKey, Integer afterId, int limit) {
+            return new ArrayList<>();
+        }
+        @Override
         public int countTicketsByEventAndType(int eventId, String ticketType) {
             return (int) tickets.stream().filter(t -> t.getTicketType() != null && t.getTicketType().equals(ticketType)).count();
         }
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -57,6 +58,18 @@ class UserServiceTest {
         assertEquals("alice@example.com", result.getEmail());
     }
 
+    @Test
+    void testPatchUserDelegates() {
+        User user = userService.addUser("alice_smith", "alice@example.com");
+
+        User patched = userService.patchUser(user.getId(), 2, u -> u.setEmail("alice@example.org"));
+
+        assertSame(user, patched);
+        assertEquals("alice@example.org", patched.getEmail());
+        assertEquals(2, testUserDAO.patchedVersion);
+        assertNull(userService.patchUser(42, null, u -> u.setEmail("x")));
+    }
+
     @Test
     void testAddUserWithNullLogin() {
         User result = userService.addUser(null, "test@example.com");
@@ -182,6 +195,8 @@ class UserServiceTest {
      */
     private static class TestUserDAO implements UserDAO {
         private List<User> users = new ArrayList<>();
+        private Integer patchedVersion;
+        private RuntimeException patchFailure;
 
         void addTestUser(User user) {
             users.add(user);
@@ -219,6 +234,19 @@ class UserServiceTest {
                     .orElse(null);
         }
 
+        @Override
+        public User patchUser(int id, Integer expectedVersion, Consumer<User> changes) {
+            patchedVersion = expectedVersion;
+            if (patchFailure != null) {
+                throw patchFailure;
+            }
+            User user = users.stream().filter(x -> x.getId() == id).findFirst().orElse(null);
+            if (user != null) {
+                changes.accept(user);
+            }
+            return user;
+        }
+
         @Override
         public void updateUser(User user) {
             users.stream()
@@ -243,6 +271,22 @@ class UserServiceTest {
         public List<User> getAllUsers() {
             return new ArrayList<>(users);
         }
+
+        @Override
+        public void forEachUser(Consumer<User> action) {
+            users.forEach(action);
+        }
+
+        @Override
+        public List<User> getUsersPage(String sortField, String afterKey, Integer afterId, int limit) {
+            List<User> page = new ArrayList<>();
+            for (User item : users) {
+                if ((afterId == null || item.getId() > afterId) && page.size() < limit) {
+                    page.add(item);
+                }
+            }
+            return page;
+        }
     }
 }
 
@@ -0,0 +1,91 @@
+package tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DataGenerator
+ */
+@DisplayName("DataGenerator Tests")
+class DataGeneratorTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    @DisplayName("Should split all tickets over the events with a skewed popularity")
+    void testAllocateSales() {
+        int[] sold = DataGenerator.allocateSales(1000, 100_000, new Random(1));
+
+        assertEquals(100_000, Arrays.stream(sold).sum());
+        int[] sorted = Arrays.copyOfRange(sold, 1, sold.length);
+        Arrays.sort(sorted);
+        assertTrue(sorted[sorted.length - 1] > 50 * sorted[sorted.length / 2],
+                "the most popular event sells far more than the median one: " + Arrays.toString(sorted));
+    }
+
+    @Test
+    @DisplayName("Should fill every table within the tier quantities and keep seats unique")
+    void testGenerate() throws SQLException {
+        DataGenerator.Options options = new DataGenerator.Options();
+        options.out = new File(directory, "scale.sqlite").getPath();
+        options.users = 50;
+        options.locations = 5;
+        options.events = 40;
+        options.tickets = 2000;
+
+        Map<String, Long> counts = new DataGenerator(options).generate();
+
+        assertEquals(50L, counts.get("users"));
+        assertEquals(2000L, counts.get("tickets"));
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + options.out)) {
+            assertEquals(2000, count(connection, "SELECT COUNT(*) FROM tickets"));
+            assertEquals(40, count(connection, "SELECT COUNT(*) FROM events"));
+            assertEquals(40, count(connection, "SELECT COUNT(DISTINCT event_id) FROM event_locations"));
+            assertTrue(count(connection, "SELECT COUNT(*) FROM rooms") >= 5);
+            assertTrue(count(connection, "SELECT COUNT(*) FROM location_contacts") >= 5);
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM (SELECT t.event_id, t.ticket_type, COUNT(*) c,"
+                    + " q.quantity FROM tickets t JOIN ticket_quantities q ON q.event_id = t.event_id"
+                    + " AND q.ticket_type = t.ticket_type GROUP BY 1, 2 HAVING c > q.quantity)"), "no tier is oversold");
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM tickets t JOIN events e ON e.id = t.event_id"
+                    + " WHERE e.numbered_seats = 1 AND t.seat_number IS NULL"), "numbered events have seats");
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM tickets WHERE user_id = 1"), "the admin buys nothing");
+            assertEquals(1, count(connection, "SELECT COUNT(*) FROM users WHERE login = 'admin' AND is_admin = 1"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not replace an existing database unless asked to")
+    void testOverwrite() throws Exception {
+        File existing = new File(directory, "existing.sqlite");
+        assertTrue(existing.createNewFile());
+        DataGenerator.Options options = DataGenerator.Options.parse(new String[]{
+                "--out=" + existing.getPath(), "--users=2", "--locations=1", "--events=1", "--tickets=1"});
+
+        assertThrows(IllegalStateException.class, () -> new DataGenerator(options).generate());
+        assertEquals(0, existing.length(), "the file is left alone");
+
+        options.overwrite = true;
+        assertEquals(1L, new DataGenerator(options).generate().get("tickets"));
+        assertThrows(IllegalArgumentException.class, () -> DataGenerator.Options.parse(new String[]{"--rows=5"}));
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (ResultSet result = connection.createStatement().executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}